@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.api.service;
+
+import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterEntry;
+
+import java.util.List;
+
+/**
+ * OSGi service to manage the event deliveries of the HTTP adapter that failed after all their retries.
+ * Entries are selected by tenant domain, endpoint and creation time. A null tenant domain or endpoint matches
+ * all tenants or endpoints.
+ */
+public interface DeadLetterService {
+
+    /**
+     * List dead-letter entries, oldest first.
+     *
+     * @param tenantDomain Tenant domain, or null for all tenants.
+     * @param endpoint     Endpoint URL, or null for all endpoints.
+     * @param fromTime     Start of the creation time range in milliseconds since the epoch, inclusive.
+     * @param toTime       End of the creation time range in milliseconds since the epoch, inclusive.
+     * @param limit        Maximum number of entries to return.
+     * @return Matching entries.
+     * @throws HTTPAdapterException If the entries cannot be listed.
+     */
+    List<DeadLetterEntry> listEntries(String tenantDomain, String endpoint, long fromTime, long toTime, int limit)
+            throws HTTPAdapterException;
+
+    /**
+     * Resend dead-letter entries, oldest first, at the replay rate. The call returns once the matching entries are
+     * scheduled. An entry is removed from the store once the endpoint accepts it; an entry that fails again after
+     * its retries stays in the store with the latest error. Entries are signed with the current secret of their
+     * webhook, and entries whose webhook is no longer active are skipped and stay in the store.
+     *
+     * @param tenantDomain Tenant domain, or null for all tenants.
+     * @param endpoint     Endpoint URL, or null for all endpoints.
+     * @param fromTime     Start of the creation time range in milliseconds since the epoch, inclusive.
+     * @param toTime       End of the creation time range in milliseconds since the epoch, inclusive.
+     * @param maxPerSecond Maximum number of entries sent per second, or 0 to use the configured replay rate.
+     * @return Number of entries scheduled to be sent.
+     * @throws HTTPAdapterException If the entries cannot be replayed.
+     */
+    int replay(String tenantDomain, String endpoint, long fromTime, long toTime, int maxPerSecond)
+            throws HTTPAdapterException;
+
+    /**
+     * Remove dead-letter entries without sending them.
+     *
+     * @param tenantDomain Tenant domain, or null for all tenants.
+     * @param endpoint     Endpoint URL, or null for all endpoints.
+     * @param fromTime     Start of the creation time range in milliseconds since the epoch, inclusive.
+     * @param toTime       End of the creation time range in milliseconds since the epoch, inclusive.
+     * @return Number of entries removed.
+     * @throws HTTPAdapterException If the entries cannot be removed.
+     */
+    int purge(String tenantDomain, String endpoint, long fromTime, long toTime) throws HTTPAdapterException;
+}
@@ -18,52 +18,83 @@
 
 package org.wso2.identity.event.http.publisher.internal.component;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
 import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 import org.apache.http.nio.reactor.ConnectingIOReactor;
 import org.apache.http.ssl.SSLContexts;
 import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
 import org.wso2.identity.event.http.publisher.internal.util.HTTPAdapterUtil;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.client.ConnectionLifecycleManager;
+import org.wso2.identity.event.publisher.transport.client.HTTP2TransportClient;
+import org.wso2.identity.event.publisher.transport.util.BufferPool;
+import org.wso2.identity.event.publisher.transport.util.CachingDnsResolver;
+import org.wso2.identity.event.publisher.transport.util.PayloadWriter;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+import org.wso2.identity.event.publisher.transport.util.RequestCompressor;
+import org.wso2.identity.event.publisher.transport.util.VirtualThreadExecutor;
 
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import javax.net.ssl.SSLContext;
 
 import static org.apache.http.HttpHeaders.ACCEPT;
+import static org.apache.http.HttpHeaders.CONTENT_ENCODING;
 import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_CREATING_HMAC_SIGNATURE;
 import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_CREATING_SSL_CONTEXT;
 import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_GETTING_ASYNC_CLIENT;
 import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_PUBLISHING_EVENT_INVALID_PAYLOAD;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY;
 import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.HMAC_SHA256_ALGORITHM;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.REQUEST_BUFFER_INITIAL_SIZE;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.REQUEST_BUFFER_MAX_POOLED_SIZE;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.REQUEST_BUFFER_POOL_SIZE;
 import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.X_WSO2_EVENT_SIGNATURE;
 
 /**
@@ -72,71 +103,395 @@ import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapt
 public class ClientManager {
 
     private static final Log LOG = LogFactory.getLog(ClientManager.class);
-    private final CloseableHttpAsyncClient httpAsyncClient;
+    private volatile CloseableHttpAsyncClient httpAsyncClient;
+    private volatile PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private volatile SSLContext sslContext;
+    private volatile HTTPAdapterConfiguration clientConfiguration;
+    private final Object clientLock = new Object();
+    private volatile SharedTransport attachedTransport;
+    private final ConnectionLifecycleManager connectionLifecycleManager;
+    private final DnsResolver dnsResolver;
+    private ExecutorService dnsRefreshExecutor;
+    private volatile HTTP2TransportClient http2TransportClient;
+    private volatile RequestCompressor requestCompressor;
+    private final BufferPool requestBufferPool =
+            new BufferPool(REQUEST_BUFFER_POOL_SIZE, REQUEST_BUFFER_INITIAL_SIZE, REQUEST_BUFFER_MAX_POOLED_SIZE);
+    private volatile RequestConfig requestConfig;
     private static final int MAX_RETRIES = 2;
+    private static final String SHARED_TRANSPORT_CONSUMER = "http-adapter";
+    private static final long DRAIN_POLL_INTERVAL_MILLIS = 50L;
+    private static final PayloadWriter PAYLOAD_WRITER = new PayloadWriter();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private volatile boolean shuttingDown;
+    private volatile boolean closed;
     /**
      * Global executor used for asynchronous callbacks.
      */
-    private final Executor asyncCallbackExecutor;
+    private volatile ExecutorService asyncCallbackExecutor;
 
+    /**
+     * Create the client manager. The HTTP/1.1 client, its IO reactor and connection pool, and the SSL context are
+     * created on first use, so that activating the adapter does not pay for them before an event is published.
+     *
+     * @throws HTTPAdapterException If the manager cannot be created.
+     */
     public ClientManager() throws HTTPAdapterException {
 
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        clientConfiguration = configuration;
+        requestCompressor = new RequestCompressor(configuration.getRequestCompression(),
+                configuration.getRequestCompressionMinSize());
+        connectionLifecycleManager = new ConnectionLifecycleManager("http-adapter-connection-evictor", configuration,
+                evicted -> HTTPAdapterMetrics.getInstance().recordConnectionsEvicted(evicted));
+        dnsResolver = createDnsResolver(configuration);
+        requestConfig = createRequestConfig(configuration);
+        http2TransportClient = createHTTP2TransportClient(configuration);
+        asyncCallbackExecutor = createCallbackExecutor(configuration);
+        connectionLifecycleManager.start(this::closeIdleConnections);
+    }
+
+    /**
+     * Create and start the HTTP/1.1 async client and its connection pool, unless they already exist.
+     *
+     * @return Running async client.
+     * @throws HTTPAdapterException If the IO reactor of the client cannot be created.
+     */
+    private CloseableHttpAsyncClient initHttpAsyncClient() throws HTTPAdapterException {
+
+        CloseableHttpAsyncClient client = httpAsyncClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (clientLock) {
+            if (httpAsyncClient != null) {
+                return httpAsyncClient;
+            }
+            if (closed) {
+                throw HTTPAdapterUtil.handleServerException(ERROR_GETTING_ASYNC_CLIENT,
+                        new IllegalStateException("HTTP adapter client manager is shut down."));
+            }
+            long startTime = System.currentTimeMillis();
+            HTTPAdapterConfiguration configuration = clientConfiguration;
+            try {
+                IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                        .setConnectTimeout(configuration.getHTTPConnectionTimeout())
+                        .setSoTimeout(configuration.getHttpReadTimeout())
+                        .setIoThreadCount(5)
+                        .build();
+                ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(ioReactorConfig);
+                PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(
+                        ioReactor, null,
+                        RegistryBuilder.<SchemeIOSessionStrategy>create()
+                                .register("http", NoopIOSessionStrategy.INSTANCE)
+                                .register("https", new SSLIOSessionStrategy(getSSLContext()))
+                                .build(),
+                        null, dnsResolver, connectionLifecycleManager.getTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+                connectionManager.setMaxTotal(configuration.getDefaultMaxConnections());
+                connectionManager.setDefaultMaxPerRoute(configuration.getDefaultMaxConnectionsPerRoute());
+
+                client = HttpAsyncClients.custom()
+                        .setDefaultRequestConfig(requestConfig)
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy(connectionLifecycleManager)
+                        .build();
+                client.start();
+                asyncConnectionManager = connectionManager;
+                httpAsyncClient = client;
+                HTTPAdapterMetrics.getInstance().bindConnectionPool(connectionManager);
+            } catch (IOException e) {
+                throw HTTPAdapterUtil.handleServerException(ERROR_GETTING_ASYNC_CLIENT, e);
+            }
+            LOG.debug("HttpAsyncClient started in " + (System.currentTimeMillis() - startTime) +
+                    " ms with config: connectTimeout=" + requestConfig.getConnectTimeout() +
+                    ", connectionRequestTimeout=" + requestConfig.getConnectionRequestTimeout() +
+                    ", socketTimeout=" + requestConfig.getSocketTimeout() + ", maxConnections=" +
+                    configuration.getDefaultMaxConnections() + ", maxConnectionsPerRoute=" +
+                    configuration.getDefaultMaxConnectionsPerRoute());
+            return client;
+        }
+    }
+
+    /**
+     * Apply a changed adapter configuration to the running clients.
+     * Connection pool limits, the callback executor pool size and request timeouts are changed in place, so
+     * requests in flight are not affected. Changes to the callback queue capacity or to the HTTP/2 transport
+     * replace the executor or transport; the old one stops accepting work and is closed once its in-flight
+     * requests had time to complete.
+     *
+     * @param previous Configuration the clients are currently built with.
+     * @param current  Configuration to apply.
+     * @throws HTTPAdapterException If the new configuration cannot be applied.
+     */
+    public synchronized void reconfigure(HTTPAdapterConfiguration previous, HTTPAdapterConfiguration current)
+            throws HTTPAdapterException {
+
+        synchronized (clientLock) {
+            // A client created later is built with the current configuration.
+            clientConfiguration = current;
+            SharedTransport transport = attachedTransport;
+            if (transport != null && current.isSharedTransportEnabled()) {
+                transport.attach(SHARED_TRANSPORT_CONSUMER, current.getDefaultMaxConnections(),
+                        current.getDefaultMaxConnectionsPerRoute(), current, dnsResolver, getSSLContext());
+            } else if (transport != null) {
+                transport.detach(SHARED_TRANSPORT_CONSUMER);
+                attachedTransport = null;
+            }
+            if (asyncConnectionManager != null) {
+                asyncConnectionManager.setMaxTotal(current.getDefaultMaxConnections());
+                asyncConnectionManager.setDefaultMaxPerRoute(current.getDefaultMaxConnectionsPerRoute());
+            }
+        }
+        requestConfig = createRequestConfig(current);
+        connectionLifecycleManager.reconfigure(current);
+        requestCompressor = new RequestCompressor(current.getRequestCompression(),
+                current.getRequestCompressionMinSize());
+
+        int poolSize = positiveOrDefault(current.getCallbackExecutorPoolSize(), DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        int queueCapacity = positiveOrDefault(current.getCallbackExecutorQueueCapacity(),
+                DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+        ExecutorService callbackExecutor = asyncCallbackExecutor;
+        if (isCallbackExecutorChanged(callbackExecutor, current)) {
+            asyncCallbackExecutor = createCallbackExecutor(current);
+            // Already queued or running callbacks still complete before the old executor terminates.
+            callbackExecutor.shutdown();
+        } else if (callbackExecutor instanceof ThreadPoolExecutor &&
+                ((ThreadPoolExecutor) callbackExecutor).getCorePoolSize() != poolSize) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+            if (poolSize > threadPoolExecutor.getMaximumPoolSize()) {
+                threadPoolExecutor.setMaximumPoolSize(poolSize);
+                threadPoolExecutor.setCorePoolSize(poolSize);
+            } else {
+                threadPoolExecutor.setCorePoolSize(poolSize);
+                threadPoolExecutor.setMaximumPoolSize(poolSize);
+            }
+        }
+
+        if (isHTTP2TransportChanged(previous, current)) {
+            HTTP2TransportClient previousTransport = http2TransportClient;
+            http2TransportClient = createHTTP2TransportClient(current);
+            if (previousTransport != null) {
+                previousTransport.closeAfter(getMaxRequestDuration(previous));
+            }
+        }
+        LOG.info("HTTP adapter configuration applied: maxConnections=" + current.getDefaultMaxConnections() +
+                ", maxConnectionsPerRoute=" + current.getDefaultMaxConnectionsPerRoute() + ", connectTimeout=" +
+                current.getHTTPConnectionTimeout() + ", connectionRequestTimeout=" +
+                current.getHttpConnectionRequestTimeout() + ", socketTimeout=" + current.getHttpReadTimeout() +
+                ", callbackExecutorPoolSize=" + poolSize + ", callbackExecutorQueueCapacity=" + queueCapacity +
+                ", virtualThreads=" + (asyncCallbackExecutor instanceof VirtualThreadExecutor) +
+                ", http2Enabled=" + (http2TransportClient != null));
+    }
+
+    private ExecutorService createCallbackExecutor(HTTPAdapterConfiguration configuration) {
+
+        if (isVirtualThreadsEnabled(configuration)) {
+            VirtualThreadExecutor callbackExecutor = VirtualThreadExecutor.create("http-adapter-callback-",
+                    getVirtualThreadMaxConcurrency(configuration), (r, executor) -> {
+                        HTTPAdapterMetrics.getInstance().recordCallbackRejected();
+                        RejectableTask.rejected(r);
+                        if (executor.isShutdown()) {
+                            LOG.debug("Async callback executor is shut down; discarding task of publishing events.");
+                            return;
+                        }
+                        LOG.info("Async callback concurrency limit reached; discarding task of publishing events.");
+                    });
+            HTTPAdapterMetrics.getInstance().bindCallbackExecutor(callbackExecutor);
+            return callbackExecutor;
+        }
+        int poolSize = positiveOrDefault(configuration.getCallbackExecutorPoolSize(),
+                DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        int queueCapacity = positiveOrDefault(configuration.getCallbackExecutorQueueCapacity(),
+                DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+
+        // Custom handler that logs when the queue is full and discards the task.
+        RejectedExecutionHandler handler = (r, executor) -> {
+            HTTPAdapterMetrics.getInstance().recordCallbackRejected();
+            RejectableTask.rejected(r);
+            if (executor.isShutdown()) {
+                LOG.debug("Async callback executor is shut down; discarding task of publishing events.");
+                return;
+            }
+            LOG.info("Async callback queue is full; discarding task of publishing events.");
+            // the task is silently dropped
+        };
+
+        ThreadPoolExecutor callbackExecutor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Executors.defaultThreadFactory(),
+                handler);
+        HTTPAdapterMetrics.getInstance().bindCallbackExecutor(callbackExecutor);
+        return callbackExecutor;
+    }
+
+    private static boolean isCallbackExecutorChanged(ExecutorService callbackExecutor,
+                                                     HTTPAdapterConfiguration configuration) {
+
+        if (callbackExecutor instanceof VirtualThreadExecutor) {
+            return !isVirtualThreadsEnabled(configuration) ||
+                    ((VirtualThreadExecutor) callbackExecutor).getMaximumConcurrency() !=
+                            getVirtualThreadMaxConcurrency(configuration);
+        }
+        BlockingQueue<Runnable> queue = ((ThreadPoolExecutor) callbackExecutor).getQueue();
+        return isVirtualThreadsEnabled(configuration) ||
+                queue.remainingCapacity() + queue.size() != positiveOrDefault(
+                        configuration.getCallbackExecutorQueueCapacity(), DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+    }
+
+    private static boolean isVirtualThreadsEnabled(HTTPAdapterConfiguration configuration) {
+
+        if (!configuration.isVirtualThreadsEnabled()) {
+            return false;
+        }
+        if (!VirtualThreadExecutor.isSupported()) {
+            LOG.warn("Virtual threads are not supported by the Java runtime. Asynchronous callbacks of the HTTP " +
+                    "adapter run on platform threads.");
+            return false;
+        }
+        return true;
+    }
+
+    private static int getVirtualThreadMaxConcurrency(HTTPAdapterConfiguration configuration) {
+
+        return positiveOrDefault(configuration.getVirtualThreadMaxConcurrency(),
+                DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY);
+    }
+
+    private static boolean isHTTP2TransportChanged(HTTPAdapterConfiguration previous,
+                                                   HTTPAdapterConfiguration current) {
+
+        if (!previous.isHttp2Enabled() && !current.isHttp2Enabled()) {
+            return false;
+        }
+        return previous.isHttp2Enabled() != current.isHttp2Enabled() ||
+                previous.getHTTPConnectionTimeout() != current.getHTTPConnectionTimeout() ||
+                previous.getHttpReadTimeout() != current.getHttpReadTimeout() ||
+                previous.getHttpConnectionRequestTimeout() != current.getHttpConnectionRequestTimeout() ||
+                previous.getDefaultMaxConnections() != current.getDefaultMaxConnections() ||
+                previous.getDefaultMaxConnectionsPerRoute() != current.getDefaultMaxConnectionsPerRoute() ||
+                previous.getConnectionTimeToLive() != current.getConnectionTimeToLive() ||
+                previous.getConnectionValidateAfterInactivity() != current.getConnectionValidateAfterInactivity();
+    }
+
+    private static long getMaxRequestDuration(HTTPAdapterConfiguration configuration) {
+
+        return (long) configuration.getHttpConnectionRequestTimeout() + configuration.getHTTPConnectionTimeout() +
+                configuration.getHttpReadTimeout();
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Stop accepting new events, wait for in-flight deliveries to complete and close the clients.
+     * Retries of deliveries in flight are still sent while draining. Requests and callbacks still pending when
+     * the drain timeout expires are abandoned and reported.
+     *
+     * @param drainTimeoutMillis Maximum time in milliseconds to wait for in-flight deliveries.
+     * @return true if all deliveries completed within the drain timeout, false otherwise.
+     */
+    public synchronized boolean shutdown(long drainTimeoutMillis) {
+
+        if (closed) {
+            return true;
+        }
+        shuttingDown = true;
+        long deadline = System.currentTimeMillis() + Math.max(0L, drainTimeoutMillis);
+        ExecutorService callbackExecutor = asyncCallbackExecutor;
         try {
-            int maxConnections =
-                    HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections();
-            int maxConnectionsPerRoute =
-                    HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnectionsPerRoute();
-
-            IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
-                    .setConnectTimeout(HTTPAdapterDataHolder.getInstance().getAdapterConfiguration()
-                            .getHTTPConnectionTimeout())
-                    .setSoTimeout(
-                            HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout())
-                    .setIoThreadCount(5)
-                    .build();
-            ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(ioReactorConfig);
-            PoolingNHttpClientConnectionManager asyncConnectionManager =
-                    new PoolingNHttpClientConnectionManager(ioReactor);
-            asyncConnectionManager.setMaxTotal(maxConnections);
-            asyncConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
-            LOG.debug("PoolingNHttpClientConnectionManager created with maxConnections: " + maxConnections +
-                    " and maxConnectionsPerRoute: " + maxConnectionsPerRoute);
-            RequestConfig config = createRequestConfig();
-
-            // Initialize HttpAsyncClient
-            HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClients.custom()
-                    .setDefaultRequestConfig(config)
-                    .setConnectionManager(asyncConnectionManager)
-                    .setSSLContext(createSSLContext());
-            httpAsyncClient = httpAsyncClientBuilder.build();
-            httpAsyncClient.start();
-            LOG.debug("HttpAsyncClient started with config: connectTimeout=" +
-                    config.getConnectTimeout() + ", connectionRequestTimeout=" +
-                    config.getConnectionRequestTimeout() + ", socketTimeout=" +
-                    config.getSocketTimeout() + ", maxConnections=" +
-                    asyncConnectionManager.getMaxTotal() + ", maxConnectionsPerRoute=" +
-                    asyncConnectionManager.getDefaultMaxPerRoute());
-
-            int poolSize = 10; // number of worker threads
-            int queueCapacity = 150; // maximum queued callbacks
-
-            // Custom handler that logs when the queue is full and discards the task.
-            RejectedExecutionHandler handler = (r, executor) -> {
-                LOG.info("Async callback queue is full; discarding task of publishing events.");
-                // the task is silently dropped
-            };
-
-            this.asyncCallbackExecutor = new ThreadPoolExecutor(
-                    poolSize,
-                    poolSize,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new ArrayBlockingQueue<>(queueCapacity),
-                    Executors.defaultThreadFactory(),
-                    handler);
-        } catch (IOException e) {
-            throw HTTPAdapterUtil.handleServerException(ERROR_GETTING_ASYNC_CLIENT, e);
+            // A callback may retry its delivery, so wait for both the requests and their callbacks to settle.
+            while (!isDrained(callbackExecutor) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(DRAIN_POLL_INTERVAL_MILLIS);
+            }
+            callbackExecutor.shutdown();
+            callbackExecutor.awaitTermination(Math.max(0L, deadline - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> abandoned = callbackExecutor.shutdownNow();
+        // Queued callbacks own their request bodies and payload budget, which their rejection cleanup returns.
+        for (Runnable task : abandoned) {
+            try {
+                RejectableTask.rejected(task);
+            } catch (RuntimeException e) {
+                LOG.error("Error while cleaning up an abandoned callback of the HTTP adapter.", e);
+            }
+        }
+        int abandonedCallbacks = abandoned.size();
+        int abandonedRequests = inFlightRequests.get();
+        closed = true;
+        connectionLifecycleManager.stop();
+        if (dnsRefreshExecutor != null) {
+            dnsRefreshExecutor.shutdownNow();
+        }
+
+        CloseableHttpAsyncClient client;
+        synchronized (clientLock) {
+            client = httpAsyncClient;
+        }
+        if (client != null) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                LOG.warn("Error while closing the HTTP adapter async client.", e);
+            }
+        }
+        SharedTransport transport = attachedTransport;
+        if (transport != null) {
+            transport.detach(SHARED_TRANSPORT_CONSUMER);
+            attachedTransport = null;
+        }
+        HTTP2TransportClient http2Client = http2TransportClient;
+        if (http2Client != null) {
+            http2Client.close();
+        }
+
+        if (abandonedRequests > 0 || abandonedCallbacks > 0) {
+            LOG.warn("HTTP adapter shut down before all deliveries completed. Abandoned " + abandonedRequests +
+                    " in-flight requests and " + abandonedCallbacks + " queued callbacks after waiting " +
+                    drainTimeoutMillis + " ms.");
+            return false;
+        }
+        LOG.debug("HTTP adapter drained all deliveries and closed its clients.");
+        return true;
+    }
+
+    /**
+     * Check whether the client manager stopped accepting new events.
+     *
+     * @return true once {@link #shutdown(long)} was called.
+     */
+    public boolean isShuttingDown() {
+
+        return shuttingDown;
+    }
+
+    /**
+     * Get the number of requests sent and not yet completed.
+     *
+     * @return Number of in-flight requests.
+     */
+    public int getInFlightRequestCount() {
+
+        return inFlightRequests.get();
+    }
+
+    private boolean isDrained(ExecutorService callbackExecutor) {
+
+        if (inFlightRequests.get() != 0) {
+            return false;
+        }
+        if (callbackExecutor instanceof VirtualThreadExecutor) {
+            return ((VirtualThreadExecutor) callbackExecutor).getActiveCount() == 0;
         }
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+        return threadPoolExecutor.getQueue().isEmpty() && threadPoolExecutor.getActiveCount() == 0;
     }
 
     /**
@@ -159,29 +514,270 @@ public class ClientManager {
         return MAX_RETRIES;
     }
 
+    /**
+     * Get the HTTP/1.1 async client, creating and starting it on first use.
+     *
+     * @return Running async client.
+     * @throws IllegalStateException If the client cannot be created.
+     */
     public CloseableHttpAsyncClient getHttpAsyncClient() {
 
-        if (!httpAsyncClient.isRunning()) {
+        CloseableHttpAsyncClient client;
+        try {
+            client = initHttpAsyncClient();
+        } catch (HTTPAdapterException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        if (!client.isRunning()) {
             LOG.debug("HttpAsyncClient is not running, starting client");
-            httpAsyncClient.start();
+            client.start();
         }
-        return httpAsyncClient;
+        return client;
     }
 
-    private RequestConfig createRequestConfig() {
+    /**
+     * Check whether the HTTP/1.1 async client has been created.
+     *
+     * @return True if the client has been created.
+     */
+    public boolean isHttpAsyncClientInitialized() {
+
+        return httpAsyncClient != null;
+    }
+
+    /**
+     * Send a HEAD request to an endpoint over the transport used for event delivery. The request opens, or reuses,
+     * a pooled connection to the endpoint and is not counted as a delivery.
+     *
+     * @param url Endpoint URL.
+     * @return A CompletableFuture completed with the response, or exceptionally if the endpoint cannot be reached.
+     */
+    public CompletableFuture<HttpResponse> probe(String url) {
+
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IdentityRuntimeException(
+                    "HTTP publisher is shut down. Probe not sent to URL: " + url));
+            return future;
+        }
+        FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse result) {
+
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+
+                future.cancel(true);
+            }
+        };
+        try {
+            HttpHead request = new HttpHead(url);
+            request.setConfig(requestConfig);
+            HTTP2TransportClient http2Client = getHTTP2TransportClient();
+            if (http2Client != null) {
+                http2Client.probe(request.getURI(), callback);
+            } else {
+                sendAsync(request, callback);
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Close expired connections and connections idle for longer than the given time, in the HTTP/1.1 pool and in
+     * the HTTP/2 transport.
+     *
+     * @param idleTimeoutMillis Idle time in milliseconds after which a connection is closed.
+     * @return Number of connections closed.
+     */
+    public int closeIdleConnections(long idleTimeoutMillis) {
+
+        int evicted = 0;
+        PoolingNHttpClientConnectionManager connectionManager = asyncConnectionManager;
+        if (connectionManager != null) {
+            int available = connectionManager.getTotalStats().getAvailable();
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+            evicted = Math.max(0, available - connectionManager.getTotalStats().getAvailable());
+        }
+        SharedTransport transport = attachedTransport;
+        if (transport != null) {
+            evicted += transport.closeIdleConnections(SHARED_TRANSPORT_CONSUMER, idleTimeoutMillis);
+        }
+        HTTP2TransportClient http2Client = http2TransportClient;
+        if (http2Client != null) {
+            evicted += http2Client.closeIdleConnections(idleTimeoutMillis);
+        }
+        return evicted;
+    }
+
+    /**
+     * Get the resolver of the endpoint hosts.
+     *
+     * @return DNS resolver used by the connection pools.
+     */
+    public DnsResolver getDnsResolver() {
+
+        return dnsResolver;
+    }
+
+    /**
+     * Get the lifecycle policy of the pooled connections.
+     *
+     * @return Connection lifecycle manager.
+     */
+    public ConnectionLifecycleManager getConnectionLifecycleManager() {
+
+        return connectionLifecycleManager;
+    }
+
+    /**
+     * Get the transport shared with the other event publisher, attaching to it on first use. The adapter shares a
+     * connection pool only with publishers using the same SSL context and DNS resolver.
+     *
+     * @return Shared transport, or null if it is disabled or not available.
+     * @throws IllegalStateException If the SSL context of the adapter cannot be created.
+     */
+    private SharedTransport getSharedTransport() {
+
+        SharedTransport transport = HTTPAdapterDataHolder.getInstance().getSharedTransport();
+        HTTPAdapterConfiguration configuration = clientConfiguration;
+        if (transport == null || !configuration.isSharedTransportEnabled()) {
+            return null;
+        }
+        if (transport != attachedTransport) {
+            synchronized (clientLock) {
+                if (transport != attachedTransport) {
+                    SSLContext context;
+                    try {
+                        context = getSSLContext();
+                    } catch (HTTPAdapterException e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                    transport.attach(SHARED_TRANSPORT_CONSUMER, configuration.getDefaultMaxConnections(),
+                            configuration.getDefaultMaxConnectionsPerRoute(), configuration, dnsResolver, context);
+                    attachedTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * Send an HTTP/1.1 request over the shared transport if it is enabled and available, or else over the async
+     * client of this adapter.
+     *
+     * @param request  Request to send.
+     * @param callback Callback notified of the response.
+     */
+    private void sendAsync(HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+
+        SharedTransport transport = getSharedTransport();
+        if (transport == null) {
+            getHttpAsyncClient().execute(request, callback);
+            return;
+        }
+        transport.execute(SHARED_TRANSPORT_CONSUMER, request, callback);
+        PoolingNHttpClientConnectionManager sharedPool = transport.getConnectionManager(SHARED_TRANSPORT_CONSUMER);
+        if (sharedPool != null && asyncConnectionManager == null) {
+            // Pool gauges report the shared pool, unless this adapter created its own.
+            HTTPAdapterMetrics.getInstance().bindConnectionPool(sharedPool);
+        }
+    }
+
+    /**
+     * Get the HTTP/2 transport used for event delivery.
+     *
+     * @return HTTP/2 transport, or null if HTTP/2 is not enabled.
+     */
+    public HTTP2TransportClient getHTTP2TransportClient() {
+
+        return http2TransportClient;
+    }
+
+    private HTTP2TransportClient createHTTP2TransportClient(HTTPAdapterConfiguration configuration)
+            throws HTTPAdapterException {
+
+        if (!configuration.isHttp2Enabled()) {
+            return null;
+        }
+        try {
+            return new HTTP2TransportClient(getSSLContext(), configuration.getHTTPConnectionTimeout(),
+                    configuration.getHttpReadTimeout(), configuration.getHttpConnectionRequestTimeout(),
+                    configuration.getDefaultMaxConnections(), configuration.getDefaultMaxConnectionsPerRoute(),
+                    connectionLifecycleManager, dnsResolver);
+        } catch (RuntimeException | LinkageError e) {
+            LOG.warn("Unable to initialize the HTTP/2 transport. Events will be published over HTTP/1.1.", e);
+            return null;
+        }
+    }
+
+    private DnsResolver createDnsResolver(HTTPAdapterConfiguration configuration) {
+
+        DnsResolver resolver = HTTPAdapterDataHolder.getInstance().getDnsResolver();
+        if (resolver != null) {
+            return resolver;
+        }
+        if (!configuration.isDnsCacheEnabled()) {
+            return SystemDefaultDnsResolver.INSTANCE;
+        }
+        dnsRefreshExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "http-adapter-dns-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CachingDnsResolver(SystemDefaultDnsResolver.INSTANCE,
+                TimeUnit.SECONDS.toMillis(configuration.getDnsCacheTtl()),
+                TimeUnit.SECONDS.toMillis(configuration.getDnsNegativeCacheTtl()),
+                configuration.getDnsCacheMaxEntries(), dnsRefreshExecutor);
+    }
+
+    private void reportConnectFailure(URI uri, Exception ex) {
+
+        // The next connection to the host fails over to its other addresses.
+        if (dnsResolver instanceof CachingDnsResolver &&
+                (ex instanceof ConnectException || ex instanceof ConnectTimeoutException)) {
+            ((CachingDnsResolver) dnsResolver).reportConnectFailure(uri.getHost());
+        }
+    }
+
+    private RequestConfig createRequestConfig(HTTPAdapterConfiguration configuration) {
 
         return RequestConfig.custom()
-                .setConnectTimeout(HTTPAdapterDataHolder.getInstance().getAdapterConfiguration()
-                        .getHTTPConnectionTimeout())
-                .setConnectionRequestTimeout(HTTPAdapterDataHolder.getInstance().getAdapterConfiguration()
-                        .getHttpConnectionRequestTimeout())
-                .setSocketTimeout(
-                        HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout())
+                .setConnectTimeout(configuration.getHTTPConnectionTimeout())
+                .setConnectionRequestTimeout(configuration.getHttpConnectionRequestTimeout())
+                .setSocketTimeout(configuration.getHttpReadTimeout())
                 .setRedirectsEnabled(false)
                 .setRelativeRedirectsAllowed(false)
                 .build();
     }
 
+    private SSLContext getSSLContext() throws HTTPAdapterException {
+
+        SSLContext context = sslContext;
+        if (context == null) {
+            synchronized (clientLock) {
+                context = sslContext;
+                if (context == null) {
+                    context = createSSLContext();
+                    sslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
     private SSLContext createSSLContext() throws HTTPAdapterException {
 
         try {
@@ -203,36 +799,94 @@ public class ClientManager {
     public HttpPost createHttpPost(String url, Object payload, String secret) throws HTTPAdapterException {
 
         HttpPost request = new HttpPost(url);
+        request.setConfig(requestConfig);
         request.setHeader(ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
         request.setHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-
-        String jsonString;
+        // The payload is serialized straight into a pooled buffer that backs the request entity. The buffer is
+        // returned to the pool once the delivery settles.
+        BufferPool.PooledOutputStream buffer = requestBufferPool.acquire();
         try {
-            jsonString = mapper.writeValueAsString(payload);
-            request.setEntity(new StringEntity(jsonString));
+            PAYLOAD_WRITER.write(buffer, payload);
         } catch (IOException e) {
+            buffer.release();
             throw HTTPAdapterUtil.handleClientException(ERROR_PUBLISHING_EVENT_INVALID_PAYLOAD);
         }
 
-        // Add HMAC signature header if secret is provided
+        // Add HMAC signature header if secret is provided. The signature covers the uncompressed payload, which is
+        // what receivers see once the content encoding is removed.
         if (secret != null && !secret.isEmpty()) {
             try {
-                String signature = "sha256=" + hmacSha256Hex(secret, jsonString);
+                String signature = "sha256=" + hmacSha256Hex(secret, buffer.getBuffer(), buffer.size());
                 request.setHeader(X_WSO2_EVENT_SIGNATURE, signature);
             } catch (Exception e) {
+                buffer.release();
                 throw HTTPAdapterUtil.handleClientException(ERROR_CREATING_HMAC_SIGNATURE);
             }
         }
 
+        // A compressed payload is written into a second pooled buffer, and the uncompressed one goes back to the
+        // pool right away.
+        RequestCompressor compressor = requestCompressor;
+        if (compressor.shouldCompress(buffer.size())) {
+            try {
+                request.setEntity(compressor.compress(buffer.getBuffer(), 0, buffer.size(), requestBufferPool,
+                        ContentType.APPLICATION_JSON));
+            } catch (IOException e) {
+                throw HTTPAdapterUtil.handleClientException(ERROR_PUBLISHING_EVENT_INVALID_PAYLOAD);
+            } finally {
+                buffer.release();
+            }
+            request.setHeader(CONTENT_ENCODING, compressor.getEncoding());
+        } else {
+            request.setEntity(buffer.toEntity(ContentType.APPLICATION_JSON));
+        }
+
+        return request;
+    }
+
+    /**
+     * Create an HTTP POST request that resends a captured request with its headers and body as they were sent. The
+     * signature is computed again with the given secret, as the secret of the webhook may have changed since.
+     *
+     * @param url     Endpoint URL.
+     * @param headers Request headers.
+     * @param body    Request body.
+     * @param secret  Current secret of the webhook, or null if the webhook has none.
+     * @return HTTP POST request.
+     * @throws HTTPAdapterException If the signature cannot be created.
+     */
+    public HttpPost createReplayHttpPost(String url, Map<String, String> headers, byte[] body, String secret)
+            throws HTTPAdapterException {
+
+        HttpPost request = new HttpPost(url);
+        request.setConfig(requestConfig);
+        String contentEncoding = null;
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (X_WSO2_EVENT_SIGNATURE.equalsIgnoreCase(header.getKey())) {
+                continue;
+            }
+            if (CONTENT_ENCODING.equalsIgnoreCase(header.getKey())) {
+                contentEncoding = header.getValue();
+            }
+            request.setHeader(header.getKey(), header.getValue());
+        }
+        if (secret != null && !secret.isEmpty()) {
+            try {
+                // The signature covers the uncompressed payload, as for the original delivery.
+                byte[] payload = RequestCompressor.decompress(contentEncoding, body);
+                request.setHeader(X_WSO2_EVENT_SIGNATURE,
+                        "sha256=" + hmacSha256Hex(secret, payload, payload.length));
+            } catch (Exception e) {
+                throw HTTPAdapterUtil.handleClientException(ERROR_CREATING_HMAC_SIGNATURE);
+            }
+        }
+        request.setEntity(new ByteArrayEntity(body));
         return request;
     }
 
     // Utility method for HMAC SHA-256 hex encoding
-    private static String hmacSha256Hex(String secretKey, String data) throws NoSuchAlgorithmException,
+    private static String hmacSha256Hex(String secretKey, byte[] data, int length) throws NoSuchAlgorithmException,
             InvalidKeyException {
 
         Mac mac = Mac.getInstance(HMAC_SHA256_ALGORITHM);
@@ -240,7 +894,8 @@ public class ClientManager {
                 new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8),
                         HMAC_SHA256_ALGORITHM);
         mac.init(key);
-        byte[] rawHmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        mac.update(data, 0, length);
+        byte[] rawHmac = mac.doFinal();
         StringBuilder sb = new StringBuilder();
         for (byte b : rawHmac) {
             sb.append(String.format("%02x", b));
@@ -258,32 +913,66 @@ public class ClientManager {
     public CompletableFuture<HttpResponse> executeAsync(HttpPost httpPost) {
 
         CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IdentityRuntimeException(
+                    "HTTP publisher is shut down. Request not sent to URL: " + httpPost.getURI()));
+            return future;
+        }
+        HTTPAdapterMetrics metrics = HTTPAdapterMetrics.getInstance();
+        final long startTime = metrics.recordRequestStarted(httpPost.getURI());
 
-        getHttpAsyncClient().execute(httpPost, new FutureCallback<HttpResponse>() {
+        FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
             @Override
             public void completed(HttpResponse result) {
 
+                metrics.recordResponse(httpPost.getURI(), result.getStatusLine().getStatusCode(), startTime);
                 future.complete(result);
+                // Decremented after completion, which already queued the dependent callback.
+                inFlightRequests.decrementAndGet();
             }
 
             @Override
             public void failed(Exception ex) {
 
+                metrics.recordError(httpPost.getURI(), startTime);
+                if (ConnectionLifecycleManager.isStaleConnectionFailure(ex)) {
+                    metrics.recordStaleConnection();
+                }
+                reportConnectFailure(httpPost.getURI(), ex);
                 future.completeExceptionally(
                         new IdentityRuntimeException(
                                 "HTTP publisher async http client execution failed for URL: " + httpPost.getURI(),
                                 ex
                         )
                 );
+                inFlightRequests.decrementAndGet();
             }
 
             @Override
             public void cancelled() {
 
+                metrics.recordError(httpPost.getURI(), startTime);
                 future.cancel(true);
+                inFlightRequests.decrementAndGet();
             }
-        });
+        };
 
+        inFlightRequests.incrementAndGet();
+        try {
+            HTTP2TransportClient http2Client = getHTTP2TransportClient();
+            if (http2Client != null) {
+                http2Client.execute(httpPost, callback);
+            } else {
+                sendAsync(httpPost, callback);
+            }
+        } catch (IllegalStateException e) {
+            // The client could not be created or started; reported like a failed request, so the delivery is
+            // retried or dead-lettered.
+            callback.failed(e);
+        } catch (RuntimeException e) {
+            inFlightRequests.decrementAndGet();
+            throw e;
+        }
         return future;
     }
 }
@@ -0,0 +1,415 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.component;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Priority lanes of the deliveries of the HTTP adapter.
+ * Events whose URI or profile is mapped as critical, such as session revocation or credential compromise events,
+ * bypass the normal lane and complete on a callback executor of their own, so they do not queue behind bulk
+ * informational events. Normal events may use the connection pool only up to its size minus
+ * {@code priorityReservedConnections}, in total and per route, which keeps connections free for critical events.
+ * Normal events beyond that share wait in a queue of at most {@code normalLaneQueueCapacity} deliveries and are
+ * sent as earlier normal requests complete; once the queue is full, further normal events are rejected. A queued
+ * delivery the lanes discard because they are stopping runs its drop handler instead, so the event is still
+ * accounted for.
+ */
+public class DeliveryLanes {
+
+    private static final Log LOG = LogFactory.getLog(DeliveryLanes.class);
+    private static final String WILDCARD = "*";
+
+    private final Map<String, Integer> routeInFlight = new HashMap<>();
+    private final LinkedList<PendingDelivery> pendingDeliveries = new LinkedList<>();
+    private final ThreadPoolExecutor criticalCallbackExecutor;
+    private final ExecutorService releaseExecutor;
+    private int inFlight;
+    private int maxInFlight;
+    private int maxRouteInFlight;
+    private int queueCapacity;
+    private volatile Set<String> criticalEventUris;
+    private volatile List<String> criticalEventUriPrefixes;
+    private volatile Set<String> criticalEventProfiles;
+
+    /**
+     * Create the priority lanes.
+     *
+     * @param configuration Adapter configuration with the critical event mapping and the lane limits.
+     */
+    public DeliveryLanes(HTTPAdapterConfiguration configuration) {
+
+        int poolSize = Math.max(1, configuration.getCriticalCallbackPoolSize());
+        criticalCallbackExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, configuration.getCallbackExecutorQueueCapacity())), r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("http-adapter-critical-callback-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        }, (r, executor) -> {
+            HTTPAdapterMetrics.getInstance().recordCallbackRejected();
+            RejectableTask.rejected(r);
+            if (executor.isShutdown()) {
+                LOG.debug("Critical callback executor is shut down; discarding task of publishing events.");
+                return;
+            }
+            LOG.info("Critical callback queue is full; discarding task of publishing events.");
+        });
+        releaseExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread thread = Executors.defaultThreadFactory().newThread(r);
+                    thread.setName("http-adapter-normal-lane");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        applyConfiguration(configuration);
+    }
+
+    /**
+     * Check whether an event is delivered on the critical lane.
+     *
+     * @param eventContext Event context.
+     * @return true if the URI or the profile of the event is mapped as critical.
+     */
+    public boolean isCritical(EventContext eventContext) {
+
+        String eventUri = eventContext.getEventUri();
+        if (eventUri != null) {
+            if (criticalEventUris.contains(eventUri)) {
+                return true;
+            }
+            for (String prefix : criticalEventUriPrefixes) {
+                if (eventUri.startsWith(prefix)) {
+                    return true;
+                }
+            }
+        }
+        return eventContext.getEventProfileName() != null &&
+                criticalEventProfiles.contains(eventContext.getEventProfileName());
+    }
+
+    /**
+     * Get the executor running the callbacks of critical events.
+     *
+     * @return Critical callback executor.
+     */
+    public Executor getCriticalCallbackExecutor() {
+
+        return criticalCallbackExecutor;
+    }
+
+    /**
+     * Take connection capacity of the normal lane for a request to an endpoint.
+     * Capacity taken must be returned with {@link #release(URI)} once the request completes.
+     *
+     * @param uri Endpoint URI.
+     * @return true if the request may be sent now.
+     */
+    public synchronized boolean tryAcquire(URI uri) {
+
+        return tryAcquire(getRoute(uri));
+    }
+
+    /**
+     * Queue a normal delivery until connection capacity of the normal lane is available. The delivery runs on the
+     * lane thread with the capacity already taken.
+     *
+     * @param uri       Endpoint URI.
+     * @param delivery  Delivery to run.
+     * @param onDropped Handler run instead of the delivery if the lanes discard it.
+     * @return true if the delivery is queued, false if the queue is full or the lanes are stopped.
+     */
+    public boolean enqueue(URI uri, Runnable delivery, Runnable onDropped) {
+
+        List<PendingDelivery> ready;
+        synchronized (this) {
+            if (releaseExecutor.isShutdown() || pendingDeliveries.size() >= queueCapacity) {
+                HTTPAdapterMetrics.getInstance().recordNormalLaneRejected();
+                return false;
+            }
+            pendingDeliveries.add(new PendingDelivery(getRoute(uri), delivery, onDropped));
+            HTTPAdapterMetrics.getInstance().recordNormalLaneQueued();
+            // Capacity released while the caller did not hold the lock goes to the queued deliveries.
+            ready = takeReadyDeliveries();
+        }
+        run(ready);
+        return true;
+    }
+
+    /**
+     * Return connection capacity of the normal lane and start the queued deliveries it makes room for.
+     *
+     * @param uri Endpoint URI of the completed request.
+     */
+    public void release(URI uri) {
+
+        List<PendingDelivery> ready;
+        synchronized (this) {
+            release(getRoute(uri));
+            ready = takeReadyDeliveries();
+        }
+        run(ready);
+    }
+
+    /**
+     * Apply a changed critical event mapping and changed lane limits.
+     *
+     * @param current Configuration to apply.
+     */
+    public void reconfigure(HTTPAdapterConfiguration current) {
+
+        int poolSize = Math.max(1, current.getCriticalCallbackPoolSize());
+        if (poolSize > criticalCallbackExecutor.getMaximumPoolSize()) {
+            criticalCallbackExecutor.setMaximumPoolSize(poolSize);
+            criticalCallbackExecutor.setCorePoolSize(poolSize);
+        } else {
+            criticalCallbackExecutor.setCorePoolSize(poolSize);
+            criticalCallbackExecutor.setMaximumPoolSize(poolSize);
+        }
+        List<PendingDelivery> ready;
+        synchronized (this) {
+            applyConfiguration(current);
+            ready = takeReadyDeliveries();
+        }
+        run(ready);
+    }
+
+    /**
+     * Stop the priority lanes. Callbacks of critical events already queued still run.
+     *
+     * @param deliverQueued true to send the queued normal deliveries now, over the lane limits, false to drop
+     *                      them.
+     */
+    public void stop(boolean deliverQueued) {
+
+        List<PendingDelivery> queued;
+        synchronized (this) {
+            queued = new ArrayList<>(pendingDeliveries);
+            pendingDeliveries.clear();
+            if (deliverQueued) {
+                // A drained delivery releases its capacity on completion like any other, so it takes it too.
+                for (PendingDelivery pendingDelivery : queued) {
+                    acquire(pendingDelivery.route);
+                }
+            }
+        }
+        if (deliverQueued) {
+            run(queued);
+        } else if (!queued.isEmpty()) {
+            LOG.warn("HTTP adapter priority lanes stopped. Dropped " + queued.size() + " queued normal deliveries.");
+            for (PendingDelivery pendingDelivery : queued) {
+                drop(pendingDelivery);
+            }
+        }
+        releaseExecutor.shutdown();
+        criticalCallbackExecutor.shutdown();
+    }
+
+    /**
+     * Wait for the queued normal deliveries handed over by {@link #stop(boolean)} to be sent.
+     *
+     * @param timeoutMillis Maximum time in milliseconds to wait.
+     * @return true if the lane thread finished within the timeout, false otherwise.
+     */
+    public boolean awaitTermination(long timeoutMillis) {
+
+        try {
+            return releaseExecutor.awaitTermination(Math.max(0L, timeoutMillis), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of normal deliveries waiting for connection capacity.
+     *
+     * @return Number of queued deliveries.
+     */
+    public synchronized int getQueuedCount() {
+
+        return pendingDeliveries.size();
+    }
+
+    private void applyConfiguration(HTTPAdapterConfiguration configuration) {
+
+        int reserved = Math.max(0, configuration.getPriorityReservedConnections());
+        maxInFlight = Math.max(1, configuration.getDefaultMaxConnections() - reserved);
+        maxRouteInFlight = Math.max(1, configuration.getDefaultMaxConnectionsPerRoute() - reserved);
+        queueCapacity = Math.max(0, configuration.getNormalLaneQueueCapacity());
+
+        Set<String> uris = new HashSet<>();
+        List<String> prefixes = new ArrayList<>();
+        for (String uri : split(configuration.getCriticalEventUris())) {
+            if (uri.endsWith(WILDCARD)) {
+                prefixes.add(uri.substring(0, uri.length() - WILDCARD.length()));
+            } else {
+                uris.add(uri);
+            }
+        }
+        criticalEventUris = uris;
+        criticalEventUriPrefixes = prefixes;
+        criticalEventProfiles = new HashSet<>(split(configuration.getCriticalEventProfiles()));
+    }
+
+    private boolean tryAcquire(String route) {
+
+        if (inFlight >= maxInFlight) {
+            return false;
+        }
+        if (routeInFlight.getOrDefault(route, 0) >= maxRouteInFlight) {
+            return false;
+        }
+        acquire(route);
+        return true;
+    }
+
+    private void acquire(String route) {
+
+        inFlight++;
+        routeInFlight.merge(route, 1, Integer::sum);
+    }
+
+    private void release(String route) {
+
+        inFlight--;
+        Integer count = routeInFlight.get(route);
+        if (count == null || count <= 1) {
+            routeInFlight.remove(route);
+        } else {
+            routeInFlight.put(route, count - 1);
+        }
+    }
+
+    private List<PendingDelivery> takeReadyDeliveries() {
+
+        List<PendingDelivery> ready = new ArrayList<>();
+        Iterator<PendingDelivery> iterator = pendingDeliveries.iterator();
+        // Deliveries to a busy route do not hold back the deliveries to other routes queued behind them.
+        while (iterator.hasNext() && inFlight < maxInFlight) {
+            PendingDelivery pendingDelivery = iterator.next();
+            if (tryAcquire(pendingDelivery.route)) {
+                iterator.remove();
+                ready.add(pendingDelivery);
+            }
+        }
+        return ready;
+    }
+
+    private void run(List<PendingDelivery> deliveries) {
+
+        for (PendingDelivery pendingDelivery : deliveries) {
+            try {
+                releaseExecutor.execute(() -> {
+                    try {
+                        pendingDelivery.delivery.run();
+                    } catch (RuntimeException e) {
+                        LOG.error("Error while running a queued normal delivery.", e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                LOG.debug("HTTP adapter priority lanes are stopped. Queued normal delivery dropped.");
+                // The delivery took its capacity when it was taken from the queue.
+                synchronized (this) {
+                    release(pendingDelivery.route);
+                }
+                drop(pendingDelivery);
+            }
+        }
+    }
+
+    private static void drop(PendingDelivery pendingDelivery) {
+
+        try {
+            pendingDelivery.onDropped.run();
+        } catch (RuntimeException e) {
+            LOG.error("Error while handling a dropped normal delivery.", e);
+        }
+    }
+
+    private static List<String> split(String value) {
+
+        List<String> values = new ArrayList<>();
+        if (StringUtils.isBlank(value)) {
+            return values;
+        }
+        for (String entry : value.split(",")) {
+            if (StringUtils.isNotBlank(entry)) {
+                values.add(entry.trim());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Get the connection route of an endpoint, which is its scheme, host and port.
+     *
+     * @param uri Endpoint URI.
+     * @return Route of the endpoint.
+     */
+    static String getRoute(URI uri) {
+
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        return uri.getScheme() + "://" + uri.getHost() + ":" + port;
+    }
+
+    /**
+     * Normal delivery waiting for connection capacity.
+     */
+    private static final class PendingDelivery {
+
+        private final String route;
+        private final Runnable delivery;
+        private final Runnable onDropped;
+
+        private PendingDelivery(String route, Runnable delivery, Runnable onDropped) {
+
+            this.route = route;
+            this.delivery = delivery;
+            this.onDropped = onDropped;
+        }
+    }
+}
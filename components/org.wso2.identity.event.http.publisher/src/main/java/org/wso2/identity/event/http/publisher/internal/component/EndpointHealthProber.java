@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.component;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background prober of the endpoints the HTTP adapter delivers to.
+ * When {@code endpointProbeEnabled} is set, endpoints that received an event within
+ * {@code endpointProbeIdleTimeout} are sent a HEAD request every {@code endpointProbeInterval} seconds, which keeps a
+ * warm connection to the endpoint in the pool. Any HTTP response marks the endpoint reachable. An endpoint is marked
+ * unreachable after {@code endpointUnreachableThreshold} consecutive connection failures of deliveries or probes,
+ * and stays so until a probe reaches it again, so deliveries to it can be short-circuited in the meantime.
+ * Health is kept per route, the scheme, host and port of the endpoint URLs, as connections are pooled per route: the
+ * webhooks of a single host share one state and one probe, sent to the URL that last received an event.
+ */
+public class EndpointHealthProber {
+
+    private static final Log LOG = LogFactory.getLog(EndpointHealthProber.class);
+
+    private final Map<String, EndpointState> endpoints = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private int intervalSeconds;
+
+    /**
+     * Start probing, or change the probe interval of a running prober.
+     *
+     * @param intervalSeconds Interval in seconds between probe rounds, 0 or less to stop probing.
+     */
+    public synchronized void start(int intervalSeconds) {
+
+        if (scheduler != null) {
+            if (intervalSeconds == this.intervalSeconds) {
+                return;
+            }
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        this.intervalSeconds = intervalSeconds;
+        if (intervalSeconds <= 0) {
+            endpoints.clear();
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "http-adapter-endpoint-prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop probing and forget the tracked endpoints.
+     */
+    public synchronized void stop() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        endpoints.clear();
+    }
+
+    /**
+     * Track an endpoint an event is delivered to.
+     *
+     * @param url Endpoint URL.
+     */
+    public void track(String url) {
+
+        if (!isProbing()) {
+            return;
+        }
+        EndpointState state = endpoints.computeIfAbsent(getRoute(url), key -> new EndpointState(url));
+        state.url = url;
+        state.lastUsedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Record a response received from an endpoint. Any HTTP response, including error statuses, shows that the
+     * endpoint can be reached.
+     *
+     * @param url Endpoint URL.
+     */
+    public void recordReachable(String url) {
+
+        String route = getRoute(url);
+        EndpointState state = endpoints.get(route);
+        if (state == null) {
+            return;
+        }
+        state.lastReachableTime = System.currentTimeMillis();
+        state.consecutiveFailures.set(0);
+        if (state.unreachable) {
+            state.unreachable = false;
+            LOG.info("Endpoint is reachable again: " + route);
+        }
+    }
+
+    /**
+     * Record a request to an endpoint that failed before a response was received.
+     *
+     * @param url Endpoint URL.
+     */
+    public void recordFailure(String url) {
+
+        String route = getRoute(url);
+        EndpointState state = endpoints.get(route);
+        if (state == null) {
+            return;
+        }
+        int failures = state.consecutiveFailures.incrementAndGet();
+        if (!state.unreachable && failures >= getConfiguration().getEndpointUnreachableThreshold()) {
+            state.unreachable = true;
+            LOG.warn("Endpoint marked unreachable after " + failures + " consecutive connection failures: " + route);
+        }
+    }
+
+    /**
+     * Check whether an endpoint is marked unreachable.
+     *
+     * @param url Endpoint URL.
+     * @return true if deliveries to the endpoint should be short-circuited.
+     */
+    public boolean isUnreachable(String url) {
+
+        EndpointState state = endpoints.get(getRoute(url));
+        return state != null && state.unreachable;
+    }
+
+    /**
+     * Get the number of tracked endpoint routes.
+     *
+     * @return Number of tracked routes.
+     */
+    public int getTrackedEndpointCount() {
+
+        return endpoints.size();
+    }
+
+    /**
+     * Run a single round: forget endpoints that no longer receive events and probe the others. Endpoints that had
+     * a response within the last probe interval already hold a warm connection and are not probed.
+     */
+    public void probeEndpoints() {
+
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager == null || clientManager.isShuttingDown()) {
+            return;
+        }
+        HTTPAdapterConfiguration configuration = getConfiguration();
+        if (!configuration.isEndpointProbeEnabled()) {
+            endpoints.clear();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long idleSince = now - TimeUnit.SECONDS.toMillis(configuration.getEndpointProbeIdleTimeout());
+        long warmSince = now - TimeUnit.SECONDS.toMillis(configuration.getEndpointProbeInterval());
+        Iterator<Map.Entry<String, EndpointState>> iterator = endpoints.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, EndpointState> entry = iterator.next();
+            EndpointState state = entry.getValue();
+            if (state.lastUsedTime < idleSince) {
+                iterator.remove();
+            } else if ((state.unreachable || state.lastReachableTime < warmSince) &&
+                    state.probing.compareAndSet(false, true)) {
+                probe(clientManager, state.url, state);
+            }
+        }
+    }
+
+    private void probe(ClientManager clientManager, String url, EndpointState state) {
+
+        clientManager.probe(url).whenComplete((response, throwable) -> {
+            state.probing.set(false);
+            HTTPAdapterMetrics.getInstance().recordProbe(throwable != null);
+            if (throwable == null) {
+                recordReachable(url);
+            } else {
+                LOG.debug("Probe of endpoint failed: " + url, throwable);
+                recordFailure(url);
+            }
+        });
+    }
+
+    private void runSafely() {
+
+        try {
+            probeEndpoints();
+        } catch (RuntimeException e) {
+            LOG.error("Error while probing the HTTP adapter endpoints.", e);
+        }
+    }
+
+    private boolean isProbing() {
+
+        HTTPAdapterConfiguration configuration = getConfiguration();
+        return configuration != null && configuration.isEndpointProbeEnabled() &&
+                configuration.getEndpointProbeInterval() > 0;
+    }
+
+    private static String getRoute(String url) {
+
+        try {
+            URI uri = new URI(url);
+            return uri.getScheme() != null && uri.getHost() != null ? DeliveryLanes.getRoute(uri) : url;
+        } catch (URISyntaxException e) {
+            // The delivery of such a URL fails on its own, so its state is simply kept under the URL.
+            return url;
+        }
+    }
+
+    private static HTTPAdapterConfiguration getConfiguration() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+    }
+
+    private static final class EndpointState {
+
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean probing = new AtomicBoolean();
+        private volatile String url;
+        private volatile long lastUsedTime;
+        private volatile long lastReachableTime;
+        private volatile boolean unreachable;
+
+        private EndpointState(String url) {
+
+            this.url = url;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.component;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+import org.wso2.identity.event.http.publisher.internal.util.TokenBucket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate limiter of the deliveries of the HTTP adapter.
+ * Every delivery attempt, including retries, takes a permit from the token bucket of its endpoint and from the
+ * token bucket of its tenant. A delivery without a permit is held back until its permit becomes available, so a
+ * burst of events reaches the endpoint at the configured rate instead of all at once. At most
+ * {@code rateLimitQueueCapacity} deliveries are held back; once the queue is full, deliveries without a permit are
+ * rejected. A delivery is not held back longer than {@code rateLimitMaxWait}. A rate of 0 or less disables the
+ * limit of that kind. Buckets left full by idle endpoints and tenants are evicted, as a new bucket is full too.
+ * A held back delivery the rate limiter discards because it is stopping runs its drop handler instead, so the event
+ * is still accounted for.
+ */
+public class EndpointRateLimiter {
+
+    private static final Log LOG = LogFactory.getLog(EndpointRateLimiter.class);
+    private static final long IDLE_BUCKET_EVICTION_INTERVAL_SECONDS = 60L;
+
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> tenantBuckets = new ConcurrentHashMap<>();
+    private final AtomicInteger queuedDeliveries = new AtomicInteger();
+    // Held back deliveries that have not run yet.
+    private final Set<HeldBackDelivery> heldBackDeliveries = ConcurrentHashMap.newKeySet();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ScheduledFuture<?> idleBucketEviction;
+    private volatile HTTPAdapterConfiguration configuration;
+
+    /**
+     * Create a rate limiter.
+     *
+     * @param configuration Adapter configuration with the rate limits.
+     */
+    public EndpointRateLimiter(HTTPAdapterConfiguration configuration) {
+
+        this.configuration = configuration;
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("http-adapter-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        idleBucketEviction = scheduler.scheduleWithFixedDelay(this::evictIdleBuckets,
+                IDLE_BUCKET_EVICTION_INTERVAL_SECONDS, IDLE_BUCKET_EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Reserve a permit for a delivery to an endpoint.
+     *
+     * @param tenantDomain Tenant domain of the event.
+     * @param url          Endpoint URL.
+     * @return Time in nanoseconds until the delivery may be sent, 0 if it may be sent now, or -1 if the delivery
+     * has to be rejected because the queue of held back deliveries is full.
+     */
+    public long reserve(String tenantDomain, String url) {
+
+        HTTPAdapterConfiguration config = configuration;
+        long maxWaitNanos = queuedDeliveries.get() < config.getRateLimitQueueCapacity() ?
+                TimeUnit.SECONDS.toNanos(Math.max(0, config.getRateLimitMaxWait())) : 0L;
+        long endpointWait = reserve(endpointBuckets, url, config.getRateLimitEndpointRate(),
+                config.getRateLimitEndpointBurst(), maxWaitNanos);
+        // A permit of the endpoint taken for a delivery the tenant limit rejects is not returned.
+        long tenantWait = endpointWait < 0 ? -1L : reserve(tenantBuckets, tenantDomain,
+                config.getRateLimitTenantRate(), config.getRateLimitTenantBurst(), maxWaitNanos);
+        if (tenantWait < 0) {
+            HTTPAdapterMetrics.getInstance().recordRateLimited(true);
+            return -1L;
+        }
+        return Math.max(endpointWait, tenantWait);
+    }
+
+    /**
+     * Hold back a delivery until its reserved permit becomes available.
+     *
+     * @param delivery   Delivery to run.
+     * @param delayNanos Time in nanoseconds returned when the permit was reserved.
+     * @param onDropped  Handler run instead of the delivery if the rate limiter discards it.
+     * @return true if the delivery is scheduled, false if the rate limiter is stopped.
+     */
+    public boolean schedule(Runnable delivery, long delayNanos, Runnable onDropped) {
+
+        HeldBackDelivery heldBackDelivery = new HeldBackDelivery(delivery, onDropped);
+        heldBackDeliveries.add(heldBackDelivery);
+        queuedDeliveries.incrementAndGet();
+        try {
+            scheduler.schedule(() -> {
+                if (!heldBackDeliveries.remove(heldBackDelivery)) {
+                    // Already dropped by a stop of the rate limiter.
+                    return;
+                }
+                queuedDeliveries.decrementAndGet();
+                try {
+                    heldBackDelivery.delivery.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Error while running a rate limited delivery.", e);
+                }
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            heldBackDeliveries.remove(heldBackDelivery);
+            queuedDeliveries.decrementAndGet();
+            return false;
+        }
+        HTTPAdapterMetrics.getInstance().recordRateLimited(false);
+        return true;
+    }
+
+    /**
+     * Apply changed rate limits. Changed rates and burst sizes start from full buckets.
+     *
+     * @param current Configuration to apply.
+     */
+    public void reconfigure(HTTPAdapterConfiguration current) {
+
+        HTTPAdapterConfiguration previous = configuration;
+        configuration = current;
+        if (previous.getRateLimitEndpointRate() != current.getRateLimitEndpointRate() ||
+                previous.getRateLimitEndpointBurst() != current.getRateLimitEndpointBurst()) {
+            endpointBuckets.clear();
+        }
+        if (previous.getRateLimitTenantRate() != current.getRateLimitTenantRate() ||
+                previous.getRateLimitTenantBurst() != current.getRateLimitTenantBurst()) {
+            tenantBuckets.clear();
+        }
+    }
+
+    /**
+     * Remove the buckets of the endpoints and tenants that have been idle long enough to refill their buckets.
+     * A delivery that took such a bucket just before it is removed may get one extra permit from its replacement.
+     */
+    public void evictIdleBuckets() {
+
+        int evicted = evictFull(endpointBuckets) + evictFull(tenantBuckets);
+        if (evicted > 0 && LOG.isDebugEnabled()) {
+            LOG.debug("Evicted " + evicted + " idle rate limit buckets of the HTTP adapter.");
+        }
+    }
+
+    /**
+     * Get the number of endpoint and tenant buckets in use.
+     *
+     * @return Number of buckets.
+     */
+    public int getBucketCount() {
+
+        return endpointBuckets.size() + tenantBuckets.size();
+    }
+
+    /**
+     * Stop the rate limiter.
+     *
+     * @param deliverQueued true to still send the held back deliveries when their permits become available, false
+     *                      to drop them.
+     */
+    public void stop(boolean deliverQueued) {
+
+        idleBucketEviction.cancel(false);
+        if (deliverQueued) {
+            scheduler.shutdown();
+            return;
+        }
+        // The tasks returned by the scheduler are wrappers, so the dropped deliveries are taken from the held back
+        // deliveries instead.
+        scheduler.shutdownNow();
+        List<HeldBackDelivery> dropped = new ArrayList<>();
+        for (HeldBackDelivery heldBackDelivery : heldBackDeliveries) {
+            if (heldBackDeliveries.remove(heldBackDelivery)) {
+                queuedDeliveries.decrementAndGet();
+                dropped.add(heldBackDelivery);
+            }
+        }
+        if (dropped.isEmpty()) {
+            return;
+        }
+        LOG.warn("HTTP adapter rate limiter stopped. Dropped " + dropped.size() + " held back deliveries.");
+        for (HeldBackDelivery heldBackDelivery : dropped) {
+            try {
+                heldBackDelivery.onDropped.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error while handling a dropped rate limited delivery.", e);
+            }
+        }
+    }
+
+    /**
+     * Get the number of deliveries held back by the rate limits.
+     *
+     * @return Number of queued deliveries.
+     */
+    public int getQueuedCount() {
+
+        return queuedDeliveries.get();
+    }
+
+    private static long reserve(Map<String, TokenBucket> buckets, String key, int rate, int burst,
+                                long maxWaitNanos) {
+
+        if (rate <= 0 || key == null) {
+            return 0L;
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(rate, burst)).reserve(maxWaitNanos);
+    }
+
+    private static int evictFull(Map<String, TokenBucket> buckets) {
+
+        int evicted = 0;
+        for (Map.Entry<String, TokenBucket> bucket : buckets.entrySet()) {
+            if (bucket.getValue().isFull() && buckets.remove(bucket.getKey(), bucket.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Delivery held back until its permit becomes available.
+     */
+    private static final class HeldBackDelivery {
+
+        private final Runnable delivery;
+        private final Runnable onDropped;
+
+        private HeldBackDelivery(Runnable delivery, Runnable onDropped) {
+
+            this.delivery = delivery;
+            this.onDropped = onDropped;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.component;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.metadata.api.exception.WebhookMetadataException;
+import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.HTTP_ADAPTER_NAME;
+
+/**
+ * Applies changes of the HTTP adapter properties to the running adapter without restarting the bundle.
+ * The properties are read again from the {@link org.wso2.carbon.identity.webhook.metadata.api.service
+ * .EventAdapterMetadataService} every {@code configReloadInterval} seconds, or on demand through the
+ * {@code reloadConfiguration} JMX operation. Changed properties replace the adapter configuration and are applied
+ * to the {@link ClientManager} in place. Enabling or disabling the adapter still requires a restart.
+ */
+public class HTTPAdapterConfigurationReloader implements HTTPAdapterConfigurationReloaderMBean {
+
+    private static final Log LOG = LogFactory.getLog(HTTPAdapterConfigurationReloader.class);
+    private static final String OBJECT_NAME = "org.wso2.identity.event.publisher:type=HTTPAdapter,name=Configuration";
+
+    private final AtomicLong reloadCount = new AtomicLong();
+    private Map<String, String> appliedProperties;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledReload;
+    private int reloadIntervalSeconds;
+    private volatile long lastReloadTime;
+    private MBeanServer mBeanServer;
+
+    /**
+     * Create a reloader for the adapter running with the given properties.
+     *
+     * @param properties Properties the current adapter configuration was built from.
+     */
+    public HTTPAdapterConfigurationReloader(Map<String, String> properties) {
+
+        this.appliedProperties = new HashMap<>(properties);
+    }
+
+    /**
+     * Start watching the adapter properties and register the JMX view.
+     *
+     * @param intervalSeconds Interval in seconds between checks, 0 or less to reload on demand only.
+     */
+    public synchronized void start(int intervalSeconds) {
+
+        schedule(intervalSeconds);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                mBeanServer = server;
+            }
+        } catch (JMException e) {
+            LOG.warn("Error while registering the HTTP adapter configuration MBean.", e);
+        }
+    }
+
+    /**
+     * Stop watching the adapter properties and unregister the JMX view.
+     */
+    public synchronized void stop() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            scheduledReload = null;
+        }
+        if (mBeanServer != null) {
+            try {
+                mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                LOG.warn("Error while unregistering the HTTP adapter configuration MBean.", e);
+            }
+            mBeanServer = null;
+        }
+    }
+
+    /**
+     * Read the adapter properties and apply them if they changed since the last reload.
+     *
+     * @return true if a changed configuration was applied, false if the properties are unchanged.
+     * @throws WebhookMetadataException If the adapter properties cannot be read.
+     * @throws HTTPAdapterException     If the changed configuration cannot be applied.
+     */
+    public synchronized boolean reload() throws WebhookMetadataException, HTTPAdapterException {
+
+        Map<String, String> properties = new HashMap<>(HTTPAdapterDataHolder.getInstance()
+                .getEventAdapterMetadataService().getAdapterByName(HTTP_ADAPTER_NAME).getProperties());
+        if (properties.equals(appliedProperties)) {
+            return false;
+        }
+
+        HTTPAdapterConfiguration previous = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        HTTPAdapterConfiguration current = new HTTPAdapterConfiguration(properties);
+        if (previous.isAdapterEnabled() != current.isAdapterEnabled()) {
+            LOG.warn("Enabling or disabling the HTTP adapter requires a server restart. The change is ignored " +
+                    "until then.");
+        }
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null) {
+            clientManager.reconfigure(previous, current);
+        }
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(current);
+        ByteBudget payloadBudget = HTTPAdapterDataHolder.getInstance().getPayloadBudget();
+        if (payloadBudget != null) {
+            payloadBudget.setMaxBytes(current.getPayloadMemoryBudgetBytes());
+        }
+        LookupCache<List<String>, List<Webhook>> webhookLookupCache =
+                HTTPAdapterDataHolder.getInstance().getWebhookLookupCache();
+        if (webhookLookupCache != null && (previous.getLookupCacheTtl() != current.getLookupCacheTtl() ||
+                previous.getLookupCacheRefreshAhead() != current.getLookupCacheRefreshAhead() ||
+                previous.getLookupCacheMaxEntries() != current.getLookupCacheMaxEntries())) {
+            webhookLookupCache.reconfigure(TimeUnit.SECONDS.toMillis(current.getLookupCacheTtl()),
+                    TimeUnit.SECONDS.toMillis(current.getLookupCacheRefreshAhead()),
+                    current.getLookupCacheMaxEntries());
+        }
+        EndpointHealthProber endpointHealthProber = HTTPAdapterDataHolder.getInstance().getEndpointHealthProber();
+        if (current.isEndpointProbeEnabled() && endpointHealthProber == null) {
+            endpointHealthProber = new EndpointHealthProber();
+            endpointHealthProber.start(current.getEndpointProbeInterval());
+            HTTPAdapterDataHolder.getInstance().setEndpointHealthProber(endpointHealthProber);
+        } else if (current.isEndpointProbeEnabled()) {
+            endpointHealthProber.start(current.getEndpointProbeInterval());
+        } else if (endpointHealthProber != null) {
+            // Endpoints marked unreachable are no longer short-circuited.
+            HTTPAdapterDataHolder.getInstance().setEndpointHealthProber(null);
+            endpointHealthProber.stop();
+        }
+        EndpointRateLimiter endpointRateLimiter = HTTPAdapterDataHolder.getInstance().getEndpointRateLimiter();
+        if (current.isRateLimitEnabled() && endpointRateLimiter == null) {
+            HTTPAdapterDataHolder.getInstance().setEndpointRateLimiter(new EndpointRateLimiter(current));
+        } else if (current.isRateLimitEnabled()) {
+            endpointRateLimiter.reconfigure(current);
+        } else if (endpointRateLimiter != null) {
+            // Deliveries already held back are still sent at the old rate.
+            HTTPAdapterDataHolder.getInstance().setEndpointRateLimiter(null);
+            endpointRateLimiter.stop(true);
+        }
+        OrderedDeliveryDispatcher orderedDeliveryDispatcher =
+                HTTPAdapterDataHolder.getInstance().getOrderedDeliveryDispatcher();
+        if (current.isOrderedDeliveryEnabled() && (orderedDeliveryDispatcher == null ||
+                previous.getOrderedDeliveryStripes() != current.getOrderedDeliveryStripes())) {
+            HTTPAdapterDataHolder.getInstance().setOrderedDeliveryDispatcher(new OrderedDeliveryDispatcher(
+                    current.getOrderedDeliveryStripes(), current.getOrderedDeliveryTimeout()));
+        } else if (current.isOrderedDeliveryEnabled()) {
+            orderedDeliveryDispatcher.setTimeout(current.getOrderedDeliveryTimeout());
+        } else {
+            HTTPAdapterDataHolder.getInstance().setOrderedDeliveryDispatcher(null);
+        }
+        if (orderedDeliveryDispatcher != null &&
+                orderedDeliveryDispatcher != HTTPAdapterDataHolder.getInstance().getOrderedDeliveryDispatcher()) {
+            // Deliveries already queued keep their order in the replaced dispatcher.
+            orderedDeliveryDispatcher.stop(true);
+        }
+        DeliveryLanes deliveryLanes = HTTPAdapterDataHolder.getInstance().getDeliveryLanes();
+        if (current.isPriorityLanesEnabled() && deliveryLanes == null) {
+            HTTPAdapterDataHolder.getInstance().setDeliveryLanes(new DeliveryLanes(current));
+        } else if (current.isPriorityLanesEnabled()) {
+            deliveryLanes.reconfigure(current);
+        } else if (deliveryLanes != null) {
+            // Queued normal deliveries are sent now instead of waiting for capacity that is no longer tracked.
+            HTTPAdapterDataHolder.getInstance().setDeliveryLanes(null);
+            deliveryLanes.stop(true);
+        }
+        appliedProperties = properties;
+        if (current.getConfigReloadInterval() != reloadIntervalSeconds) {
+            schedule(current.getConfigReloadInterval());
+        }
+        reloadCount.incrementAndGet();
+        lastReloadTime = System.currentTimeMillis();
+        return true;
+    }
+
+    @Override
+    public String reloadConfiguration() {
+
+        try {
+            return reload() ? "HTTP adapter configuration reloaded." : "HTTP adapter configuration is unchanged.";
+        } catch (WebhookMetadataException | HTTPAdapterException | RuntimeException e) {
+            LOG.error("Error while reloading the HTTP adapter configuration.", e);
+            return "Error while reloading the HTTP adapter configuration: " + e.getMessage();
+        }
+    }
+
+    @Override
+    public String invalidateLookupCache() {
+
+        // The adapter is not notified of webhook changes, so an updated webhook or secret is picked up through here
+        // before its cached lookup expires.
+        LookupCache<List<String>, List<Webhook>> webhookLookupCache =
+                HTTPAdapterDataHolder.getInstance().getWebhookLookupCache();
+        if (webhookLookupCache == null) {
+            return "HTTP adapter lookup cache is disabled.";
+        }
+        webhookLookupCache.invalidateAll();
+        return "HTTP adapter lookup cache invalidated.";
+    }
+
+    @Override
+    public long getReloadCount() {
+
+        return reloadCount.get();
+    }
+
+    @Override
+    public String getLastReloadTime() {
+
+        long reloadTime = lastReloadTime;
+        return reloadTime == 0 ? null : Instant.ofEpochMilli(reloadTime).toString();
+    }
+
+    @Override
+    public synchronized int getReloadIntervalSeconds() {
+
+        return reloadIntervalSeconds;
+    }
+
+    @Override
+    public int getMaxConnections() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections();
+    }
+
+    @Override
+    public int getMaxConnectionsPerRoute() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnectionsPerRoute();
+    }
+
+    @Override
+    public int getConnectionTimeout() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getHTTPConnectionTimeout();
+    }
+
+    @Override
+    public int getConnectionRequestTimeout() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpConnectionRequestTimeout();
+    }
+
+    @Override
+    public int getReadTimeout() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout();
+    }
+
+    @Override
+    public int getCallbackExecutorPoolSize() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getCallbackExecutorPoolSize();
+    }
+
+    @Override
+    public int getCallbackExecutorQueueCapacity() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getCallbackExecutorQueueCapacity();
+    }
+
+    @Override
+    public boolean isHttp2Enabled() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().isHttp2Enabled();
+    }
+
+    @Override
+    public String getRequestCompression() {
+
+        return HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getRequestCompression();
+    }
+
+    private void schedule(int intervalSeconds) {
+
+        if (scheduledReload != null) {
+            scheduledReload.cancel(false);
+            scheduledReload = null;
+        }
+        reloadIntervalSeconds = intervalSeconds;
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "http-adapter-config-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        scheduledReload = scheduler.scheduleWithFixedDelay(this::reloadConfiguration, intervalSeconds,
+                intervalSeconds, TimeUnit.SECONDS);
+        LOG.debug("Watching the HTTP adapter properties every " + intervalSeconds + " seconds.");
+    }
+}
@@ -18,9 +18,18 @@
 
 package org.wso2.identity.event.http.publisher.internal.component;
 
+import org.apache.http.conn.DnsResolver;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
 import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
 import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
 import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+
+import java.util.List;
 
 /**
  * HTTP Outbound Event Adapter service component's value holder.
@@ -29,9 +38,19 @@ public class HTTPAdapterDataHolder {
 
     private static final HTTPAdapterDataHolder instance = new HTTPAdapterDataHolder();
     private ClientManager clientManager;
-    private HTTPAdapterConfiguration adapterConfiguration;
+    private volatile HTTPAdapterConfiguration adapterConfiguration;
     private EventAdapterMetadataService eventAdapterMetadataService;
     private WebhookManagementService webhookManagementService;
+    private DeadLetterStore deadLetterStore;
+    private DnsResolver dnsResolver;
+    private EndpointHealthProber endpointHealthProber;
+    private volatile EndpointRateLimiter endpointRateLimiter;
+    private volatile OrderedDeliveryDispatcher orderedDeliveryDispatcher;
+    private volatile DeliveryLanes deliveryLanes;
+    private volatile ByteBudget payloadBudget;
+    private volatile LookupCache<List<String>, List<Webhook>> webhookLookupCache;
+    private volatile CacheWarmUp cacheWarmUp;
+    private volatile SharedTransport sharedTransport;
 
     private HTTPAdapterDataHolder() {
 
@@ -101,4 +120,205 @@ public class HTTPAdapterDataHolder {
 
         this.eventAdapterMetadataService = eventAdapterMetadataService;
     }
+
+    /**
+     * Get the dead-letter store.
+     *
+     * @return Dead-letter store, or null if the dead-letter store is disabled.
+     */
+    public DeadLetterStore getDeadLetterStore() {
+
+        return deadLetterStore;
+    }
+
+    /**
+     * Set the dead-letter store.
+     *
+     * @param deadLetterStore Dead-letter store.
+     */
+    public void setDeadLetterStore(DeadLetterStore deadLetterStore) {
+
+        this.deadLetterStore = deadLetterStore;
+    }
+
+    /**
+     * Get the DNS resolver the client manager resolves endpoint hosts with.
+     *
+     * @return DNS resolver, or null to use the resolver built from the adapter configuration.
+     */
+    public DnsResolver getDnsResolver() {
+
+        return dnsResolver;
+    }
+
+    /**
+     * Set the DNS resolver the client manager resolves endpoint hosts with. Takes effect when the client manager
+     * is created.
+     *
+     * @param dnsResolver DNS resolver.
+     */
+    public void setDnsResolver(DnsResolver dnsResolver) {
+
+        this.dnsResolver = dnsResolver;
+    }
+
+    /**
+     * Get the rate limiter of the deliveries.
+     *
+     * @return Endpoint rate limiter, or null if rate limiting is disabled.
+     */
+    public EndpointRateLimiter getEndpointRateLimiter() {
+
+        return endpointRateLimiter;
+    }
+
+    /**
+     * Set the rate limiter of the deliveries.
+     *
+     * @param endpointRateLimiter Endpoint rate limiter.
+     */
+    public void setEndpointRateLimiter(EndpointRateLimiter endpointRateLimiter) {
+
+        this.endpointRateLimiter = endpointRateLimiter;
+    }
+
+    /**
+     * Get the dispatcher of the deliveries that keep the publish order of their subject.
+     *
+     * @return Ordered delivery dispatcher, or null if ordered delivery is disabled.
+     */
+    public OrderedDeliveryDispatcher getOrderedDeliveryDispatcher() {
+
+        return orderedDeliveryDispatcher;
+    }
+
+    /**
+     * Set the dispatcher of the deliveries that keep the publish order of their subject.
+     *
+     * @param orderedDeliveryDispatcher Ordered delivery dispatcher.
+     */
+    public void setOrderedDeliveryDispatcher(OrderedDeliveryDispatcher orderedDeliveryDispatcher) {
+
+        this.orderedDeliveryDispatcher = orderedDeliveryDispatcher;
+    }
+
+    /**
+     * Get the priority lanes of the deliveries.
+     *
+     * @return Delivery lanes, or null if priority lanes are disabled.
+     */
+    public DeliveryLanes getDeliveryLanes() {
+
+        return deliveryLanes;
+    }
+
+    /**
+     * Set the priority lanes of the deliveries.
+     *
+     * @param deliveryLanes Delivery lanes.
+     */
+    public void setDeliveryLanes(DeliveryLanes deliveryLanes) {
+
+        this.deliveryLanes = deliveryLanes;
+    }
+
+    /**
+     * Get the budget of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget, or null if the adapter is not active.
+     */
+    public ByteBudget getPayloadBudget() {
+
+        return payloadBudget;
+    }
+
+    /**
+     * Set the budget of the queued and in-flight request bodies.
+     *
+     * @param payloadBudget Payload memory budget.
+     */
+    public void setPayloadBudget(ByteBudget payloadBudget) {
+
+        this.payloadBudget = payloadBudget;
+    }
+
+    /**
+     * Get the cache of the active webhook lookups.
+     *
+     * @return Lookup cache, or null if the adapter is not active.
+     */
+    public LookupCache<List<String>, List<Webhook>> getWebhookLookupCache() {
+
+        return webhookLookupCache;
+    }
+
+    /**
+     * Set the cache of the active webhook lookups.
+     *
+     * @param webhookLookupCache Lookup cache.
+     */
+    public void setWebhookLookupCache(LookupCache<List<String>, List<Webhook>> webhookLookupCache) {
+
+        this.webhookLookupCache = webhookLookupCache;
+    }
+
+    /**
+     * Get the warm-up of the lookup caches.
+     *
+     * @return Cache warm-up, or null if the warm-up is not enabled.
+     */
+    public CacheWarmUp getCacheWarmUp() {
+
+        return cacheWarmUp;
+    }
+
+    /**
+     * Set the warm-up of the lookup caches.
+     *
+     * @param cacheWarmUp Cache warm-up.
+     */
+    public void setCacheWarmUp(CacheWarmUp cacheWarmUp) {
+
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    /**
+     * Get the endpoint health prober.
+     *
+     * @return Endpoint health prober, or null if the adapter is not active.
+     */
+    public EndpointHealthProber getEndpointHealthProber() {
+
+        return endpointHealthProber;
+    }
+
+    /**
+     * Set the endpoint health prober.
+     *
+     * @param endpointHealthProber Endpoint health prober.
+     */
+    public void setEndpointHealthProber(EndpointHealthProber endpointHealthProber) {
+
+        this.endpointHealthProber = endpointHealthProber;
+    }
+
+    /**
+     * Get the transport shared with the other event publisher.
+     *
+     * @return Shared transport, or null if it is not available.
+     */
+    public SharedTransport getSharedTransport() {
+
+        return sharedTransport;
+    }
+
+    /**
+     * Set the transport shared with the other event publisher.
+     *
+     * @param sharedTransport Shared transport.
+     */
+    public void setSharedTransport(SharedTransport sharedTransport) {
+
+        this.sharedTransport = sharedTransport;
+    }
 }
@@ -18,8 +18,10 @@
 
 package org.wso2.identity.event.http.publisher.internal.component;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -28,14 +30,36 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.event.publisher.api.service.EventPublisher;
+import org.wso2.carbon.identity.webhook.management.api.exception.WebhookMgtException;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
 import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
 import org.wso2.carbon.identity.webhook.metadata.api.exception.WebhookMetadataException;
 import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
+import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.identity.event.http.publisher.api.service.DeadLetterService;
 import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+import org.wso2.identity.event.http.publisher.internal.service.impl.DeadLetterServiceImpl;
 import org.wso2.identity.event.http.publisher.internal.service.impl.HTTPEventPublisherImpl;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.webhook.metadata.internal.constant.ErrorMessage.ERROR_CODE_ADAPTER_NOT_FOUND;
 import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.HTTP_ADAPTER_NAME;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_FILE;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_DEAD_LETTER_DIRECTORY;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_SHUTDOWN_DRAIN_TIMEOUT;
 
 /**
  * HTTP Outbound Event Adapter service component.
@@ -46,21 +70,73 @@ import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapt
 public class HTTPAdapterServiceComponent {
 
     private static final Log log = LogFactory.getLog(HTTPAdapterServiceComponent.class);
+    private HTTPAdapterConfigurationReloader configurationReloader;
+    private final List<ServiceRegistration<?>> serviceRegistrations = new ArrayList<>();
+    private DeadLetterServiceImpl deadLetterService;
 
     @Activate
     protected void activate(ComponentContext context) {
 
+        long startTime = System.currentTimeMillis();
         try {
-            HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(
-                    HTTPAdapterDataHolder.getInstance().getEventAdapterMetadataService()
-                            .getAdapterByName(HTTP_ADAPTER_NAME).getProperties()));
+            Map<String, String> properties = HTTPAdapterDataHolder.getInstance().getEventAdapterMetadataService()
+                    .getAdapterByName(HTTP_ADAPTER_NAME).getProperties();
+            HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(properties));
             if (HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().isAdapterEnabled()) {
                 // Register EventPublisher service
                 HTTPEventPublisherImpl eventPublisherService = new HTTPEventPublisherImpl();
-                context.getBundleContext().registerService(EventPublisher.class.getName(),
-                        eventPublisherService, null);
+                serviceRegistrations.add(context.getBundleContext().registerService(EventPublisher.class.getName(),
+                        eventPublisherService, null));
                 HTTPAdapterDataHolder.getInstance().setClientManager(new ClientManager());
-                log.debug("Successfully activated the HTTP adapter service.");
+                HTTPAdapterMetrics.getInstance().registerMBeans();
+                HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+                ByteBudget payloadBudget = new ByteBudget(configuration.getPayloadMemoryBudgetBytes());
+                HTTPAdapterDataHolder.getInstance().setPayloadBudget(payloadBudget);
+                HTTPAdapterMetrics.getInstance().bindPayloadBudget(payloadBudget);
+                HTTPAdapterDataHolder.getInstance().setWebhookLookupCache(new LookupCache<>(
+                        "http-adapter-lookup-refresh",
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheTtl()),
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheRefreshAhead()),
+                        configuration.getLookupCacheMaxEntries(),
+                        () -> HTTPAdapterMetrics.getInstance().recordLookupCoalesced()));
+                if (configuration.isCacheWarmUpEnabled() && configuration.getLookupCacheTtl() > 0) {
+                    CacheWarmUp cacheWarmUp = new CacheWarmUp("http-adapter-cache-warm-up",
+                            getCacheWarmUpFile(configuration),
+                            configuration.getCacheWarmUpMaxKeys());
+                    cacheWarmUp.start(TimeUnit.SECONDS.toMillis(configuration.getCacheWarmUpDelay()),
+                            configuration.getCacheWarmUpRate(), HTTPAdapterServiceComponent::warmUpWebhookLookup);
+                    HTTPAdapterDataHolder.getInstance().setCacheWarmUp(cacheWarmUp);
+                }
+                if (configuration.isDeadLetterEnabled()) {
+                    DeadLetterStore deadLetterStore = new DeadLetterStore(getDeadLetterDirectory(configuration),
+                            configuration.getDeadLetterMaxEntries());
+                    deadLetterStore.load();
+                    HTTPAdapterDataHolder.getInstance().setDeadLetterStore(deadLetterStore);
+                    deadLetterService = new DeadLetterServiceImpl();
+                    serviceRegistrations.add(context.getBundleContext().registerService(
+                            DeadLetterService.class.getName(), deadLetterService, null));
+                }
+                if (configuration.isRateLimitEnabled()) {
+                    HTTPAdapterDataHolder.getInstance().setEndpointRateLimiter(
+                            new EndpointRateLimiter(configuration));
+                }
+                if (configuration.isOrderedDeliveryEnabled()) {
+                    HTTPAdapterDataHolder.getInstance().setOrderedDeliveryDispatcher(new OrderedDeliveryDispatcher(
+                            configuration.getOrderedDeliveryStripes(), configuration.getOrderedDeliveryTimeout()));
+                }
+                if (configuration.isPriorityLanesEnabled()) {
+                    HTTPAdapterDataHolder.getInstance().setDeliveryLanes(new DeliveryLanes(configuration));
+                }
+                if (configuration.isEndpointProbeEnabled()) {
+                    EndpointHealthProber endpointHealthProber = new EndpointHealthProber();
+                    endpointHealthProber.start(configuration.getEndpointProbeInterval());
+                    HTTPAdapterDataHolder.getInstance().setEndpointHealthProber(endpointHealthProber);
+                }
+                configurationReloader = new HTTPAdapterConfigurationReloader(properties);
+                configurationReloader.start(
+                        HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getConfigReloadInterval());
+                log.info("Successfully activated the HTTP adapter service in " +
+                        (System.currentTimeMillis() - startTime) + " ms.");
             }
         } catch (Throwable e) {
             if (e instanceof WebhookMetadataException &&
@@ -76,9 +152,107 @@ public class HTTPAdapterServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        // Stop taking new events before draining the ones already in flight.
+        for (ServiceRegistration<?> serviceRegistration : serviceRegistrations) {
+            try {
+                serviceRegistration.unregister();
+            } catch (IllegalStateException e) {
+                log.debug("HTTP adapter service is already unregistered.", e);
+            }
+        }
+        serviceRegistrations.clear();
+        if (configurationReloader != null) {
+            configurationReloader.stop();
+            configurationReloader = null;
+        }
+        EndpointHealthProber endpointHealthProber = HTTPAdapterDataHolder.getInstance().getEndpointHealthProber();
+        if (endpointHealthProber != null) {
+            endpointHealthProber.stop();
+            HTTPAdapterDataHolder.getInstance().setEndpointHealthProber(null);
+        }
+        OrderedDeliveryDispatcher orderedDeliveryDispatcher =
+                HTTPAdapterDataHolder.getInstance().getOrderedDeliveryDispatcher();
+        if (orderedDeliveryDispatcher != null) {
+            orderedDeliveryDispatcher.stop(false);
+            HTTPAdapterDataHolder.getInstance().setOrderedDeliveryDispatcher(null);
+        }
+        EndpointRateLimiter endpointRateLimiter = HTTPAdapterDataHolder.getInstance().getEndpointRateLimiter();
+        if (endpointRateLimiter != null) {
+            // Held back deliveries go to the dead-letter store instead of being sent over their rate limit.
+            endpointRateLimiter.stop(false);
+            HTTPAdapterDataHolder.getInstance().setEndpointRateLimiter(null);
+        }
+        if (deadLetterService != null) {
+            deadLetterService.stop();
+            deadLetterService = null;
+        }
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        int shutdownDrainTimeout = configuration != null ? configuration.getShutdownDrainTimeout() :
+                DEFAULT_SHUTDOWN_DRAIN_TIMEOUT;
+        DeliveryLanes deliveryLanes = HTTPAdapterDataHolder.getInstance().getDeliveryLanes();
+        if (deliveryLanes != null) {
+            // Queued normal deliveries are sent now, so the client manager drains them with the in-flight ones.
+            deliveryLanes.stop(true);
+            deliveryLanes.awaitTermination(shutdownDrainTimeout);
+            HTTPAdapterDataHolder.getInstance().setDeliveryLanes(null);
+        }
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null) {
+            clientManager.shutdown(shutdownDrainTimeout);
+        }
+        HTTPAdapterDataHolder.getInstance().setDeadLetterStore(null);
+        CacheWarmUp cacheWarmUp = HTTPAdapterDataHolder.getInstance().getCacheWarmUp();
+        if (cacheWarmUp != null) {
+            cacheWarmUp.stop();
+            HTTPAdapterDataHolder.getInstance().setCacheWarmUp(null);
+        }
+        LookupCache<List<String>, List<Webhook>> webhookLookupCache =
+                HTTPAdapterDataHolder.getInstance().getWebhookLookupCache();
+        if (webhookLookupCache != null) {
+            webhookLookupCache.stop();
+            HTTPAdapterDataHolder.getInstance().setWebhookLookupCache(null);
+        }
+        HTTPAdapterDataHolder.getInstance().setPayloadBudget(null);
+        HTTPAdapterMetrics.getInstance().unregisterMBeans();
         log.debug("Successfully de-activated the HTTP adapter service.");
     }
 
+    private static Path getDeadLetterDirectory(HTTPAdapterConfiguration configuration) {
+
+        if (StringUtils.isNotBlank(configuration.getDeadLetterDirectory())) {
+            return Paths.get(configuration.getDeadLetterDirectory());
+        }
+        return Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_DEAD_LETTER_DIRECTORY);
+    }
+
+    private static Path getCacheWarmUpFile(HTTPAdapterConfiguration configuration) {
+
+        if (StringUtils.isNotBlank(configuration.getCacheWarmUpFile())) {
+            return Paths.get(configuration.getCacheWarmUpFile());
+        }
+        return Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_CACHE_WARM_UP_FILE);
+    }
+
+    private static void warmUpWebhookLookup(List<String> key) throws WebhookMgtException {
+
+        // Webhook lookup keys are the tenant domain, event profile name, event profile version and event URI.
+        LookupCache<List<String>, List<Webhook>> webhookLookupCache =
+                HTTPAdapterDataHolder.getInstance().getWebhookLookupCache();
+        if (webhookLookupCache == null || key.size() != 4) {
+            return;
+        }
+        String tenantDomain = key.get(0);
+        CallbackContext warmUpContext = new CallbackContext(tenantDomain, null);
+        warmUpContext.attach();
+        warmUpContext.startTenantFlow();
+        try {
+            webhookLookupCache.get(key, tenantDomain, () -> HTTPAdapterDataHolder.getInstance()
+                    .getWebhookManagementService().getActiveWebhooks(key.get(1), key.get(2), key.get(3), tenantDomain));
+        } finally {
+            warmUpContext.detach();
+        }
+    }
+
     @Reference(
             name = "webhook.management.service.component",
             service = WebhookManagementService.class,
@@ -115,4 +289,23 @@ public class HTTPAdapterServiceComponent {
         HTTPAdapterDataHolder.getInstance().setEventAdapterMetadataService(null);
         log.debug("EventAdapterMetadataService unset in HTTPAdapterDataHolder bundle.");
     }
+
+    @Reference(
+            name = "event.publisher.shared.transport",
+            service = SharedTransport.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetSharedTransport"
+    )
+    protected void setSharedTransport(SharedTransport sharedTransport) {
+
+        HTTPAdapterDataHolder.getInstance().setSharedTransport(sharedTransport);
+        log.debug("Shared transport set in HTTPAdapterDataHolder bundle.");
+    }
+
+    protected void unsetSharedTransport(SharedTransport sharedTransport) {
+
+        HTTPAdapterDataHolder.getInstance().setSharedTransport(null);
+        log.debug("Shared transport unset in HTTPAdapterDataHolder bundle.");
+    }
 }
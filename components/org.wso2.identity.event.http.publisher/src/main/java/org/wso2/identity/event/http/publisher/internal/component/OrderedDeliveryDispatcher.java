@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.component;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Dispatcher of the deliveries that have to reach an endpoint in publish order.
+ * Deliveries are keyed by endpoint and subject and spread over a fixed number of stripes by the hash of the key.
+ * A stripe runs one delivery at a time: the next delivery starts once the previous one, including its retries,
+ * reports completion, so the events of a subject reach an endpoint in the order they were published. Deliveries
+ * of different stripes run in parallel. Keys sharing a stripe are serialized too, which more stripes make less
+ * likely. A delivery that does not complete within the ordered delivery timeout releases its stripe, so a lost
+ * callback cannot stall the events queued behind it. The ordering guarantee ends at the timeout: the timed out
+ * delivery and its retries may still be in flight, and the next delivery of the stripe can reach the endpoint before
+ * them. A timed out delivery that completes after the next delivery of its stripe has started is counted as
+ * overtaken. A delivery the dispatcher discards because it is stopping runs its drop handler instead, so the event
+ * is still accounted for.
+ */
+public class OrderedDeliveryDispatcher {
+
+    private static final Log LOG = LogFactory.getLog(OrderedDeliveryDispatcher.class);
+    private static final int WORKER_THREADS = 4;
+
+    private final Stripe[] stripes;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicInteger activeStripes = new AtomicInteger();
+    // Deliveries handed to the executor that have not started running yet.
+    private final Set<OrderedTask> startedTasks = ConcurrentHashMap.newKeySet();
+    private volatile long timeoutMillis;
+    private volatile boolean draining;
+
+    /**
+     * Create a dispatcher.
+     *
+     * @param stripeCount    Number of stripes.
+     * @param timeoutSeconds Time in seconds a delivery may hold its stripe, 0 or less to wait for completion.
+     */
+    public OrderedDeliveryDispatcher(int stripeCount, int timeoutSeconds) {
+
+        stripes = new Stripe[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        executor = new ScheduledThreadPoolExecutor(WORKER_THREADS, r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("http-adapter-ordered-delivery-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queue a delivery behind the earlier deliveries of the same endpoint and subject.
+     * The delivery runs on a dispatcher thread and must run the given completion callback once it has reached its
+     * final outcome.
+     *
+     * @param url       Endpoint URL.
+     * @param subjectId Subject of the event.
+     * @param delivery  Delivery to run, given its completion callback.
+     * @param onDropped Handler run instead of the delivery if the dispatcher discards it.
+     */
+    public void submit(String url, String subjectId, Consumer<Runnable> delivery, Runnable onDropped) {
+
+        Stripe stripe = stripes[Math.floorMod((url + '\n' + subjectId).hashCode(), stripes.length)];
+        OrderedTask task = new OrderedTask(stripe, delivery, onDropped);
+        synchronized (stripe) {
+            if (stripe.running) {
+                stripe.pending.add(task);
+                return;
+            }
+            stripe.running = true;
+        }
+        activeStripes.incrementAndGet();
+        start(task);
+    }
+
+    /**
+     * Change the ordered delivery timeout of the deliveries started from now on.
+     *
+     * @param timeoutSeconds Time in seconds a delivery may hold its stripe, 0 or less to wait for completion.
+     */
+    public void setTimeout(int timeoutSeconds) {
+
+        timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+    }
+
+    /**
+     * Stop the dispatcher.
+     *
+     * @param deliverQueued true to still run the queued deliveries in order before the threads stop, false to
+     *                      abandon them.
+     */
+    public void stop(boolean deliverQueued) {
+
+        if (deliverQueued) {
+            draining = true;
+            if (activeStripes.get() == 0) {
+                executor.shutdown();
+            }
+            return;
+        }
+        // The tasks returned by the executor are wrappers, so the deliveries that never ran are taken from the
+        // started tasks instead.
+        executor.shutdownNow();
+        List<OrderedTask> abandoned = new ArrayList<>();
+        for (OrderedTask task : startedTasks) {
+            if (startedTasks.remove(task)) {
+                abandoned.add(task);
+            }
+        }
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                abandoned.addAll(stripe.pending);
+                stripe.pending.clear();
+            }
+        }
+        if (!abandoned.isEmpty()) {
+            LOG.warn("HTTP adapter ordered delivery stopped. Abandoned " + abandoned.size() + " deliveries.");
+            drop(abandoned);
+        }
+    }
+
+    /**
+     * Get the number of deliveries waiting behind an earlier delivery of their stripe.
+     *
+     * @return Number of queued deliveries.
+     */
+    public int getQueuedCount() {
+
+        int queued = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                queued += stripe.pending.size();
+            }
+        }
+        return queued;
+    }
+
+    private boolean start(OrderedTask task) {
+
+        startedTasks.add(task);
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.debug("HTTP adapter ordered delivery is stopped. Delivery discarded.", e);
+            startedTasks.remove(task);
+            release(task);
+            return false;
+        }
+    }
+
+    private boolean next(Stripe stripe) {
+
+        OrderedTask task;
+        synchronized (stripe) {
+            task = stripe.pending.poll();
+            if (task == null) {
+                stripe.running = false;
+            }
+        }
+        if (task == null) {
+            if (activeStripes.decrementAndGet() == 0 && draining) {
+                executor.shutdown();
+            }
+            return false;
+        }
+        return start(task);
+    }
+
+    private void release(OrderedTask rejected) {
+
+        List<OrderedTask> discarded = new ArrayList<>();
+        discarded.add(rejected);
+        Stripe stripe = rejected.stripe;
+        synchronized (stripe) {
+            discarded.addAll(stripe.pending);
+            stripe.pending.clear();
+            stripe.running = false;
+        }
+        activeStripes.decrementAndGet();
+        drop(discarded);
+    }
+
+    private static void drop(List<OrderedTask> discarded) {
+
+        for (OrderedTask task : discarded) {
+            try {
+                task.onDropped.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error while handling a discarded ordered delivery.", e);
+            }
+        }
+    }
+
+    /**
+     * Queue of the deliveries of one stripe.
+     */
+    private static final class Stripe {
+
+        private final Queue<OrderedTask> pending = new ArrayDeque<>();
+        private boolean running;
+    }
+
+    /**
+     * Runs one delivery and starts the next delivery of its stripe on completion or timeout, whichever is first.
+     */
+    private final class OrderedTask implements Runnable {
+
+        private final Stripe stripe;
+        private final Consumer<Runnable> delivery;
+        private final Runnable onDropped;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timeout;
+        private boolean overtaken;
+        private boolean completedLate;
+
+        private OrderedTask(Stripe stripe, Consumer<Runnable> delivery, Runnable onDropped) {
+
+            this.stripe = stripe;
+            this.delivery = delivery;
+            this.onDropped = onDropped;
+        }
+
+        @Override
+        public void run() {
+
+            if (!startedTasks.remove(this)) {
+                // Already dropped by a stop of the dispatcher.
+                return;
+            }
+            long timeoutMillis = OrderedDeliveryDispatcher.this.timeoutMillis;
+            if (timeoutMillis > 0) {
+                try {
+                    timeout = executor.schedule(this::timedOut, timeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    LOG.debug("Ordered delivery timeout not scheduled, the dispatcher is stopping.", e);
+                }
+            }
+            try {
+                delivery.accept(this::complete);
+            } catch (RuntimeException e) {
+                LOG.error("Error while running an ordered delivery.", e);
+                complete();
+            }
+        }
+
+        private void timedOut() {
+
+            if (completed.compareAndSet(false, true)) {
+                HTTPAdapterMetrics.getInstance().recordOrderedDeliveryTimeout();
+                LOG.warn("Ordered delivery did not complete within " + timeoutMillis +
+                        " ms. Starting the next delivery of its queue.");
+                if (next(stripe)) {
+                    synchronized (this) {
+                        overtaken = true;
+                        if (completedLate) {
+                            HTTPAdapterMetrics.getInstance().recordOrderedDeliveryOvertaken();
+                        }
+                    }
+                }
+            }
+        }
+
+        private void complete() {
+
+            if (completed.compareAndSet(false, true)) {
+                ScheduledFuture<?> scheduledTimeout = timeout;
+                if (scheduledTimeout != null) {
+                    scheduledTimeout.cancel(false);
+                }
+                next(stripe);
+                return;
+            }
+            // The delivery timed out earlier. If the next delivery of the stripe started meanwhile, the events may
+            // have reached the endpoint out of order.
+            synchronized (this) {
+                if (completedLate) {
+                    return;
+                }
+                completedLate = true;
+                if (overtaken) {
+                    HTTPAdapterMetrics.getInstance().recordOrderedDeliveryOvertaken();
+                }
+            }
+        }
+    }
+}
@@ -20,13 +20,16 @@ package org.wso2.identity.event.http.publisher.internal.config;
 
 import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
 import org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants;
+import org.wso2.identity.event.http.publisher.internal.util.SubjectResolver;
+import org.wso2.identity.event.publisher.transport.client.ConnectionSettings;
+import org.wso2.identity.event.publisher.transport.util.EventMaxAgePolicy;
 
 import java.util.Map;
 
 /**
  * HTTP Adapter Configuration.
  */
-public class HTTPAdapterConfiguration {
+public class HTTPAdapterConfiguration implements ConnectionSettings {
 
     private static final String ADAPTER_ENABLED_CONFIG = "enabled";
     private static final String HTTP_CONNECTION_TIMEOUT = "httpConnectionTimeout";
@@ -34,12 +37,128 @@ public class HTTPAdapterConfiguration {
     private static final String HTTP_CONNECTION_REQUEST_TIMEOUT = "httpConnectionRequestTimeout";
     private static final String DEFAULT_MAX_CONNECTIONS = "defaultMaxConnections";
     private static final String DEFAULT_MAX_CONNECTIONS_PER_ROUTE = "defaultMaxConnectionsPerRoute";
+    private static final String HTTP2_ENABLED = "http2Enabled";
+    private static final String REQUEST_COMPRESSION = "requestCompression";
+    private static final String REQUEST_COMPRESSION_MIN_SIZE = "requestCompressionMinSize";
+    private static final String CALLBACK_EXECUTOR_POOL_SIZE = "callbackExecutorPoolSize";
+    private static final String CALLBACK_EXECUTOR_QUEUE_CAPACITY = "callbackExecutorQueueCapacity";
+    private static final String CONFIG_RELOAD_INTERVAL = "configReloadInterval";
+    private static final String SHUTDOWN_DRAIN_TIMEOUT = "shutdownDrainTimeout";
+    private static final String VIRTUAL_THREADS_ENABLED = "virtualThreadsEnabled";
+    private static final String VIRTUAL_THREAD_MAX_CONCURRENCY = "virtualThreadMaxConcurrency";
+    private static final String DEAD_LETTER_ENABLED = "deadLetterEnabled";
+    private static final String DEAD_LETTER_DIRECTORY = "deadLetterDirectory";
+    private static final String DEAD_LETTER_MAX_ENTRIES = "deadLetterMaxEntries";
+    private static final String DEAD_LETTER_REPLAY_RATE = "deadLetterReplayRate";
+    private static final String ENDPOINT_PROBE_ENABLED = "endpointProbeEnabled";
+    private static final String ENDPOINT_PROBE_INTERVAL = "endpointProbeInterval";
+    private static final String ENDPOINT_PROBE_IDLE_TIMEOUT = "endpointProbeIdleTimeout";
+    private static final String ENDPOINT_UNREACHABLE_THRESHOLD = "endpointUnreachableThreshold";
+    private static final String CONNECTION_IDLE_TIMEOUT = "connectionIdleTimeout";
+    private static final String CONNECTION_TIME_TO_LIVE = "connectionTimeToLive";
+    private static final String CONNECTION_EVICTION_INTERVAL = "connectionEvictionInterval";
+    private static final String CONNECTION_VALIDATE_AFTER_INACTIVITY = "connectionValidateAfterInactivity";
+    private static final String CONNECTION_KEEP_ALIVE = "connectionKeepAlive";
+    private static final String DNS_CACHE_ENABLED = "dnsCacheEnabled";
+    private static final String DNS_CACHE_TTL = "dnsCacheTtl";
+    private static final String DNS_NEGATIVE_CACHE_TTL = "dnsNegativeCacheTtl";
+    private static final String DNS_CACHE_MAX_ENTRIES = "dnsCacheMaxEntries";
+    private static final String RATE_LIMIT_ENABLED = "rateLimitEnabled";
+    private static final String RATE_LIMIT_ENDPOINT_RATE = "rateLimitEndpointRate";
+    private static final String RATE_LIMIT_ENDPOINT_BURST = "rateLimitEndpointBurst";
+    private static final String RATE_LIMIT_TENANT_RATE = "rateLimitTenantRate";
+    private static final String RATE_LIMIT_TENANT_BURST = "rateLimitTenantBurst";
+    private static final String RATE_LIMIT_QUEUE_CAPACITY = "rateLimitQueueCapacity";
+    private static final String RATE_LIMIT_MAX_WAIT = "rateLimitMaxWait";
+    private static final String ORDERED_DELIVERY_ENABLED = "orderedDeliveryEnabled";
+    private static final String ORDERED_DELIVERY_STRIPES = "orderedDeliveryStripes";
+    private static final String ORDERED_DELIVERY_TIMEOUT = "orderedDeliveryTimeout";
+    private static final String ORDERED_DELIVERY_SUBJECT_PATHS = "orderedDeliverySubjectPaths";
+    private static final String PRIORITY_LANES_ENABLED = "priorityLanesEnabled";
+    private static final String CRITICAL_EVENT_URIS = "criticalEventUris";
+    private static final String CRITICAL_EVENT_PROFILES = "criticalEventProfiles";
+    private static final String PRIORITY_RESERVED_CONNECTIONS = "priorityReservedConnections";
+    private static final String NORMAL_LANE_QUEUE_CAPACITY = "normalLaneQueueCapacity";
+    private static final String CRITICAL_CALLBACK_POOL_SIZE = "criticalCallbackPoolSize";
+    private static final String EVENT_MAX_AGE = "eventMaxAge";
+    private static final String EVENT_MAX_AGE_PROFILES = "eventMaxAgeProfiles";
+    private static final String EVENT_MAX_AGE_ENDPOINTS = "eventMaxAgeEndpoints";
+    private static final String DEAD_LETTER_EXPIRED_EVENTS = "deadLetterExpiredEvents";
+    private static final String PAYLOAD_MEMORY_BUDGET = "payloadMemoryBudget";
+    private static final String LOOKUP_CACHE_TTL = "lookupCacheTtl";
+    private static final String LOOKUP_CACHE_REFRESH_AHEAD = "lookupCacheRefreshAhead";
+    private static final String LOOKUP_CACHE_MAX_ENTRIES = "lookupCacheMaxEntries";
+    private static final String CACHE_WARM_UP_ENABLED = "cacheWarmUpEnabled";
+    private static final String CACHE_WARM_UP_FILE = "cacheWarmUpFile";
+    private static final String CACHE_WARM_UP_MAX_KEYS = "cacheWarmUpMaxKeys";
+    private static final String CACHE_WARM_UP_DELAY = "cacheWarmUpDelay";
+    private static final String CACHE_WARM_UP_RATE = "cacheWarmUpRate";
+    private static final String SHARED_TRANSPORT_ENABLED = "sharedTransportEnabled";
     private final boolean adapterEnabled;
     private final int httpConnectionTimeout;
     private final int httpReadTimeout;
     private final int httpConnectionRequestTimeout;
     private final int defaultMaxConnections;
     private final int defaultMaxConnectionsPerRoute;
+    private final boolean http2Enabled;
+    private final String requestCompression;
+    private final int requestCompressionMinSize;
+    private final int callbackExecutorPoolSize;
+    private final int callbackExecutorQueueCapacity;
+    private final int configReloadInterval;
+    private final int shutdownDrainTimeout;
+    private final boolean virtualThreadsEnabled;
+    private final int virtualThreadMaxConcurrency;
+    private final boolean deadLetterEnabled;
+    private final String deadLetterDirectory;
+    private final int deadLetterMaxEntries;
+    private final int deadLetterReplayRate;
+    private final boolean endpointProbeEnabled;
+    private final int endpointProbeInterval;
+    private final int endpointProbeIdleTimeout;
+    private final int endpointUnreachableThreshold;
+    private final int connectionIdleTimeout;
+    private final int connectionTimeToLive;
+    private final int connectionEvictionInterval;
+    private final int connectionValidateAfterInactivity;
+    private final int connectionKeepAlive;
+    private final boolean dnsCacheEnabled;
+    private final int dnsCacheTtl;
+    private final int dnsNegativeCacheTtl;
+    private final int dnsCacheMaxEntries;
+    private final boolean rateLimitEnabled;
+    private final int rateLimitEndpointRate;
+    private final int rateLimitEndpointBurst;
+    private final int rateLimitTenantRate;
+    private final int rateLimitTenantBurst;
+    private final int rateLimitQueueCapacity;
+    private final int rateLimitMaxWait;
+    private final boolean orderedDeliveryEnabled;
+    private final int orderedDeliveryStripes;
+    private final int orderedDeliveryTimeout;
+    private final String orderedDeliverySubjectPaths;
+    private final SubjectResolver subjectResolver;
+    private final boolean priorityLanesEnabled;
+    private final String criticalEventUris;
+    private final String criticalEventProfiles;
+    private final int priorityReservedConnections;
+    private final int normalLaneQueueCapacity;
+    private final int criticalCallbackPoolSize;
+    private final int eventMaxAge;
+    private final String eventMaxAgeProfiles;
+    private final String eventMaxAgeEndpoints;
+    private final boolean deadLetterExpiredEvents;
+    private final EventMaxAgePolicy eventMaxAgePolicy;
+    private final int payloadMemoryBudget;
+    private final int lookupCacheTtl;
+    private final int lookupCacheRefreshAhead;
+    private final int lookupCacheMaxEntries;
+    private final boolean cacheWarmUpEnabled;
+    private final String cacheWarmUpFile;
+    private final int cacheWarmUpMaxKeys;
+    private final int cacheWarmUpDelay;
+    private final int cacheWarmUpRate;
+    private final boolean sharedTransportEnabled;
 
 
     /**
@@ -67,6 +186,142 @@ public class HTTPAdapterConfiguration {
         this.defaultMaxConnectionsPerRoute = parseIntOrDefault(
                 properties.get(DEFAULT_MAX_CONNECTIONS_PER_ROUTE),
                 HTTPAdapterConstants.Http.DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE);
+        this.http2Enabled = Boolean.parseBoolean(properties.get(HTTP2_ENABLED));
+        this.requestCompression = properties.get(REQUEST_COMPRESSION);
+        this.requestCompressionMinSize = parseIntOrDefault(
+                properties.get(REQUEST_COMPRESSION_MIN_SIZE),
+                HTTPAdapterConstants.Http.DEFAULT_REQUEST_COMPRESSION_MIN_SIZE);
+        this.callbackExecutorPoolSize = parseIntOrDefault(
+                properties.get(CALLBACK_EXECUTOR_POOL_SIZE),
+                HTTPAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        this.callbackExecutorQueueCapacity = parseIntOrDefault(
+                properties.get(CALLBACK_EXECUTOR_QUEUE_CAPACITY),
+                HTTPAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+        this.configReloadInterval = parseIntOrDefault(
+                properties.get(CONFIG_RELOAD_INTERVAL),
+                HTTPAdapterConstants.Http.DEFAULT_CONFIG_RELOAD_INTERVAL);
+        this.shutdownDrainTimeout = parseIntOrDefault(
+                properties.get(SHUTDOWN_DRAIN_TIMEOUT),
+                HTTPAdapterConstants.Http.DEFAULT_SHUTDOWN_DRAIN_TIMEOUT);
+        this.virtualThreadsEnabled = Boolean.parseBoolean(properties.get(VIRTUAL_THREADS_ENABLED));
+        this.virtualThreadMaxConcurrency = parseIntOrDefault(
+                properties.get(VIRTUAL_THREAD_MAX_CONCURRENCY),
+                HTTPAdapterConstants.Http.DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY);
+        this.deadLetterEnabled = Boolean.parseBoolean(properties.get(DEAD_LETTER_ENABLED));
+        this.deadLetterDirectory = properties.get(DEAD_LETTER_DIRECTORY);
+        this.deadLetterMaxEntries = parseIntOrDefault(
+                properties.get(DEAD_LETTER_MAX_ENTRIES),
+                HTTPAdapterConstants.Http.DEFAULT_DEAD_LETTER_MAX_ENTRIES);
+        this.deadLetterReplayRate = parseIntOrDefault(
+                properties.get(DEAD_LETTER_REPLAY_RATE),
+                HTTPAdapterConstants.Http.DEFAULT_DEAD_LETTER_REPLAY_RATE);
+        this.endpointProbeEnabled = Boolean.parseBoolean(properties.get(ENDPOINT_PROBE_ENABLED));
+        this.endpointProbeInterval = parseIntOrDefault(
+                properties.get(ENDPOINT_PROBE_INTERVAL),
+                HTTPAdapterConstants.Http.DEFAULT_ENDPOINT_PROBE_INTERVAL);
+        this.endpointProbeIdleTimeout = parseIntOrDefault(
+                properties.get(ENDPOINT_PROBE_IDLE_TIMEOUT),
+                HTTPAdapterConstants.Http.DEFAULT_ENDPOINT_PROBE_IDLE_TIMEOUT);
+        this.endpointUnreachableThreshold = parseIntOrDefault(
+                properties.get(ENDPOINT_UNREACHABLE_THRESHOLD),
+                HTTPAdapterConstants.Http.DEFAULT_ENDPOINT_UNREACHABLE_THRESHOLD);
+        this.connectionIdleTimeout = parseIntOrDefault(
+                properties.get(CONNECTION_IDLE_TIMEOUT),
+                HTTPAdapterConstants.Http.DEFAULT_CONNECTION_IDLE_TIMEOUT);
+        this.connectionTimeToLive = parseIntOrDefault(
+                properties.get(CONNECTION_TIME_TO_LIVE),
+                HTTPAdapterConstants.Http.DEFAULT_CONNECTION_TIME_TO_LIVE);
+        this.connectionEvictionInterval = parseIntOrDefault(
+                properties.get(CONNECTION_EVICTION_INTERVAL),
+                HTTPAdapterConstants.Http.DEFAULT_CONNECTION_EVICTION_INTERVAL);
+        this.connectionValidateAfterInactivity = parseIntOrDefault(
+                properties.get(CONNECTION_VALIDATE_AFTER_INACTIVITY),
+                HTTPAdapterConstants.Http.DEFAULT_CONNECTION_VALIDATE_AFTER_INACTIVITY);
+        this.connectionKeepAlive = parseIntOrDefault(
+                properties.get(CONNECTION_KEEP_ALIVE),
+                HTTPAdapterConstants.Http.DEFAULT_CONNECTION_KEEP_ALIVE);
+        this.dnsCacheEnabled = Boolean.parseBoolean(properties.get(DNS_CACHE_ENABLED));
+        this.dnsCacheTtl = parseIntOrDefault(
+                properties.get(DNS_CACHE_TTL),
+                HTTPAdapterConstants.Http.DEFAULT_DNS_CACHE_TTL);
+        this.dnsNegativeCacheTtl = parseIntOrDefault(
+                properties.get(DNS_NEGATIVE_CACHE_TTL),
+                HTTPAdapterConstants.Http.DEFAULT_DNS_NEGATIVE_CACHE_TTL);
+        this.dnsCacheMaxEntries = parseIntOrDefault(
+                properties.get(DNS_CACHE_MAX_ENTRIES),
+                HTTPAdapterConstants.Http.DEFAULT_DNS_CACHE_MAX_ENTRIES);
+        this.rateLimitEnabled = Boolean.parseBoolean(properties.get(RATE_LIMIT_ENABLED));
+        this.rateLimitEndpointRate = parseIntOrDefault(
+                properties.get(RATE_LIMIT_ENDPOINT_RATE),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_ENDPOINT_RATE);
+        this.rateLimitEndpointBurst = parseIntOrDefault(
+                properties.get(RATE_LIMIT_ENDPOINT_BURST),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_ENDPOINT_BURST);
+        this.rateLimitTenantRate = parseIntOrDefault(
+                properties.get(RATE_LIMIT_TENANT_RATE),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_TENANT_RATE);
+        this.rateLimitTenantBurst = parseIntOrDefault(
+                properties.get(RATE_LIMIT_TENANT_BURST),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_TENANT_BURST);
+        this.rateLimitQueueCapacity = parseIntOrDefault(
+                properties.get(RATE_LIMIT_QUEUE_CAPACITY),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_QUEUE_CAPACITY);
+        this.rateLimitMaxWait = parseIntOrDefault(
+                properties.get(RATE_LIMIT_MAX_WAIT),
+                HTTPAdapterConstants.Http.DEFAULT_RATE_LIMIT_MAX_WAIT);
+        this.orderedDeliveryEnabled = Boolean.parseBoolean(properties.get(ORDERED_DELIVERY_ENABLED));
+        this.orderedDeliveryStripes = parseIntOrDefault(
+                properties.get(ORDERED_DELIVERY_STRIPES),
+                HTTPAdapterConstants.Http.DEFAULT_ORDERED_DELIVERY_STRIPES);
+        this.orderedDeliveryTimeout = parseIntOrDefault(
+                properties.get(ORDERED_DELIVERY_TIMEOUT),
+                HTTPAdapterConstants.Http.DEFAULT_ORDERED_DELIVERY_TIMEOUT);
+        this.orderedDeliverySubjectPaths = properties.getOrDefault(ORDERED_DELIVERY_SUBJECT_PATHS,
+                HTTPAdapterConstants.Http.DEFAULT_ORDERED_DELIVERY_SUBJECT_PATHS);
+        this.subjectResolver = new SubjectResolver(orderedDeliverySubjectPaths);
+        this.priorityLanesEnabled = Boolean.parseBoolean(properties.get(PRIORITY_LANES_ENABLED));
+        this.criticalEventUris = properties.get(CRITICAL_EVENT_URIS);
+        this.criticalEventProfiles = properties.get(CRITICAL_EVENT_PROFILES);
+        this.priorityReservedConnections = parseIntOrDefault(
+                properties.get(PRIORITY_RESERVED_CONNECTIONS),
+                HTTPAdapterConstants.Http.DEFAULT_PRIORITY_RESERVED_CONNECTIONS);
+        this.normalLaneQueueCapacity = parseIntOrDefault(
+                properties.get(NORMAL_LANE_QUEUE_CAPACITY),
+                HTTPAdapterConstants.Http.DEFAULT_NORMAL_LANE_QUEUE_CAPACITY);
+        this.criticalCallbackPoolSize = parseIntOrDefault(
+                properties.get(CRITICAL_CALLBACK_POOL_SIZE),
+                HTTPAdapterConstants.Http.DEFAULT_CRITICAL_CALLBACK_POOL_SIZE);
+        this.eventMaxAge = parseIntOrDefault(
+                properties.get(EVENT_MAX_AGE),
+                HTTPAdapterConstants.Http.DEFAULT_EVENT_MAX_AGE);
+        this.eventMaxAgeProfiles = properties.get(EVENT_MAX_AGE_PROFILES);
+        this.eventMaxAgeEndpoints = properties.get(EVENT_MAX_AGE_ENDPOINTS);
+        this.deadLetterExpiredEvents = Boolean.parseBoolean(properties.get(DEAD_LETTER_EXPIRED_EVENTS));
+        this.eventMaxAgePolicy = new EventMaxAgePolicy(eventMaxAge, eventMaxAgeProfiles, eventMaxAgeEndpoints);
+        this.payloadMemoryBudget = parseIntOrDefault(
+                properties.get(PAYLOAD_MEMORY_BUDGET),
+                HTTPAdapterConstants.Http.DEFAULT_PAYLOAD_MEMORY_BUDGET);
+        this.lookupCacheTtl = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_TTL),
+                HTTPAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_TTL);
+        this.lookupCacheRefreshAhead = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_REFRESH_AHEAD),
+                HTTPAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_REFRESH_AHEAD);
+        this.lookupCacheMaxEntries = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_MAX_ENTRIES),
+                HTTPAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_MAX_ENTRIES);
+        this.cacheWarmUpEnabled = Boolean.parseBoolean(properties.get(CACHE_WARM_UP_ENABLED));
+        this.cacheWarmUpFile = properties.get(CACHE_WARM_UP_FILE);
+        this.cacheWarmUpMaxKeys = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_MAX_KEYS),
+                HTTPAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_MAX_KEYS);
+        this.cacheWarmUpDelay = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_DELAY),
+                HTTPAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_DELAY);
+        this.cacheWarmUpRate = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_RATE),
+                HTTPAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_RATE);
+        this.sharedTransportEnabled = Boolean.parseBoolean(properties.get(SHARED_TRANSPORT_ENABLED));
     }
 
     private int parseIntOrDefault(String value, int defaultValue) {
@@ -137,4 +392,614 @@ public class HTTPAdapterConfiguration {
 
         return defaultMaxConnectionsPerRoute;
     }
+
+    /**
+     * Returns whether the HTTP/2 transport is enabled for event delivery.
+     *
+     * @return true if HTTP/2 with fallback to HTTP/1.1 should be negotiated, false otherwise.
+     */
+    public boolean isHttp2Enabled() {
+
+        return http2Enabled;
+    }
+
+    /**
+     * Returns the content encoding used to compress event payloads.
+     *
+     * @return gzip or deflate, null or any other value if compression is disabled.
+     */
+    public String getRequestCompression() {
+
+        return requestCompression;
+    }
+
+    /**
+     * Returns the minimum serialized payload length to compress.
+     *
+     * @return minimum payload length to compress.
+     */
+    public int getRequestCompressionMinSize() {
+
+        return requestCompressionMinSize;
+    }
+
+    /**
+     * Returns the number of threads running asynchronous publish callbacks.
+     *
+     * @return callback executor pool size.
+     */
+    public int getCallbackExecutorPoolSize() {
+
+        return callbackExecutorPoolSize;
+    }
+
+    /**
+     * Returns the maximum number of queued asynchronous publish callbacks.
+     *
+     * @return callback executor queue capacity.
+     */
+    public int getCallbackExecutorQueueCapacity() {
+
+        return callbackExecutorQueueCapacity;
+    }
+
+    /**
+     * Returns the interval in seconds at which the adapter properties are checked for changes.
+     *
+     * @return configuration reload interval in seconds, 0 or less if the properties are not watched.
+     */
+    public int getConfigReloadInterval() {
+
+        return configReloadInterval;
+    }
+
+    /**
+     * Returns the time in milliseconds to wait for in-flight deliveries when the adapter is deactivated.
+     *
+     * @return shutdown drain timeout in milliseconds.
+     */
+    public int getShutdownDrainTimeout() {
+
+        return shutdownDrainTimeout;
+    }
+
+    /**
+     * Returns whether asynchronous callbacks run on virtual threads when the Java runtime supports them.
+     *
+     * @return true if virtual threads should be used, false otherwise.
+     */
+    public boolean isVirtualThreadsEnabled() {
+
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * Returns the maximum number of tasks running at once on virtual threads.
+     *
+     * @return virtual thread concurrency cap.
+     */
+    public int getVirtualThreadMaxConcurrency() {
+
+        return virtualThreadMaxConcurrency;
+    }
+
+    /**
+     * Returns whether deliveries that exhausted their retries are kept in the dead-letter store.
+     *
+     * @return true if the dead-letter store is enabled, false otherwise.
+     */
+    public boolean isDeadLetterEnabled() {
+
+        return deadLetterEnabled;
+    }
+
+    /**
+     * Returns the directory of the dead-letter store.
+     *
+     * @return Dead-letter directory, or null to use the default directory under the Carbon home.
+     */
+    public String getDeadLetterDirectory() {
+
+        return deadLetterDirectory;
+    }
+
+    /**
+     * Returns the maximum number of entries kept in the dead-letter store.
+     *
+     * @return Maximum number of dead-letter entries.
+     */
+    public int getDeadLetterMaxEntries() {
+
+        return deadLetterMaxEntries;
+    }
+
+    /**
+     * Returns the default number of dead-letter entries replayed per second.
+     *
+     * @return Dead-letter replay rate per second.
+     */
+    public int getDeadLetterReplayRate() {
+
+        return deadLetterReplayRate;
+    }
+
+    /**
+     * Check whether endpoints of active webhooks are probed to keep connections warm and detect unreachable receivers.
+     *
+     * @return true if endpoint probing is enabled, false otherwise.
+     */
+    public boolean isEndpointProbeEnabled() {
+
+        return endpointProbeEnabled;
+    }
+
+    /**
+     * Get the interval between endpoint probe and connection eviction rounds.
+     *
+     * @return Probe interval in seconds.
+     */
+    public int getEndpointProbeInterval() {
+
+        return endpointProbeInterval;
+    }
+
+    /**
+     * Get the time after its last delivery that an endpoint is no longer probed.
+     *
+     * @return Endpoint idle timeout in seconds.
+     */
+    public int getEndpointProbeIdleTimeout() {
+
+        return endpointProbeIdleTimeout;
+    }
+
+    /**
+     * Get the number of consecutive connection failures after which an endpoint is marked unreachable.
+     *
+     * @return Consecutive failure threshold.
+     */
+    public int getEndpointUnreachableThreshold() {
+
+        return endpointUnreachableThreshold;
+    }
+
+    /**
+     * Get the time after which idle pooled connections are closed.
+     *
+     * @return Connection idle timeout in seconds.
+     */
+    @Override
+    public int getConnectionIdleTimeout() {
+
+        return connectionIdleTimeout;
+    }
+
+    /**
+     * Get the maximum lifetime of a pooled connection.
+     *
+     * @return Connection time to live in seconds, 0 or less for no limit.
+     */
+    @Override
+    public int getConnectionTimeToLive() {
+
+        return connectionTimeToLive;
+    }
+
+    /**
+     * Get the interval between runs of the idle and expired connection evictor.
+     *
+     * @return Eviction interval in seconds, 0 or less to disable eviction.
+     */
+    @Override
+    public int getConnectionEvictionInterval() {
+
+        return connectionEvictionInterval;
+    }
+
+    /**
+     * Get the inactivity after which a pooled connection is validated before it is reused.
+     *
+     * @return Inactivity in milliseconds.
+     */
+    @Override
+    public int getConnectionValidateAfterInactivity() {
+
+        return connectionValidateAfterInactivity;
+    }
+
+    /**
+     * Get the time a connection is kept alive when the response does not announce a Keep-Alive timeout.
+     *
+     * @return Keep-alive duration in seconds.
+     */
+    @Override
+    public int getConnectionKeepAlive() {
+
+        return connectionKeepAlive;
+    }
+
+    /**
+     * Check whether resolved endpoint addresses are cached by the adapter.
+     *
+     * @return true if the DNS cache is enabled, false otherwise.
+     */
+    public boolean isDnsCacheEnabled() {
+
+        return dnsCacheEnabled;
+    }
+
+    /**
+     * Get the time a resolved address is used before it is refreshed.
+     *
+     * @return DNS cache time to live in seconds.
+     */
+    public int getDnsCacheTtl() {
+
+        return dnsCacheTtl;
+    }
+
+    /**
+     * Get the time a failed resolution is cached.
+     *
+     * @return DNS negative cache time to live in seconds.
+     */
+    public int getDnsNegativeCacheTtl() {
+
+        return dnsNegativeCacheTtl;
+    }
+
+    /**
+     * Get the maximum number of host names kept in the DNS cache.
+     *
+     * @return Maximum number of cached host names.
+     */
+    public int getDnsCacheMaxEntries() {
+
+        return dnsCacheMaxEntries;
+    }
+
+    /**
+     * Check whether deliveries are rate limited per endpoint and per tenant.
+     *
+     * @return true if rate limiting is enabled, false otherwise.
+     */
+    public boolean isRateLimitEnabled() {
+
+        return rateLimitEnabled;
+    }
+
+    /**
+     * Get the number of deliveries per second allowed to an endpoint.
+     *
+     * @return Deliveries per second per endpoint.
+     */
+    public int getRateLimitEndpointRate() {
+
+        return rateLimitEndpointRate;
+    }
+
+    /**
+     * Get the number of deliveries an endpoint can receive in a burst above its rate.
+     *
+     * @return Burst size per endpoint.
+     */
+    public int getRateLimitEndpointBurst() {
+
+        return rateLimitEndpointBurst;
+    }
+
+    /**
+     * Get the number of deliveries per second allowed to the endpoints of a tenant.
+     *
+     * @return Deliveries per second per tenant.
+     */
+    public int getRateLimitTenantRate() {
+
+        return rateLimitTenantRate;
+    }
+
+    /**
+     * Get the number of deliveries a tenant can send in a burst above its rate.
+     *
+     * @return Burst size per tenant.
+     */
+    public int getRateLimitTenantBurst() {
+
+        return rateLimitTenantBurst;
+    }
+
+    /**
+     * Get the maximum number of deliveries waiting for their rate limit.
+     *
+     * @return Rate limit queue capacity.
+     */
+    public int getRateLimitQueueCapacity() {
+
+        return rateLimitQueueCapacity;
+    }
+
+    /**
+     * Get the maximum time in seconds a delivery is held back waiting for its rate limit permit.
+     *
+     * @return Maximum wait time in seconds, 0 or less to reject deliveries without a permit.
+     */
+    public int getRateLimitMaxWait() {
+
+        return rateLimitMaxWait;
+    }
+
+    /**
+     * Check whether the events of a subject are delivered to an endpoint one at a time, in publish order.
+     *
+     * @return true if ordered delivery is enabled, false otherwise.
+     */
+    public boolean isOrderedDeliveryEnabled() {
+
+        return orderedDeliveryEnabled;
+    }
+
+    /**
+     * Get the number of queues the ordered deliveries are spread over.
+     *
+     * @return Number of ordered delivery stripes.
+     */
+    public int getOrderedDeliveryStripes() {
+
+        return orderedDeliveryStripes;
+    }
+
+    /**
+     * Get the time in seconds an ordered delivery, including its retries, may hold back the next event of its queue.
+     *
+     * @return Ordered delivery timeout in seconds.
+     */
+    public int getOrderedDeliveryTimeout() {
+
+        return orderedDeliveryTimeout;
+    }
+
+    /**
+     * Get the comma separated claim paths of the security event token that name the subject of ordered events.
+     *
+     * @return Ordered delivery subject paths.
+     */
+    public String getOrderedDeliverySubjectPaths() {
+
+        return orderedDeliverySubjectPaths;
+    }
+
+    /**
+     * Get the resolver of the subject of ordered events.
+     *
+     * @return Subject resolver.
+     */
+    public SubjectResolver getSubjectResolver() {
+
+        return subjectResolver;
+    }
+
+    /**
+     * Check whether critical events are delivered on a priority lane.
+     *
+     * @return true if priority lanes are enabled.
+     */
+    public boolean isPriorityLanesEnabled() {
+
+        return priorityLanesEnabled;
+    }
+
+    /**
+     * Get the comma separated event URIs delivered as critical events. An entry ending with * matches URIs by prefix.
+     *
+     * @return Critical event URIs, or null if none are configured.
+     */
+    public String getCriticalEventUris() {
+
+        return criticalEventUris;
+    }
+
+    /**
+     * Get the comma separated event profiles whose events are delivered as critical events.
+     *
+     * @return Critical event profile names, or null if none are configured.
+     */
+    public String getCriticalEventProfiles() {
+
+        return criticalEventProfiles;
+    }
+
+    /**
+     * Get the number of connections, in total and per route, that normal events may not use.
+     *
+     * @return Reserved connections.
+     */
+    public int getPriorityReservedConnections() {
+
+        return priorityReservedConnections;
+    }
+
+    /**
+     * Get the maximum number of normal events waiting for connection capacity.
+     *
+     * @return Normal lane queue capacity.
+     */
+    public int getNormalLaneQueueCapacity() {
+
+        return normalLaneQueueCapacity;
+    }
+
+    /**
+     * Get the number of threads that run the callbacks of critical events.
+     *
+     * @return Critical callback pool size.
+     */
+    public int getCriticalCallbackPoolSize() {
+
+        return criticalCallbackPoolSize;
+    }
+
+    /**
+     * Get the maximum age in seconds of events without a more specific maximum age.
+     *
+     * @return Event max age, 0 or less to deliver events however old they are.
+     */
+    public int getEventMaxAge() {
+
+        return eventMaxAge;
+    }
+
+    /**
+     * Get the comma separated profile=seconds entries with the maximum age of the events of a profile.
+     *
+     * @return Event max age of profiles, or null if none are configured.
+     */
+    public String getEventMaxAgeProfiles() {
+
+        return eventMaxAgeProfiles;
+    }
+
+    /**
+     * Get the comma separated URL=seconds entries with the maximum age of the events sent to a webhook endpoint.
+     *
+     * @return Event max age of endpoints, or null if none are configured.
+     */
+    public String getEventMaxAgeEndpoints() {
+
+        return eventMaxAgeEndpoints;
+    }
+
+    /**
+     * Check whether events shed for exceeding their maximum age are added to the dead-letter store.
+     *
+     * @return true if expired events are dead-lettered.
+     */
+    public boolean isDeadLetterExpiredEvents() {
+
+        return deadLetterExpiredEvents;
+    }
+
+    /**
+     * Get the maximum age policy of the events.
+     *
+     * @return Event max age policy.
+     */
+    public EventMaxAgePolicy getEventMaxAgePolicy() {
+
+        return eventMaxAgePolicy;
+    }
+
+    /**
+     * Get the maximum size in megabytes of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget in megabytes, 0 or less for no limit.
+     */
+    public int getPayloadMemoryBudget() {
+
+        return payloadMemoryBudget;
+    }
+
+    /**
+     * Get the maximum size in bytes of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget in bytes, 0 or less for no limit.
+     */
+    public long getPayloadMemoryBudgetBytes() {
+
+        return payloadMemoryBudget * 1024L * 1024L;
+    }
+
+    /**
+     * Get the time in seconds the results of active webhook lookups are cached, 0 to only coalesce concurrent lookups.
+     * Webhook changes do not reach the adapter, so with a time to live above 0 a webhook that is added, removed,
+     * activated or deactivated may be delivered to, or not, according to the cached lookup for up to one time to
+     * live. Invalidating the cache through JMX clears it on the local node only; in a cluster it has to be invalidated
+     * on every node.
+     *
+     * @return Lookup cache time to live in seconds.
+     */
+    public int getLookupCacheTtl() {
+
+        return lookupCacheTtl;
+    }
+
+    /**
+     * Get the time in seconds before expiry from which a cached lookup that is read is refreshed in the background.
+     *
+     * @return Lookup cache refresh-ahead time in seconds.
+     */
+    public int getLookupCacheRefreshAhead() {
+
+        return lookupCacheRefreshAhead;
+    }
+
+    /**
+     * Get the maximum number of cached active webhook lookups.
+     *
+     * @return Maximum number of cached lookups.
+     */
+    public int getLookupCacheMaxEntries() {
+
+        return lookupCacheMaxEntries;
+    }
+
+    /**
+     * Check whether the lookup caches are warmed up with the most looked up keys after a restart.
+     *
+     * @return True if the cache warm-up is enabled.
+     */
+    public boolean isCacheWarmUpEnabled() {
+
+        return cacheWarmUpEnabled;
+    }
+
+    /**
+     * Get the file the most looked up keys are written to on shutdown and read from on startup.
+     *
+     * @return Cache warm-up file, or null to use the default file.
+     */
+    public String getCacheWarmUpFile() {
+
+        return cacheWarmUpFile;
+    }
+
+    /**
+     * Get the maximum number of keys written for the cache warm-up.
+     *
+     * @return Maximum number of warm-up keys.
+     */
+    public int getCacheWarmUpMaxKeys() {
+
+        return cacheWarmUpMaxKeys;
+    }
+
+    /**
+     * Get the time in seconds after activation before the cache warm-up starts.
+     *
+     * @return Cache warm-up delay in seconds.
+     */
+    public int getCacheWarmUpDelay() {
+
+        return cacheWarmUpDelay;
+    }
+
+    /**
+     * Get the number of keys loaded per second during the cache warm-up.
+     *
+     * @return Cache warm-up rate in keys per second.
+     */
+    public int getCacheWarmUpRate() {
+
+        return cacheWarmUpRate;
+    }
+
+    /**
+     * Check whether HTTP/1.1 events are sent over the transport shared with the other event publisher.
+     * Events share a connection pool only with publishers using the same SSL context and DNS resolver.
+     *
+     * @return True if the shared transport is used when it is available.
+     */
+    public boolean isSharedTransportEnabled() {
+
+        return sharedTransportEnabled;
+    }
 }
@@ -38,7 +38,9 @@ public enum ErrorMessage {
     ERROR_PUBLISHING_EVENT("HTTPADAPTER-65005", "Error while publishing event.",
             "Error while publishing event to the HTTP endpoint using the HTTP adapter."),
     ERROR_ACTIVE_WEBHOOKS_RETRIEVAL("HTTPADAPTER-65006", "Error while retrieving active webhooks.",
-            "Error while retrieving active webhooks.");
+            "Error while retrieving active webhooks."),
+    ERROR_DEAD_LETTER_STORE("HTTPADAPTER-65007", "Error while accessing the dead-letter store.",
+            "Error while reading or writing the dead-letter store at: %s.");
 
     private final String code;
     private final String message;
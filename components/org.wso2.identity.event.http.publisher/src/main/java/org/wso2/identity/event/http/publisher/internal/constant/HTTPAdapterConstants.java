@@ -33,11 +33,55 @@ public class HTTPAdapterConstants {
         public static final String HMAC_SHA256_ALGORITHM = "HmacSHA256";
         public static final String CORRELATION_ID_REQUEST_HEADER = "activityid";
         public static final String X_WSO2_EVENT_SIGNATURE = "x-wso2-event-signature";
+        public static final String DEFAULT_DEAD_LETTER_DIRECTORY = "repository/data/http-adapter/dead-letter";
+        public static final String DEFAULT_CACHE_WARM_UP_FILE = "repository/data/http-adapter/hot-lookup-keys.json";
         public static final Integer DEFAULT_HTTP_CONNECTION_TIMEOUT = 300;
         public static final Integer DEFAULT_HTTP_READ_TIMEOUT = 300;
         public static final Integer DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT = 300;
         public static final Integer DEFAULT_HTTP_MAX_CONNECTIONS = 20;
         public static final Integer DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE = 2;
+        public static final Integer DEFAULT_REQUEST_COMPRESSION_MIN_SIZE = 1024;
+        public static final Integer DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE = 10;
+        public static final Integer DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY = 150;
+        public static final Integer DEFAULT_CONFIG_RELOAD_INTERVAL = 0;
+        public static final Integer DEFAULT_SHUTDOWN_DRAIN_TIMEOUT = 10000;
+        public static final Integer DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY = 1000;
+        public static final Integer DEFAULT_DEAD_LETTER_MAX_ENTRIES = 10000;
+        public static final Integer DEFAULT_DEAD_LETTER_REPLAY_RATE = 50;
+        public static final Integer DEFAULT_ENDPOINT_PROBE_INTERVAL = 30;
+        public static final Integer DEFAULT_ENDPOINT_PROBE_IDLE_TIMEOUT = 300;
+        public static final Integer DEFAULT_ENDPOINT_UNREACHABLE_THRESHOLD = 3;
+        public static final Integer DEFAULT_CONNECTION_IDLE_TIMEOUT = 60;
+        public static final Integer DEFAULT_CONNECTION_TIME_TO_LIVE = 0;
+        public static final Integer DEFAULT_CONNECTION_EVICTION_INTERVAL = 30;
+        public static final Integer DEFAULT_CONNECTION_VALIDATE_AFTER_INACTIVITY = 2000;
+        public static final Integer DEFAULT_CONNECTION_KEEP_ALIVE = 30;
+        public static final Integer DEFAULT_DNS_CACHE_TTL = 60;
+        public static final Integer DEFAULT_DNS_NEGATIVE_CACHE_TTL = 10;
+        public static final Integer DEFAULT_DNS_CACHE_MAX_ENTRIES = 1000;
+        public static final Integer DEFAULT_RATE_LIMIT_ENDPOINT_RATE = 50;
+        public static final Integer DEFAULT_RATE_LIMIT_ENDPOINT_BURST = 100;
+        public static final Integer DEFAULT_RATE_LIMIT_TENANT_RATE = 500;
+        public static final Integer DEFAULT_RATE_LIMIT_TENANT_BURST = 1000;
+        public static final Integer DEFAULT_RATE_LIMIT_QUEUE_CAPACITY = 10000;
+        public static final Integer DEFAULT_RATE_LIMIT_MAX_WAIT = 60;
+        public static final Integer DEFAULT_ORDERED_DELIVERY_STRIPES = 64;
+        public static final Integer DEFAULT_ORDERED_DELIVERY_TIMEOUT = 120;
+        public static final String DEFAULT_ORDERED_DELIVERY_SUBJECT_PATHS = "events.*.user.id,sub_id.id";
+        public static final Integer DEFAULT_PRIORITY_RESERVED_CONNECTIONS = 1;
+        public static final Integer DEFAULT_NORMAL_LANE_QUEUE_CAPACITY = 10000;
+        public static final Integer DEFAULT_CRITICAL_CALLBACK_POOL_SIZE = 4;
+        public static final Integer DEFAULT_EVENT_MAX_AGE = 0;
+        public static final Integer DEFAULT_PAYLOAD_MEMORY_BUDGET = 64;
+        public static final Integer DEFAULT_LOOKUP_CACHE_TTL = 0;
+        public static final Integer DEFAULT_LOOKUP_CACHE_REFRESH_AHEAD = 5;
+        public static final Integer DEFAULT_LOOKUP_CACHE_MAX_ENTRIES = 1000;
+        public static final Integer DEFAULT_CACHE_WARM_UP_MAX_KEYS = 500;
+        public static final Integer DEFAULT_CACHE_WARM_UP_DELAY = 30;
+        public static final Integer DEFAULT_CACHE_WARM_UP_RATE = 20;
+        public static final int REQUEST_BUFFER_POOL_SIZE = 64;
+        public static final int REQUEST_BUFFER_INITIAL_SIZE = 4096;
+        public static final int REQUEST_BUFFER_MAX_POOLED_SIZE = 65536;
 
         private Http() {
 
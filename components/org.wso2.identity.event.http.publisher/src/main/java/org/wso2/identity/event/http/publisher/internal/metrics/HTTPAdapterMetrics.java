@@ -0,0 +1,705 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.wso2.identity.event.publisher.transport.metrics.EndpointMetrics;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.VirtualThreadExecutor;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics registry of the HTTP adapter.
+ * Records per adapter and per endpoint delivery metrics and exposes them, together with connection pool and
+ * callback queue gauges, as JMX MBeans.
+ */
+public class HTTPAdapterMetrics implements HTTPAdapterMetricsMBean {
+
+    private static final Log LOG = LogFactory.getLog(HTTPAdapterMetrics.class);
+    private static final HTTPAdapterMetrics INSTANCE = new HTTPAdapterMetrics();
+
+    static final String JMX_DOMAIN = "org.wso2.identity.event.publisher";
+    static final String ADAPTER_OBJECT_NAME = JMX_DOMAIN + ":type=HTTPAdapter";
+    static final String UNKNOWN_ENDPOINT = "unknown";
+    // Upper bound of endpoints tracked individually, to keep the MBean count bounded with many webhooks.
+    static final int MAX_TRACKED_ENDPOINTS = 256;
+
+    private final EndpointMetrics total = new EndpointMetrics("*");
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder callbackRejected = new LongAdder();
+    private final LongAdder evictedConnections = new LongAdder();
+    private final LongAdder staleConnections = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder probeFailures = new LongAdder();
+    private final LongAdder rateLimitDelayed = new LongAdder();
+    private final LongAdder rateLimitRejected = new LongAdder();
+    private final LongAdder orderedDeliveryTimeouts = new LongAdder();
+    private final LongAdder orderedDeliveriesOvertaken = new LongAdder();
+    private final LongAdder criticalDeliveries = new LongAdder();
+    private final LongAdder normalLaneQueued = new LongAdder();
+    private final LongAdder normalLaneRejected = new LongAdder();
+    private final LongAdder expiredEvents = new LongAdder();
+    private final LongAdder payloadBudgetRejected = new LongAdder();
+    private final LongAdder lookupCoalesced = new LongAdder();
+    private volatile PoolingNHttpClientConnectionManager connectionManager;
+    private volatile Executor callbackExecutor;
+    private volatile ByteBudget payloadBudget;
+    private volatile MBeanServer mBeanServer;
+
+    private HTTPAdapterMetrics() {
+
+    }
+
+    public static HTTPAdapterMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Bind the connection manager whose pool statistics are exposed as gauges.
+     *
+     * @param connectionManager Connection manager of the async client.
+     */
+    public void bindConnectionPool(PoolingNHttpClientConnectionManager connectionManager) {
+
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Bind the executor whose queue is exposed as gauges. For a {@link VirtualThreadExecutor}, the available
+     * permits are reported as the remaining queue capacity.
+     *
+     * @param callbackExecutor Executor used for asynchronous callbacks.
+     */
+    public void bindCallbackExecutor(Executor callbackExecutor) {
+
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Bind the budget whose held bytes are exposed as a gauge.
+     *
+     * @param payloadBudget Budget of the queued and in-flight request bodies.
+     */
+    public void bindPayloadBudget(ByteBudget payloadBudget) {
+
+        this.payloadBudget = payloadBudget;
+    }
+
+    /**
+     * Record that a request was handed to the HTTP client.
+     *
+     * @param uri Request URI.
+     * @return Start time to be passed back when the request completes.
+     */
+    public long recordRequestStarted(URI uri) {
+
+        total.recordStarted();
+        EndpointMetrics endpointMetrics = getEndpointMetrics(uri);
+        if (endpointMetrics != null) {
+            endpointMetrics.recordStarted();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Record that a response was received for a request.
+     *
+     * @param uri        Request URI.
+     * @param statusCode Response status code.
+     * @param startTime  Start time returned by {@link #recordRequestStarted(URI)}.
+     */
+    public void recordResponse(URI uri, int statusCode, long startTime) {
+
+        long elapsed = System.nanoTime() - startTime;
+        total.recordResponse(statusCode, elapsed);
+        EndpointMetrics endpointMetrics = getEndpointMetrics(uri);
+        if (endpointMetrics != null) {
+            endpointMetrics.recordResponse(statusCode, elapsed);
+        }
+    }
+
+    /**
+     * Record that a request failed without a response, or was cancelled.
+     *
+     * @param uri       Request URI.
+     * @param startTime Start time returned by {@link #recordRequestStarted(URI)}.
+     */
+    public void recordError(URI uri, long startTime) {
+
+        long elapsed = System.nanoTime() - startTime;
+        total.recordError(elapsed);
+        EndpointMetrics endpointMetrics = getEndpointMetrics(uri);
+        if (endpointMetrics != null) {
+            endpointMetrics.recordError(elapsed);
+        }
+    }
+
+    /**
+     * Record a retry of a failed delivery.
+     *
+     * @param url Endpoint URL.
+     */
+    public void recordRetry(String url) {
+
+        total.recordRetry();
+        EndpointMetrics endpointMetrics = getEndpointMetrics(toURI(url));
+        if (endpointMetrics != null) {
+            endpointMetrics.recordRetry();
+        }
+    }
+
+    /**
+     * Record an event that was not delivered to an endpoint.
+     *
+     * @param url Endpoint URL.
+     */
+    public void recordDropped(String url) {
+
+        total.recordDropped();
+        EndpointMetrics endpointMetrics = getEndpointMetrics(toURI(url));
+        if (endpointMetrics != null) {
+            endpointMetrics.recordDropped();
+        }
+    }
+
+    /**
+     * Record a callback discarded because the callback queue was full.
+     */
+    public void recordCallbackRejected() {
+
+        callbackRejected.increment();
+    }
+
+    /**
+     * Record pooled connections closed by the idle and expired connection evictor.
+     *
+     * @param count Number of connections closed.
+     */
+    public void recordConnectionsEvicted(int count) {
+
+        evictedConnections.add(count);
+    }
+
+    /**
+     * Record a request that failed because its pooled connection had already been closed by the peer.
+     */
+    public void recordStaleConnection() {
+
+        staleConnections.increment();
+    }
+
+    /**
+     * Record an endpoint health probe.
+     *
+     * @param failed true if the endpoint could not be reached.
+     */
+    public void recordProbe(boolean failed) {
+
+        probes.increment();
+        if (failed) {
+            probeFailures.increment();
+        }
+    }
+
+    /**
+     * Record a delivery held back by the rate limit of its endpoint or tenant.
+     *
+     * @param rejected true if the delivery was rejected because the rate limit queue was full.
+     */
+    public void recordRateLimited(boolean rejected) {
+
+        if (rejected) {
+            rateLimitRejected.increment();
+        } else {
+            rateLimitDelayed.increment();
+        }
+    }
+
+    /**
+     * Record an ordered delivery that released its queue because it did not complete in time.
+     */
+    public void recordOrderedDeliveryTimeout() {
+
+        orderedDeliveryTimeouts.increment();
+    }
+
+    /**
+     * Record a timed out ordered delivery that completed after the next delivery of its queue had started.
+     */
+    public void recordOrderedDeliveryOvertaken() {
+
+        orderedDeliveriesOvertaken.increment();
+    }
+
+    /**
+     * Record a delivery sent on the critical lane.
+     */
+    public void recordCriticalDelivery() {
+
+        criticalDeliveries.increment();
+    }
+
+    /**
+     * Record a normal delivery queued until connection capacity of the normal lane is available.
+     */
+    public void recordNormalLaneQueued() {
+
+        normalLaneQueued.increment();
+    }
+
+    /**
+     * Record a normal delivery rejected because the queue of the normal lane is full.
+     */
+    public void recordNormalLaneRejected() {
+
+        normalLaneRejected.increment();
+    }
+
+    /**
+     * Record an event shed instead of delivered because it exceeded its maximum age.
+     */
+    public void recordEventExpired() {
+
+        expiredEvents.increment();
+    }
+
+    /**
+     * Record an event rejected because the payload memory budget had no room for its request body.
+     */
+    public void recordPayloadBudgetRejected() {
+
+        payloadBudgetRejected.increment();
+    }
+
+    /**
+     * Record a lookup that waited for the result of the same lookup already in flight.
+     */
+    public void recordLookupCoalesced() {
+
+        lookupCoalesced.increment();
+    }
+
+    /**
+     * Get the metrics of an endpoint.
+     *
+     * @param url Endpoint URL.
+     * @return Endpoint metrics, or null if the endpoint is not tracked.
+     */
+    public EndpointMetrics getEndpointMetrics(String url) {
+
+        return endpoints.get(toKey(toURI(url)));
+    }
+
+    /**
+     * Register the adapter MBean and the MBeans of already tracked endpoints in the platform MBean server.
+     */
+    public synchronized void registerMBeans() {
+
+        if (mBeanServer != null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(ADAPTER_OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            LOG.warn("Error while registering the HTTP adapter metrics MBean.", e);
+            return;
+        }
+        mBeanServer = server;
+        endpoints.values().forEach(this::registerEndpointMBean);
+    }
+
+    /**
+     * Unregister all MBeans registered by {@link #registerMBeans()}.
+     */
+    public synchronized void unregisterMBeans() {
+
+        MBeanServer server = mBeanServer;
+        if (server == null) {
+            return;
+        }
+        mBeanServer = null;
+        try {
+            server.unregisterMBean(new ObjectName(ADAPTER_OBJECT_NAME));
+            for (EndpointMetrics endpointMetrics : endpoints.values()) {
+                ObjectName objectName = endpointObjectName(endpointMetrics.getEndpoint());
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            }
+        } catch (JMException e) {
+            LOG.warn("Error while unregistering the HTTP adapter metrics MBeans.", e);
+        }
+    }
+
+    @Override
+    public long getInFlightRequests() {
+
+        return total.getInFlightRequests();
+    }
+
+    @Override
+    public long getCompletedRequests() {
+
+        return total.getCompletedRequests();
+    }
+
+    @Override
+    public long getStatus2xxCount() {
+
+        return total.getStatus2xxCount();
+    }
+
+    @Override
+    public long getStatus3xxCount() {
+
+        return total.getStatus3xxCount();
+    }
+
+    @Override
+    public long getStatus4xxCount() {
+
+        return total.getStatus4xxCount();
+    }
+
+    @Override
+    public long getStatus5xxCount() {
+
+        return total.getStatus5xxCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+
+        return total.getErrorCount();
+    }
+
+    @Override
+    public long getRetryCount() {
+
+        return total.getRetryCount();
+    }
+
+    @Override
+    public long getDroppedCount() {
+
+        return total.getDroppedCount();
+    }
+
+    @Override
+    public long getCallbackRejectedCount() {
+
+        return callbackRejected.sum();
+    }
+
+    @Override
+    public long getEvictedConnectionCount() {
+
+        return evictedConnections.sum();
+    }
+
+    @Override
+    public long getStaleConnectionCount() {
+
+        return staleConnections.sum();
+    }
+
+    @Override
+    public long getProbeCount() {
+
+        return probes.sum();
+    }
+
+    @Override
+    public long getProbeFailureCount() {
+
+        return probeFailures.sum();
+    }
+
+    @Override
+    public long getRateLimitDelayedCount() {
+
+        return rateLimitDelayed.sum();
+    }
+
+    @Override
+    public long getRateLimitRejectedCount() {
+
+        return rateLimitRejected.sum();
+    }
+
+    @Override
+    public long getOrderedDeliveryTimeoutCount() {
+
+        return orderedDeliveryTimeouts.sum();
+    }
+
+    @Override
+    public long getOrderedDeliveryOvertakenCount() {
+
+        return orderedDeliveriesOvertaken.sum();
+    }
+
+    @Override
+    public long getCriticalDeliveryCount() {
+
+        return criticalDeliveries.sum();
+    }
+
+    @Override
+    public long getNormalLaneQueuedCount() {
+
+        return normalLaneQueued.sum();
+    }
+
+    @Override
+    public long getNormalLaneRejectedCount() {
+
+        return normalLaneRejected.sum();
+    }
+
+    @Override
+    public long getExpiredEventCount() {
+
+        return expiredEvents.sum();
+    }
+
+    @Override
+    public long getPayloadBudgetRejectedCount() {
+
+        return payloadBudgetRejected.sum();
+    }
+
+    @Override
+    public long getLookupCoalescedCount() {
+
+        return lookupCoalesced.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+
+        return total.getLatencyMeanMillis();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+
+        return total.getLatencyP50Millis();
+    }
+
+    @Override
+    public double getLatencyP90Millis() {
+
+        return total.getLatencyP90Millis();
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+
+        return total.getLatencyP99Millis();
+    }
+
+    @Override
+    public double getLatencyP999Millis() {
+
+        return total.getLatencyP999Millis();
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+
+        return total.getLatencyMaxMillis();
+    }
+
+    @Override
+    public int getPoolLeasedConnections() {
+
+        PoolStats stats = getPoolStats();
+        return stats == null ? 0 : stats.getLeased();
+    }
+
+    @Override
+    public int getPoolAvailableConnections() {
+
+        PoolStats stats = getPoolStats();
+        return stats == null ? 0 : stats.getAvailable();
+    }
+
+    @Override
+    public int getPoolPendingRequests() {
+
+        PoolStats stats = getPoolStats();
+        return stats == null ? 0 : stats.getPending();
+    }
+
+    @Override
+    public int getPoolMaxConnections() {
+
+        PoolStats stats = getPoolStats();
+        return stats == null ? 0 : stats.getMax();
+    }
+
+    @Override
+    public int getCallbackQueueDepth() {
+
+        Executor executor = callbackExecutor;
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getQueue().size() : 0;
+    }
+
+    @Override
+    public int getCallbackQueueRemainingCapacity() {
+
+        Executor executor = callbackExecutor;
+        if (executor instanceof VirtualThreadExecutor) {
+            return ((VirtualThreadExecutor) executor).getAvailablePermits();
+        }
+        return executor instanceof ThreadPoolExecutor ?
+                ((ThreadPoolExecutor) executor).getQueue().remainingCapacity() : 0;
+    }
+
+    @Override
+    public int getCallbackActiveThreads() {
+
+        Executor executor = callbackExecutor;
+        if (executor instanceof VirtualThreadExecutor) {
+            return ((VirtualThreadExecutor) executor).getActiveCount();
+        }
+        return executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) executor).getActiveCount() : 0;
+    }
+
+    @Override
+    public int getTrackedEndpointCount() {
+
+        return endpoints.size();
+    }
+
+    @Override
+    public long getPayloadBudgetUsedBytes() {
+
+        ByteBudget budget = payloadBudget;
+        return budget != null ? budget.getUsedBytes() : 0L;
+    }
+
+    @Override
+    public void resetStatistics() {
+
+        total.resetStatistics();
+        callbackRejected.reset();
+        evictedConnections.reset();
+        staleConnections.reset();
+        probes.reset();
+        probeFailures.reset();
+        rateLimitDelayed.reset();
+        rateLimitRejected.reset();
+        orderedDeliveryTimeouts.reset();
+        orderedDeliveriesOvertaken.reset();
+        criticalDeliveries.reset();
+        normalLaneQueued.reset();
+        normalLaneRejected.reset();
+        expiredEvents.reset();
+        payloadBudgetRejected.reset();
+        lookupCoalesced.reset();
+        endpoints.values().forEach(EndpointMetrics::resetStatistics);
+    }
+
+    private PoolStats getPoolStats() {
+
+        PoolingNHttpClientConnectionManager manager = connectionManager;
+        return manager == null ? null : manager.getTotalStats();
+    }
+
+    private EndpointMetrics getEndpointMetrics(URI uri) {
+
+        String key = toKey(uri);
+        EndpointMetrics endpointMetrics = endpoints.get(key);
+        if (endpointMetrics != null || endpoints.size() >= MAX_TRACKED_ENDPOINTS) {
+            return endpointMetrics;
+        }
+        EndpointMetrics created = new EndpointMetrics(key);
+        endpointMetrics = endpoints.putIfAbsent(key, created);
+        if (endpointMetrics == null) {
+            registerEndpointMBean(created);
+            return created;
+        }
+        return endpointMetrics;
+    }
+
+    private void registerEndpointMBean(EndpointMetrics endpointMetrics) {
+
+        MBeanServer server = mBeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            ObjectName objectName = endpointObjectName(endpointMetrics.getEndpoint());
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(endpointMetrics, objectName);
+            }
+        } catch (JMException e) {
+            LOG.debug("Error while registering the metrics MBean of endpoint: " + endpointMetrics.getEndpoint(), e);
+        }
+    }
+
+    private static ObjectName endpointObjectName(String endpoint) throws JMException {
+
+        return new ObjectName(ADAPTER_OBJECT_NAME + ",name=Endpoint,endpoint=" + ObjectName.quote(endpoint));
+    }
+
+    private static URI toURI(String url) {
+
+        try {
+            return url == null ? null : URI.create(url);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Build the endpoint key of a URI. User info, query and fragment are excluded as they may carry secrets and
+     * would otherwise blow up the number of tracked endpoints.
+     */
+    private static String toKey(URI uri) {
+
+        if (uri == null || uri.getScheme() == null || uri.getHost() == null) {
+            return UNKNOWN_ENDPOINT;
+        }
+        String port = uri.getPort() == -1 ? "" : ":" + uri.getPort();
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        return uri.getScheme() + "://" + uri.getHost() + port + path;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.metrics;
+
+/**
+ * JMX view of the aggregated delivery metrics of the HTTP adapter.
+ */
+public interface HTTPAdapterMetricsMBean {
+
+    long getInFlightRequests();
+
+    long getCompletedRequests();
+
+    long getStatus2xxCount();
+
+    long getStatus3xxCount();
+
+    long getStatus4xxCount();
+
+    long getStatus5xxCount();
+
+    long getErrorCount();
+
+    long getRetryCount();
+
+    long getDroppedCount();
+
+    long getCallbackRejectedCount();
+
+    long getEvictedConnectionCount();
+
+    long getStaleConnectionCount();
+
+    long getProbeCount();
+
+    long getProbeFailureCount();
+
+    long getRateLimitDelayedCount();
+
+    long getRateLimitRejectedCount();
+
+    long getOrderedDeliveryTimeoutCount();
+
+    long getOrderedDeliveryOvertakenCount();
+
+    long getCriticalDeliveryCount();
+
+    long getNormalLaneQueuedCount();
+
+    long getNormalLaneRejectedCount();
+
+    long getExpiredEventCount();
+
+    long getPayloadBudgetRejectedCount();
+
+    long getLookupCoalescedCount();
+
+    double getLatencyMeanMillis();
+
+    double getLatencyP50Millis();
+
+    double getLatencyP90Millis();
+
+    double getLatencyP99Millis();
+
+    double getLatencyP999Millis();
+
+    double getLatencyMaxMillis();
+
+    int getPoolLeasedConnections();
+
+    int getPoolAvailableConnections();
+
+    int getPoolPendingRequests();
+
+    int getPoolMaxConnections();
+
+    int getCallbackQueueDepth();
+
+    int getCallbackQueueRemainingCapacity();
+
+    int getCallbackActiveThreads();
+
+    int getTrackedEndpointCount();
+
+    long getPayloadBudgetUsedBytes();
+
+    void resetStatistics();
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.service.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.client.methods.HttpPost;
+import org.wso2.carbon.identity.webhook.management.api.exception.WebhookMgtException;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
+import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.http.publisher.api.service.DeadLetterService;
+import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+import org.wso2.identity.event.http.publisher.internal.util.HTTPAdapterUtil;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterEntry;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_ACTIVE_WEBHOOKS_RETRIEVAL;
+import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_DEAD_LETTER_STORE;
+import static org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants.Http.DEFAULT_DEAD_LETTER_REPLAY_RATE;
+
+/**
+ * OSGi service to list, replay and purge the event deliveries of the HTTP adapter that failed after all their
+ * retries.
+ * Replayed entries are sent from a scheduler thread at the replay rate and stay in the store until the endpoint
+ * accepts them, so an entry is never lost by a replay that fails or is cut short by a shutdown.
+ * An entry is replayed to the active webhook of its endpoint, and signed with the current secret of the webhook. An
+ * entry whose webhook is no longer active is skipped and stays in the store until it is purged.
+ */
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+    private static final Log log = LogFactory.getLog(DeadLetterServiceImpl.class);
+
+    private final Set<String> replayingEntries = ConcurrentHashMap.newKeySet();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Create the dead-letter service with its replay scheduler.
+     */
+    public DeadLetterServiceImpl() {
+
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("http-adapter-dead-letter-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<DeadLetterEntry> listEntries(String tenantDomain, String endpoint, long fromTime, long toTime,
+                                             int limit) {
+
+        return getDeadLetterStore().list(tenantDomain, endpoint, fromTime, toTime, limit);
+    }
+
+    @Override
+    public int replay(String tenantDomain, String endpoint, long fromTime, long toTime, int maxPerSecond)
+            throws HTTPAdapterException {
+
+        DeadLetterStore deadLetterStore = getDeadLetterStore();
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager == null || clientManager.isShuttingDown()) {
+            log.info("HTTP adapter is shutting down. Dead-letter entries are not replayed.");
+            return 0;
+        }
+        int rate = maxPerSecond > 0 ? maxPerSecond : HTTPAdapterDataHolder.getInstance().getAdapterConfiguration()
+                .getDeadLetterReplayRate();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / (rate > 0 ? rate : DEFAULT_DEAD_LETTER_REPLAY_RATE);
+        long delayNanos = 0L;
+        int replayed = 0;
+        int skipped = 0;
+        Map<List<String>, List<Webhook>> activeWebhooks = new HashMap<>();
+        for (DeadLetterEntry entry : deadLetterStore.list(tenantDomain, endpoint, fromTime, toTime,
+                Integer.MAX_VALUE)) {
+            Webhook webhook = findActiveWebhook(entry, activeWebhooks);
+            if (webhook == null) {
+                log.debug("Webhook of dead-letter entry " + entry.getId() + " is no longer active. Endpoint: " +
+                        entry.getEndpoint());
+                skipped++;
+                continue;
+            }
+            // An entry still in flight from an earlier replay is not sent twice.
+            if (!replayingEntries.add(entry.getId())) {
+                continue;
+            }
+            EntryReplay entryReplay = new EntryReplay(entry, webhook, deadLetterStore, clientManager, intervalNanos);
+            if (!entryReplay.schedule(entryReplay::start, delayNanos)) {
+                log.info("Dead-letter replay is stopped. Scheduled " + replayed + " entries before stopping.");
+                break;
+            }
+            delayNanos += intervalNanos;
+            replayed++;
+        }
+        if (skipped > 0) {
+            log.warn("Skipped the replay of " + skipped + " dead-letter entries of tenant: " + tenantDomain +
+                    ", endpoint: " + endpoint + " as their webhooks are no longer active. The entries are kept in " +
+                    "the dead-letter store.");
+        }
+        log.debug("Scheduled the replay of " + replayed + " dead-letter entries of tenant: " + tenantDomain +
+                ", endpoint: " + endpoint);
+        return replayed;
+    }
+
+    @Override
+    public int purge(String tenantDomain, String endpoint, long fromTime, long toTime) throws HTTPAdapterException {
+
+        DeadLetterStore deadLetterStore = getDeadLetterStore();
+        int purged = 0;
+        for (DeadLetterEntry entry : deadLetterStore.list(tenantDomain, endpoint, fromTime, toTime,
+                Integer.MAX_VALUE)) {
+            if (remove(deadLetterStore, entry)) {
+                purged++;
+            }
+        }
+        log.debug("Purged " + purged + " dead-letter entries of tenant: " + tenantDomain + ", endpoint: " +
+                endpoint);
+        return purged;
+    }
+
+    /**
+     * Stop the replay scheduler. Entries whose replay has not started yet stay in the store.
+     */
+    public void stop() {
+
+        scheduler.shutdownNow();
+        replayingEntries.clear();
+    }
+
+    /**
+     * Find the active webhook an entry is replayed to. The webhooks subscribed to the event of the entry are looked
+     * up once per replay, so the entry is signed with the current secret of the webhook.
+     */
+    private static Webhook findActiveWebhook(DeadLetterEntry entry, Map<List<String>, List<Webhook>> activeWebhooks)
+            throws HTTPAdapterException {
+
+        if (entry.getEventProfileName() == null) {
+            // Entries added without their event profile cannot be matched to a webhook.
+            return null;
+        }
+        List<String> key = Arrays.asList(entry.getTenantDomain(), entry.getEventProfileName(),
+                entry.getEventProfileVersion(), entry.getEventUri());
+        List<Webhook> webhooks = activeWebhooks.get(key);
+        if (webhooks == null) {
+            WebhookManagementService webhookManagementService =
+                    HTTPAdapterDataHolder.getInstance().getWebhookManagementService();
+            if (webhookManagementService == null) {
+                webhooks = Collections.emptyList();
+            } else {
+                try {
+                    webhooks = webhookManagementService.getActiveWebhooks(entry.getEventProfileName(),
+                            entry.getEventProfileVersion(), entry.getEventUri(), entry.getTenantDomain());
+                } catch (WebhookMgtException e) {
+                    throw HTTPAdapterUtil.handleServerException(ERROR_ACTIVE_WEBHOOKS_RETRIEVAL, e);
+                }
+            }
+            activeWebhooks.put(key, webhooks);
+        }
+        for (Webhook webhook : webhooks) {
+            if (entry.getEndpoint().equals(webhook.getEndpoint())) {
+                return webhook;
+            }
+        }
+        return null;
+    }
+
+    private static boolean remove(DeadLetterStore deadLetterStore, DeadLetterEntry entry) throws HTTPAdapterException {
+
+        try {
+            return deadLetterStore.remove(entry);
+        } catch (IOException e) {
+            throw HTTPAdapterUtil.handleServerException(ERROR_DEAD_LETTER_STORE, e, entry.getId());
+        }
+    }
+
+    private static DeadLetterStore getDeadLetterStore() {
+
+        DeadLetterStore deadLetterStore = HTTPAdapterDataHolder.getInstance().getDeadLetterStore();
+        if (deadLetterStore == null) {
+            throw new IllegalStateException("HTTP adapter dead-letter store is not enabled.");
+        }
+        return deadLetterStore;
+    }
+
+    /**
+     * Replay of one dead-letter entry, with its retries. The entry stays in the store it was listed from until the
+     * endpoint accepts it.
+     */
+    private final class EntryReplay {
+
+        private final DeadLetterEntry entry;
+        private final String url;
+        private final String secret;
+        private final DeadLetterStore deadLetterStore;
+        private final ClientManager clientManager;
+        private final long intervalNanos;
+
+        private EntryReplay(DeadLetterEntry entry, Webhook webhook, DeadLetterStore deadLetterStore,
+                            ClientManager clientManager, long intervalNanos) {
+
+            this.entry = entry;
+            this.url = webhook.getEndpoint();
+            this.secret = webhook.getSecret();
+            this.deadLetterStore = deadLetterStore;
+            this.clientManager = clientManager;
+            this.intervalNanos = intervalNanos;
+        }
+
+        private void start() {
+
+            byte[] body;
+            try {
+                body = deadLetterStore.readBody(entry);
+            } catch (IOException e) {
+                log.debug("Dead-letter entry " + entry.getId() + " is no longer readable. It was purged " +
+                        "concurrently.", e);
+                finish();
+                return;
+            }
+            send(body, clientManager.getMaxRetries());
+        }
+
+        private void send(byte[] body, int retriesLeft) {
+
+            if (clientManager.isShuttingDown()) {
+                log.debug("HTTP adapter is shutting down. Dead-letter entry " + entry.getId() + " is not replayed.");
+                finish();
+                return;
+            }
+            HttpPost request;
+            try {
+                request = clientManager.createReplayHttpPost(url, entry.getHeaders(), body, secret);
+            } catch (HTTPAdapterException e) {
+                log.error("Error while signing dead-letter entry " + entry.getId() + " for endpoint: " + url +
+                        ". The entry is kept in the dead-letter store.", e);
+                finish();
+                return;
+            }
+            final CallbackContext callbackContext = new CallbackContext(entry.getTenantDomain(), null);
+
+            // The entry is still in the store, so a rejected callback only ends the replay of the entry.
+            clientManager.executeAsync(request).whenCompleteAsync((response, throwable) -> {
+                callbackContext.attach();
+                try {
+                    String error;
+                    if (throwable == null) {
+                        int status = response.getStatusLine().getStatusCode();
+                        if (status >= 200 && status < 300) {
+                            removeReplayed();
+                            log.debug("Dead-letter entry " + entry.getId() + " replayed to endpoint: " + url);
+                            return;
+                        }
+                        error = status + " " + response.getStatusLine().getReasonPhrase();
+                    } else {
+                        error = throwable.getMessage();
+                    }
+                    if (retriesLeft > 0) {
+                        HTTPAdapterMetrics.getInstance().recordRetry(url);
+                        schedule(() -> send(body, retriesLeft - 1), intervalNanos);
+                        return;
+                    }
+                    HTTPAdapterMetrics.getInstance().recordDropped(url);
+                    keepFailed(body, error);
+                    log.warn("Failed to replay dead-letter entry " + entry.getId() + " to endpoint: " + url +
+                            ". Maximum retries reached. The entry is kept in the dead-letter store.");
+                } finally {
+                    callbackContext.detach();
+                }
+            }, RejectableTask.wrap(clientManager.getAsyncCallbackExecutor(), this::finish));
+        }
+
+        private boolean schedule(Runnable task, long delayNanos) {
+
+            try {
+                scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (RejectedExecutionException e) {
+                finish();
+                return false;
+            }
+        }
+
+        private void removeReplayed() {
+
+            try {
+                deadLetterStore.remove(entry);
+            } catch (IOException e) {
+                log.error("Error while removing replayed dead-letter entry " + entry.getId() + " from the store.",
+                        e);
+            } finally {
+                finish();
+            }
+        }
+
+        private void keepFailed(byte[] body, String error) {
+
+            try {
+                // Replace the entry with one that records the latest error. A full store keeps the old entry.
+                deadLetterStore.replace(entry, body, error);
+            } catch (IOException e) {
+                log.error("Error while updating failed dead-letter entry " + entry.getId() + " in the store.", e);
+            } finally {
+                finish();
+            }
+        }
+
+        private void finish() {
+
+            replayingEntries.remove(entry.getId());
+        }
+    }
+}
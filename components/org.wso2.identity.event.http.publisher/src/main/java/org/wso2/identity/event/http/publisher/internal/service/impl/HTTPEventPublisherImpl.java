@@ -18,13 +18,10 @@
 
 package org.wso2.identity.event.http.publisher.internal.service.impl;
 
-import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpPost;
-import org.slf4j.MDC;
-import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherException;
 import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherServerException;
 import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
@@ -32,19 +29,36 @@ import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayl
 import org.wso2.carbon.identity.event.publisher.api.service.EventPublisher;
 import org.wso2.carbon.identity.webhook.management.api.exception.WebhookMgtException;
 import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
 import org.wso2.carbon.utils.DiagnosticLog;
 import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
 import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.DeliveryLanes;
+import org.wso2.identity.event.http.publisher.internal.component.EndpointHealthProber;
+import org.wso2.identity.event.http.publisher.internal.component.EndpointRateLimiter;
 import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.component.OrderedDeliveryDispatcher;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
 import org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
 import org.wso2.identity.event.http.publisher.internal.util.HTTPAdapterUtil;
 import org.wso2.identity.event.http.publisher.internal.util.HTTPCorrelationLogUtils;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+import org.wso2.identity.event.publisher.transport.util.EventMaxAgePolicy;
+import org.wso2.identity.event.publisher.transport.util.PooledEntity;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
-import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.CORRELATION_ID_MDC;
-import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.TENANT_DOMAIN;
 import static org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage.ERROR_ACTIVE_WEBHOOKS_RETRIEVAL;
 import static org.wso2.identity.event.http.publisher.internal.util.HTTPAdapterUtil.printPublisherDiagnosticLog;
 import static org.wso2.identity.event.http.publisher.internal.util.HTTPCorrelationLogUtils.handleResponseCorrelationLog;
@@ -55,7 +69,9 @@ import static org.wso2.identity.event.http.publisher.internal.util.HTTPCorrelati
 public class HTTPEventPublisherImpl implements EventPublisher {
 
     private static final Log log = LogFactory.getLog(HTTPEventPublisherImpl.class);
-    private List<Webhook> activeWebhooks;
+    private static final Runnable NO_OP = () -> { };
+    // Webhooks found by canHandleEvent, handed over to the publish call of the same event on the same thread.
+    private static final ThreadLocal<ActiveWebhooks> ACTIVE_WEBHOOKS = new ThreadLocal<>();
 
     @Override
     public String getAssociatedAdapter() {
@@ -67,120 +83,462 @@ public class HTTPEventPublisherImpl implements EventPublisher {
     public void publish(SecurityEventTokenPayload eventPayload, EventContext eventContext)
             throws EventPublisherException {
 
-        makeAsyncAPICall(eventPayload, eventContext);
+        ActiveWebhooks activeWebhooks = ACTIVE_WEBHOOKS.get();
+        ACTIVE_WEBHOOKS.remove();
+        List<Webhook> webhooks = activeWebhooks != null && activeWebhooks.eventContext == eventContext ?
+                activeWebhooks.webhooks : getActiveWebhooks(eventContext);
+        makeAsyncAPICall(eventPayload, eventContext, webhooks);
     }
 
     @Override
     public boolean canHandleEvent(EventContext eventContext) throws EventPublisherException {
 
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null && clientManager.isShuttingDown()) {
+            ACTIVE_WEBHOOKS.remove();
+            log.debug("HTTP adapter is shutting down. Event not accepted: " + eventContext.getEventUri());
+            return false;
+        }
+        List<Webhook> webhooks = getActiveWebhooks(eventContext);
+        if (webhooks.isEmpty()) {
+            // publish is not called for an event that is not handled, so nothing is left on the thread.
+            ACTIVE_WEBHOOKS.remove();
+            return false;
+        }
+        ACTIVE_WEBHOOKS.set(new ActiveWebhooks(eventContext, webhooks));
+        return true;
+    }
+
+    private static List<Webhook> getActiveWebhooks(EventContext eventContext) throws EventPublisherException {
+
+        WebhookManagementService webhookManagementService =
+                HTTPAdapterDataHolder.getInstance().getWebhookManagementService();
+        LookupCache<List<String>, List<Webhook>> webhookLookupCache =
+                HTTPAdapterDataHolder.getInstance().getWebhookLookupCache();
         try {
-            activeWebhooks = HTTPAdapterDataHolder.getInstance().getWebhookManagementService()
-                    .getActiveWebhooks(eventContext.getEventProfileName(), eventContext.getEventProfileVersion(),
-                            eventContext.getEventUri(), eventContext.getTenantDomain());
-            return !activeWebhooks.isEmpty();
+            if (webhookLookupCache == null) {
+                return webhookManagementService.getActiveWebhooks(eventContext.getEventProfileName(),
+                        eventContext.getEventProfileVersion(), eventContext.getEventUri(),
+                        eventContext.getTenantDomain());
+            }
+            List<String> key = Arrays.asList(eventContext.getTenantDomain(), eventContext.getEventProfileName(),
+                    eventContext.getEventProfileVersion(), eventContext.getEventUri());
+            CacheWarmUp cacheWarmUp = HTTPAdapterDataHolder.getInstance().getCacheWarmUp();
+            if (cacheWarmUp != null) {
+                cacheWarmUp.record(key);
+            }
+            return webhookLookupCache.get(key, eventContext.getTenantDomain(),
+                    () -> webhookManagementService.getActiveWebhooks(eventContext.getEventProfileName(),
+                            eventContext.getEventProfileVersion(), eventContext.getEventUri(),
+                            eventContext.getTenantDomain()));
         } catch (WebhookMgtException e) {
             throw new EventPublisherServerException(ERROR_ACTIVE_WEBHOOKS_RETRIEVAL.getMessage(),
                     ERROR_ACTIVE_WEBHOOKS_RETRIEVAL.getDescription(), ERROR_ACTIVE_WEBHOOKS_RETRIEVAL.getCode(), e);
         }
     }
 
-    private void makeAsyncAPICall(SecurityEventTokenPayload eventPayload, EventContext eventContext) {
+    private void makeAsyncAPICall(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                  List<Webhook> activeWebhooks) {
 
+        OrderedDeliveryDispatcher orderedDeliveryDispatcher =
+                HTTPAdapterDataHolder.getInstance().getOrderedDeliveryDispatcher();
+        String subjectId = null;
+        if (orderedDeliveryDispatcher != null) {
+            HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+            subjectId = configuration != null ? configuration.getSubjectResolver().resolve(eventPayload) : null;
+        }
         for (Webhook webhook : activeWebhooks) {
             String url = webhook.getEndpoint();
             String secret = webhook.getSecret();
-            sendWithRetries(eventPayload, eventContext, url, secret,
-                    HTTPAdapterDataHolder.getInstance().getClientManager().getMaxRetries());
+            int maxRetries = HTTPAdapterDataHolder.getInstance().getClientManager().getMaxRetries();
+            if (subjectId == null) {
+                sendWithRetries(eventPayload, eventContext, url, secret, maxRetries, NO_OP);
+                continue;
+            }
+            orderedDeliveryDispatcher.submit(url, subjectId, onComplete -> {
+                // Ordered deliveries run on the dispatcher threads.
+                CallbackContext orderedContext = new CallbackContext(eventContext.getTenantDomain(),
+                        HTTPAdapterUtil.getCorrelationID(eventPayload));
+                orderedContext.attach();
+                orderedContext.startTenantFlow();
+                try {
+                    sendWithRetries(eventPayload, eventContext, url, secret, maxRetries, onComplete);
+                } finally {
+                    orderedContext.detach();
+                }
+            }, () -> dropOrderedDelivery(eventPayload, eventContext, url, secret));
+        }
+    }
+
+    private static void dropOrderedDelivery(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                            String url, String secret) {
+
+        HttpPost request = createRequest(eventPayload, eventContext, url, secret);
+        if (request == null) {
+            return;
         }
+        HTTPAdapterMetrics.getInstance().recordDropped(url);
+        printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                "Ordered delivery is stopped. Event data not published.");
+        log.debug("Ordered delivery is stopped. Event not sent to endpoint: " + url);
+        deadLetter(request, eventContext, "Ordered delivery stopped");
+        PooledEntity.release(request);
     }
 
     private void sendWithRetries(SecurityEventTokenPayload eventPayload, EventContext eventContext,
-                                 String url, String secret, int retriesLeft) {
+                                 String url, String secret, int retriesLeft, Runnable onComplete) {
+
+        HttpPost request = createRequest(eventPayload, eventContext, url, secret);
+        if (request == null) {
+            onComplete.run();
+            return;
+        }
+        // The body stays accounted for until the delivery completes, including its retries.
+        ByteBudget.Reservation reservation = reservePayloadBytes(request);
+        if (reservation == null) {
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Payload memory budget is exhausted. Event data not published.");
+            log.debug("Payload memory budget is exhausted. Event not sent to endpoint: " + url);
+            deadLetter(request, eventContext, "Payload memory budget exhausted");
+            PooledEntity.release(request);
+            onComplete.run();
+            return;
+        }
+        send(eventPayload, eventContext, url, secret, retriesLeft, request, () -> {
+            reservation.release();
+            onComplete.run();
+        });
+    }
+
+    private void retry(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url, String secret,
+                       int retriesLeft, Runnable onComplete) {
+
+        HttpPost request = createRequest(eventPayload, eventContext, url, secret);
+        if (request == null) {
+            onComplete.run();
+            return;
+        }
+        send(eventPayload, eventContext, url, secret, retriesLeft, request, onComplete);
+    }
+
+    private static HttpPost createRequest(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                          String url, String secret) {
 
-        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
-        final HttpPost request;
         try {
-            request = clientManager.createHttpPost(url, eventPayload, secret);
+            return HTTPAdapterDataHolder.getInstance().getClientManager().createHttpPost(url, eventPayload, secret);
         } catch (HTTPAdapterException e) {
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
             printPublisherDiagnosticLog(eventContext, eventPayload, url,
                     HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
                     "Failed to construct HTTP request for HTTP adapter publish.");
             log.debug("Error constructing HTTP request for HTTP adapter publish. No retries will be attempted.", e);
+            return null;
+        }
+    }
+
+    private void send(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url, String secret,
+                      int retriesLeft, HttpPost request, Runnable onDeliveryComplete) {
+
+        // The pooled body of this attempt goes back to the pool once the delivery settles. Retries pass this callback
+        // on, so every attempt is released after its dead letter copy has been taken.
+        Runnable onComplete = () -> {
+            PooledEntity.release(request);
+            onDeliveryComplete.run();
+        };
+        if (shedIfExpired(eventPayload, eventContext, url, request)) {
+            onComplete.run();
             return;
         }
 
+        final EndpointHealthProber endpointHealthProber =
+                HTTPAdapterDataHolder.getInstance().getEndpointHealthProber();
+        if (endpointHealthProber != null) {
+            endpointHealthProber.track(url);
+            if (endpointHealthProber.isUnreachable(url)) {
+                HTTPAdapterMetrics.getInstance().recordDropped(url);
+                printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                        HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                        "Endpoint is unreachable. Event data not published.");
+                log.debug("Endpoint is marked unreachable. Event not sent to endpoint: " + url);
+                deadLetter(request, eventContext, "Endpoint unreachable");
+                onComplete.run();
+                return;
+            }
+        }
+
+        EndpointRateLimiter endpointRateLimiter = HTTPAdapterDataHolder.getInstance().getEndpointRateLimiter();
+        long delayNanos = endpointRateLimiter != null ?
+                endpointRateLimiter.reserve(eventContext.getTenantDomain(), url) : 0L;
+        if (delayNanos > 0 && endpointRateLimiter.schedule(() -> {
+            // Held back deliveries run on the rate limiter thread.
+            CallbackContext deferredContext = new CallbackContext(eventContext.getTenantDomain(),
+                    HTTPAdapterUtil.getCorrelationID(eventPayload));
+            deferredContext.attach();
+            deferredContext.startTenantFlow();
+            try {
+                if (shedIfExpired(eventPayload, eventContext, url, request)) {
+                    onComplete.run();
+                    return;
+                }
+                deliver(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber,
+                        onComplete);
+            } finally {
+                deferredContext.detach();
+            }
+        }, delayNanos, () -> {
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Rate limiter is stopped. Event data not published.");
+            log.debug("Rate limiter is stopped. Event not sent to endpoint: " + url);
+            deadLetter(request, eventContext, "Rate limiter stopped");
+            onComplete.run();
+        })) {
+            log.debug("Rate limit of endpoint: " + url + " reached. Delivery delayed by " +
+                    TimeUnit.NANOSECONDS.toMillis(delayNanos) + " ms.");
+            return;
+        }
+        if (delayNanos != 0) {
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Rate limit queue is full. Event data not published.");
+            log.debug("Rate limit queue is full. Event not sent to endpoint: " + url);
+            deadLetter(request, eventContext, "Rate limit queue full");
+            onComplete.run();
+            return;
+        }
+        deliver(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber, onComplete);
+    }
+
+    private void deliver(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url,
+                         String secret, int retriesLeft, HttpPost request,
+                         EndpointHealthProber endpointHealthProber, Runnable onComplete) {
+
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
+        DeliveryLanes deliveryLanes = HTTPAdapterDataHolder.getInstance().getDeliveryLanes();
+        if (deliveryLanes == null) {
+            execute(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber, onComplete,
+                    clientManager.getAsyncCallbackExecutor(), null);
+            return;
+        }
+        if (deliveryLanes.isCritical(eventContext)) {
+            HTTPAdapterMetrics.getInstance().recordCriticalDelivery();
+            execute(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber, onComplete,
+                    deliveryLanes.getCriticalCallbackExecutor(), null);
+            return;
+        }
+        if (deliveryLanes.tryAcquire(request.getURI())) {
+            execute(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber, onComplete,
+                    clientManager.getAsyncCallbackExecutor(), deliveryLanes);
+            return;
+        }
+        if (deliveryLanes.enqueue(request.getURI(), () -> {
+            // Queued normal deliveries run on the normal lane thread.
+            CallbackContext queuedContext = new CallbackContext(eventContext.getTenantDomain(),
+                    HTTPAdapterUtil.getCorrelationID(eventPayload));
+            queuedContext.attach();
+            queuedContext.startTenantFlow();
+            try {
+                if (shedIfExpired(eventPayload, eventContext, url, request)) {
+                    // The capacity taken for the queued delivery is not used.
+                    deliveryLanes.release(request.getURI());
+                    onComplete.run();
+                    return;
+                }
+                execute(eventPayload, eventContext, url, secret, retriesLeft, request, endpointHealthProber,
+                        onComplete, clientManager.getAsyncCallbackExecutor(), deliveryLanes);
+            } finally {
+                queuedContext.detach();
+            }
+        }, () -> {
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Priority lanes are stopped. Event data not published.");
+            log.debug("Priority lanes are stopped. Event not sent to endpoint: " + url);
+            deadLetter(request, eventContext, "Priority lanes stopped");
+            onComplete.run();
+        })) {
+            log.debug("Connection capacity of normal events is in use. Delivery to endpoint: " + url + " queued.");
+            return;
+        }
+        HTTPAdapterMetrics.getInstance().recordDropped(url);
+        printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                "Normal priority queue is full. Event data not published.");
+        log.debug("Normal priority queue is full. Event not sent to endpoint: " + url);
+        deadLetter(request, eventContext, "Normal priority queue full");
+        onComplete.run();
+    }
+
+    private void execute(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url,
+                         String secret, int retriesLeft, HttpPost request,
+                         EndpointHealthProber endpointHealthProber, Runnable onComplete, Executor callbackExecutor,
+                         DeliveryLanes acquiredLanes) {
+
+        ClientManager clientManager = HTTPAdapterDataHolder.getInstance().getClientManager();
         printPublisherDiagnosticLog(eventContext, eventPayload, url,
                 HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.SUCCESS,
                 "Publishing event data to endpoint.");
 
         final long requestStartTime = System.currentTimeMillis();
         final String correlationId = HTTPAdapterUtil.getCorrelationID(eventPayload);
+        final CallbackContext callbackContext = new CallbackContext(eventContext.getTenantDomain(), correlationId);
 
         CompletableFuture<HttpResponse> future = clientManager.executeAsync(request);
+        if (acquiredLanes != null) {
+            future.whenComplete((response, throwable) -> acquiredLanes.release(request.getURI()));
+        }
 
         future.whenCompleteAsync((response, throwable) -> {
+            callbackContext.attach();
             try {
-                PrivilegedCarbonContext.startTenantFlow();
-                PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(eventContext.getTenantDomain());
-                if (StringUtils.isNotEmpty(correlationId)) {
-                    MDC.put(CORRELATION_ID_MDC, correlationId);
-                }
-                MDC.put(TENANT_DOMAIN, eventContext.getTenantDomain());
                 if (throwable == null) {
+                    if (endpointHealthProber != null) {
+                        endpointHealthProber.recordReachable(url);
+                    }
                     int status = response.getStatusLine().getStatusCode();
                     if (status >= 200 && status < 300) {
                         handleResponseCorrelationLog(request, requestStartTime,
                                 HTTPCorrelationLogUtils.RequestStatus.COMPLETED.getStatus(),
                                 String.valueOf(status), response.getStatusLine().getReasonPhrase());
-                        printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload, url,
                                 HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                 DiagnosticLog.ResultStatus.SUCCESS, "Event data published to endpoint.");
                         log.debug("HTTP request completed. Response code: " + status +
                                 ", Endpoint: " + url + ", Event URI: " + eventContext.getEventUri());
+                        onComplete.run();
                     } else {
+                        handleResponseCorrelationLog(request, requestStartTime,
+                                HTTPCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
+                                String.valueOf(status), response.getStatusLine().getReasonPhrase());
                         if (retriesLeft > 0) {
-                            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                            HTTPAdapterMetrics.getInstance().recordRetry(url);
+                            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload, url,
                                     HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                     DiagnosticLog.ResultStatus.FAILED,
                                     "Publish attempt failed with status code: " + status +
                                             ". Retrying… (" + retriesLeft + " attempts left)");
-                            sendWithRetries(eventPayload, eventContext, url, secret, retriesLeft - 1);
+                            callbackContext.startTenantFlow();
+                            retry(eventPayload, eventContext, url, secret, retriesLeft - 1, onComplete);
+                        } else {
+                            HTTPAdapterMetrics.getInstance().recordDropped(url);
+                            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload, url,
+                                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
+                                    DiagnosticLog.ResultStatus.FAILED,
+                                    "Failed to publish event data to endpoint. Status code: " + status +
+                                            ". Maximum retries reached.");
+                            deadLetter(request, eventContext, status + " " +
+                                    response.getStatusLine().getReasonPhrase());
+                            onComplete.run();
                         }
-                        handleResponseCorrelationLog(request, requestStartTime,
-                                HTTPCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
-                                String.valueOf(status), response.getStatusLine().getReasonPhrase());
-                        printPublisherDiagnosticLog(eventContext, eventPayload, url,
-                                HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
-                                DiagnosticLog.ResultStatus.FAILED,
-                                "Failed to publish event data to endpoint. Status code: " + status +
-                                        ". Maximum retries reached.");
                     }
                 } else {
+                    handleResponseCorrelationLog(request, requestStartTime,
+                            HTTPCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
+                            throwable.getMessage());
+                    if (endpointHealthProber != null) {
+                        endpointHealthProber.recordFailure(url);
+                    }
                     if (retriesLeft > 0) {
-                        printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                        HTTPAdapterMetrics.getInstance().recordRetry(url);
+                        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload, url,
                                 HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                 DiagnosticLog.ResultStatus.FAILED,
                                 "Publish attempt failed due to exception. Retrying… (" +
                                         retriesLeft + " attempts left)");
-                        sendWithRetries(eventPayload, eventContext, url, secret, retriesLeft - 1);
+                        callbackContext.startTenantFlow();
+                        retry(eventPayload, eventContext, url, secret, retriesLeft - 1, onComplete);
+                    } else {
+                        HTTPAdapterMetrics.getInstance().recordDropped(url);
+                        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload, url,
+                                HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
+                                DiagnosticLog.ResultStatus.FAILED,
+                                "Failed to publish event data to endpoint. Maximum retries reached.");
+                        log.warn("Failed to publish event data to endpoint: " + url + ". Maximum retries reached.");
+                        deadLetter(request, eventContext, throwable.getMessage());
+                        onComplete.run();
                     }
-                    handleResponseCorrelationLog(request, requestStartTime,
-                            HTTPCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
-                            throwable.getMessage());
-                    printPublisherDiagnosticLog(eventContext, eventPayload, url,
-                            HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
-                            DiagnosticLog.ResultStatus.FAILED,
-                            "Failed to publish event data to endpoint. Maximum retries reached.");
-                    log.warn("Failed to publish event data to endpoint: " + url + "Maximum retries reached.");
                     log.debug("Failed to publish event data to endpoint: " + url, throwable);
                 }
             } finally {
-                if (StringUtils.isNotEmpty(correlationId)) {
-                    MDC.remove(CORRELATION_ID_MDC);
-                }
-                MDC.remove(TENANT_DOMAIN);
-                PrivilegedCarbonContext.endTenantFlow();
+                callbackContext.detach();
             }
-        }, clientManager.getAsyncCallbackExecutor());
+        }, RejectableTask.wrap(callbackExecutor, () -> {
+            // The outcome of the request is lost with its callback, so the event is kept for a replay.
+            HTTPAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                    HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Callback of the event delivery was rejected. Event data may not be published.");
+            log.debug("Callback executor rejected the delivery callback of endpoint: " + url);
+            deadLetter(request, eventContext, "Callback rejected");
+            onComplete.run();
+        }));
+    }
+
+    private static ByteBudget.Reservation reservePayloadBytes(HttpPost request) {
+
+        ByteBudget payloadBudget = HTTPAdapterDataHolder.getInstance().getPayloadBudget();
+        if (payloadBudget == null || request.getEntity() == null) {
+            return ByteBudget.UNTRACKED;
+        }
+        ByteBudget.Reservation reservation = payloadBudget.reserve(request.getEntity().getContentLength());
+        if (reservation == null) {
+            HTTPAdapterMetrics.getInstance().recordPayloadBudgetRejected();
+        }
+        return reservation;
+    }
+
+    private static boolean shedIfExpired(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                         String url, HttpPost request) {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        EventMaxAgePolicy eventMaxAgePolicy = configuration != null ? configuration.getEventMaxAgePolicy() : null;
+        if (eventMaxAgePolicy == null || !eventMaxAgePolicy.isExpired(eventPayload,
+                eventContext.getEventProfileName(), url)) {
+            return false;
+        }
+        HTTPAdapterMetrics.getInstance().recordEventExpired();
+        printPublisherDiagnosticLog(eventContext, eventPayload, url,
+                HTTPAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                "Event exceeded its maximum age. Event data not published.");
+        log.debug("Event " + eventContext.getEventUri() + " exceeded its maximum age. Event not sent to endpoint: " +
+                url);
+        if (configuration.isDeadLetterExpiredEvents()) {
+            deadLetter(request, eventContext, "Event expired");
+        }
+        return true;
+    }
+
+    private static void deadLetter(HttpPost request, EventContext eventContext, String lastError) {
+
+        DeadLetterStore deadLetterStore = HTTPAdapterDataHolder.getInstance().getDeadLetterStore();
+        if (deadLetterStore == null) {
+            return;
+        }
+        try {
+            if (deadLetterStore.add(eventContext, request, lastError) != null) {
+                log.debug("Event " + eventContext.getEventUri() + " added to the dead-letter store. Endpoint: " +
+                        request.getURI());
+            }
+        } catch (IOException e) {
+            log.error("Error while adding the event to the dead-letter store. Endpoint: " + request.getURI(), e);
+        }
+    }
+
+    private static final class ActiveWebhooks {
+
+        private final EventContext eventContext;
+        private final List<Webhook> webhooks;
+
+        private ActiveWebhooks(EventContext eventContext, List<Webhook> webhooks) {
+
+            this.eventContext = eventContext;
+            this.webhooks = webhooks;
+        }
     }
 }
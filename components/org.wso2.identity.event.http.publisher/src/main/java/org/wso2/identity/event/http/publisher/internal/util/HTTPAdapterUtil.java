@@ -29,6 +29,7 @@ import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterClientExc
 import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterServerException;
 import org.wso2.identity.event.http.publisher.internal.constant.ErrorMessage;
 import org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
 
 /**
  * Utility class for HTTPAdapter.
@@ -115,4 +116,27 @@ public class HTTPAdapterUtil {
             LoggerUtils.triggerDiagnosticLogEvent(diagnosticLogBuilder);
         }
     }
+
+    /**
+     * Print diagnostic log for publisher operations from a completion callback. The Carbon tenant flow of the
+     * callback is started only if diagnostic logs are enabled.
+     *
+     * @param callbackContext Context of the callback.
+     * @param eventContext    Event context.
+     * @param eventPayload    Event payload.
+     * @param endpoint        Endpoint URL.
+     * @param action          Action performed.
+     * @param status          Result status.
+     * @param message         Result message.
+     */
+    public static void printPublisherDiagnosticLog(CallbackContext callbackContext, EventContext eventContext,
+                                                   SecurityEventTokenPayload eventPayload, String endpoint,
+                                                   String action, DiagnosticLog.ResultStatus status,
+                                                   String message) {
+
+        if (LoggerUtils.isDiagnosticLogsEnabled()) {
+            callbackContext.startTenantFlow();
+            printPublisherDiagnosticLog(eventContext, eventPayload, endpoint, action, status, message);
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Finds the subject of a security event token, used to keep the events of a subject in order.
+ * Subjects are read from the claims of the token as it is sent, so any event payload of the framework works without
+ * knowing its type. Each path is a dot separated list of claim names in which {@code *} matches every member of an
+ * object or array, such as {@code events.*.user.id}. The paths are tried in order and the first text or number
+ * value found is the subject.
+ */
+public class SubjectResolver {
+
+    private static final Log LOG = LogFactory.getLog(SubjectResolver.class);
+    private static final String WILDCARD = "*";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final List<String[]> paths;
+
+    /**
+     * Create a subject resolver.
+     *
+     * @param subjectPaths Comma separated claim paths of the subject, or null.
+     */
+    public SubjectResolver(String subjectPaths) {
+
+        this.paths = parse(subjectPaths);
+    }
+
+    /**
+     * Get the subject of a security event token.
+     *
+     * @param eventTokenPayload Security event token payload.
+     * @return Subject ID, or null if no path names a subject in the token.
+     */
+    public String resolve(SecurityEventTokenPayload eventTokenPayload) {
+
+        if (paths.isEmpty() || eventTokenPayload == null) {
+            return null;
+        }
+        JsonNode token;
+        try {
+            token = MAPPER.valueToTree(eventTokenPayload);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("Error reading the subject of the security event token. The event is not ordered.", e);
+            return null;
+        }
+        for (String[] path : paths) {
+            String subjectId = find(token, path, 0);
+            if (subjectId != null) {
+                return subjectId;
+            }
+        }
+        return null;
+    }
+
+    private static String find(JsonNode node, String[] path, int index) {
+
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (index == path.length) {
+            if (!node.isTextual() && !node.isNumber()) {
+                return null;
+            }
+            String value = node.asText();
+            return value.isEmpty() ? null : value;
+        }
+        if (!WILDCARD.equals(path[index])) {
+            return find(node.get(path[index]), path, index + 1);
+        }
+        Iterator<JsonNode> members = node.elements();
+        while (members.hasNext()) {
+            String value = find(members.next(), path, index + 1);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static List<String[]> parse(String subjectPaths) {
+
+        if (StringUtils.isBlank(subjectPaths)) {
+            return Collections.emptyList();
+        }
+        List<String[]> parsed = new ArrayList<>();
+        for (String entry : subjectPaths.split(",")) {
+            String path = entry.trim();
+            if (path.isEmpty()) {
+                continue;
+            }
+            String[] segments = path.split("\\.");
+            boolean valid = true;
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = segments[i].trim();
+                valid &= !segments[i].isEmpty();
+            }
+            if (!valid) {
+                LOG.warn("Ignoring invalid ordered delivery subject path: " + path);
+                continue;
+            }
+            parsed.add(segments);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * The bucket is kept as the time up to which its permits are consumed, so a permit is taken with a single
+ * compare-and-set and callers never block each other. A permit can be reserved ahead of time: the caller is told
+ * how long to wait before using it, which spreads a burst over time at the rate of the bucket.
+ */
+public class TokenBucket {
+
+    private final long permitIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong consumedUntil;
+
+    /**
+     * Create a full token bucket.
+     *
+     * @param permitsPerSecond Rate at which permits are added.
+     * @param burst            Number of permits the bucket holds.
+     */
+    public TokenBucket(int permitsPerSecond, int burst) {
+
+        this.permitIntervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, permitsPerSecond);
+        this.burstNanos = permitIntervalNanos * Math.max(1, burst);
+        this.consumedUntil = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * Take a permit if one is available now.
+     *
+     * @return true if a permit was taken, false otherwise.
+     */
+    public boolean tryAcquire() {
+
+        return reserve(0L) == 0L;
+    }
+
+    /**
+     * Reserve a permit that is available within the given time.
+     *
+     * @param maxWaitNanos Maximum time in nanoseconds the caller is willing to wait for the permit.
+     * @return Time in nanoseconds until the reserved permit can be used, 0 if it can be used now, or -1 if no permit
+     * is available within the maximum wait time, in which case nothing is reserved.
+     */
+    public long reserve(long maxWaitNanos) {
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = consumedUntil.get();
+            long start = Math.max(current, now - burstNanos);
+            long next = start + permitIntervalNanos;
+            long waitNanos = Math.max(0L, next - now);
+            if (waitNanos > maxWaitNanos) {
+                return -1L;
+            }
+            if (consumedUntil.compareAndSet(current, next)) {
+                return waitNanos;
+            }
+        }
+    }
+
+    /**
+     * Check whether the bucket holds all its permits, in which case it is no different from a new bucket.
+     *
+     * @return true if the bucket is full, false otherwise.
+     */
+    public boolean isFull() {
+
+        return System.nanoTime() - consumedUntil.get() >= burstNanos;
+    }
+
+    /**
+     * Get the number of permits that can be taken now.
+     *
+     * @return Available permits.
+     */
+    public long getAvailablePermits() {
+
+        long emptyFor = System.nanoTime() - consumedUntil.get();
+        return Math.max(0L, Math.min(burstNanos, emptyFor) / permitIntervalNanos);
+    }
+}
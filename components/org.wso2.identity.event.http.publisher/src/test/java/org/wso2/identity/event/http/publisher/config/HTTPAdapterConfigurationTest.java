@@ -43,6 +43,61 @@ public class HTTPAdapterConfigurationTest {
         Assert.assertEquals(config.getHttpConnectionRequestTimeout(), 300);
         Assert.assertEquals(config.getDefaultMaxConnections(), 20);
         Assert.assertEquals(config.getDefaultMaxConnectionsPerRoute(), 2);
+        Assert.assertFalse(config.isHttp2Enabled());
+        Assert.assertNull(config.getRequestCompression());
+        Assert.assertEquals(config.getRequestCompressionMinSize(), 1024);
+        Assert.assertEquals(config.getCallbackExecutorPoolSize(), 10);
+        Assert.assertEquals(config.getCallbackExecutorQueueCapacity(), 150);
+        Assert.assertEquals(config.getConfigReloadInterval(), 0);
+        Assert.assertEquals(config.getShutdownDrainTimeout(), 10000);
+        Assert.assertFalse(config.isVirtualThreadsEnabled());
+        Assert.assertEquals(config.getVirtualThreadMaxConcurrency(), 1000);
+        Assert.assertFalse(config.isDeadLetterEnabled());
+        Assert.assertNull(config.getDeadLetterDirectory());
+        Assert.assertEquals(config.getDeadLetterMaxEntries(), 10000);
+        Assert.assertEquals(config.getDeadLetterReplayRate(), 50);
+        Assert.assertEquals(config.getConnectionTimeToLive(), 0);
+        Assert.assertEquals(config.getConnectionEvictionInterval(), 30);
+        Assert.assertEquals(config.getConnectionValidateAfterInactivity(), 2000);
+        Assert.assertEquals(config.getConnectionKeepAlive(), 30);
+        Assert.assertFalse(config.isEndpointProbeEnabled());
+        Assert.assertEquals(config.getEndpointProbeInterval(), 30);
+        Assert.assertEquals(config.getEndpointProbeIdleTimeout(), 300);
+        Assert.assertEquals(config.getEndpointUnreachableThreshold(), 3);
+        Assert.assertEquals(config.getConnectionIdleTimeout(), 60);
+        Assert.assertFalse(config.isDnsCacheEnabled());
+        Assert.assertEquals(config.getDnsCacheTtl(), 60);
+        Assert.assertEquals(config.getDnsNegativeCacheTtl(), 10);
+        Assert.assertEquals(config.getDnsCacheMaxEntries(), 1000);
+        Assert.assertFalse(config.isRateLimitEnabled());
+        Assert.assertEquals(config.getRateLimitEndpointRate(), 50);
+        Assert.assertEquals(config.getRateLimitEndpointBurst(), 100);
+        Assert.assertEquals(config.getRateLimitTenantRate(), 500);
+        Assert.assertEquals(config.getRateLimitTenantBurst(), 1000);
+        Assert.assertEquals(config.getRateLimitQueueCapacity(), 10000);
+        Assert.assertEquals(config.getRateLimitMaxWait(), 60);
+        Assert.assertFalse(config.isOrderedDeliveryEnabled());
+        Assert.assertEquals(config.getOrderedDeliveryStripes(), 64);
+        Assert.assertEquals(config.getOrderedDeliveryTimeout(), 120);
+        Assert.assertFalse(config.isPriorityLanesEnabled());
+        Assert.assertNull(config.getCriticalEventUris());
+        Assert.assertEquals(config.getPriorityReservedConnections(), 1);
+        Assert.assertEquals(config.getNormalLaneQueueCapacity(), 10000);
+        Assert.assertEquals(config.getCriticalCallbackPoolSize(), 4);
+        Assert.assertEquals(config.getEventMaxAge(), 0);
+        Assert.assertFalse(config.isDeadLetterExpiredEvents());
+        Assert.assertFalse(config.getEventMaxAgePolicy().isEnabled());
+        Assert.assertEquals(config.getPayloadMemoryBudget(), 64);
+        Assert.assertEquals(config.getPayloadMemoryBudgetBytes(), 64L * 1024L * 1024L);
+        Assert.assertEquals(config.getLookupCacheTtl(), 0);
+        Assert.assertEquals(config.getLookupCacheRefreshAhead(), 5);
+        Assert.assertEquals(config.getLookupCacheMaxEntries(), 1000);
+        Assert.assertFalse(config.isCacheWarmUpEnabled());
+        Assert.assertNull(config.getCacheWarmUpFile());
+        Assert.assertEquals(config.getCacheWarmUpMaxKeys(), 500);
+        Assert.assertEquals(config.getCacheWarmUpDelay(), 30);
+        Assert.assertEquals(config.getCacheWarmUpRate(), 20);
+        Assert.assertFalse(config.isSharedTransportEnabled());
     }
 
     @Test
@@ -55,6 +110,36 @@ public class HTTPAdapterConfigurationTest {
         properties.put("httpConnectionRequestTimeout", "700");
         properties.put("defaultMaxConnections", "150");
         properties.put("defaultMaxConnectionsPerRoute", "30");
+        properties.put("http2Enabled", "true");
+        properties.put("requestCompression", "gzip");
+        properties.put("requestCompressionMinSize", "2048");
+        properties.put("callbackExecutorPoolSize", "20");
+        properties.put("callbackExecutorQueueCapacity", "500");
+        properties.put("configReloadInterval", "60");
+        properties.put("virtualThreadsEnabled", "true");
+        properties.put("virtualThreadMaxConcurrency", "200");
+        properties.put("deadLetterEnabled", "true");
+        properties.put("deadLetterMaxEntries", "500");
+        properties.put("deadLetterReplayRate", "5");
+        properties.put("connectionTimeToLive", "300");
+        properties.put("connectionKeepAlive", "10");
+        properties.put("endpointProbeEnabled", "true");
+        properties.put("endpointProbeInterval", "10");
+        properties.put("connectionIdleTimeout", "20");
+        properties.put("dnsCacheEnabled", "true");
+        properties.put("dnsCacheTtl", "30");
+        properties.put("rateLimitEnabled", "true");
+        properties.put("rateLimitEndpointRate", "5");
+        properties.put("rateLimitQueueCapacity", "20");
+        properties.put("rateLimitMaxWait", "5");
+        properties.put("orderedDeliveryEnabled", "true");
+        properties.put("orderedDeliveryStripes", "128");
+        properties.put("priorityLanesEnabled", "true");
+        properties.put("criticalEventProfiles", "CAEP");
+        properties.put("priorityReservedConnections", "4");
+        properties.put("eventMaxAge", "300");
+        properties.put("eventMaxAgeProfiles", "CAEP=30");
+        properties.put("deadLetterExpiredEvents", "true");
 
         HTTPAdapterConfiguration config = new HTTPAdapterConfiguration(properties);
 
@@ -64,6 +149,37 @@ public class HTTPAdapterConfigurationTest {
         Assert.assertEquals(config.getHttpConnectionRequestTimeout(), 700);
         Assert.assertEquals(config.getDefaultMaxConnections(), 150);
         Assert.assertEquals(config.getDefaultMaxConnectionsPerRoute(), 30);
+        Assert.assertTrue(config.isHttp2Enabled());
+        Assert.assertEquals(config.getRequestCompression(), "gzip");
+        Assert.assertEquals(config.getRequestCompressionMinSize(), 2048);
+        Assert.assertEquals(config.getCallbackExecutorPoolSize(), 20);
+        Assert.assertEquals(config.getCallbackExecutorQueueCapacity(), 500);
+        Assert.assertEquals(config.getConfigReloadInterval(), 60);
+        Assert.assertTrue(config.isVirtualThreadsEnabled());
+        Assert.assertEquals(config.getVirtualThreadMaxConcurrency(), 200);
+        Assert.assertTrue(config.isDeadLetterEnabled());
+        Assert.assertEquals(config.getDeadLetterMaxEntries(), 500);
+        Assert.assertEquals(config.getDeadLetterReplayRate(), 5);
+        Assert.assertEquals(config.getConnectionTimeToLive(), 300);
+        Assert.assertEquals(config.getConnectionKeepAlive(), 10);
+        Assert.assertTrue(config.isEndpointProbeEnabled());
+        Assert.assertEquals(config.getEndpointProbeInterval(), 10);
+        Assert.assertEquals(config.getConnectionIdleTimeout(), 20);
+        Assert.assertTrue(config.isDnsCacheEnabled());
+        Assert.assertEquals(config.getDnsCacheTtl(), 30);
+        Assert.assertTrue(config.isRateLimitEnabled());
+        Assert.assertEquals(config.getRateLimitEndpointRate(), 5);
+        Assert.assertEquals(config.getRateLimitQueueCapacity(), 20);
+        Assert.assertEquals(config.getRateLimitMaxWait(), 5);
+        Assert.assertTrue(config.isOrderedDeliveryEnabled());
+        Assert.assertEquals(config.getOrderedDeliveryStripes(), 128);
+        Assert.assertTrue(config.isPriorityLanesEnabled());
+        Assert.assertEquals(config.getCriticalEventProfiles(), "CAEP");
+        Assert.assertEquals(config.getPriorityReservedConnections(), 4);
+        Assert.assertEquals(config.getEventMaxAge(), 300);
+        Assert.assertEquals(config.getEventMaxAgeProfiles(), "CAEP=30");
+        Assert.assertTrue(config.isDeadLetterExpiredEvents());
+        Assert.assertTrue(config.getEventMaxAgePolicy().isEnabled());
     }
 
     @Test
@@ -18,10 +18,17 @@
 
 package org.wso2.identity.event.http.publisher.internal;
 
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.testng.Assert;
@@ -32,15 +39,36 @@ import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException
 import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
 import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
 import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
-
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.client.HTTP2TransportClient;
+import org.wso2.identity.event.publisher.transport.util.CachingDnsResolver;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+import org.wso2.identity.event.publisher.transport.util.VirtualThreadExecutor;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import javax.net.ssl.SSLContext;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -81,6 +109,62 @@ public class ClientManagerTest {
         Assert.assertEquals(post.getURI().toString(), "http://mock-url.com");
     }
 
+    @Test
+    public void testCreateCompressedHttpPost() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        when(configuration.getRequestCompression()).thenReturn("gzip");
+        try {
+            ClientManager compressingManager = new ClientManager();
+            TestPayload payload = new TestPayload("mockFieldValue");
+            HttpPost post = compressingManager.createHttpPost("http://mock-url.com", payload, "testSecret");
+            HttpPost plainPost = clientManager.createHttpPost("http://mock-url.com", payload, "testSecret");
+
+            Assert.assertEquals(post.getFirstHeader("Content-Encoding").getValue(), "gzip");
+            Assert.assertNull(plainPost.getFirstHeader("Content-Encoding"));
+            Assert.assertEquals(post.getFirstHeader("x-wso2-event-signature").getValue(),
+                    plainPost.getFirstHeader("x-wso2-event-signature").getValue());
+            HttpEntity inflated = new InputStreamEntity(new GZIPInputStream(post.getEntity().getContent()));
+            Assert.assertEquals(EntityUtils.toString(inflated, StandardCharsets.UTF_8),
+                    EntityUtils.toString(plainPost.getEntity()));
+        } finally {
+            when(configuration.getRequestCompression()).thenReturn(null);
+        }
+    }
+
+    @Test
+    public void testCreateReplayHttpPostSignsWithCurrentSecret() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        when(configuration.getRequestCompression()).thenReturn("gzip");
+        try {
+            ClientManager compressingManager = new ClientManager();
+            TestPayload payload = new TestPayload("mockFieldValue");
+            HttpPost post = compressingManager.createHttpPost("http://mock-url.com", payload, "oldSecret");
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (Header header : post.getAllHeaders()) {
+                headers.put(header.getName(), header.getValue());
+            }
+            byte[] body = EntityUtils.toByteArray(post.getEntity());
+
+            HttpPost replayPost = clientManager.createReplayHttpPost("http://new-url.com", headers, body,
+                    "newSecret");
+            HttpPost expectedPost = clientManager.createHttpPost("http://new-url.com", payload, "newSecret");
+
+            Assert.assertEquals(replayPost.getURI().toString(), "http://new-url.com");
+            Assert.assertEquals(replayPost.getFirstHeader("Content-Encoding").getValue(), "gzip");
+            Assert.assertEquals(replayPost.getHeaders("x-wso2-event-signature").length, 1);
+            Assert.assertEquals(replayPost.getFirstHeader("x-wso2-event-signature").getValue(),
+                    expectedPost.getFirstHeader("x-wso2-event-signature").getValue());
+            Assert.assertEquals(EntityUtils.toByteArray(replayPost.getEntity()), body);
+
+            HttpPost unsignedPost = clientManager.createReplayHttpPost("http://new-url.com", headers, body, null);
+            Assert.assertNull(unsignedPost.getFirstHeader("x-wso2-event-signature"));
+        } finally {
+            when(configuration.getRequestCompression()).thenReturn(null);
+        }
+    }
+
     @Test(expectedExceptions = HTTPAdapterException.class)
     public void testCreateHttpPostException() throws HTTPAdapterException {
 
@@ -105,6 +189,9 @@ public class ClientManagerTest {
 
         HttpPost mockPost = mock(HttpPost.class);
         HttpResponse mockResponse = mock(HttpResponse.class);
+        StatusLine mockStatusLine = mock(StatusLine.class);
+        when(mockStatusLine.getStatusCode()).thenReturn(200);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
 
         ArgumentCaptor<FutureCallback<HttpResponse>> callbackCaptor =
                 ArgumentCaptor.forClass(FutureCallback.class);
@@ -118,6 +205,41 @@ public class ClientManagerTest {
         Assert.assertEquals(future.get(), mockResponse);
     }
 
+    @Test
+    public void testExecuteAsyncOverSharedTransport() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        SharedTransport sharedTransport = mock(SharedTransport.class);
+        when(configuration.isSharedTransportEnabled()).thenReturn(true);
+        when(HTTPAdapterDataHolder.getInstance().getSharedTransport()).thenReturn(sharedTransport);
+        try {
+            ClientManager sharingManager = new ClientManager();
+            HttpPost mockPost = mock(HttpPost.class);
+            HttpResponse mockResponse = mock(HttpResponse.class);
+            StatusLine mockStatusLine = mock(StatusLine.class);
+            when(mockStatusLine.getStatusCode()).thenReturn(202);
+            when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+            ArgumentCaptor<FutureCallback<HttpResponse>> callbackCaptor =
+                    ArgumentCaptor.forClass(FutureCallback.class);
+
+            CompletableFuture<HttpResponse> future = sharingManager.executeAsync(mockPost);
+            sharingManager.executeAsync(mockPost);
+
+            verify(sharedTransport).attach(eq("http-adapter"), eq(10), eq(5), eq(configuration),
+                    eq(sharingManager.getDnsResolver()), any(SSLContext.class));
+            verify(sharedTransport, times(2)).execute(eq("http-adapter"), eq(mockPost), callbackCaptor.capture());
+            callbackCaptor.getAllValues().get(0).completed(mockResponse);
+            Assert.assertEquals(future.get(), mockResponse);
+            Assert.assertFalse(sharingManager.isHttpAsyncClientInitialized());
+
+            sharingManager.shutdown(0);
+            verify(sharedTransport).detach("http-adapter");
+        } finally {
+            when(configuration.isSharedTransportEnabled()).thenReturn(false);
+            when(HTTPAdapterDataHolder.getInstance().getSharedTransport()).thenReturn(null);
+        }
+    }
+
     @Test
     public void testExecuteAsyncFailed() {
 
@@ -159,6 +281,167 @@ public class ClientManagerTest {
         Assert.assertTrue(future.isCancelled());
     }
 
+    @Test
+    public void testExecuteAsyncUsesHTTP2Transport() throws Exception {
+
+        CloseableHttpAsyncClient mockAsyncClient = mock(CloseableHttpAsyncClient.class);
+        HTTP2TransportClient mockTransportClient = mock(HTTP2TransportClient.class);
+        ClientManager spyManager = spy(clientManager);
+        doReturn(mockAsyncClient).when(spyManager).getHttpAsyncClient();
+        doReturn(mockTransportClient).when(spyManager).getHTTP2TransportClient();
+
+        HttpPost mockPost = mock(HttpPost.class);
+        HttpResponse mockResponse = mock(HttpResponse.class);
+        StatusLine mockStatusLine = mock(StatusLine.class);
+        when(mockStatusLine.getStatusCode()).thenReturn(200);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+
+        ArgumentCaptor<FutureCallback<HttpResponse>> callbackCaptor =
+                ArgumentCaptor.forClass(FutureCallback.class);
+
+        CompletableFuture<HttpResponse> future = spyManager.executeAsync(mockPost);
+
+        verify(mockTransportClient).execute(eq(mockPost), callbackCaptor.capture());
+        verifyNoInteractions(mockAsyncClient);
+        callbackCaptor.getValue().completed(mockResponse);
+
+        Assert.assertEquals(future.get(), mockResponse);
+    }
+
+    @Test
+    public void testShutdownDrainsInFlightRequests() throws Exception {
+
+        CloseableHttpAsyncClient mockAsyncClient = mock(CloseableHttpAsyncClient.class);
+        ClientManager spyManager = spy(new ClientManager());
+        doReturn(mockAsyncClient).when(spyManager).getHttpAsyncClient();
+
+        HttpPost mockPost = mock(HttpPost.class);
+        HttpResponse mockResponse = mock(HttpResponse.class);
+        StatusLine mockStatusLine = mock(StatusLine.class);
+        when(mockStatusLine.getStatusCode()).thenReturn(200);
+        when(mockResponse.getStatusLine()).thenReturn(mockStatusLine);
+        ArgumentCaptor<FutureCallback<HttpResponse>> callbackCaptor =
+                ArgumentCaptor.forClass(FutureCallback.class);
+
+        spyManager.executeAsync(mockPost);
+        verify(mockAsyncClient).execute(eq(mockPost), callbackCaptor.capture());
+        Assert.assertEquals(spyManager.getInFlightRequestCount(), 1);
+
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(() -> spyManager.shutdown(5000));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!spyManager.isShuttingDown() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(drained.isDone());
+        callbackCaptor.getValue().completed(mockResponse);
+
+        Assert.assertTrue(drained.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(spyManager.getInFlightRequestCount(), 0);
+        Assert.assertTrue(((ThreadPoolExecutor) spyManager.getAsyncCallbackExecutor()).isShutdown());
+
+        CompletableFuture<HttpResponse> rejected = spyManager.executeAsync(mockPost);
+        Assert.assertTrue(rejected.isCompletedExceptionally());
+        try {
+            rejected.get();
+            Assert.fail("Request accepted after shutdown.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("shut down"));
+        }
+    }
+
+    @Test
+    public void testShutdownAbandonsRequestsAfterDrainTimeout() throws Exception {
+
+        CloseableHttpAsyncClient mockAsyncClient = mock(CloseableHttpAsyncClient.class);
+        ClientManager spyManager = spy(new ClientManager());
+        doReturn(mockAsyncClient).when(spyManager).getHttpAsyncClient();
+
+        spyManager.executeAsync(mock(HttpPost.class));
+
+        Assert.assertFalse(spyManager.shutdown(100));
+        Assert.assertTrue(spyManager.isShuttingDown());
+        Assert.assertEquals(spyManager.getInFlightRequestCount(), 1);
+        Assert.assertTrue(spyManager.shutdown(100));
+    }
+
+    @Test
+    public void testShutdownCleansUpAbandonedCallbacks() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        when(configuration.getCallbackExecutorPoolSize()).thenReturn(1);
+        try {
+            ClientManager shuttingManager = new ClientManager();
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger cleanedUp = new AtomicInteger();
+            Executor callbackExecutor = RejectableTask.wrap(shuttingManager.getAsyncCallbackExecutor(),
+                    cleanedUp::incrementAndGet);
+            callbackExecutor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+            callbackExecutor.execute(() -> Assert.fail("Abandoned callback ran."));
+            callbackExecutor.execute(() -> Assert.fail("Abandoned callback ran."));
+
+            Assert.assertFalse(shuttingManager.shutdown(0));
+            Assert.assertEquals(cleanedUp.get(), 2);
+            release.countDown();
+        } finally {
+            when(configuration.getCallbackExecutorPoolSize()).thenReturn(0);
+        }
+    }
+
+    @Test
+    public void testVirtualThreadCallbackExecutor() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        when(configuration.isVirtualThreadsEnabled()).thenReturn(true);
+        when(configuration.getVirtualThreadMaxConcurrency()).thenReturn(50);
+        try {
+            ClientManager virtualThreadManager = new ClientManager();
+            if (VirtualThreadExecutor.isSupported()) {
+                Assert.assertEquals(((VirtualThreadExecutor) virtualThreadManager.getAsyncCallbackExecutor())
+                        .getMaximumConcurrency(), 50);
+            } else {
+                // Older Java runtimes fall back to the bounded platform thread pool.
+                Assert.assertTrue(virtualThreadManager.getAsyncCallbackExecutor() instanceof ThreadPoolExecutor);
+            }
+            Assert.assertTrue(virtualThreadManager.shutdown(0));
+        } finally {
+            when(configuration.isVirtualThreadsEnabled()).thenReturn(false);
+        }
+    }
+
+    @Test
+    public void testDnsResolverSelection() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+        Assert.assertSame(clientManager.getDnsResolver(), SystemDefaultDnsResolver.INSTANCE);
+
+        when(configuration.isDnsCacheEnabled()).thenReturn(true);
+        when(configuration.getDnsCacheTtl()).thenReturn(60);
+        when(configuration.getDnsCacheMaxEntries()).thenReturn(100);
+        try {
+            ClientManager cachingManager = new ClientManager();
+            Assert.assertTrue(cachingManager.getDnsResolver() instanceof CachingDnsResolver);
+            Assert.assertTrue(cachingManager.shutdown(0));
+
+            DnsResolver resolver = host -> new InetAddress[]{InetAddress.getLoopbackAddress()};
+            when(HTTPAdapterDataHolder.getInstance().getDnsResolver()).thenReturn(resolver);
+            ClientManager pluggedManager = new ClientManager();
+            Assert.assertSame(pluggedManager.getDnsResolver(), resolver);
+            Assert.assertTrue(pluggedManager.shutdown(0));
+        } finally {
+            when(configuration.isDnsCacheEnabled()).thenReturn(false);
+            when(HTTPAdapterDataHolder.getInstance().getDnsResolver()).thenReturn(null);
+        }
+    }
+
     @AfterClass
     public void tearDown() {
 
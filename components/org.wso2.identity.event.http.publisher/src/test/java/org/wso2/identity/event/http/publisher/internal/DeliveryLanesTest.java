@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.identity.event.http.publisher.internal.component.DeliveryLanes;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for DeliveryLanes.
+ */
+public class DeliveryLanesTest {
+
+    private static final URI ENDPOINT = URI.create("https://mock-endpoint.com/events");
+    private static final URI SAME_ROUTE = URI.create("https://mock-endpoint.com:443/other-events");
+    private static final URI OTHER_ENDPOINT = URI.create("http://other-endpoint.com/events");
+    private static final Runnable NO_OP = () -> { };
+
+    private final Map<String, String> properties = new HashMap<>();
+    private DeliveryLanes deliveryLanes;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        properties.clear();
+        properties.put("priorityLanesEnabled", "true");
+        properties.put("criticalEventUris", "https://schemas.openid.net/secevent/caep/event-type/session-revoked," +
+                " https://schemas.openid.net/secevent/risc/event-type/*");
+        properties.put("criticalEventProfiles", "CAEP");
+        properties.put("defaultMaxConnections", "3");
+        properties.put("defaultMaxConnectionsPerRoute", "2");
+        properties.put("priorityReservedConnections", "1");
+        properties.put("normalLaneQueueCapacity", "1");
+        deliveryLanes = new DeliveryLanes(new HTTPAdapterConfiguration(properties));
+        HTTPAdapterMetrics.getInstance().resetStatistics();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        deliveryLanes.stop(false);
+    }
+
+    @Test
+    public void testCriticalEventMapping() {
+
+        Assert.assertTrue(deliveryLanes.isCritical(event(
+                "https://schemas.openid.net/secevent/caep/event-type/session-revoked", "WSO2")));
+        Assert.assertTrue(deliveryLanes.isCritical(event(
+                "https://schemas.openid.net/secevent/risc/event-type/credential-compromise", "WSO2")));
+        Assert.assertTrue(deliveryLanes.isCritical(event("https://schemas.identity.wso2.org/events/login", "CAEP")));
+        Assert.assertFalse(deliveryLanes.isCritical(event(
+                "https://schemas.identity.wso2.org/events/user/profile-updated", "WSO2")));
+        Assert.assertFalse(deliveryLanes.isCritical(event(null, null)));
+    }
+
+    @Test
+    public void testNormalDeliveriesLeaveReservedCapacity() {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        // The route keeps one of its two connections for critical events.
+        Assert.assertFalse(deliveryLanes.tryAcquire(SAME_ROUTE));
+        Assert.assertTrue(deliveryLanes.tryAcquire(OTHER_ENDPOINT));
+        // The pool keeps one of its three connections for critical events.
+        Assert.assertFalse(deliveryLanes.tryAcquire(URI.create("http://third-endpoint.com/events")));
+
+        deliveryLanes.release(ENDPOINT);
+        Assert.assertTrue(deliveryLanes.tryAcquire(SAME_ROUTE));
+    }
+
+    @Test
+    public void testQueuedDeliveryRunsOnRelease() throws Exception {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        CountDownLatch delivered = new CountDownLatch(1);
+        Assert.assertTrue(deliveryLanes.enqueue(ENDPOINT, delivered::countDown, NO_OP));
+        Assert.assertFalse(deliveryLanes.enqueue(ENDPOINT, NO_OP, NO_OP));
+        Assert.assertEquals(deliveryLanes.getQueuedCount(), 1);
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getNormalLaneQueuedCount(), 1);
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getNormalLaneRejectedCount(), 1);
+        Assert.assertFalse(delivered.await(100, TimeUnit.MILLISECONDS));
+
+        deliveryLanes.release(ENDPOINT);
+
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(deliveryLanes.getQueuedCount(), 0);
+        // The queued delivery took the released capacity.
+        Assert.assertFalse(deliveryLanes.tryAcquire(ENDPOINT));
+    }
+
+    @Test
+    public void testReconfigureAppliesLimitsAndMapping() throws Exception {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        CountDownLatch delivered = new CountDownLatch(1);
+        Assert.assertTrue(deliveryLanes.enqueue(ENDPOINT, delivered::countDown, NO_OP));
+
+        properties.put("priorityReservedConnections", "0");
+        properties.remove("criticalEventProfiles");
+        deliveryLanes.reconfigure(new HTTPAdapterConfiguration(properties));
+
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(deliveryLanes.isCritical(event("https://schemas.identity.wso2.org/events/login",
+                "CAEP")));
+    }
+
+    @Test
+    public void testStopDeliversQueuedDeliveries() throws Exception {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        CountDownLatch delivered = new CountDownLatch(1);
+        Assert.assertTrue(deliveryLanes.enqueue(ENDPOINT, delivered::countDown, NO_OP));
+
+        deliveryLanes.stop(true);
+
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(deliveryLanes.enqueue(OTHER_ENDPOINT, NO_OP, NO_OP));
+    }
+
+    @Test
+    public void testStopDropsQueuedDeliveries() {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        Assert.assertTrue(deliveryLanes.enqueue(ENDPOINT, delivered::incrementAndGet, dropped::incrementAndGet));
+
+        deliveryLanes.stop(false);
+
+        Assert.assertTrue(deliveryLanes.awaitTermination(5000));
+        Assert.assertEquals(dropped.get(), 1);
+        Assert.assertEquals(delivered.get(), 0);
+        Assert.assertEquals(deliveryLanes.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testDrainedDeliveriesTakeCapacity() throws Exception {
+
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        CountDownLatch delivered = new CountDownLatch(1);
+        Assert.assertTrue(deliveryLanes.enqueue(SAME_ROUTE, () -> {
+            deliveryLanes.release(SAME_ROUTE);
+            delivered.countDown();
+        }, NO_OP));
+
+        deliveryLanes.stop(true);
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        deliveryLanes.release(ENDPOINT);
+
+        // Both requests returned the capacity they took, so the lane limits hold again.
+        Assert.assertTrue(deliveryLanes.tryAcquire(ENDPOINT));
+        Assert.assertTrue(deliveryLanes.tryAcquire(OTHER_ENDPOINT));
+        Assert.assertFalse(deliveryLanes.tryAcquire(URI.create("http://third-endpoint.com/events")));
+    }
+
+    private static EventContext event(String eventUri, String profileName) {
+
+        return EventContext.builder()
+                .tenantDomain("carbon.super")
+                .eventUri(eventUri)
+                .eventProfileName(profileName)
+                .eventProfileVersion("v1")
+                .build();
+    }
+}
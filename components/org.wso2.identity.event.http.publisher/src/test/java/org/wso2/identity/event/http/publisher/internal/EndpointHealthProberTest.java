@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal;
+
+import org.apache.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.EndpointHealthProber;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for EndpointHealthProber.
+ */
+public class EndpointHealthProberTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events";
+    private static final String OTHER_ENDPOINT = "https://mock-endpoint.com/events";
+
+    private final Map<String, String> properties = new HashMap<>();
+    private ClientManager clientManager;
+    private EndpointHealthProber prober;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        properties.clear();
+        properties.put("endpointProbeEnabled", "true");
+        properties.put("endpointUnreachableThreshold", "2");
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(properties));
+        clientManager = mock(ClientManager.class);
+        HTTPAdapterDataHolder.getInstance().setClientManager(clientManager);
+        prober = new EndpointHealthProber();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        prober.stop();
+        HTTPAdapterDataHolder.getInstance().setClientManager(null);
+    }
+
+    @Test
+    public void testEndpointsAreNotTrackedWhenProbingIsDisabled() throws Exception {
+
+        properties.put("endpointProbeEnabled", "false");
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(properties));
+
+        prober.track(ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+
+        Assert.assertEquals(prober.getTrackedEndpointCount(), 0);
+        Assert.assertFalse(prober.isUnreachable(ENDPOINT));
+    }
+
+    @Test
+    public void testEndpointMarkedUnreachableAfterConsecutiveFailures() {
+
+        prober.track(ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+        Assert.assertFalse(prober.isUnreachable(ENDPOINT));
+        prober.recordReachable(ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+        Assert.assertFalse(prober.isUnreachable(ENDPOINT));
+        prober.recordFailure(ENDPOINT);
+        Assert.assertTrue(prober.isUnreachable(ENDPOINT));
+
+        prober.recordReachable(ENDPOINT);
+        Assert.assertFalse(prober.isUnreachable(ENDPOINT));
+    }
+
+    @Test
+    public void testProbeRoundProbesEndpoints() {
+
+        CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Connection refused"));
+        when(clientManager.probe(anyString())).thenReturn(failed);
+        prober.track(ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+
+        prober.probeEndpoints();
+
+        verify(clientManager).probe(ENDPOINT);
+        Assert.assertTrue(prober.isUnreachable(ENDPOINT));
+
+        CompletableFuture<HttpResponse> reached = CompletableFuture.completedFuture(mock(HttpResponse.class));
+        when(clientManager.probe(anyString())).thenReturn(reached);
+        prober.probeEndpoints();
+
+        verify(clientManager, times(2)).probe(ENDPOINT);
+        Assert.assertFalse(prober.isUnreachable(ENDPOINT));
+
+        // A reachable endpoint with a recent response already holds a warm connection.
+        prober.probeEndpoints();
+        verify(clientManager, times(2)).probe(ENDPOINT);
+    }
+
+    @Test
+    public void testEndpointsOfARouteShareHealth() {
+
+        CompletableFuture<HttpResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Connection refused"));
+        when(clientManager.probe(anyString())).thenReturn(failed);
+        String sameRoute = "http://mock-endpoint.com:80/other-events";
+        prober.track(ENDPOINT);
+        prober.track(sameRoute);
+        prober.track(OTHER_ENDPOINT);
+        prober.recordFailure(ENDPOINT);
+        prober.recordFailure(sameRoute);
+
+        Assert.assertEquals(prober.getTrackedEndpointCount(), 2);
+        Assert.assertTrue(prober.isUnreachable(ENDPOINT));
+        Assert.assertTrue(prober.isUnreachable(sameRoute));
+        Assert.assertFalse(prober.isUnreachable(OTHER_ENDPOINT));
+
+        prober.probeEndpoints();
+
+        // A route is probed once, through the URL that last received an event.
+        verify(clientManager).probe(sameRoute);
+        verify(clientManager, never()).probe(ENDPOINT);
+        verify(clientManager).probe(OTHER_ENDPOINT);
+    }
+
+    @Test
+    public void testIdleEndpointsAreNotProbed() throws Exception {
+
+        properties.put("endpointProbeIdleTimeout", "-1");
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(properties));
+        prober.track(ENDPOINT);
+
+        prober.probeEndpoints();
+
+        verify(clientManager, never()).probe(anyString());
+        Assert.assertEquals(prober.getTrackedEndpointCount(), 0);
+    }
+}
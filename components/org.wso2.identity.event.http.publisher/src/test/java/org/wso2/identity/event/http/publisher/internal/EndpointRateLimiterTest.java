@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.http.publisher.internal.component.EndpointRateLimiter;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for EndpointRateLimiter.
+ */
+public class EndpointRateLimiterTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events";
+    private static final String OTHER_ENDPOINT = "http://other-endpoint.com/events";
+    private static final String TENANT = "carbon.super";
+    private static final Runnable NO_OP = () -> { };
+
+    private final Map<String, String> properties = new HashMap<>();
+    private EndpointRateLimiter rateLimiter;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        properties.clear();
+        properties.put("rateLimitEnabled", "true");
+        properties.put("rateLimitEndpointRate", "10");
+        properties.put("rateLimitEndpointBurst", "2");
+        properties.put("rateLimitTenantRate", "100");
+        properties.put("rateLimitTenantBurst", "3");
+        properties.put("rateLimitQueueCapacity", "1");
+        rateLimiter = new EndpointRateLimiter(new HTTPAdapterConfiguration(properties));
+        HTTPAdapterMetrics.getInstance().resetStatistics();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        rateLimiter.stop(false);
+    }
+
+    @Test
+    public void testEndpointBurstIsDeliveredImmediately() {
+
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertTrue(rateLimiter.reserve(TENANT, ENDPOINT) > 0L);
+    }
+
+    @Test
+    public void testTenantLimitAppliesAcrossEndpoints() {
+
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, OTHER_ENDPOINT), 0L);
+        Assert.assertTrue(rateLimiter.reserve(TENANT, OTHER_ENDPOINT) > 0L);
+        Assert.assertEquals(rateLimiter.reserve("tenant.com", "http://third-endpoint.com/events"), 0L);
+    }
+
+    @Test
+    public void testHeldBackDeliveryRunsAfterDelay() throws InterruptedException {
+
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        long delayNanos = rateLimiter.reserve(TENANT, ENDPOINT);
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        Assert.assertTrue(rateLimiter.schedule(delivered::countDown, delayNanos, NO_OP));
+        Assert.assertEquals(rateLimiter.getQueuedCount(), 1);
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getRateLimitDelayedCount(), 1L);
+    }
+
+    @Test
+    public void testDeliveryIsRejectedWhenQueueIsFull() {
+
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        Assert.assertTrue(rateLimiter.schedule(NO_OP, TimeUnit.SECONDS.toNanos(10), NO_OP));
+
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), -1L);
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getRateLimitRejectedCount(), 1L);
+    }
+
+    @Test
+    public void testHeldBackDeliveryIsDroppedOnStop() {
+
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        Assert.assertTrue(rateLimiter.schedule(delivered::incrementAndGet, TimeUnit.SECONDS.toNanos(10),
+                dropped::incrementAndGet));
+
+        rateLimiter.stop(false);
+
+        Assert.assertEquals(dropped.get(), 1);
+        Assert.assertEquals(delivered.get(), 0);
+        Assert.assertEquals(rateLimiter.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testScheduleAfterStopIsRejected() {
+
+        rateLimiter.stop(false);
+
+        Assert.assertFalse(rateLimiter.schedule(NO_OP, 1L, NO_OP));
+        Assert.assertEquals(rateLimiter.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testReconfigureResetsChangedLimits() throws Exception {
+
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        Assert.assertTrue(rateLimiter.reserve(TENANT, ENDPOINT) > 0L);
+
+        properties.put("rateLimitEndpointRate", "0");
+        rateLimiter.reconfigure(new HTTPAdapterConfiguration(properties));
+
+        Assert.assertEquals(rateLimiter.reserve("tenant.com", ENDPOINT), 0L);
+    }
+
+    @Test
+    public void testWaitIsCappedByMaxWait() throws Exception {
+
+        properties.put("rateLimitQueueCapacity", "100");
+        properties.put("rateLimitMaxWait", "0");
+        rateLimiter.reconfigure(new HTTPAdapterConfiguration(properties));
+
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), -1L);
+    }
+
+    @Test
+    public void testIdleBucketsAreEvicted() throws Exception {
+
+        properties.put("rateLimitTenantRate", "0");
+        rateLimiter.reconfigure(new HTTPAdapterConfiguration(properties));
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        rateLimiter.reserve(TENANT, ENDPOINT);
+        Assert.assertEquals(rateLimiter.getBucketCount(), 1);
+
+        rateLimiter.evictIdleBuckets();
+        Assert.assertEquals(rateLimiter.getBucketCount(), 1);
+
+        // The endpoint bucket refills its two permits in 200 ms.
+        Thread.sleep(300);
+        rateLimiter.evictIdleBuckets();
+        Assert.assertEquals(rateLimiter.getBucketCount(), 0);
+        Assert.assertEquals(rateLimiter.reserve(TENANT, ENDPOINT), 0L);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal;
+
+import org.apache.http.client.methods.HttpPost;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.webhook.metadata.api.model.Adapter;
+import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
+import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.EndpointHealthProber;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterConfigurationReloader;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for HTTPAdapterConfigurationReloader.
+ */
+public class HTTPAdapterConfigurationReloaderTest {
+
+    private final Map<String, String> properties = new HashMap<>();
+    private ClientManager clientManager;
+    private HTTPAdapterConfigurationReloader reloader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        properties.clear();
+        properties.put("enabled", "true");
+        properties.put("defaultMaxConnections", "20");
+        properties.put("defaultMaxConnectionsPerRoute", "2");
+        properties.put("httpReadTimeout", "300");
+
+        Adapter adapter = mock(Adapter.class);
+        when(adapter.getProperties()).thenAnswer(invocation -> new HashMap<>(properties));
+        EventAdapterMetadataService metadataService = mock(EventAdapterMetadataService.class);
+        when(metadataService.getAdapterByName(anyString())).thenReturn(adapter);
+
+        HTTPAdapterDataHolder.getInstance().setEventAdapterMetadataService(metadataService);
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(new HTTPAdapterConfiguration(properties));
+        clientManager = new ClientManager();
+        HTTPAdapterDataHolder.getInstance().setClientManager(clientManager);
+        reloader = new HTTPAdapterConfigurationReloader(properties);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        reloader.stop();
+        clientManager.getHttpAsyncClient().close();
+        ((ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor()).shutdownNow();
+        if (clientManager.getHTTP2TransportClient() != null) {
+            clientManager.getHTTP2TransportClient().close();
+        }
+        if (HTTPAdapterDataHolder.getInstance().getEndpointHealthProber() != null) {
+            HTTPAdapterDataHolder.getInstance().getEndpointHealthProber().stop();
+            HTTPAdapterDataHolder.getInstance().setEndpointHealthProber(null);
+        }
+        HTTPAdapterDataHolder.getInstance().setClientManager(null);
+        HTTPAdapterDataHolder.getInstance().setAdapterConfiguration(null);
+        HTTPAdapterDataHolder.getInstance().setEventAdapterMetadataService(null);
+    }
+
+    @Test
+    public void testReloadUnchangedProperties() throws Exception {
+
+        HTTPAdapterConfiguration configuration = HTTPAdapterDataHolder.getInstance().getAdapterConfiguration();
+
+        Assert.assertFalse(reloader.reload());
+        Assert.assertSame(HTTPAdapterDataHolder.getInstance().getAdapterConfiguration(), configuration);
+        Assert.assertEquals(reloader.getReloadCount(), 0);
+        Assert.assertNull(reloader.getLastReloadTime());
+    }
+
+    @Test
+    public void testReloadAppliesPoolAndTimeoutChanges() throws Exception {
+
+        // The running connection pool is resized in place.
+        clientManager.getHttpAsyncClient();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        properties.put("defaultMaxConnections", "200");
+        properties.put("defaultMaxConnectionsPerRoute", "50");
+        properties.put("httpReadTimeout", "5000");
+        properties.put("callbackExecutorPoolSize", "25");
+
+        Assert.assertTrue(reloader.reload());
+
+        Assert.assertEquals(reloader.getMaxConnections(), 200);
+        Assert.assertEquals(reloader.getReadTimeout(), 5000);
+        Assert.assertEquals(reloader.getReloadCount(), 1);
+        Assert.assertNotNull(reloader.getLastReloadTime());
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getPoolMaxConnections(), 200);
+        Assert.assertSame(clientManager.getAsyncCallbackExecutor(), executor);
+        Assert.assertEquals(executor.getCorePoolSize(), 25);
+        Assert.assertEquals(executor.getMaximumPoolSize(), 25);
+
+        HttpPost post = clientManager.createHttpPost("http://mock-url.com", new HashMap<>(), null);
+        Assert.assertEquals(post.getConfig().getSocketTimeout(), 5000);
+    }
+
+    @Test
+    public void testClientsAreCreatedOnFirstUse() throws Exception {
+
+        Assert.assertFalse(clientManager.isHttpAsyncClientInitialized());
+        properties.put("defaultMaxConnections", "150");
+        Assert.assertTrue(reloader.reload());
+
+        // A client created after a reload is built with the reloaded configuration.
+        Assert.assertTrue(clientManager.getHttpAsyncClient().isRunning());
+        Assert.assertTrue(clientManager.isHttpAsyncClientInitialized());
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getPoolMaxConnections(), 150);
+    }
+
+    @Test
+    public void testReloadReplacesExecutorOnQueueCapacityChange() throws Exception {
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        properties.put("callbackExecutorQueueCapacity", "500");
+
+        Assert.assertTrue(reloader.reload());
+
+        ThreadPoolExecutor replaced = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        Assert.assertNotSame(replaced, executor);
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertEquals(replaced.getQueue().remainingCapacity(), 500);
+        Assert.assertEquals(HTTPAdapterMetrics.getInstance().getCallbackQueueRemainingCapacity(), 500);
+    }
+
+    @Test
+    public void testReloadTogglesHTTP2Transport() {
+
+        Assert.assertNull(clientManager.getHTTP2TransportClient());
+
+        properties.put("http2Enabled", "true");
+        Assert.assertEquals(reloader.reloadConfiguration(), "HTTP adapter configuration reloaded.");
+        Assert.assertNotNull(clientManager.getHTTP2TransportClient());
+        Assert.assertTrue(reloader.isHttp2Enabled());
+
+        properties.put("http2Enabled", "false");
+        Assert.assertEquals(reloader.reloadConfiguration(), "HTTP adapter configuration reloaded.");
+        Assert.assertNull(clientManager.getHTTP2TransportClient());
+        Assert.assertEquals(reloader.reloadConfiguration(), "HTTP adapter configuration is unchanged.");
+    }
+
+    @Test
+    public void testReloadStartsAndStopsEndpointProber() throws Exception {
+
+        Assert.assertNull(HTTPAdapterDataHolder.getInstance().getEndpointHealthProber());
+
+        properties.put("endpointProbeEnabled", "true");
+        Assert.assertTrue(reloader.reload());
+        EndpointHealthProber endpointHealthProber = HTTPAdapterDataHolder.getInstance().getEndpointHealthProber();
+        Assert.assertNotNull(endpointHealthProber);
+
+        properties.put("endpointProbeInterval", "10");
+        Assert.assertTrue(reloader.reload());
+        Assert.assertSame(HTTPAdapterDataHolder.getInstance().getEndpointHealthProber(), endpointHealthProber);
+
+        properties.put("endpointProbeEnabled", "false");
+        Assert.assertTrue(reloader.reload());
+        Assert.assertNull(HTTPAdapterDataHolder.getInstance().getEndpointHealthProber());
+    }
+
+    @Test
+    public void testStartSchedulesPeriodicReload() throws Exception {
+
+        reloader.start(1);
+        Assert.assertEquals(reloader.getReloadIntervalSeconds(), 1);
+
+        properties.put("defaultMaxConnections", "30");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reloader.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(reloader.getReloadCount(), 1);
+        Assert.assertEquals(HTTPAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections(),
+                30);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.internal;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.http.publisher.internal.component.OrderedDeliveryDispatcher;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Test class for OrderedDeliveryDispatcher.
+ */
+public class OrderedDeliveryDispatcherTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events";
+    private static final Runnable NO_OP = () -> { };
+
+    private OrderedDeliveryDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() {
+
+        dispatcher = new OrderedDeliveryDispatcher(16, 0);
+        HTTPAdapterMetrics.getInstance().resetStatistics();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        dispatcher.stop(false);
+    }
+
+    @Test
+    public void testDeliveriesOfSubjectRunInOrder() throws InterruptedException {
+
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        AtomicReference<Runnable> firstCompletion = new AtomicReference<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch allDelivered = new CountDownLatch(3);
+
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+            delivered.add(1);
+            firstCompletion.set(onComplete);
+            firstStarted.countDown();
+            allDelivered.countDown();
+        }, NO_OP);
+        for (int i = 2; i <= 3; i++) {
+            int sequence = i;
+            dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+                delivered.add(sequence);
+                allDelivered.countDown();
+                onComplete.run();
+            }, NO_OP);
+        }
+
+        Assert.assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(dispatcher.getQueuedCount(), 2);
+        Assert.assertEquals(delivered.size(), 1);
+
+        firstCompletion.get().run();
+        Assert.assertTrue(allDelivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(delivered.toString(), "[1, 2, 3]");
+        Assert.assertEquals(dispatcher.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testDifferentStripesRunInParallel() throws InterruptedException {
+
+        OrderedDeliveryDispatcher parallelDispatcher = new OrderedDeliveryDispatcher(1024, 0);
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try {
+            // Both deliveries hold their stripe until the other one has started as well.
+            String otherSubject = "user-1";
+            for (int i = 2; i < 100 && otherSubject.equals("user-1"); i++) {
+                if (Math.floorMod((ENDPOINT + '\n' + "user-" + i).hashCode(), 1024) !=
+                        Math.floorMod((ENDPOINT + '\n' + "user-1").hashCode(), 1024)) {
+                    otherSubject = "user-" + i;
+                }
+            }
+            for (String subject : new String[]{"user-1", otherSubject}) {
+                parallelDispatcher.submit(ENDPOINT, subject, onComplete -> {
+                    bothStarted.countDown();
+                    try {
+                        bothStarted.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    onComplete.run();
+                }, NO_OP);
+            }
+            Assert.assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+        } finally {
+            parallelDispatcher.stop(false);
+        }
+    }
+
+    @Test
+    public void testTimedOutDeliveryReleasesStripe() throws InterruptedException {
+
+        OrderedDeliveryDispatcher timingOutDispatcher = new OrderedDeliveryDispatcher(1, 0);
+        timingOutDispatcher.setTimeout(1);
+        CountDownLatch nextDelivered = new CountDownLatch(1);
+        try {
+            // The first delivery never completes.
+            timingOutDispatcher.submit(ENDPOINT, "user-1", onComplete -> { }, NO_OP);
+            timingOutDispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+                nextDelivered.countDown();
+                onComplete.run();
+            }, NO_OP);
+
+            Assert.assertTrue(nextDelivered.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(HTTPAdapterMetrics.getInstance().getOrderedDeliveryTimeoutCount(), 1L);
+        } finally {
+            timingOutDispatcher.stop(false);
+        }
+    }
+
+    @Test
+    public void testLateCompletionOfTimedOutDeliveryIsCountedAsOvertaken() throws InterruptedException {
+
+        OrderedDeliveryDispatcher timingOutDispatcher = new OrderedDeliveryDispatcher(1, 1);
+        AtomicReference<Runnable> firstCompletion = new AtomicReference<>();
+        CountDownLatch nextDelivered = new CountDownLatch(1);
+        try {
+            timingOutDispatcher.submit(ENDPOINT, "user-1", firstCompletion::set, NO_OP);
+            timingOutDispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+                nextDelivered.countDown();
+                onComplete.run();
+            }, NO_OP);
+            Assert.assertTrue(nextDelivered.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(HTTPAdapterMetrics.getInstance().getOrderedDeliveryOvertakenCount(), 0L);
+
+            // The retries of the first delivery settle after the next delivery of its subject was sent.
+            firstCompletion.get().run();
+            firstCompletion.get().run();
+
+            Assert.assertEquals(HTTPAdapterMetrics.getInstance().getOrderedDeliveryOvertakenCount(), 1L);
+        } finally {
+            timingOutDispatcher.stop(false);
+        }
+    }
+
+    @Test
+    public void testFailedDeliveryReleasesStripe() throws InterruptedException {
+
+        CountDownLatch nextDelivered = new CountDownLatch(1);
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+            throw new IllegalStateException("Delivery failed");
+        }, NO_OP);
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+            nextDelivered.countDown();
+            onComplete.run();
+        }, NO_OP);
+
+        Assert.assertTrue(nextDelivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testQueuedDeliveriesRunAfterGracefulStop() throws InterruptedException {
+
+        AtomicReference<Runnable> firstCompletion = new AtomicReference<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch nextDelivered = new CountDownLatch(1);
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+            firstCompletion.set(onComplete);
+            firstStarted.countDown();
+        }, NO_OP);
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> {
+            nextDelivered.countDown();
+            onComplete.run();
+        }, NO_OP);
+        Assert.assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        dispatcher.stop(true);
+        firstCompletion.get().run();
+
+        Assert.assertTrue(nextDelivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAbandonedDeliveriesAreDropped() throws InterruptedException {
+
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        AtomicInteger dropped = new AtomicInteger();
+        // The first delivery never completes, so the next ones stay queued.
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> firstStarted.countDown(), dropped::incrementAndGet);
+        for (int i = 0; i < 2; i++) {
+            dispatcher.submit(ENDPOINT, "user-1", onComplete -> onComplete.run(), dropped::incrementAndGet);
+        }
+        Assert.assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        dispatcher.stop(false);
+
+        Assert.assertEquals(dropped.get(), 2);
+        Assert.assertEquals(dispatcher.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testDeliveriesNotYetRunAreDroppedOnStop() throws InterruptedException {
+
+        OrderedDeliveryDispatcher busyDispatcher = new OrderedDeliveryDispatcher(1024, 0);
+        CountDownLatch workersBusy = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        try {
+            // Four deliveries of different stripes keep the worker threads busy, so the fifth one waits in the
+            // executor queue without having run.
+            List<String> subjects = subjectsOfDistinctStripes(5, 1024);
+            for (int i = 0; i < 4; i++) {
+                busyDispatcher.submit(ENDPOINT, subjects.get(i), onComplete -> {
+                    workersBusy.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, dropped::incrementAndGet);
+            }
+            Assert.assertTrue(workersBusy.await(5, TimeUnit.SECONDS));
+            busyDispatcher.submit(ENDPOINT, subjects.get(4), onComplete -> delivered.incrementAndGet(),
+                    dropped::incrementAndGet);
+
+            busyDispatcher.stop(false);
+
+            Assert.assertEquals(dropped.get(), 1);
+            Assert.assertEquals(delivered.get(), 0);
+        } finally {
+            release.countDown();
+            busyDispatcher.stop(false);
+        }
+    }
+
+    @Test
+    public void testDeliveryAfterStopIsDropped() {
+
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger dropped = new AtomicInteger();
+        dispatcher.stop(false);
+
+        dispatcher.submit(ENDPOINT, "user-1", onComplete -> delivered.incrementAndGet(), dropped::incrementAndGet);
+
+        Assert.assertEquals(delivered.get(), 0);
+        Assert.assertEquals(dropped.get(), 1);
+    }
+
+    private static List<String> subjectsOfDistinctStripes(int count, int stripeCount) {
+
+        List<String> subjects = new ArrayList<>();
+        Set<Integer> stripes = new HashSet<>();
+        for (int i = 0; subjects.size() < count; i++) {
+            String subject = "user-" + i;
+            if (stripes.add(Math.floorMod((ENDPOINT + '\n' + subject).hashCode(), stripeCount))) {
+                subjects.add(subject);
+            }
+        }
+        return subjects;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.service;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
+import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.service.impl.DeadLetterServiceImpl;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterEntry;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for DeadLetterServiceImpl.
+ */
+public class DeadLetterServiceImplTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events";
+    private Path directory;
+    private DeadLetterStore store;
+    private ClientManager mockClientManager;
+    private WebhookManagementService mockWebhookManagementService;
+    private MockedStatic<HTTPAdapterDataHolder> mockedStaticDataHolder;
+    private DeadLetterServiceImpl deadLetterService;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        directory = Files.createTempDirectory("dead-letter");
+        store = new DeadLetterStore(directory, 100);
+        store.load();
+        mockClientManager = mock(ClientManager.class);
+        when(mockClientManager.getMaxRetries()).thenReturn(0);
+        when(mockClientManager.getAsyncCallbackExecutor()).thenReturn((Executor) Runnable::run);
+        when(mockClientManager.createReplayHttpPost(any(), any(), any(), any())).thenReturn(new HttpPost(ENDPOINT));
+        Webhook webhook = mock(Webhook.class);
+        when(webhook.getEndpoint()).thenReturn(ENDPOINT);
+        when(webhook.getSecret()).thenReturn("current-secret");
+        mockWebhookManagementService = mock(WebhookManagementService.class);
+        when(mockWebhookManagementService.getActiveWebhooks("WSO2", "v1", "test-uri", "carbon.super"))
+                .thenReturn(Collections.singletonList(webhook));
+
+        HTTPAdapterDataHolder mockDataHolder = mock(HTTPAdapterDataHolder.class);
+        mockedStaticDataHolder = mockStatic(HTTPAdapterDataHolder.class);
+        mockedStaticDataHolder.when(HTTPAdapterDataHolder::getInstance).thenReturn(mockDataHolder);
+        when(mockDataHolder.getClientManager()).thenReturn(mockClientManager);
+        when(mockDataHolder.getDeadLetterStore()).thenReturn(store);
+        when(mockDataHolder.getWebhookManagementService()).thenReturn(mockWebhookManagementService);
+        when(mockDataHolder.getAdapterConfiguration()).thenReturn(mock(HTTPAdapterConfiguration.class));
+        deadLetterService = new DeadLetterServiceImpl();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        deadLetterService.stop();
+        mockedStaticDataHolder.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReplayRemovesDeliveredEntries() throws Exception {
+
+        addEntries(3);
+        HttpResponse response = response(200);
+        when(mockClientManager.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        int replayed = deadLetterService.replay("carbon.super", ENDPOINT, 0, Long.MAX_VALUE, 1000);
+
+        Assert.assertEquals(replayed, 3);
+        await(() -> store.size() == 0);
+        verify(mockClientManager, times(3)).createReplayHttpPost(eq(ENDPOINT), any(),
+                eq("{}".getBytes(StandardCharsets.UTF_8)), eq("current-secret"));
+        // The active webhooks are looked up once per replay.
+        verify(mockWebhookManagementService, times(1)).getActiveWebhooks(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testEntriesOfInactiveWebhooksAreSkipped() throws Exception {
+
+        addEntries(1);
+        store.add("carbon.super", "http://removed-endpoint.com/events", "test-uri", Collections.emptyMap(),
+                "{}".getBytes(StandardCharsets.UTF_8), "Connection refused");
+        HttpResponse response = response(200);
+        when(mockClientManager.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 1);
+
+        await(() -> store.size() == 1);
+        List<DeadLetterEntry> remaining = store.list(null, null, 0, Long.MAX_VALUE, 10);
+        Assert.assertEquals(remaining.get(0).getEndpoint(), "http://removed-endpoint.com/events");
+        verify(mockClientManager, times(1)).createReplayHttpPost(eq(ENDPOINT), any(), any(), eq("current-secret"));
+    }
+
+    @Test
+    public void testEntriesOfChangedEndpointAreSkipped() throws Exception {
+
+        addEntries(1);
+        Webhook webhook = mock(Webhook.class);
+        when(webhook.getEndpoint()).thenReturn("http://new-endpoint.com/events");
+        when(mockWebhookManagementService.getActiveWebhooks("WSO2", "v1", "test-uri", "carbon.super"))
+                .thenReturn(Collections.singletonList(webhook));
+
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 0);
+        Assert.assertEquals(store.size(), 1);
+        verify(mockClientManager, times(0)).executeAsync(any());
+    }
+
+    @Test
+    public void testFailedReplayKeepsEntryWithLatestError() throws Exception {
+
+        addEntries(1);
+        HttpResponse response = response(503);
+        when(mockClientManager.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 1);
+
+        await(() -> "503 Service Unavailable".equals(
+                store.list(null, null, 0, Long.MAX_VALUE, 10).get(0).getLastError()));
+        Assert.assertEquals(store.size(), 1);
+    }
+
+    @Test
+    public void testEntryIsKeptUntilAccepted() throws Exception {
+
+        addEntries(1);
+        CompletableFuture<HttpResponse> pending = new CompletableFuture<>();
+        when(mockClientManager.executeAsync(any())).thenReturn(pending);
+
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 1);
+        verify(mockClientManager, timeout(5000)).executeAsync(any());
+
+        Assert.assertEquals(store.size(), 1);
+        // An entry in flight is not sent again by a second replay.
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 0);
+
+        pending.complete(response(200));
+        await(() -> store.size() == 0);
+    }
+
+    @Test
+    public void testRejectedCallbackKeepsEntry() throws Exception {
+
+        addEntries(1);
+        CountDownLatch rejected = new CountDownLatch(1);
+        when(mockClientManager.getAsyncCallbackExecutor()).thenReturn((Executor) task -> {
+            RejectableTask.rejected(task);
+            rejected.countDown();
+        });
+        HttpResponse response = response(200);
+        when(mockClientManager.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 1);
+
+        Assert.assertTrue(rejected.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(store.size(), 1);
+        Assert.assertEquals(deadLetterService.replay(null, null, 0, Long.MAX_VALUE, 0), 1);
+    }
+
+    @Test
+    public void testPurge() throws Exception {
+
+        addEntries(2);
+        store.add("other-tenant", ENDPOINT, "test-uri", Collections.emptyMap(), new byte[0], "Connection refused");
+
+        Assert.assertEquals(deadLetterService.purge("carbon.super", null, 0, Long.MAX_VALUE), 2);
+        Assert.assertEquals(store.size(), 1);
+        verify(mockClientManager, times(0)).executeAsync(any());
+    }
+
+    private void addEntries(int count) throws Exception {
+
+        EventContext eventContext = EventContext.builder()
+                .tenantDomain("carbon.super")
+                .eventProfileName("WSO2")
+                .eventProfileVersion("v1")
+                .eventUri("test-uri")
+                .build();
+        for (int i = 0; i < count; i++) {
+            HttpPost request = new HttpPost(ENDPOINT);
+            request.setEntity(new ByteArrayEntity("{}".getBytes(StandardCharsets.UTF_8)));
+            store.add(eventContext, request, "Connection refused");
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(condition.getAsBoolean());
+    }
+
+    private static HttpResponse response(int status) {
+
+        HttpResponse response = mock(HttpResponse.class);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(status);
+        when(statusLine.getReasonPhrase()).thenReturn(status == 200 ? "OK" : "Service Unavailable");
+        when(response.getStatusLine()).thenReturn(statusLine);
+        return response;
+    }
+}
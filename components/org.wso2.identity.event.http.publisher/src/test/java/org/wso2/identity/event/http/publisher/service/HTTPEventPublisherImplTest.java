@@ -19,28 +19,54 @@
 package org.wso2.identity.event.http.publisher.service;
 
 import org.apache.http.HttpResponse;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
 import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
 import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
 import org.wso2.identity.event.http.publisher.internal.component.ClientManager;
+import org.wso2.identity.event.http.publisher.internal.component.DeliveryLanes;
 import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.component.OrderedDeliveryDispatcher;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants;
 import org.wso2.identity.event.http.publisher.internal.service.impl.HTTPEventPublisherImpl;
+import org.wso2.identity.event.http.publisher.internal.util.SubjectResolver;
+import org.wso2.identity.event.http.publisher.util.SubjectResolverTest;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.EventMaxAgePolicy;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -58,6 +84,8 @@ public class HTTPEventPublisherImplTest {
     private HttpResponse mockHttpResponse;
 
     private MockedStatic<HTTPAdapterDataHolder> mockedStaticDataHolder;
+    private HTTPAdapterDataHolder mockDataHolder;
+    private List<Webhook> webhooks;
 
     @BeforeClass
     public void setUp() throws Exception {
@@ -66,7 +94,7 @@ public class HTTPEventPublisherImplTest {
         adapterService = spy(new HTTPEventPublisherImpl());
 
         mockedStaticDataHolder = mockStatic(HTTPAdapterDataHolder.class);
-        HTTPAdapterDataHolder mockDataHolder = mock(HTTPAdapterDataHolder.class);
+        mockDataHolder = mock(HTTPAdapterDataHolder.class);
         mockedStaticDataHolder.when(HTTPAdapterDataHolder::getInstance).thenReturn(mockDataHolder);
 
         when(mockDataHolder.getClientManager()).thenReturn(mockClientManager);
@@ -78,7 +106,7 @@ public class HTTPEventPublisherImplTest {
         Webhook webhook2 = mock(Webhook.class);
         when(webhook2.getEndpoint()).thenReturn("http://mock-endpoint-2.com");
         when(webhook2.getSecret()).thenReturn("secret2");
-        List<Webhook> webhooks = Arrays.asList(webhook1, webhook2);
+        webhooks = Arrays.asList(webhook1, webhook2);
 
         // Mock getActiveWebhooks to return our list
         when(mockDataHolder.getWebhookManagementService()).thenReturn(
@@ -139,4 +167,244 @@ public class HTTPEventPublisherImplTest {
             verify(mockClientManager, times(2)).createHttpPost(any(), any(), any());
         }
     }
+
+    @Test
+    public void testPublishOrdersFrameworkPayloadBySubject() throws Exception {
+
+        OrderedDeliveryDispatcher orderedDeliveryDispatcher = mock(OrderedDeliveryDispatcher.class);
+        HTTPAdapterConfiguration configuration = mock(HTTPAdapterConfiguration.class);
+        when(configuration.getSubjectResolver()).thenReturn(
+                new SubjectResolver(HTTPAdapterConstants.Http.DEFAULT_ORDERED_DELIVERY_SUBJECT_PATHS));
+        when(mockDataHolder.getOrderedDeliveryDispatcher()).thenReturn(orderedDeliveryDispatcher);
+        when(mockDataHolder.getAdapterConfiguration()).thenReturn(configuration);
+        try {
+            EventContext eventContext = EventContext.builder()
+                    .tenantDomain("test-tenant")
+                    .eventProfileName("WSO2")
+                    .eventUri("test-uri")
+                    .build();
+            Map<String, EventPayload> events = new HashMap<>();
+            events.put("https://schemas.identity.wso2.org/events/user/event-type/userDisabled",
+                    new SubjectResolverTest.UserAccountEventPayload("7b1e3c2a-user-id"));
+            SecurityEventTokenPayload payload = SecurityEventTokenPayload.builder()
+                    .iss("issuer")
+                    .jti("jti-token")
+                    .iat(System.currentTimeMillis())
+                    .events(events)
+                    .build();
+
+            adapterService.publish(payload, eventContext);
+
+            verify(orderedDeliveryDispatcher).submit(eq("http://mock-endpoint-1.com"), eq("7b1e3c2a-user-id"),
+                    any(), any());
+            verify(orderedDeliveryDispatcher).submit(eq("http://mock-endpoint-2.com"), eq("7b1e3c2a-user-id"),
+                    any(), any());
+        } finally {
+            when(mockDataHolder.getOrderedDeliveryDispatcher()).thenReturn(null);
+            when(mockDataHolder.getAdapterConfiguration()).thenReturn(null);
+        }
+    }
+
+    @Test
+    public void testPublishShedsExpiredEvent() throws Exception {
+
+        ClientManager clientManager = createClientManager();
+        DeadLetterStore deadLetterStore = mock(DeadLetterStore.class);
+        EventMaxAgePolicy eventMaxAgePolicy = mock(EventMaxAgePolicy.class);
+        when(eventMaxAgePolicy.isExpired(any(), any(), any())).thenReturn(true);
+        HTTPAdapterConfiguration configuration = mock(HTTPAdapterConfiguration.class);
+        when(configuration.getEventMaxAgePolicy()).thenReturn(eventMaxAgePolicy);
+        when(configuration.isDeadLetterExpiredEvents()).thenReturn(true);
+        when(mockDataHolder.getClientManager()).thenReturn(clientManager);
+        when(mockDataHolder.getDeadLetterStore()).thenReturn(deadLetterStore);
+        when(mockDataHolder.getAdapterConfiguration()).thenReturn(configuration);
+        try (MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class)) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            EventContext eventContext = createEventContext();
+
+            adapterService.publish(createPayload(), eventContext);
+
+            verify(deadLetterStore, times(2)).add(eq(eventContext), any(HttpPost.class), eq("Event expired"));
+            verify(clientManager, never()).executeAsync(any());
+        } finally {
+            restoreDataHolder();
+        }
+    }
+
+    @Test
+    public void testPublishDropsEventWhenPayloadBudgetExhausted() throws Exception {
+
+        ClientManager clientManager = createClientManager();
+        DeadLetterStore deadLetterStore = mock(DeadLetterStore.class);
+        ByteBudget payloadBudget = new ByteBudget(16);
+        // Bytes held by other deliveries leave no room for the event.
+        ByteBudget.Reservation heldBytes = payloadBudget.reserve(16);
+        when(mockDataHolder.getClientManager()).thenReturn(clientManager);
+        when(mockDataHolder.getDeadLetterStore()).thenReturn(deadLetterStore);
+        when(mockDataHolder.getPayloadBudget()).thenReturn(payloadBudget);
+        try (MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class)) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            EventContext eventContext = createEventContext();
+
+            adapterService.publish(createPayload(), eventContext);
+
+            verify(deadLetterStore, times(2)).add(eq(eventContext), any(HttpPost.class),
+                    eq("Payload memory budget exhausted"));
+            verify(clientManager, never()).executeAsync(any());
+            Assert.assertEquals(payloadBudget.getUsedBytes(), 16L);
+        } finally {
+            heldBytes.release();
+            restoreDataHolder();
+        }
+    }
+
+    @Test
+    public void testPayloadReservationReleasedAfterRetries() throws Exception {
+
+        ClientManager clientManager = createClientManager();
+        DeadLetterStore deadLetterStore = mock(DeadLetterStore.class);
+        ByteBudget payloadBudget = new ByteBudget(1024);
+        StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(503);
+        when(statusLine.getReasonPhrase()).thenReturn("Service Unavailable");
+        HttpResponse response = mock(HttpResponse.class);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        List<Long> usedBytesPerAttempt = new ArrayList<>();
+        when(clientManager.getMaxRetries()).thenReturn(1);
+        when(clientManager.executeAsync(any())).thenAnswer(invocation -> {
+            usedBytesPerAttempt.add(payloadBudget.getUsedBytes());
+            return CompletableFuture.completedFuture(response);
+        });
+        when(mockDataHolder.getClientManager()).thenReturn(clientManager);
+        when(mockDataHolder.getDeadLetterStore()).thenReturn(deadLetterStore);
+        when(mockDataHolder.getPayloadBudget()).thenReturn(payloadBudget);
+        try (MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class);
+             MockedStatic<PrivilegedCarbonContext> mockedCarbonContext = mockStatic(PrivilegedCarbonContext.class)) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            mockedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                    .thenReturn(mock(PrivilegedCarbonContext.class));
+            EventContext eventContext = createEventContext();
+
+            adapterService.publish(createPayload(), eventContext);
+
+            // Each webhook is attempted twice and holds its body for both attempts.
+            verify(clientManager, times(4)).executeAsync(any());
+            Assert.assertEquals(usedBytesPerAttempt.size(), 4);
+            for (long usedBytes : usedBytesPerAttempt) {
+                Assert.assertTrue(usedBytes > 0);
+            }
+            verify(deadLetterStore, times(2)).add(eq(eventContext), any(HttpPost.class),
+                    eq("503 Service Unavailable"));
+            Assert.assertEquals(payloadBudget.getUsedBytes(), 0L);
+        } finally {
+            restoreDataHolder();
+        }
+    }
+
+    @Test
+    public void testQueuedLaneDeliveryExpiredReleasesCapacity() throws Exception {
+
+        ClientManager clientManager = createClientManager();
+        DeliveryLanes deliveryLanes = mock(DeliveryLanes.class);
+        when(deliveryLanes.tryAcquire(any())).thenReturn(false);
+        when(deliveryLanes.enqueue(any(), any(), any())).thenReturn(true);
+        AtomicBoolean expired = new AtomicBoolean();
+        EventMaxAgePolicy eventMaxAgePolicy = mock(EventMaxAgePolicy.class);
+        when(eventMaxAgePolicy.isExpired(any(), any(), any())).thenAnswer(invocation -> expired.get());
+        HTTPAdapterConfiguration configuration = mock(HTTPAdapterConfiguration.class);
+        when(configuration.getEventMaxAgePolicy()).thenReturn(eventMaxAgePolicy);
+        when(mockDataHolder.getClientManager()).thenReturn(clientManager);
+        when(mockDataHolder.getDeliveryLanes()).thenReturn(deliveryLanes);
+        when(mockDataHolder.getAdapterConfiguration()).thenReturn(configuration);
+        try (MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class);
+             MockedStatic<PrivilegedCarbonContext> mockedCarbonContext = mockStatic(PrivilegedCarbonContext.class)) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            mockedCarbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext)
+                    .thenReturn(mock(PrivilegedCarbonContext.class));
+
+            adapterService.publish(createPayload(), createEventContext());
+
+            ArgumentCaptor<Runnable> queuedDeliveries = ArgumentCaptor.forClass(Runnable.class);
+            verify(deliveryLanes, times(2)).enqueue(any(), queuedDeliveries.capture(), any());
+            // The events expire while they wait for lane capacity, which the lanes hand over as they start.
+            expired.set(true);
+            for (Runnable queuedDelivery : queuedDeliveries.getAllValues()) {
+                queuedDelivery.run();
+            }
+
+            verify(deliveryLanes).release(URI.create("http://mock-endpoint-1.com"));
+            verify(deliveryLanes).release(URI.create("http://mock-endpoint-2.com"));
+            verify(clientManager, never()).executeAsync(any());
+        } finally {
+            restoreDataHolder();
+        }
+    }
+
+    @Test
+    public void testPublishLooksUpWebhooksOfUnhandledEventAgain() throws Exception {
+
+        ClientManager clientManager = createClientManager();
+        when(clientManager.executeAsync(any())).thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+        when(mockDataHolder.getClientManager()).thenReturn(clientManager);
+        WebhookManagementService webhookManagementService = mockDataHolder.getWebhookManagementService();
+        when(webhookManagementService.getActiveWebhooks(any(), any(), eq("unhandled-uri"), any()))
+                .thenReturn(Collections.emptyList(), webhooks);
+        try (MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class)) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            EventContext eventContext = EventContext.builder()
+                    .tenantDomain("test-tenant")
+                    .eventProfileName("WSO2")
+                    .eventUri("unhandled-uri")
+                    .build();
+
+            Assert.assertFalse(adapterService.canHandleEvent(eventContext));
+            adapterService.publish(createPayload(), eventContext);
+
+            // The empty result of canHandleEvent is not kept, so publish finds the webhooks active by then.
+            verify(webhookManagementService, times(2)).getActiveWebhooks(any(), any(), eq("unhandled-uri"), any());
+            verify(clientManager, times(2)).executeAsync(any());
+        } finally {
+            restoreDataHolder();
+        }
+    }
+
+    private static ClientManager createClientManager() throws Exception {
+
+        ClientManager clientManager = mock(ClientManager.class);
+        when(clientManager.createHttpPost(any(), any(), any())).thenAnswer(invocation -> {
+            HttpPost request = new HttpPost(invocation.<String>getArgument(0));
+            request.setEntity(new ByteArrayEntity("{\"jti\":\"jti-token\"}".getBytes(StandardCharsets.UTF_8)));
+            return request;
+        });
+        when(clientManager.getAsyncCallbackExecutor()).thenReturn((Executor) Runnable::run);
+        return clientManager;
+    }
+
+    private static EventContext createEventContext() {
+
+        return EventContext.builder()
+                .tenantDomain("test-tenant")
+                .eventProfileName("WSO2")
+                .eventUri("test-uri")
+                .build();
+    }
+
+    private static SecurityEventTokenPayload createPayload() {
+
+        return SecurityEventTokenPayload.builder()
+                .iss("issuer")
+                .jti("jti-token")
+                .iat(System.currentTimeMillis())
+                .aud("audience")
+                .build();
+    }
+
+    private void restoreDataHolder() {
+
+        when(mockDataHolder.getClientManager()).thenReturn(mockClientManager);
+        when(mockDataHolder.getDeadLetterStore()).thenReturn(null);
+        when(mockDataHolder.getPayloadBudget()).thenReturn(null);
+        when(mockDataHolder.getDeliveryLanes()).thenReturn(null);
+        when(mockDataHolder.getAdapterConfiguration()).thenReturn(null);
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.http.publisher.internal.constant.HTTPAdapterConstants;
+import org.wso2.identity.event.http.publisher.internal.util.SubjectResolver;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for SubjectResolver class.
+ */
+public class SubjectResolverTest {
+
+    private static final String USER_DISABLED_EVENT =
+            "https://schemas.identity.wso2.org/events/user/event-type/userDisabled";
+    private static final String DEFAULT_SUBJECT_PATHS =
+            HTTPAdapterConstants.Http.DEFAULT_ORDERED_DELIVERY_SUBJECT_PATHS;
+
+    @Test
+    public void testResolveUserOfFrameworkPayload() {
+
+        SubjectResolver resolver = new SubjectResolver(DEFAULT_SUBJECT_PATHS);
+
+        Assert.assertEquals(resolver.resolve(createToken(new UserAccountEventPayload("7b1e3c2a-user-id"))),
+                "7b1e3c2a-user-id");
+    }
+
+    @Test
+    public void testResolveWithoutSubject() {
+
+        SubjectResolver resolver = new SubjectResolver(DEFAULT_SUBJECT_PATHS);
+
+        Assert.assertNull(resolver.resolve(createToken(new UserAccountEventPayload(null))));
+        Assert.assertNull(resolver.resolve(SecurityEventTokenPayload.builder().jti("jti").build()));
+    }
+
+    @Test
+    public void testResolveConfiguredPaths() {
+
+        SubjectResolver resolver = new SubjectResolver(" events.*.organization.id , events.*.user.id ,, a..b");
+
+        Assert.assertEquals(resolver.resolve(createToken(new UserAccountEventPayload("user-id"))), "org-id");
+    }
+
+    @Test
+    public void testResolveWithoutPaths() {
+
+        SubjectResolver resolver = new SubjectResolver(null);
+
+        Assert.assertNull(resolver.resolve(createToken(new UserAccountEventPayload("user-id"))));
+    }
+
+    private static SecurityEventTokenPayload createToken(EventPayload event) {
+
+        Map<String, EventPayload> events = new HashMap<>();
+        events.put(USER_DISABLED_EVENT, event);
+        return SecurityEventTokenPayload.builder().iss("issuer").jti("jti").iat(System.currentTimeMillis())
+                .events(events).build();
+    }
+
+    /**
+     * Event payload shaped like the user account events of the framework. It does not implement any interface of
+     * the adapter.
+     */
+    public static class UserAccountEventPayload extends EventPayload {
+
+        private final User user;
+        private final Organization organization = new Organization("org-id", "wso2");
+        private final String initiatorType = "ADMIN";
+
+        UserAccountEventPayload(String userId) {
+
+            this.user = new User(userId, Collections.singletonMap("emailAddress", "alex@wso2.com"));
+        }
+
+        public User getUser() {
+
+            return user;
+        }
+
+        public Organization getOrganization() {
+
+            return organization;
+        }
+
+        public String getInitiatorType() {
+
+            return initiatorType;
+        }
+    }
+
+    /**
+     * User of an event.
+     */
+    public static class User {
+
+        private final String id;
+        private final Map<String, String> claims;
+
+        User(String id, Map<String, String> claims) {
+
+            this.id = id;
+            this.claims = claims;
+        }
+
+        public String getId() {
+
+            return id;
+        }
+
+        public Map<String, String> getClaims() {
+
+            return claims;
+        }
+    }
+
+    /**
+     * Organization of an event.
+     */
+    public static class Organization {
+
+        private final String id;
+        private final String name;
+
+        Organization(String id, String name) {
+
+            this.id = id;
+            this.name = name;
+        }
+
+        public String getId() {
+
+            return id;
+        }
+
+        public String getName() {
+
+            return name;
+        }
+    }
+}
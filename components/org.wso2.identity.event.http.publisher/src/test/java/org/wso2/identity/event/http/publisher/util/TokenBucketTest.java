@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.http.publisher.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.http.publisher.internal.util.TokenBucket;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for TokenBucket.
+ */
+public class TokenBucketTest {
+
+    @Test
+    public void testBurstIsAvailableImmediately() {
+
+        TokenBucket bucket = new TokenBucket(1, 5);
+
+        Assert.assertEquals(bucket.getAvailablePermits(), 5);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertTrue(bucket.tryAcquire());
+        }
+        Assert.assertFalse(bucket.tryAcquire());
+        Assert.assertEquals(bucket.getAvailablePermits(), 0);
+    }
+
+    @Test
+    public void testReservationsAreSpacedAtTheRate() {
+
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long interval = TimeUnit.MILLISECONDS.toNanos(100);
+
+        Assert.assertEquals(bucket.reserve(Long.MAX_VALUE), 0L);
+        long first = bucket.reserve(Long.MAX_VALUE);
+        long second = bucket.reserve(Long.MAX_VALUE);
+
+        Assert.assertTrue(first > 0 && first <= interval, "Unexpected wait: " + first);
+        Assert.assertTrue(second > first && second <= 2 * interval, "Unexpected wait: " + second);
+    }
+
+    @Test
+    public void testReservationBeyondMaxWaitIsNotTaken() {
+
+        TokenBucket bucket = new TokenBucket(1, 1);
+        Assert.assertTrue(bucket.tryAcquire());
+
+        Assert.assertEquals(bucket.reserve(TimeUnit.MILLISECONDS.toNanos(10)), -1L);
+        long wait = bucket.reserve(Long.MAX_VALUE);
+        Assert.assertTrue(wait <= TimeUnit.SECONDS.toNanos(1), "Unexpected wait: " + wait);
+    }
+
+    @Test
+    public void testPermitsRefill() throws InterruptedException {
+
+        TokenBucket bucket = new TokenBucket(100, 1);
+        Assert.assertTrue(bucket.tryAcquire());
+        Assert.assertFalse(bucket.tryAcquire());
+
+        Thread.sleep(30L);
+
+        Assert.assertTrue(bucket.tryAcquire());
+    }
+
+    @Test
+    public void testConcurrentAcquireGrantsBurstOnce() throws InterruptedException {
+
+        TokenBucket bucket = new TokenBucket(1, 100);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 50; j++) {
+                    if (bucket.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // The bucket may refill by one permit while the threads run.
+        Assert.assertTrue(granted.get() >= 100 && granted.get() <= 101, "Granted: " + granted.get());
+    }
+}
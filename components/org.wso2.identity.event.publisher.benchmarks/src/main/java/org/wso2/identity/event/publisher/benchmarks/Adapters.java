@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.webhook.management.api.model.Webhook;
+import org.wso2.carbon.identity.webhook.management.api.service.WebhookManagementService;
+import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.http.publisher.internal.component.HTTPAdapterDataHolder;
+import org.wso2.identity.event.http.publisher.internal.config.HTTPAdapterConfiguration;
+import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+import org.wso2.identity.event.websubhub.publisher.internal.WebSubHubAdapterDataHolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Wires the adapters the same way their service components do, with stubbed OSGi services.
+ */
+public final class Adapters {
+
+    private Adapters() {
+
+    }
+
+    /**
+     * Initialize the HTTP adapter with webhooks pointing at the given endpoints.
+     *
+     * @param endpoints Webhook endpoints.
+     * @return Client manager of the adapter.
+     * @throws HTTPAdapterException If the client manager cannot be created.
+     */
+    public static org.wso2.identity.event.http.publisher.internal.component.ClientManager initHTTPAdapter(
+            List<String> endpoints) throws HTTPAdapterException {
+
+        return initHTTPAdapter(endpoints, Collections.emptyMap());
+    }
+
+    /**
+     * Initialize the HTTP adapter with webhooks pointing at the given endpoints.
+     *
+     * @param endpoints  Webhook endpoints.
+     * @param properties Adapter properties overriding the benchmark defaults.
+     * @return Client manager of the adapter.
+     * @throws HTTPAdapterException If the client manager cannot be created.
+     */
+    public static org.wso2.identity.event.http.publisher.internal.component.ClientManager initHTTPAdapter(
+            List<String> endpoints, Map<String, String> properties) throws HTTPAdapterException {
+
+        BenchmarkFixtures.ensureCarbonHome();
+        HTTPAdapterDataHolder dataHolder = HTTPAdapterDataHolder.getInstance();
+        dataHolder.setAdapterConfiguration(new HTTPAdapterConfiguration(
+                BenchmarkFixtures.adapterProperties(properties)));
+        List<Webhook> webhooks = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            // Webhooks are mocked as in the publisher unit tests, keeping the benchmarks independent of the
+            // constructors of the webhook management model.
+            Webhook webhook = mock(Webhook.class);
+            when(webhook.getEndpoint()).thenReturn(endpoint);
+            when(webhook.getSecret()).thenReturn(BenchmarkFixtures.WEBHOOK_SECRET);
+            webhooks.add(webhook);
+        }
+        dataHolder.setWebhookManagementService(BenchmarkFixtures.stubService(WebhookManagementService.class,
+                (methodName, args) -> "getActiveWebhooks".equals(methodName) ? webhooks : null));
+        org.wso2.identity.event.http.publisher.internal.component.ClientManager clientManager =
+                new org.wso2.identity.event.http.publisher.internal.component.ClientManager();
+        dataHolder.setClientManager(clientManager);
+        return clientManager;
+    }
+
+    /**
+     * Initialize the WebSubHub adapter against the given hub.
+     *
+     * @param hubUrl WebSubHub base URL.
+     * @return Client manager of the adapter.
+     * @throws WebSubAdapterException If the client manager cannot be created.
+     */
+    public static org.wso2.identity.event.websubhub.publisher.internal.ClientManager initWebSubHubAdapter(
+            String hubUrl) throws WebSubAdapterException {
+
+        return initWebSubHubAdapter(hubUrl, Collections.emptyMap());
+    }
+
+    /**
+     * Initialize the WebSubHub adapter against the given hub.
+     *
+     * @param hubUrl     WebSubHub base URL.
+     * @param properties Adapter properties overriding the benchmark defaults.
+     * @return Client manager of the adapter.
+     * @throws WebSubAdapterException If the client manager cannot be created.
+     */
+    public static org.wso2.identity.event.websubhub.publisher.internal.ClientManager initWebSubHubAdapter(
+            String hubUrl, Map<String, String> properties) throws WebSubAdapterException {
+
+        BenchmarkFixtures.ensureCarbonHome();
+        Map<String, String> hubProperties = new HashMap<>(properties);
+        hubProperties.put("baseUrl", hubUrl);
+        WebSubHubAdapterDataHolder dataHolder = WebSubHubAdapterDataHolder.getInstance();
+        dataHolder.setAdapterConfiguration(new WebSubAdapterConfiguration(
+                BenchmarkFixtures.adapterProperties(hubProperties)));
+        dataHolder.setOrganizationManager(BenchmarkFixtures.stubService(OrganizationManager.class,
+                (methodName, args) -> "resolveOrganizationId".equals(methodName) ?
+                        BenchmarkFixtures.ORGANIZATION_ID : null));
+        org.wso2.identity.event.websubhub.publisher.internal.ClientManager clientManager =
+                new org.wso2.identity.event.websubhub.publisher.internal.ClientManager();
+        dataHolder.setClientManager(clientManager);
+        return clientManager;
+    }
+
+    /**
+     * Stop the async client and callback executor of a client manager.
+     *
+     * @param httpAsyncClient       Async client.
+     * @param asyncCallbackExecutor Callback executor.
+     * @throws IOException If the client cannot be closed.
+     */
+    public static void shutdown(CloseableHttpAsyncClient httpAsyncClient, Executor asyncCallbackExecutor)
+            throws IOException {
+
+        httpAsyncClient.close();
+        if (asyncCallbackExecutor instanceof ExecutorService) {
+            ((ExecutorService) asyncCallbackExecutor).shutdown();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shared inputs of the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String TENANT_DOMAIN = "carbon.super";
+    public static final String ORGANIZATION_ID = "10084a8d-113f-4211-a0d5-efe36b082211";
+    public static final String EVENT_PROFILE_NAME = "WSO2";
+    public static final String EVENT_PROFILE_VERSION = "v1";
+    public static final String EVENT_URI = "https://schemas.identity.wso2.org/events/login/event-type/loginSuccess";
+    public static final String WEBHOOK_SECRET = "d2Vib29rLXNlY3JldC1mb3ItYmVuY2htYXJrcw==";
+    private static final String CARBON_HOME = "carbon.home";
+
+    private BenchmarkFixtures() {
+
+    }
+
+    /**
+     * Build a security event token payload carrying a single login event.
+     *
+     * @param claimCount Number of user claims in the event, to scale the payload size.
+     * @return Security event token payload.
+     */
+    public static SecurityEventTokenPayload newEventPayload(int claimCount) {
+
+        Map<String, EventPayload> events = Collections.singletonMap(EVENT_URI, new SampleEventPayload(claimCount));
+        return SecurityEventTokenPayload.builder()
+                .iss("https://localhost:9443/oauth2/token")
+                .jti(UUID.randomUUID().toString())
+                .iat(System.currentTimeMillis())
+                .aud("https://webhook.example.com/events")
+                .rci(UUID.randomUUID().toString())
+                .events(events)
+                .build();
+    }
+
+    /**
+     * Build the event context of the login event.
+     *
+     * @return Event context.
+     */
+    public static EventContext newEventContext() {
+
+        return EventContext.builder()
+                .tenantDomain(TENANT_DOMAIN)
+                .eventProfileName(EVENT_PROFILE_NAME)
+                .eventProfileVersion(EVENT_PROFILE_VERSION)
+                .eventUri(EVENT_URI)
+                .build();
+    }
+
+    /**
+     * Build adapter properties as they are read from the adapter metadata.
+     *
+     * @param extraProperties Additional properties, e.g. the hub URL.
+     * @return Adapter properties.
+     */
+    public static Map<String, String> adapterProperties(Map<String, String> extraProperties) {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("enabled", "true");
+        properties.put("defaultMaxConnections", "100");
+        properties.put("defaultMaxConnectionsPerRoute", "50");
+        properties.putAll(extraProperties);
+        return properties;
+    }
+
+    /**
+     * Create a stub of an OSGi service interface. Calls to methods that are not answered by the given answer
+     * return null.
+     *
+     * @param serviceType Service interface.
+     * @param answer      Answer for method calls.
+     * @param <T>         Service type.
+     * @return Service stub.
+     */
+    public static <T> T stubService(Class<T> serviceType, ServiceAnswer answer) {
+
+        return serviceType.cast(Proxy.newProxyInstance(serviceType.getClassLoader(), new Class<?>[]{serviceType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.invoke(answer, args);
+                    }
+                    return answer.answer(method.getName(), args);
+                }));
+    }
+
+    /**
+     * Point carbon.home to a temporary directory unless it is already set, so that the carbon context can be
+     * used outside a running server.
+     */
+    public static void ensureCarbonHome() {
+
+        if (System.getProperty(CARBON_HOME) == null) {
+            try {
+                System.setProperty(CARBON_HOME, Files.createTempDirectory("carbon-home").toString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Answer of a stubbed service method.
+     */
+    @FunctionalInterface
+    public interface ServiceAnswer {
+
+        Object answer(String methodName, Object[] args) throws Exception;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.CORRELATION_ID_MDC;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.TENANT_DOMAIN;
+
+/**
+ * Measures the per-callback cost of restoring the tenant and logging context of a delivery. {@code eagerTenantFlow}
+ * is the setup every callback did before, {@code deferredTenantFlow} is what a successful delivery with diagnostic
+ * logs disabled does now, and {@code deferredTenantFlowStarted} is a callback that needed the tenant flow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallbackContextBenchmark {
+
+    private static final String TENANT = "carbon.super";
+    private static final String CORRELATION_ID = "10084a8d-113f-4211-a0d5-efe36b082211";
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        BenchmarkFixtures.ensureCarbonHome();
+    }
+
+    @Benchmark
+    public void eagerTenantFlow() {
+
+        try {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(TENANT);
+            MDC.put(CORRELATION_ID_MDC, CORRELATION_ID);
+            MDC.put(TENANT_DOMAIN, TENANT);
+        } finally {
+            MDC.remove(CORRELATION_ID_MDC);
+            MDC.remove(TENANT_DOMAIN);
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    @Benchmark
+    public void deferredTenantFlow() {
+
+        CallbackContext callbackContext = new CallbackContext(TENANT, CORRELATION_ID);
+        callbackContext.attach();
+        callbackContext.detach();
+    }
+
+    @Benchmark
+    public void deferredTenantFlowStarted() {
+
+        CallbackContext callbackContext = new CallbackContext(TENANT, CORRELATION_ID);
+        callbackContext.attach();
+        try {
+            callbackContext.startTenantFlow();
+        } finally {
+            callbackContext.detach();
+        }
+    }
+}
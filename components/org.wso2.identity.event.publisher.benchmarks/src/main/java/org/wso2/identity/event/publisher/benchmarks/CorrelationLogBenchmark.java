@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.apache.http.client.methods.HttpPost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.event.http.publisher.internal.util.HTTPCorrelationLogUtils;
+import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
+import org.wso2.identity.event.websubhub.publisher.util.WebSubHubCorrelationLogUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures correlation log formatting of both adapters with correlation logs enabled. Messages are discarded by
+ * {@link CorrelationLogSink}, so only the formatting cost is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-DenableCorrelationLogs=true",
+        "-Dorg.apache.commons.logging.Log=org.wso2.identity.event.publisher.benchmarks.CorrelationLogSink"})
+@State(Scope.Benchmark)
+public class CorrelationLogBenchmark {
+
+    private final HttpPost webhookRequest = new HttpPost("https://webhook.example.com/events");
+    private final HttpPost hubRequest = new HttpPost("https://localhost:9090/hub?hub.mode=publish&hub.topic=" +
+            "carbon.super.10084a8d-113f-4211-a0d5-efe36b082211.schema.wso2.v1.event.loginSuccess");
+    private final long requestStartTime = System.currentTimeMillis();
+
+    @Benchmark
+    public void httpAdapterResponse() {
+
+        HTTPCorrelationLogUtils.handleResponseCorrelationLog(webhookRequest, requestStartTime,
+                HTTPCorrelationLogUtils.RequestStatus.COMPLETED.getStatus(), "200", "OK");
+    }
+
+    @Benchmark
+    public void webSubHubAdapterRequest() {
+
+        WebSubHubCorrelationLogUtils.triggerCorrelationLogForRequest(hubRequest);
+    }
+
+    @Benchmark
+    public void webSubHubAdapterResponse() {
+
+        WebSubHubAdapterUtil.handleResponseCorrelationLog(hubRequest, requestStartTime,
+                WebSubHubCorrelationLogUtils.RequestStatus.COMPLETED.getStatus(), "200", "OK");
+    }
+}
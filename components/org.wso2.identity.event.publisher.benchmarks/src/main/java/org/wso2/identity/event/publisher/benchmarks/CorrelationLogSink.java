@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.apache.commons.logging.Log;
+
+/**
+ * Commons logging {@link Log} that keeps the correlation logger enabled while discarding every message, so that
+ * correlation log formatting can be measured without the cost of an appender.
+ * Every other logger is disabled. Enable with {@code -Dorg.apache.commons.logging.Log=<this class>}.
+ */
+public class CorrelationLogSink implements Log {
+
+    private static final String CORRELATION_LOGGER = "correlation";
+    private static volatile Object lastMessage;
+
+    private final boolean enabled;
+
+    public CorrelationLogSink(String name) {
+
+        this.enabled = CORRELATION_LOGGER.equals(name);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public boolean isFatalEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+
+        return false;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+
+        return enabled;
+    }
+
+    @Override
+    public void trace(Object message) {
+
+    }
+
+    @Override
+    public void trace(Object message, Throwable t) {
+
+    }
+
+    @Override
+    public void debug(Object message) {
+
+    }
+
+    @Override
+    public void debug(Object message, Throwable t) {
+
+    }
+
+    @Override
+    public void info(Object message) {
+
+        sink(message);
+    }
+
+    @Override
+    public void info(Object message, Throwable t) {
+
+        sink(message);
+    }
+
+    @Override
+    public void warn(Object message) {
+
+        sink(message);
+    }
+
+    @Override
+    public void warn(Object message, Throwable t) {
+
+        sink(message);
+    }
+
+    @Override
+    public void error(Object message) {
+
+        sink(message);
+    }
+
+    @Override
+    public void error(Object message, Throwable t) {
+
+        sink(message);
+    }
+
+    @Override
+    public void fatal(Object message) {
+
+        sink(message);
+    }
+
+    @Override
+    public void fatal(Object message, Throwable t) {
+
+        sink(message);
+    }
+
+    private void sink(Object message) {
+
+        // Publishing the message keeps the JIT from eliminating the formatting work.
+        if (enabled) {
+            lastMessage = message;
+        }
+    }
+}
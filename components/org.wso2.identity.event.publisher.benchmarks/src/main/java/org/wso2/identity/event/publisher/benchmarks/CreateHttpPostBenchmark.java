@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.apache.http.client.methods.HttpPost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.http.publisher.api.exception.HTTPAdapterException;
+import org.wso2.identity.event.publisher.transport.util.PooledEntity;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures request construction of both adapters: payload serialization, entity creation and, for the HTTP
+ * adapter, the HMAC signature. Each request is released right away, as a settled delivery would, so the pooled body
+ * buffers are reused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+@State(Scope.Benchmark)
+public class CreateHttpPostBenchmark {
+
+    private static final String ENDPOINT = "https://webhook.example.com/events";
+
+    @Param({"5", "50"})
+    public int claimCount;
+
+    private org.wso2.identity.event.http.publisher.internal.component.ClientManager httpClientManager;
+    private org.wso2.identity.event.websubhub.publisher.internal.ClientManager webSubClientManager;
+    private SecurityEventTokenPayload eventPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws HTTPAdapterException, WebSubAdapterException {
+
+        httpClientManager = Adapters.initHTTPAdapter(Collections.singletonList(ENDPOINT));
+        webSubClientManager = Adapters.initWebSubHubAdapter(ENDPOINT);
+        eventPayload = BenchmarkFixtures.newEventPayload(claimCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+
+        Adapters.shutdown(httpClientManager.getHttpAsyncClient(), httpClientManager.getAsyncCallbackExecutor());
+        Adapters.shutdown(webSubClientManager.getHttpAsyncClient(), webSubClientManager.getAsyncCallbackExecutor());
+    }
+
+    @Benchmark
+    public HttpPost httpAdapterUnsigned() throws HTTPAdapterException {
+
+        HttpPost post = httpClientManager.createHttpPost(ENDPOINT, eventPayload, null);
+        PooledEntity.release(post);
+        return post;
+    }
+
+    @Benchmark
+    public HttpPost httpAdapterSigned() throws HTTPAdapterException {
+
+        HttpPost post = httpClientManager.createHttpPost(ENDPOINT, eventPayload, BenchmarkFixtures.WEBHOOK_SECRET);
+        PooledEntity.release(post);
+        return post;
+    }
+
+    @Benchmark
+    public HttpPost webSubHubAdapter() throws WebSubAdapterException {
+
+        HttpPost post = webSubClientManager.createHttpPost(ENDPOINT, eventPayload);
+        PooledEntity.release(post);
+        return post;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
+import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.PUBLISH;
+
+/**
+ * Measures the per event hub topic and publish URL construction of the WebSubHub adapter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+@State(Scope.Benchmark)
+public class HubTopicBenchmark {
+
+    private static final String HUB_URL = "https://localhost:9090/hub";
+
+    private ClientManager clientManager;
+    private String topic;
+
+    @Setup(Level.Trial)
+    public void setUp() throws WebSubAdapterException {
+
+        clientManager = Adapters.initWebSubHubAdapter(HUB_URL);
+        topic = constructHubTopic();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+
+        Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+    }
+
+    @Benchmark
+    public String constructHubTopic() throws WebSubAdapterException {
+
+        return WebSubHubAdapterUtil.constructHubTopic(BenchmarkFixtures.EVENT_URI,
+                BenchmarkFixtures.EVENT_PROFILE_NAME, BenchmarkFixtures.EVENT_PROFILE_VERSION,
+                BenchmarkFixtures.TENANT_DOMAIN);
+    }
+
+    @Benchmark
+    public String buildURL() throws WebSubAdapterException {
+
+        return WebSubHubAdapterUtil.buildURL(topic, HUB_URL, PUBLISH);
+    }
+
+    @Benchmark
+    public String constructHubTopicAndBuildURL() throws WebSubAdapterException {
+
+        return WebSubHubAdapterUtil.buildURL(constructHubTopic(), WebSubHubAdapterUtil.getWebSubBaseURL(), PUBLISH);
+    }
+}
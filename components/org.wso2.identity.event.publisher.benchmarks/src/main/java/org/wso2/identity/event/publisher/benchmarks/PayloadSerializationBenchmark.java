@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.publisher.transport.util.PayloadWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of a security event token into a reused buffer, with the generic object mapper and with
+ * the streaming payload writer of the adapters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+@State(Scope.Thread)
+public class PayloadSerializationBenchmark {
+
+    @Param({"5", "50"})
+    public int claimCount;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(16384);
+    private ObjectMapper objectMapper;
+    private PayloadWriter payloadWriter;
+    private SecurityEventTokenPayload eventPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        objectMapper = new ObjectMapper();
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        payloadWriter = new PayloadWriter();
+        eventPayload = BenchmarkFixtures.newEventPayload(claimCount);
+    }
+
+    @Benchmark
+    public int objectMapper() throws IOException {
+
+        buffer.reset();
+        objectMapper.writeValue(buffer, eventPayload);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int payloadWriter() throws IOException {
+
+        buffer.reset();
+        payloadWriter.write(buffer, eventPayload);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherException;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.http.publisher.internal.service.impl.HTTPEventPublisherImpl;
+import org.wso2.identity.event.websubhub.publisher.service.WebSubEventPublisherImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end publishing of one event through each adapter, from {@code publish} until the event
+ * reached an in-process {@link StubEventReceiver}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+public class PublishBenchmark {
+
+    /**
+     * HTTP adapter publishing to a number of webhooks of the same receiver.
+     */
+    @State(Scope.Benchmark)
+    public static class HTTPAdapterState {
+
+        @Param({"1", "4"})
+        public int webhookCount;
+
+        StubEventReceiver receiver;
+        org.wso2.identity.event.http.publisher.internal.component.ClientManager clientManager;
+        HTTPEventPublisherImpl publisher;
+        SecurityEventTokenPayload eventPayload;
+        EventContext eventContext;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            receiver = new StubEventReceiver(8);
+            List<String> endpoints = new ArrayList<>();
+            for (int i = 0; i < webhookCount; i++) {
+                endpoints.add(receiver.url("/webhook/" + i));
+            }
+            clientManager = Adapters.initHTTPAdapter(endpoints);
+            publisher = new HTTPEventPublisherImpl();
+            eventPayload = BenchmarkFixtures.newEventPayload(5);
+            eventContext = BenchmarkFixtures.newEventContext();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+            receiver.close();
+        }
+    }
+
+    /**
+     * WebSubHub adapter publishing to a stub hub.
+     */
+    @State(Scope.Benchmark)
+    public static class WebSubHubAdapterState {
+
+        StubEventReceiver receiver;
+        org.wso2.identity.event.websubhub.publisher.internal.ClientManager clientManager;
+        WebSubEventPublisherImpl publisher;
+        SecurityEventTokenPayload eventPayload;
+        EventContext eventContext;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+
+            receiver = new StubEventReceiver(8);
+            clientManager = Adapters.initWebSubHubAdapter(receiver.url("/hub"));
+            publisher = new WebSubEventPublisherImpl();
+            eventPayload = BenchmarkFixtures.newEventPayload(5);
+            eventContext = BenchmarkFixtures.newEventContext();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+
+            Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+            receiver.close();
+        }
+    }
+
+    @Benchmark
+    public void httpAdapter(HTTPAdapterState state) throws EventPublisherException, InterruptedException {
+
+        if (state.publisher.canHandleEvent(state.eventContext)) {
+            state.publisher.publish(state.eventPayload, state.eventContext);
+        }
+        state.receiver.awaitRequests(state.webhookCount);
+    }
+
+    @Benchmark
+    public void webSubHubAdapter(WebSubHubAdapterState state) throws EventPublisherException, InterruptedException {
+
+        state.publisher.publish(state.eventPayload, state.eventContext);
+        state.receiver.awaitRequests(1);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.apache.http.client.methods.HttpPost;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.publisher.transport.util.PooledEntity;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encode time of WebSubHub publish requests in JSON, CBOR and Smile. Each invocation builds a publish
+ * request with the WebSubHub adapter, the {@code wireBytes} counter reports the size of the resulting request body.
+ * Compare it with the {@code json} rows to get the size saved by each binary encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.apache.commons.logging.Log=org.apache.commons.logging.impl.NoOpLog")
+@State(Scope.Benchmark)
+public class PublishEncodingBenchmark {
+
+    private static final String HUB_URL = "https://localhost:9090/hub";
+
+    @Param({"json", "cbor", "smile"})
+    public String encoding;
+
+    @Param({"5", "50", "500"})
+    public int claimCount;
+
+    private ClientManager clientManager;
+    private SecurityEventTokenPayload eventPayload;
+
+    /**
+     * Request body bytes produced by a benchmark thread in the current iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+
+        public long wireBytes;
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+
+            wireBytes = 0;
+            requests = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws WebSubAdapterException {
+
+        clientManager = Adapters.initWebSubHubAdapter(HUB_URL,
+                Collections.singletonMap("publishEncoding", encoding));
+        eventPayload = BenchmarkFixtures.newEventPayload(claimCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+
+        Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+    }
+
+    @Benchmark
+    public HttpPost createPublishHttpPost(WireBytes counters) throws WebSubAdapterException {
+
+        HttpPost post = clientManager.createPublishHttpPost(HUB_URL, eventPayload);
+        counters.wireBytes += post.getEntity().getContentLength();
+        counters.requests++;
+        PooledEntity.release(post);
+        return post;
+    }
+}
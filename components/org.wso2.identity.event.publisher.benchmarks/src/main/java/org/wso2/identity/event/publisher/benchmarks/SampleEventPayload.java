@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Event payload with the shape and size of a typical login event, used as the benchmark workload.
+ */
+public class SampleEventPayload extends EventPayload {
+
+    private final Map<String, Object> user = new LinkedHashMap<>();
+    private final Map<String, Object> tenant = new LinkedHashMap<>();
+    private final Map<String, Object> organization = new LinkedHashMap<>();
+    private final Map<String, Object> application = new LinkedHashMap<>();
+    private final String userStore = "PRIMARY";
+    private final String authenticationMethod = "BasicAuthenticator";
+
+    public SampleEventPayload(int claimCount) {
+
+        user.put("id", "8c3b4a1e-6f0d-4c1b-9a4b-7d2e5f6a9b10");
+        List<Map<String, String>> claims = new ArrayList<>();
+        for (int i = 0; i < claimCount; i++) {
+            Map<String, String> claim = new LinkedHashMap<>();
+            claim.put("uri", "http://wso2.org/claims/claim" + i);
+            claim.put("value", "value-" + i);
+            claims.add(claim);
+        }
+        user.put("claims", claims);
+        user.put("ref", "https://localhost:9443/scim2/Users/8c3b4a1e-6f0d-4c1b-9a4b-7d2e5f6a9b10");
+        tenant.put("id", "1");
+        tenant.put("name", BenchmarkFixtures.TENANT_DOMAIN);
+        organization.put("id", BenchmarkFixtures.ORGANIZATION_ID);
+        organization.put("name", BenchmarkFixtures.TENANT_DOMAIN);
+        application.put("id", "f4a8c2de-1b3e-4c5f-8a9d-0e1f2a3b4c5d");
+        application.put("name", "My Account");
+    }
+
+    public Map<String, Object> getUser() {
+
+        return user;
+    }
+
+    public Map<String, Object> getTenant() {
+
+        return tenant;
+    }
+
+    public Map<String, Object> getOrganization() {
+
+        return organization;
+    }
+
+    public Map<String, Object> getApplication() {
+
+        return application;
+    }
+
+    public String getUserStore() {
+
+        return userStore;
+    }
+
+    public String getAuthenticationMethod() {
+
+        return authenticationMethod;
+    }
+}
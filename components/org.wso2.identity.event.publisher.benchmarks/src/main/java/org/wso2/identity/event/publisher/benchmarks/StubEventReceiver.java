@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process HTTP server standing in for webhook endpoints and the WebSubHub.
+ * Every request is answered with an empty 200 response once its body has been read.
+ */
+public class StubEventReceiver implements AutoCloseable {
+
+    private static final int AWAIT_TIMEOUT_SECONDS = 30;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore received = new Semaphore(0);
+
+    public StubEventReceiver(int workerThreads) throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newFixedThreadPool(workerThreads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the URL of a path on the receiver.
+     *
+     * @param path Path starting with a slash.
+     * @return URL.
+     */
+    public String url(String path) {
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Wait until the given number of requests were received.
+     *
+     * @param requests Number of requests.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public void awaitRequests(int requests) throws InterruptedException {
+
+        if (!received.tryAcquire(requests, AWAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Stub receiver did not receive " + requests + " requests within " +
+                    AWAIT_TIMEOUT_SECONDS + " seconds.");
+        }
+    }
+
+    @Override
+    public void close() {
+
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            while (body.read(buffer) != -1) {
+                // Drain the request body.
+            }
+        }
+        exchange.sendResponseHeaders(200, -1);
+        exchange.close();
+        received.release();
+    }
+}
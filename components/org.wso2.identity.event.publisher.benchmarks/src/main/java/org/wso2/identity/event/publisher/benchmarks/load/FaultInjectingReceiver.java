@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks.load;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal HTTP/1.1 server standing in for webhook endpoints and the WebSubHub under load.
+ * Each request is answered after an injected latency, and a configurable share of requests is answered with
+ * 503, throttled with 429 or has its connection reset. Connections are kept alive and served by one thread each,
+ * the same way a blocking servlet container would.
+ */
+public class FaultInjectingReceiver implements AutoCloseable {
+
+    private static final int BACKLOG = 1024;
+    private static final String CONTENT_LENGTH = "content-length";
+    private static final String TRANSFER_ENCODING = "transfer-encoding";
+    private static final String CONNECTION = "connection";
+
+    private final Faults faults;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connectionExecutor;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    private final LongAdder received = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder reset = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+
+    public FaultInjectingReceiver(Faults faults) throws IOException {
+
+        this.faults = faults;
+        serverSocket = new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress());
+        connectionExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-receiver-connection");
+            thread.setDaemon(true);
+            return thread;
+        });
+        acceptor = new Thread(this::accept, "stub-receiver-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the URL of a path on the receiver.
+     *
+     * @param path Path starting with a slash.
+     * @return URL.
+     */
+    public String url(String path) {
+
+        return "http://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort() + path;
+    }
+
+    public long getReceived() {
+
+        return received.sum();
+    }
+
+    public long getSucceeded() {
+
+        return succeeded.sum();
+    }
+
+    public long getThrottled() {
+
+        return throttled.sum();
+    }
+
+    public long getFailed() {
+
+        return failed.sum();
+    }
+
+    public long getReset() {
+
+        return reset.sum();
+    }
+
+    public long getConnections() {
+
+        return connections.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        running = false;
+        serverSocket.close();
+        connectionExecutor.shutdownNow();
+    }
+
+    private void accept() {
+
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.increment();
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Stub receiver failed to accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+
+        try (Socket connection = socket) {
+            connection.setTcpNoDelay(true);
+            InputStream in = new BufferedInputStream(connection.getInputStream());
+            OutputStream out = connection.getOutputStream();
+            while (running) {
+                RequestHead head = readHead(in);
+                if (head == null) {
+                    return;
+                }
+                drainBody(in, head);
+                received.increment();
+
+                double draw = ThreadLocalRandom.current().nextDouble();
+                if (draw < faults.resetRate) {
+                    reset.increment();
+                    // SO_LINGER 0 makes close send a RST instead of a FIN.
+                    connection.setSoLinger(true, 0);
+                    return;
+                }
+                sleep(faults.latencyMillis + (faults.jitterMillis > 0 ?
+                        ThreadLocalRandom.current().nextLong(faults.jitterMillis + 1) : 0));
+                if (draw < faults.resetRate + faults.throttleRate) {
+                    throttled.increment();
+                    writeResponse(out, "429 Too Many Requests", "Retry-After: 1\r\n");
+                } else if (draw < faults.resetRate + faults.throttleRate + faults.errorRate) {
+                    failed.increment();
+                    writeResponse(out, "503 Service Unavailable", "");
+                } else {
+                    succeeded.increment();
+                    writeResponse(out, "200 OK", "");
+                }
+                if (head.close) {
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // Client closed the connection.
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Stub receiver failed to serve a connection: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeResponse(OutputStream out, String status, String extraHeaders) throws IOException {
+
+        out.write(("HTTP/1.1 " + status + "\r\n" + extraHeaders + "Content-Length: 0\r\n\r\n")
+                .getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    private static RequestHead readHead(InputStream in) throws IOException {
+
+        String requestLine = readLine(in);
+        if (requestLine == null) {
+            return null;
+        }
+        RequestHead head = new RequestHead();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (CONTENT_LENGTH.equals(name)) {
+                head.contentLength = Long.parseLong(value);
+            } else if (TRANSFER_ENCODING.equals(name)) {
+                head.chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            } else if (CONNECTION.equals(name)) {
+                head.close = "close".equalsIgnoreCase(value);
+            }
+        }
+        return head;
+    }
+
+    private static void drainBody(InputStream in, RequestHead head) throws IOException {
+
+        if (head.chunked) {
+            long chunkSize;
+            do {
+                String sizeLine = readLine(in);
+                if (sizeLine == null) {
+                    return;
+                }
+                int extension = sizeLine.indexOf(';');
+                chunkSize = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+                skip(in, chunkSize);
+                readLine(in);
+            } while (chunkSize > 0);
+        } else {
+            skip(in, head.contentLength);
+        }
+    }
+
+    private static void skip(InputStream in, long bytes) throws IOException {
+
+        long remaining = bytes;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                if (in.read() == -1) {
+                    return;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = line.size();
+                byte[] bytes = line.toByteArray();
+                return new String(bytes, 0, length > 0 && bytes[length - 1] == '\r' ? length - 1 : length,
+                        StandardCharsets.ISO_8859_1);
+            }
+            line.write(b);
+        }
+        return line.size() == 0 ? null : line.toString("ISO-8859-1");
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static final class RequestHead {
+
+        private long contentLength;
+        private boolean chunked;
+        private boolean close;
+    }
+
+    /**
+     * Faults injected by the receiver. Rates are fractions of requests between 0 and 1.
+     */
+    public static final class Faults {
+
+        private final long latencyMillis;
+        private final long jitterMillis;
+        private final double errorRate;
+        private final double throttleRate;
+        private final double resetRate;
+
+        public Faults(long latencyMillis, long jitterMillis, double errorRate, double throttleRate,
+                      double resetRate) {
+
+            if (errorRate + throttleRate + resetRate > 1) {
+                throw new IllegalArgumentException("Sum of error, throttle and reset rates must not exceed 1.");
+            }
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.errorRate = errorRate;
+            this.throttleRate = throttleRate;
+            this.resetRate = resetRate;
+        }
+
+        @Override
+        public String toString() {
+
+            return "latency=" + latencyMillis + "ms, jitter=" + jitterMillis + "ms, errorRate=" + errorRate +
+                    ", throttleRate=" + throttleRate + ", resetRate=" + resetRate;
+        }
+    }
+}
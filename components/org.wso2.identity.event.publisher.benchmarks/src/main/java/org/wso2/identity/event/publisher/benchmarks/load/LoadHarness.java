@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks.load;
+
+import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherException;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.identity.event.publisher.benchmarks.BenchmarkFixtures;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an adapter with a synthetic event stream against a {@link FaultInjectingReceiver} on localhost and
+ * reports throughput, latency percentiles, drops and connection pool usage.
+ * Run with {@code --help} for the available options.
+ */
+public final class LoadHarness {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("adapter", "http");
+        DEFAULTS.put("rate", "1000");
+        DEFAULTS.put("producers", "4");
+        DEFAULTS.put("duration", "30");
+        DEFAULTS.put("warmup", "5");
+        DEFAULTS.put("webhooks", "4");
+        DEFAULTS.put("claims", "5");
+        DEFAULTS.put("latency", "10");
+        DEFAULTS.put("jitter", "5");
+        DEFAULTS.put("error-rate", "0");
+        DEFAULTS.put("throttle-rate", "0");
+        DEFAULTS.put("reset-rate", "0");
+        DEFAULTS.put("max-connections", "100");
+        DEFAULTS.put("max-connections-per-route", "50");
+        DEFAULTS.put("drain-timeout", "60");
+    }
+
+    private static final String[] DESCRIPTIONS = {
+            "Adapter to drive: http or websubhub",
+            "Target events per second over all producers, 0 for as fast as possible",
+            "Number of publishing threads",
+            "Measurement duration in seconds",
+            "Warm-up duration in seconds, not included in the report",
+            "Webhooks per event, HTTP adapter only",
+            "User claims per event, scales the payload size",
+            "Receiver latency in milliseconds",
+            "Maximum random receiver latency added in milliseconds",
+            "Fraction of requests answered with 503",
+            "Fraction of requests answered with 429",
+            "Fraction of requests whose connection is reset",
+            "defaultMaxConnections of the adapter",
+            "defaultMaxConnectionsPerRoute of the adapter",
+            "Seconds to wait for in-flight deliveries after the measurement"
+    };
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 100;
+
+    private LoadHarness() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = parseOptions(args);
+        if (options == null) {
+            printUsage();
+            return;
+        }
+        String adapter = options.get("adapter");
+        FaultInjectingReceiver.Faults faults = new FaultInjectingReceiver.Faults(
+                Long.parseLong(options.get("latency")), Long.parseLong(options.get("jitter")),
+                Double.parseDouble(options.get("error-rate")), Double.parseDouble(options.get("throttle-rate")),
+                Double.parseDouble(options.get("reset-rate")));
+        Map<String, String> adapterProperties = new HashMap<>();
+        adapterProperties.put("defaultMaxConnections", options.get("max-connections"));
+        adapterProperties.put("defaultMaxConnectionsPerRoute", options.get("max-connections-per-route"));
+        int producers = Integer.parseInt(options.get("producers"));
+        double rate = Double.parseDouble(options.get("rate"));
+        int claims = Integer.parseInt(options.get("claims"));
+        long drainTimeoutMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.get("drain-timeout")));
+
+        System.out.println("Load harness options: " + options);
+        System.out.println("Receiver faults: " + faults);
+        try (FaultInjectingReceiver receiver = new FaultInjectingReceiver(faults);
+             LoadTarget target = LoadTarget.create(adapter, receiver, Integer.parseInt(options.get("webhooks")),
+                     adapterProperties)) {
+
+            long warmupSeconds = Long.parseLong(options.get("warmup"));
+            if (warmupSeconds > 0) {
+                System.out.println("Warming up for " + warmupSeconds + "s...");
+                new Run(target, producers, rate, claims).execute(TimeUnit.SECONDS.toMillis(warmupSeconds));
+                awaitDrain(target, drainTimeoutMillis);
+            }
+            target.resetMetrics();
+            long receivedBefore = receiver.getReceived();
+            long throttledBefore = receiver.getThrottled();
+            long failedBefore = receiver.getFailed();
+            long resetBefore = receiver.getReset();
+
+            long durationMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(options.get("duration")));
+            System.out.println("Measuring for " + durationMillis / 1000 + "s...");
+            PoolSampler sampler = new PoolSampler(target);
+            sampler.start();
+            Run run = new Run(target, producers, rate, claims);
+            long start = System.nanoTime();
+            run.execute(durationMillis);
+            long publishNanos = System.nanoTime() - start;
+            boolean drained = awaitDrain(target, drainTimeoutMillis);
+            long totalNanos = System.nanoTime() - start;
+            sampler.stop();
+
+            MetricsSnapshot metrics = target.snapshot();
+            double publishSeconds = publishNanos / 1e9;
+            double totalSeconds = totalNanos / 1e9;
+            System.out.println();
+            System.out.println("==== " + adapter + " adapter ====");
+            System.out.printf("Events published        : %d (%.1f/s offered, %d publish errors)%n",
+                    run.published.sum(), run.published.sum() / publishSeconds, run.publishErrors.sum());
+            System.out.printf("Max scheduling lag      : %.1f ms%n", run.maxLagNanos.get() / 1e6);
+            System.out.printf("Deliveries completed    : %d (%.1f/s)%n", metrics.completed,
+                    metrics.completed / totalSeconds);
+            System.out.printf("Deliveries succeeded    : %d (%.1f/s)%n", metrics.status2xx,
+                    metrics.status2xx / totalSeconds);
+            System.out.printf("Status 4xx / 5xx / error: %d / %d / %d%n", metrics.status4xx, metrics.status5xx,
+                    metrics.errors);
+            System.out.printf("Retries                 : %d%n", metrics.retries);
+            System.out.printf("Dropped                 : %d (+%d callbacks rejected)%n", metrics.dropped,
+                    metrics.callbackRejected);
+            System.out.printf("Latency p50/p99/p999/max: %.2f / %.2f / %.2f / %.2f ms%n", metrics.p50Millis,
+                    metrics.p99Millis, metrics.p999Millis, metrics.maxMillis);
+            System.out.printf("Pool max / peak leased  : %d / %d%n", metrics.poolMax, sampler.peakLeased.get());
+            System.out.printf("Peak pool pending       : %d%n", sampler.peakPending.get());
+            System.out.printf("Peak callback queue     : %d%n", sampler.peakQueueDepth.get());
+            System.out.printf("Peak in-flight          : %d%n", sampler.peakInFlight.get());
+            System.out.printf("Receiver 429 / 503 / rst: %d / %d / %d of %d requests, %d connections%n",
+                    receiver.getThrottled() - throttledBefore, receiver.getFailed() - failedBefore,
+                    receiver.getReset() - resetBefore, receiver.getReceived() - receivedBefore,
+                    receiver.getConnections());
+            System.out.printf("Drained                 : %s in %.1f s, %d still in flight%n", drained,
+                    (totalNanos - publishNanos) / 1e9, metrics.inFlight);
+        }
+    }
+
+    private static boolean awaitDrain(LoadTarget target, long timeoutMillis) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            MetricsSnapshot snapshot = target.snapshot();
+            if (snapshot.inFlight == 0 && snapshot.callbackQueueDepth == 0) {
+                return true;
+            }
+            Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+        return false;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || "--help".equals(arg)) {
+                return null;
+            }
+            int separator = arg.indexOf('=');
+            String name = separator > 0 ? arg.substring(2, separator) : arg.substring(2);
+            if (!DEFAULTS.containsKey(name) || separator < 0) {
+                System.err.println("Unknown or incomplete option: " + arg);
+                return null;
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static void printUsage() {
+
+        System.out.println("Usage: java -cp benchmarks.jar " + LoadHarness.class.getName() + " [--option=value]...");
+        int i = 0;
+        for (Map.Entry<String, String> option : DEFAULTS.entrySet()) {
+            System.out.printf("  --%-26s %s (default: %s)%n", option.getKey(), DESCRIPTIONS[i++], option.getValue());
+        }
+    }
+
+    /**
+     * Paced publishing of events by a number of producer threads.
+     */
+    private static final class Run {
+
+        private final LoadTarget target;
+        private final int producers;
+        private final long intervalNanos;
+        private final int claims;
+        private final LongAdder published = new LongAdder();
+        private final LongAdder publishErrors = new LongAdder();
+        private final LongAccumulator maxLagNanos = new LongAccumulator(Math::max, 0L);
+
+        private Run(LoadTarget target, int producers, double rate, int claims) {
+
+            this.target = target;
+            this.producers = producers;
+            this.intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * producers / rate) : 0;
+            this.claims = claims;
+        }
+
+        private void execute(long durationMillis) throws InterruptedException {
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < producers; i++) {
+                Thread thread = new Thread(() -> produce(deadline), "load-producer-" + i);
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        private void produce(long deadline) {
+
+            SecurityEventTokenPayload eventPayload = BenchmarkFixtures.newEventPayload(claims);
+            EventContext eventContext = BenchmarkFixtures.newEventContext();
+            long next = System.nanoTime();
+            while (true) {
+                long now = System.nanoTime();
+                if (now - deadline >= 0) {
+                    return;
+                }
+                if (intervalNanos > 0) {
+                    if (next - now > 0) {
+                        LockSupport.parkNanos(next - now);
+                        continue;
+                    }
+                    maxLagNanos.accumulate(now - next);
+                    next += intervalNanos;
+                }
+                try {
+                    target.publish(eventPayload, eventContext);
+                    published.increment();
+                } catch (EventPublisherException | RuntimeException e) {
+                    publishErrors.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples pool and queue gauges to track their peaks during the measurement.
+     */
+    private static final class PoolSampler implements Runnable {
+
+        private final LoadTarget target;
+        private final LongAccumulator peakLeased = new LongAccumulator(Math::max, 0L);
+        private final LongAccumulator peakPending = new LongAccumulator(Math::max, 0L);
+        private final LongAccumulator peakQueueDepth = new LongAccumulator(Math::max, 0L);
+        private final LongAccumulator peakInFlight = new LongAccumulator(Math::max, 0L);
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private PoolSampler(LoadTarget target) {
+
+            this.target = target;
+            this.thread = new Thread(this, "load-pool-sampler");
+            this.thread.setDaemon(true);
+        }
+
+        private void start() {
+
+            thread.start();
+        }
+
+        private void stop() throws InterruptedException {
+
+            running = false;
+            thread.join();
+            run();
+        }
+
+        @Override
+        public void run() {
+
+            do {
+                MetricsSnapshot snapshot = target.snapshot();
+                peakLeased.accumulate(snapshot.poolLeased);
+                peakPending.accumulate(snapshot.poolPending);
+                peakQueueDepth.accumulate(snapshot.callbackQueueDepth);
+                peakInFlight.accumulate(snapshot.inFlight);
+                if (running) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(SAMPLE_INTERVAL_MILLIS));
+                }
+            } while (running);
+        }
+    }
+}
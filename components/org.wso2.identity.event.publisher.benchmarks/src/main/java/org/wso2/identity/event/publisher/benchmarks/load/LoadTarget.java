@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks.load;
+
+import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherException;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.carbon.identity.event.publisher.api.service.EventPublisher;
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetrics;
+import org.wso2.identity.event.http.publisher.internal.service.impl.HTTPEventPublisherImpl;
+import org.wso2.identity.event.publisher.benchmarks.Adapters;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
+import org.wso2.identity.event.websubhub.publisher.service.WebSubEventPublisherImpl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter driven by the load harness.
+ */
+abstract class LoadTarget implements AutoCloseable {
+
+    private final EventPublisher publisher;
+
+    LoadTarget(EventPublisher publisher) {
+
+        this.publisher = publisher;
+    }
+
+    static LoadTarget create(String adapter, FaultInjectingReceiver receiver, int webhooks,
+                             Map<String, String> properties) throws Exception {
+
+        if ("http".equals(adapter)) {
+            List<String> endpoints = new ArrayList<>();
+            for (int i = 0; i < webhooks; i++) {
+                endpoints.add(receiver.url("/webhook/" + i));
+            }
+            return new HTTPTarget(Adapters.initHTTPAdapter(endpoints, properties), webhooks);
+        } else if ("websubhub".equals(adapter)) {
+            return new WebSubHubTarget(Adapters.initWebSubHubAdapter(receiver.url("/hub"), properties));
+        }
+        throw new IllegalArgumentException("Unknown adapter: " + adapter + ". Use http or websubhub.");
+    }
+
+    void publish(SecurityEventTokenPayload eventPayload, EventContext eventContext) throws EventPublisherException {
+
+        if (publisher.canHandleEvent(eventContext)) {
+            publisher.publish(eventPayload, eventContext);
+        }
+    }
+
+    /**
+     * Returns the number of deliveries of a single published event.
+     *
+     * @return Deliveries per event.
+     */
+    abstract int deliveriesPerEvent();
+
+    abstract MetricsSnapshot snapshot();
+
+    abstract void resetMetrics();
+
+    private static final class HTTPTarget extends LoadTarget {
+
+        private final org.wso2.identity.event.http.publisher.internal.component.ClientManager clientManager;
+        private final int webhooks;
+
+        private HTTPTarget(org.wso2.identity.event.http.publisher.internal.component.ClientManager clientManager,
+                           int webhooks) {
+
+            super(new HTTPEventPublisherImpl());
+            this.clientManager = clientManager;
+            this.webhooks = webhooks;
+        }
+
+        @Override
+        int deliveriesPerEvent() {
+
+            return webhooks;
+        }
+
+        @Override
+        MetricsSnapshot snapshot() {
+
+            return MetricsSnapshot.of(HTTPAdapterMetrics.getInstance());
+        }
+
+        @Override
+        void resetMetrics() {
+
+            HTTPAdapterMetrics.getInstance().resetStatistics();
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+        }
+    }
+
+    private static final class WebSubHubTarget extends LoadTarget {
+
+        private final org.wso2.identity.event.websubhub.publisher.internal.ClientManager clientManager;
+
+        private WebSubHubTarget(org.wso2.identity.event.websubhub.publisher.internal.ClientManager clientManager) {
+
+            super(new WebSubEventPublisherImpl() {
+                @Override
+                public boolean canHandleEvent(EventContext eventContext) {
+
+                    // Topics are not registered with the stub hub.
+                    return true;
+                }
+            });
+            this.clientManager = clientManager;
+        }
+
+        @Override
+        int deliveriesPerEvent() {
+
+            return 1;
+        }
+
+        @Override
+        MetricsSnapshot snapshot() {
+
+            return MetricsSnapshot.of(WebSubHubAdapterMetrics.getInstance());
+        }
+
+        @Override
+        void resetMetrics() {
+
+            WebSubHubAdapterMetrics.getInstance().resetStatistics();
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            Adapters.shutdown(clientManager.getHttpAsyncClient(), clientManager.getAsyncCallbackExecutor());
+        }
+    }
+}
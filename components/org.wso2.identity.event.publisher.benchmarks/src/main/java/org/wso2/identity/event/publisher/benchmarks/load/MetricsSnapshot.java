@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.benchmarks.load;
+
+import org.wso2.identity.event.http.publisher.internal.metrics.HTTPAdapterMetricsMBean;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetricsMBean;
+
+/**
+ * Point in time copy of the delivery metrics of an adapter.
+ */
+final class MetricsSnapshot {
+
+    final long inFlight;
+    final long completed;
+    final long status2xx;
+    final long status4xx;
+    final long status5xx;
+    final long errors;
+    final long retries;
+    final long dropped;
+    final long callbackRejected;
+    final double p50Millis;
+    final double p99Millis;
+    final double p999Millis;
+    final double maxMillis;
+    final int poolLeased;
+    final int poolAvailable;
+    final int poolPending;
+    final int poolMax;
+    final int callbackQueueDepth;
+
+    private MetricsSnapshot(long inFlight, long completed, long status2xx, long status4xx, long status5xx,
+                            long errors, long retries, long dropped, long callbackRejected, double p50Millis,
+                            double p99Millis, double p999Millis, double maxMillis, int poolLeased,
+                            int poolAvailable, int poolPending, int poolMax, int callbackQueueDepth) {
+
+        this.inFlight = inFlight;
+        this.completed = completed;
+        this.status2xx = status2xx;
+        this.status4xx = status4xx;
+        this.status5xx = status5xx;
+        this.errors = errors;
+        this.retries = retries;
+        this.dropped = dropped;
+        this.callbackRejected = callbackRejected;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.p999Millis = p999Millis;
+        this.maxMillis = maxMillis;
+        this.poolLeased = poolLeased;
+        this.poolAvailable = poolAvailable;
+        this.poolPending = poolPending;
+        this.poolMax = poolMax;
+        this.callbackQueueDepth = callbackQueueDepth;
+    }
+
+    static MetricsSnapshot of(HTTPAdapterMetricsMBean metrics) {
+
+        return new MetricsSnapshot(metrics.getInFlightRequests(), metrics.getCompletedRequests(),
+                metrics.getStatus2xxCount(), metrics.getStatus4xxCount(), metrics.getStatus5xxCount(),
+                metrics.getErrorCount(), metrics.getRetryCount(), metrics.getDroppedCount(),
+                metrics.getCallbackRejectedCount(), metrics.getLatencyP50Millis(), metrics.getLatencyP99Millis(),
+                metrics.getLatencyP999Millis(), metrics.getLatencyMaxMillis(), metrics.getPoolLeasedConnections(),
+                metrics.getPoolAvailableConnections(), metrics.getPoolPendingRequests(),
+                metrics.getPoolMaxConnections(), metrics.getCallbackQueueDepth());
+    }
+
+    static MetricsSnapshot of(WebSubHubAdapterMetricsMBean metrics) {
+
+        return new MetricsSnapshot(metrics.getInFlightRequests(), metrics.getCompletedRequests(),
+                metrics.getStatus2xxCount(), metrics.getStatus4xxCount(), metrics.getStatus5xxCount(),
+                metrics.getErrorCount(), metrics.getRetryCount(), metrics.getDroppedCount(),
+                metrics.getCallbackRejectedCount(), metrics.getLatencyP50Millis(), metrics.getLatencyP99Millis(),
+                metrics.getLatencyP999Millis(), metrics.getLatencyMaxMillis(), metrics.getPoolLeasedConnections(),
+                metrics.getPoolAvailableConnections(), metrics.getPoolPendingRequests(),
+                metrics.getPoolMaxConnections(), metrics.getCallbackQueueDepth());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.identity.event.publisher.transport;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.wso2.identity.event.publisher.transport.client.ConnectionSettings;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Async HTTP/1.1 transport shared by the event publishers. Publishers that attach with the same SSL context and DNS
+ * resolver share one IO reactor and one connection pool, instead of each publisher running its own. Publishers with
+ * a different SSL context or DNS resolver get a pool of their own, so every request is sent with the trust material
+ * and the host resolution of its publisher.
+ * <p>
+ * Publishers attach with the connection limits they are configured with. A pool is sized to the largest limits of
+ * the publishers attached to it and is resized when a publisher attaches again with changed limits or detaches.
+ * Pooled connections follow the strictest connection settings of the publishers of the pool: the shortest idle
+ * timeout, time to live, eviction interval and keep-alive. Requests carry their own timeouts, so each publisher keeps
+ * its own request configuration.
+ */
+public interface SharedTransport {
+
+    /**
+     * Attach a publisher, or update the connection limits and settings of an attached publisher.
+     *
+     * @param consumer               Name of the publisher.
+     * @param maxConnections         Maximum number of connections the publisher is configured with.
+     * @param maxConnectionsPerRoute Maximum number of connections per route the publisher is configured with.
+     * @param settings               Connection settings the publisher is configured with.
+     * @param dnsResolver            DNS resolver of the publisher, or null for the system resolver.
+     * @param sslContext             SSL context of the publisher, or null for the default SSL context of the JVM.
+     */
+    void attach(String consumer, int maxConnections, int maxConnectionsPerRoute, ConnectionSettings settings,
+                DnsResolver dnsResolver, SSLContext sslContext);
+
+    /**
+     * Detach a publisher. Its requests in flight are not affected.
+     *
+     * @param consumer Name of the publisher.
+     */
+    void detach(String consumer);
+
+    /**
+     * Execute a request of a publisher, creating and starting the pool of the publisher on first use.
+     *
+     * @param consumer Name of the attached publisher.
+     * @param request  Request to execute.
+     * @param callback Callback notified of the response.
+     * @throws IllegalStateException If the transport is closed, the publisher is not attached or the pool cannot be
+     *                               created.
+     */
+    void execute(String consumer, HttpUriRequest request, FutureCallback<HttpResponse> callback);
+
+    /**
+     * Close expired connections and connections idle for longer than the given time in the pool of a publisher.
+     *
+     * @param consumer          Name of the publisher.
+     * @param idleTimeoutMillis Idle time in milliseconds after which a connection is closed.
+     * @return Number of connections closed.
+     */
+    int closeIdleConnections(String consumer, long idleTimeoutMillis);
+
+    /**
+     * Get the connection pool of a publisher.
+     *
+     * @param consumer Name of the publisher.
+     * @return Connection pool, or null if the publisher is not attached or has not used the transport yet.
+     */
+    PoolingNHttpClientConnectionManager getConnectionManager(String consumer);
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warm-up of the lookup caches after a restart.
+ * While the adapter runs, the lookups of each key are counted, and when it stops the most looked up keys are
+ * written to a file. When the adapter starts again they are read back and loaded in the background at a fixed rate
+ * after an initial delay, so the warm-up does not compete with the server startup and the first events of the
+ * busiest tenants find their lookups cached. At most {@code maxKeys} keys are written and ten times as many are
+ * counted; keys first seen once that many are counted are not counted.
+ */
+public class CacheWarmUp {
+
+    private static final Log LOG = LogFactory.getLog(CacheWarmUp.class);
+    private static final int COUNTED_KEYS_FACTOR = 10;
+
+    private final Path file;
+    private final int maxKeys;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<List<String>, LongAdder> lookupCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger warmedUpKeys = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Create a cache warm-up.
+     *
+     * @param threadName Name of the thread loading the keys.
+     * @param file       File the most looked up keys are written to and read from.
+     * @param maxKeys    Maximum number of keys written.
+     */
+    public CacheWarmUp(String threadName, Path file, int maxKeys) {
+
+        this.file = file;
+        this.maxKeys = maxKeys;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Count a lookup of a key.
+     *
+     * @param key Lookup key.
+     */
+    public void record(List<String> key) {
+
+        LongAdder count = lookupCounts.get(key);
+        if (count == null) {
+            if (lookupCounts.size() >= maxKeys * COUNTED_KEYS_FACTOR) {
+                return;
+            }
+            count = lookupCounts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * Load the keys written when the adapter last stopped.
+     *
+     * @param delayMillis   Time in milliseconds before the first key is loaded.
+     * @param keysPerSecond Number of keys loaded per second.
+     * @param warmer        Loader of a key into its cache.
+     */
+    public void start(long delayMillis, int keysPerSecond, Warmer warmer) {
+
+        List<List<String>> keys = readKeys();
+        if (keys.isEmpty()) {
+            return;
+        }
+        LOG.debug("Warming up the lookup caches with " + keys.size() + " keys from: " + file);
+        Iterator<List<String>> pendingKeys = keys.iterator();
+        long intervalMillis = Math.max(1L, TimeUnit.SECONDS.toMillis(1) / Math.max(1, keysPerSecond));
+        scheduler.scheduleWithFixedDelay(() -> {
+            if (!pendingKeys.hasNext()) {
+                scheduler.shutdown();
+                LOG.debug("Warmed up the lookup caches with " + warmedUpKeys.get() + " keys.");
+                return;
+            }
+            List<String> key = pendingKeys.next();
+            try {
+                warmer.warm(key);
+                warmedUpKeys.incrementAndGet();
+            } catch (Exception e) {
+                LOG.debug("Error while warming up the lookup of key: " + key, e);
+            }
+        }, delayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the warm-up and write the most looked up keys. The file is kept as it is if no key was looked up.
+     */
+    public void stop() {
+
+        scheduler.shutdownNow();
+        if (lookupCounts.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<List<String>, Long>> counts = new ArrayList<>();
+        for (Map.Entry<List<String>, LongAdder> entry : lookupCounts.entrySet()) {
+            counts.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        counts.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+        List<List<String>> keys = new ArrayList<>();
+        for (Map.Entry<List<String>, Long> count : counts) {
+            if (keys.size() >= maxKeys) {
+                break;
+            }
+            keys.add(count.getKey());
+        }
+        writeKeys(keys);
+    }
+
+    /**
+     * Get the number of keys loaded by the warm-up.
+     *
+     * @return Number of warmed up keys.
+     */
+    public int getWarmedUpKeyCount() {
+
+        return warmedUpKeys.get();
+    }
+
+    private List<List<String>> readKeys() {
+
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        try {
+            List<List<String>> keys = mapper.readValue(file.toFile(), new TypeReference<List<List<String>>>() { });
+            return keys != null ? keys : Collections.emptyList();
+        } catch (IOException e) {
+            LOG.warn("Error while reading the cache warm-up keys from: " + file, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private void writeKeys(List<List<String>> keys) {
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            mapper.writeValue(tempFile.toFile(), keys);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Error while writing the cache warm-up keys to: " + file, e);
+        }
+    }
+
+    /**
+     * Loader of a warm-up key into its cache.
+     */
+    @FunctionalInterface
+    public interface Warmer {
+
+        /**
+         * Load a key into its cache.
+         *
+         * @param key Lookup key.
+         * @throws Exception If the lookup fails.
+         */
+        void warm(List<String> key) throws Exception;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the lookups made to the management services when deciding whether an event is handled.
+ * Concurrent lookups of a key are coalesced, so only one lookup per key is in flight and the other callers wait
+ * for its result instead of hitting the management service at once when its own cache entry expires. With a time
+ * to live, results are also cached, and a key read within the refresh-ahead window before it expires is reloaded
+ * in the background while the cached result keeps being served. Failed lookups are not cached; callers waiting on
+ * a failed lookup get its failure, and a caller that waits longer than the maximum wait runs the lookup
+ * itself. At most {@code maxEntries} keys are cached; the one closest to expiry is dropped to make room.
+ * Keys whose source changed are dropped with {@link #invalidate(Object)} or {@link #invalidateAll()}, so results
+ * of lookups already in flight at that time are not cached.
+ *
+ * @param <K> Type of the lookup keys.
+ * @param <V> Type of the lookup results.
+ */
+public class LookupCache<K, V> {
+
+    /**
+     * Default maximum time in milliseconds a lookup waits for the one in flight for its key.
+     */
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 5000L;
+
+    private static final Log LOG = LogFactory.getLog(LookupCache.class);
+
+    private final Map<K, CacheEntry<V>> cache = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ExecutorService refreshExecutor;
+    private final Runnable coalescedListener;
+    private final long maxWaitMillis;
+    private volatile long ttlMillis;
+    private volatile long refreshAheadMillis;
+    private volatile int maxEntries;
+
+    /**
+     * Create a lookup cache.
+     *
+     * @param threadName         Name of the thread running the background refreshes.
+     * @param ttlMillis          Time in milliseconds results are cached, 0 or less to only coalesce lookups.
+     * @param refreshAheadMillis Time in milliseconds before expiry from which a read key is refreshed.
+     * @param maxEntries         Maximum number of cached keys.
+     * @param coalescedListener  Listener called when a lookup waits for the one in flight for its key.
+     */
+    public LookupCache(String threadName, long ttlMillis, long refreshAheadMillis, int maxEntries,
+                       Runnable coalescedListener) {
+
+        this(threadName, ttlMillis, refreshAheadMillis, maxEntries, coalescedListener, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Create a lookup cache.
+     *
+     * @param threadName         Name of the thread running the background refreshes.
+     * @param ttlMillis          Time in milliseconds results are cached, 0 or less to only coalesce lookups.
+     * @param refreshAheadMillis Time in milliseconds before expiry from which a read key is refreshed.
+     * @param maxEntries         Maximum number of cached keys.
+     * @param coalescedListener  Listener called when a lookup waits for the one in flight for its key.
+     * @param maxWaitMillis      Maximum time in milliseconds a lookup waits for the one in flight for its key.
+     */
+    public LookupCache(String threadName, long ttlMillis, long refreshAheadMillis, int maxEntries,
+                       Runnable coalescedListener, long maxWaitMillis) {
+
+        this.coalescedListener = coalescedListener;
+        this.maxWaitMillis = maxWaitMillis;
+        this.ttlMillis = ttlMillis;
+        this.refreshAheadMillis = refreshAheadMillis;
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the result of a lookup, loading it on the calling thread if it is neither cached nor in flight.
+     *
+     * @param key          Lookup key.
+     * @param tenantDomain Tenant domain the background refresh of the key runs in.
+     * @param loader       Lookup to run when the result is not cached.
+     * @param <E>          Type of the exception thrown by the lookup.
+     * @return Lookup result.
+     * @throws E If the lookup fails.
+     */
+    public <E extends Exception> V get(K key, String tenantDomain, Loader<V, E> loader) throws E {
+
+        long now = System.currentTimeMillis();
+        CacheEntry<V> entry = cache.get(key);
+        if (entry == null || now >= entry.expiryTime) {
+            return load(key, loader);
+        }
+        if (now >= entry.expiryTime - refreshAheadMillis) {
+            refreshInBackground(key, entry, tenantDomain, loader);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Change the caching settings. Cached results are dropped.
+     *
+     * @param ttlMillis          Time in milliseconds results are cached, 0 or less to only coalesce lookups.
+     * @param refreshAheadMillis Time in milliseconds before expiry from which a read key is refreshed.
+     * @param maxEntries         Maximum number of cached keys.
+     */
+    public void reconfigure(long ttlMillis, long refreshAheadMillis, int maxEntries) {
+
+        this.ttlMillis = ttlMillis;
+        this.refreshAheadMillis = refreshAheadMillis;
+        this.maxEntries = maxEntries;
+        cache.clear();
+    }
+
+    /**
+     * Drop the cached result of a key, so the next read loads it again.
+     *
+     * @param key Lookup key.
+     */
+    public void invalidate(K key) {
+
+        invalidations.incrementAndGet();
+        inFlight.remove(key);
+        cache.remove(key);
+    }
+
+    /**
+     * Drop all cached results, so the next read of every key loads it again.
+     */
+    public void invalidateAll() {
+
+        invalidations.incrementAndGet();
+        inFlight.clear();
+        cache.clear();
+    }
+
+    /**
+     * Stop the background refreshes and drop the cached results.
+     */
+    public void stop() {
+
+        refreshExecutor.shutdownNow();
+        cache.clear();
+    }
+
+    /**
+     * Get the number of cached keys.
+     *
+     * @return Number of cached keys.
+     */
+    public int size() {
+
+        return cache.size();
+    }
+
+    private <E extends Exception> V load(K key, Loader<V, E> loader) throws E {
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalescedListener.run();
+            return await(existing, loader);
+        }
+        long invalidation = invalidations.get();
+        try {
+            V value = loader.load();
+            put(key, value, invalidation);
+            pending.complete(value);
+            return value;
+        } catch (Throwable e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V await(CompletableFuture<V> pending, Loader<V, E> loader) throws E {
+
+        try {
+            return pending.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.load();
+        } catch (TimeoutException e) {
+            // A stalled lookup must not hold up every caller of its key, so this caller looks the key up itself.
+            LOG.debug("Timed out waiting for the lookup in flight. Loading the key directly.");
+            return loader.load();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw (E) cause;
+        }
+    }
+
+    private <E extends Exception> void refreshInBackground(K key, CacheEntry<V> entry, String tenantDomain,
+                                                           Loader<V, E> loader) {
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, pending) != null) {
+            return;
+        }
+        long invalidation = invalidations.get();
+        try {
+            refreshExecutor.execute(() -> {
+                CallbackContext refreshContext = new CallbackContext(tenantDomain, null);
+                refreshContext.attach();
+                refreshContext.startTenantFlow();
+                try {
+                    V value = loader.load();
+                    put(key, value, invalidation);
+                    pending.complete(value);
+                } catch (Exception e) {
+                    // The cached result stays in use until the key is loaded on a calling thread.
+                    LOG.debug("Error while refreshing the cached lookup of key: " + key, e);
+                    pending.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, pending);
+                    refreshContext.detach();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, pending);
+            pending.complete(entry.value);
+            LOG.debug("Lookup refresh rejected for key: " + key, e);
+        }
+    }
+
+    private void put(K key, V value, long invalidation) {
+
+        long ttl = ttlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+        if (!cache.containsKey(key) && cache.size() >= maxEntries) {
+            K eldest = null;
+            long eldestTime = Long.MAX_VALUE;
+            for (Map.Entry<K, CacheEntry<V>> cached : cache.entrySet()) {
+                if (cached.getValue().expiryTime < eldestTime) {
+                    eldest = cached.getKey();
+                    eldestTime = cached.getValue().expiryTime;
+                }
+            }
+            if (eldest != null) {
+                cache.remove(eldest);
+            }
+        }
+        CacheEntry<V> entry = new CacheEntry<>(value, System.currentTimeMillis() + ttl);
+        cache.put(key, entry);
+        if (invalidations.get() != invalidation) {
+            // The key was invalidated while it was being loaded, so the loaded result may already be stale.
+            cache.remove(key, entry);
+        }
+    }
+
+    /**
+     * Lookup run on a cache miss.
+     *
+     * @param <V> Type of the lookup result.
+     * @param <E> Type of the exception thrown by the lookup.
+     */
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+
+        /**
+         * Run the lookup.
+         *
+         * @return Lookup result.
+         * @throws E If the lookup fails.
+         */
+        V load() throws E;
+    }
+
+    private static final class CacheEntry<V> {
+
+        private final V value;
+        private final long expiryTime;
+
+        private CacheEntry(V value, long expiryTime) {
+
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.client;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Lifecycle policy of the pooled connections of the adapter clients.
+ * A connection is kept alive for the timeout announced in the {@code Keep-Alive} header of the last response, or
+ * {@code connectionKeepAlive} seconds when none is announced, and lives at most {@code connectionTimeToLive}
+ * seconds. Every {@code connectionEvictionInterval} seconds a background evictor closes connections that expired
+ * or were idle for longer than {@code connectionIdleTimeout} seconds, so connections half-closed by load balancers
+ * are dropped before a delivery picks them up. Connections idle for longer than
+ * {@code connectionValidateAfterInactivity} milliseconds are validated before they are reused where the transport
+ * supports it.
+ */
+public class ConnectionLifecycleManager implements ConnectionKeepAliveStrategy {
+
+    private static final Log LOG = LogFactory.getLog(ConnectionLifecycleManager.class);
+    private static final String KEEP_ALIVE_TIMEOUT = "timeout";
+
+    private final String threadName;
+    private final IntConsumer evictionListener;
+    private volatile long timeToLiveMillis;
+    private volatile int validateAfterInactivityMillis;
+    private volatile long keepAliveMillis;
+    private volatile long idleTimeoutMillis;
+    private ScheduledExecutorService scheduler;
+    private LongToIntFunction evictor;
+    private int evictionIntervalSeconds;
+
+    /**
+     * Create the lifecycle policy of the given settings.
+     *
+     * @param threadName       Name of the thread evicting the connections.
+     * @param settings         Connection settings of the adapter.
+     * @param evictionListener Listener called with the number of connections closed by each eviction.
+     */
+    public ConnectionLifecycleManager(String threadName, ConnectionSettings settings,
+                                      IntConsumer evictionListener) {
+
+        this.threadName = threadName;
+        this.evictionListener = evictionListener;
+        apply(settings);
+        evictionIntervalSeconds = settings.getConnectionEvictionInterval();
+    }
+
+    /**
+     * Get the maximum lifetime of a pooled connection.
+     *
+     * @return Time to live in milliseconds, or -1 if connections do not expire.
+     */
+    public long getTimeToLiveMillis() {
+
+        return timeToLiveMillis;
+    }
+
+    /**
+     * Get the inactivity after which a pooled connection is validated before it is reused.
+     *
+     * @return Inactivity in milliseconds.
+     */
+    public int getValidateAfterInactivityMillis() {
+
+        return validateAfterInactivityMillis;
+    }
+
+    /**
+     * Start evicting idle and expired connections.
+     *
+     * @param evictor Function closing the connections idle for longer than the given milliseconds, and the expired
+     *                ones, and returning the number of connections closed.
+     */
+    public synchronized void start(LongToIntFunction evictor) {
+
+        this.evictor = evictor;
+        schedule();
+    }
+
+    /**
+     * Stop evicting connections.
+     */
+    public synchronized void stop() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        evictor = null;
+    }
+
+    /**
+     * Apply changed connection settings. The time to live and the validation after inactivity only apply to
+     * clients created after the change.
+     *
+     * @param settings Connection settings of the adapter.
+     */
+    public synchronized void reconfigure(ConnectionSettings settings) {
+
+        apply(settings);
+        if (settings.getConnectionEvictionInterval() != evictionIntervalSeconds) {
+            evictionIntervalSeconds = settings.getConnectionEvictionInterval();
+            if (evictor != null) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Close the idle and expired connections now.
+     *
+     * @return Number of connections closed.
+     */
+    public int evict() {
+
+        LongToIntFunction currentEvictor;
+        synchronized (this) {
+            currentEvictor = evictor;
+        }
+        if (currentEvictor == null) {
+            return 0;
+        }
+        int evicted = currentEvictor.applyAsInt(idleTimeoutMillis);
+        if (evicted > 0) {
+            evictionListener.accept(evicted);
+            LOG.debug("Closed " + evicted + " idle or expired connections.");
+        }
+        return evicted;
+    }
+
+    @Override
+    public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+
+        Header header = response.getFirstHeader(HTTP.CONN_KEEP_ALIVE);
+        return getKeepAliveMillis(header != null ? header.getValue() : null);
+    }
+
+    /**
+     * Get the keep-alive duration of a connection from the {@code Keep-Alive} header of its last response.
+     *
+     * @param keepAliveHeader Value of the {@code Keep-Alive} header, or null if the response has none.
+     * @return Keep-alive duration in milliseconds.
+     */
+    public long getKeepAliveMillis(String keepAliveHeader) {
+
+        if (keepAliveHeader != null) {
+            for (String element : keepAliveHeader.split(",")) {
+                String[] parameter = element.trim().split("=", 2);
+                if (parameter.length == 2 && KEEP_ALIVE_TIMEOUT.equalsIgnoreCase(parameter[0].trim())) {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(parameter[1].trim()));
+                    } catch (NumberFormatException e) {
+                        LOG.debug("Ignoring invalid Keep-Alive timeout: " + keepAliveHeader);
+                    }
+                }
+            }
+        }
+        return keepAliveMillis;
+    }
+
+    /**
+     * Check whether a request failed because the pooled connection it was sent on had already been closed by the
+     * peer, rather than because the endpoint could not be reached.
+     *
+     * @param throwable Failure of the request.
+     * @return true if the failure is caused by a stale connection.
+     */
+    public static boolean isStaleConnectionFailure(Throwable throwable) {
+
+        return throwable instanceof NoHttpResponseException || throwable instanceof ConnectionClosedException ||
+                (throwable instanceof SocketException && !(throwable instanceof ConnectException));
+    }
+
+    private void apply(ConnectionSettings settings) {
+
+        timeToLiveMillis = settings.getConnectionTimeToLive() > 0 ?
+                TimeUnit.SECONDS.toMillis(settings.getConnectionTimeToLive()) : -1L;
+        validateAfterInactivityMillis = settings.getConnectionValidateAfterInactivity();
+        keepAliveMillis = TimeUnit.SECONDS.toMillis(settings.getConnectionKeepAlive());
+        idleTimeoutMillis = TimeUnit.SECONDS.toMillis(settings.getConnectionIdleTimeout());
+    }
+
+    private void schedule() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (evictionIntervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                evict();
+            } catch (RuntimeException e) {
+                LOG.error("Error while evicting idle connections in: " + threadName, e);
+            }
+        }, evictionIntervalSeconds, evictionIntervalSeconds, TimeUnit.SECONDS);
+    }
+}
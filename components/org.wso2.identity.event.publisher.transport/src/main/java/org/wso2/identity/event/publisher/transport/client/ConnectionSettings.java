@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.identity.event.publisher.transport.client;
+
+/**
+ * Connection lifecycle settings of an adapter, read by the {@link ConnectionLifecycleManager}.
+ */
+public interface ConnectionSettings {
+
+    /**
+     * Get the time a pooled connection may stay idle before it is evicted.
+     *
+     * @return Idle timeout in seconds.
+     */
+    int getConnectionIdleTimeout();
+
+    /**
+     * Get the maximum lifetime of a pooled connection.
+     *
+     * @return Time to live in seconds, 0 or less if connections do not expire.
+     */
+    int getConnectionTimeToLive();
+
+    /**
+     * Get the interval of the background eviction of idle and expired connections.
+     *
+     * @return Eviction interval in seconds, 0 or less to disable the eviction.
+     */
+    int getConnectionEvictionInterval();
+
+    /**
+     * Get the inactivity after which a pooled connection is validated before it is reused.
+     *
+     * @return Inactivity in milliseconds.
+     */
+    int getConnectionValidateAfterInactivity();
+
+    /**
+     * Get the keep-alive duration of connections whose responses announce none.
+     *
+     * @return Keep-alive duration in seconds.
+     */
+    int getConnectionKeepAlive();
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.client;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.DnsResolver;
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.reactor.IOReactorStatus;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.net.ssl.SSLContext;
+
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+
+/**
+ * HTTP/2 capable async transport used by the {@link ClientManager} when {@code http2Enabled} is configured.
+ * Built on HttpClient 5 since the JDK HTTP client is not available on the Java 8 baseline. TLS endpoints negotiate
+ * the protocol through ALPN and fall back to HTTP/1.1 when the receiver does not offer h2, plain text endpoints are
+ * served over HTTP/1.1. Negotiated HTTP/2 connections are shared between concurrent requests, so all deliveries to
+ * an endpoint are multiplexed over a single connection instead of being capped by the per route connection limit.
+ * Requests and responses are adapted to and from the HttpClient 4 types used by the publishers.
+ */
+public class HTTP2TransportClient {
+
+    private static final Log LOG = LogFactory.getLog(HTTP2TransportClient.class);
+    private static final int IO_THREAD_COUNT = 5;
+    // Connection specific headers are not allowed in HTTP/2 and are managed by the transport for HTTP/1.1.
+    private static final Set<String> CONNECTION_HEADERS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "host",
+            "content-length", "te")));
+
+    private final PoolingAsyncClientConnectionManager connectionManager;
+    private final CloseableHttpAsyncClient httpAsyncClient;
+
+    /**
+     * Create and start the transport.
+     *
+     * @param sslContext               SSL context used for TLS connections.
+     * @param connectTimeout           Connect timeout in milliseconds.
+     * @param readTimeout              Socket and response timeout in milliseconds.
+     * @param connectionRequestTimeout Timeout in milliseconds to lease a connection from the pool.
+     * @param maxConnections           Maximum number of connections.
+     * @param maxConnectionsPerRoute   Maximum number of connections per route, only used by HTTP/1.1 routes.
+     */
+    public HTTP2TransportClient(SSLContext sslContext, int connectTimeout, int readTimeout,
+                                int connectionRequestTimeout, int maxConnections, int maxConnectionsPerRoute) {
+
+        this(sslContext, connectTimeout, readTimeout, connectionRequestTimeout, maxConnections, maxConnectionsPerRoute,
+                null);
+    }
+
+    /**
+     * Create and start the transport with the given connection lifecycle policy.
+     *
+     * @param sslContext                 SSL context used for TLS connections.
+     * @param connectTimeout             Connect timeout in milliseconds.
+     * @param readTimeout                Socket and response timeout in milliseconds.
+     * @param connectionRequestTimeout   Timeout in milliseconds to lease a connection from the pool.
+     * @param maxConnections             Maximum number of connections.
+     * @param maxConnectionsPerRoute     Maximum number of connections per route, only used by HTTP/1.1 routes.
+     * @param connectionLifecycleManager Time to live, validation and keep-alive policy of the connections, or null
+     *                                   for the HttpClient defaults.
+     */
+    public HTTP2TransportClient(SSLContext sslContext, int connectTimeout, int readTimeout,
+                                int connectionRequestTimeout, int maxConnections, int maxConnectionsPerRoute,
+                                ConnectionLifecycleManager connectionLifecycleManager) {
+
+        this(sslContext, connectTimeout, readTimeout, connectionRequestTimeout, maxConnections, maxConnectionsPerRoute,
+                connectionLifecycleManager, null);
+    }
+
+    /**
+     * Create and start the transport with the given connection lifecycle policy and DNS resolver.
+     *
+     * @param sslContext                 SSL context used for TLS connections.
+     * @param connectTimeout             Connect timeout in milliseconds.
+     * @param readTimeout                Socket and response timeout in milliseconds.
+     * @param connectionRequestTimeout   Timeout in milliseconds to lease a connection from the pool.
+     * @param maxConnections             Maximum number of connections.
+     * @param maxConnectionsPerRoute     Maximum number of connections per route, only used by HTTP/1.1 routes.
+     * @param connectionLifecycleManager Time to live, validation and keep-alive policy of the connections, or null
+     *                                   for the HttpClient defaults.
+     * @param dnsResolver                Resolver of the endpoint hosts, or null for the system resolver.
+     */
+    public HTTP2TransportClient(SSLContext sslContext, int connectTimeout, int readTimeout,
+                                int connectionRequestTimeout, int maxConnections, int maxConnectionsPerRoute,
+                                ConnectionLifecycleManager connectionLifecycleManager,
+                                org.apache.http.conn.DnsResolver dnsResolver) {
+
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeout));
+        if (connectionLifecycleManager != null) {
+            connectionConfig.setTimeToLive(TimeValue.ofMilliseconds(connectionLifecycleManager.getTimeToLiveMillis()))
+                    .setValidateAfterInactivity(TimeValue.ofMilliseconds(
+                            connectionLifecycleManager.getValidateAfterInactivityMillis()));
+        }
+        connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setTlsStrategy(ClientTlsStrategyBuilder.create().setSslContext(sslContext).buildAsync())
+                .setDefaultTlsConfig(TlsConfig.custom()
+                        .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                        .setHandshakeTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .build())
+                .setDefaultConnectionConfig(connectionConfig.build())
+                .setMessageMultiplexing(true)
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDnsResolver(dnsResolver != null ? new DnsResolverAdapter(dnsResolver) : null)
+                .build();
+
+        HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setVersionPolicy(HttpVersionPolicy.NEGOTIATE)
+                .setH2Config(H2Config.custom().setPushEnabled(false).build())
+                .setIOReactorConfig(IOReactorConfig.custom()
+                        .setIoThreadCount(IO_THREAD_COUNT)
+                        .setSoTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .setDefaultRequestConfig(org.apache.hc.client5.http.config.RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setRedirectsEnabled(false)
+                        .build())
+                .disableAutomaticRetries()
+                .disableCookieManagement()
+                .disableConnectionState();
+        if (connectionLifecycleManager != null) {
+            httpAsyncClientBuilder.setKeepAliveStrategy((response, context) -> {
+                org.apache.hc.core5.http.Header header = response.getFirstHeader(HTTP.CONN_KEEP_ALIVE);
+                return TimeValue.ofMilliseconds(
+                        connectionLifecycleManager.getKeepAliveMillis(header != null ? header.getValue() : null));
+            });
+        }
+        httpAsyncClient = httpAsyncClientBuilder.build();
+        httpAsyncClient.start();
+        LOG.debug("HTTP/2 transport started with config: connectTimeout=" + connectTimeout +
+                ", connectionRequestTimeout=" + connectionRequestTimeout + ", socketTimeout=" + readTimeout +
+                ", maxConnections=" + maxConnections + ", maxConnectionsPerRoute=" + maxConnectionsPerRoute);
+    }
+
+    /**
+     * Execute an HTTP POST request over the HTTP/2 transport.
+     *
+     * @param httpPost HTTP POST request.
+     * @param callback Callback notified with the adapted response.
+     */
+    public void execute(HttpPost httpPost, FutureCallback<HttpResponse> callback) {
+
+        SimpleHttpRequest request;
+        try {
+            request = toSimpleRequest(httpPost);
+        } catch (IOException e) {
+            callback.failed(e);
+            return;
+        }
+        if (httpAsyncClient.getStatus() != IOReactorStatus.ACTIVE) {
+            LOG.debug("HTTP/2 transport is not running, starting client");
+            httpAsyncClient.start();
+        }
+        httpAsyncClient.execute(request, new org.apache.hc.core5.concurrent.FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse result) {
+
+                callback.completed(toHttpResponse(result));
+            }
+
+            @Override
+            public void failed(Exception ex) {
+
+                callback.failed(ex);
+            }
+
+            @Override
+            public void cancelled() {
+
+                callback.cancelled();
+            }
+        });
+    }
+
+    /**
+     * Send a HEAD request to an endpoint over the HTTP/2 transport, without a body.
+     *
+     * @param uri      Endpoint URI.
+     * @param callback Callback notified with the adapted response.
+     */
+    public void probe(URI uri, FutureCallback<HttpResponse> callback) {
+
+        if (httpAsyncClient.getStatus() != IOReactorStatus.ACTIVE) {
+            httpAsyncClient.start();
+        }
+        httpAsyncClient.execute(SimpleRequestBuilder.head(uri).build(),
+                new org.apache.hc.core5.concurrent.FutureCallback<SimpleHttpResponse>() {
+                    @Override
+                    public void completed(SimpleHttpResponse result) {
+
+                        callback.completed(toHttpResponse(result));
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+
+                        callback.failed(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+
+                        callback.cancelled();
+                    }
+                });
+    }
+
+    /**
+     * Close expired connections and connections idle for longer than the given time.
+     *
+     * @param idleTimeoutMillis Idle time in milliseconds after which a connection is closed.
+     * @return Number of connections closed.
+     */
+    public int closeIdleConnections(long idleTimeoutMillis) {
+
+        int available = connectionManager.getTotalStats().getAvailable();
+        connectionManager.closeExpired();
+        connectionManager.closeIdle(TimeValue.ofMilliseconds(idleTimeoutMillis));
+        return Math.max(0, available - connectionManager.getTotalStats().getAvailable());
+    }
+
+    /**
+     * Close the transport and release its connections.
+     */
+    public void close() {
+
+        httpAsyncClient.close(CloseMode.GRACEFUL);
+    }
+
+    /**
+     * Close the transport once requests that are already in flight had time to complete. The transport must no
+     * longer receive new requests.
+     *
+     * @param drainTimeoutMillis Time in milliseconds to wait before closing.
+     */
+    public void closeAfter(long drainTimeoutMillis) {
+
+        Thread drainer = new Thread(() -> {
+            try {
+                Thread.sleep(drainTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            close();
+            LOG.debug("Closed the replaced HTTP/2 transport.");
+        }, "http2-transport-drainer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    static SimpleHttpRequest toSimpleRequest(HttpPost httpPost) throws IOException {
+
+        SimpleRequestBuilder builder = SimpleRequestBuilder.post(httpPost.getURI());
+        for (Header header : httpPost.getAllHeaders()) {
+            if (!CONNECTION_HEADERS.contains(header.getName().toLowerCase(Locale.ENGLISH))) {
+                builder.addHeader(header.getName(), header.getValue());
+            }
+        }
+        HttpEntity entity = httpPost.getEntity();
+        if (entity != null) {
+            Header contentType = httpPost.getFirstHeader(CONTENT_TYPE);
+            if (contentType == null) {
+                contentType = entity.getContentType();
+            }
+            builder.setBody(EntityUtils.toByteArray(entity), contentType != null ?
+                    org.apache.hc.core5.http.ContentType.parseLenient(contentType.getValue()) : null);
+        }
+        return builder.build();
+    }
+
+    static HttpResponse toHttpResponse(SimpleHttpResponse result) {
+
+        org.apache.hc.core5.http.ProtocolVersion version = result.getVersion();
+        BasicHttpResponse response = new BasicHttpResponse(
+                version != null ? new ProtocolVersion(version.getProtocol(), version.getMajor(),
+                        version.getMinor()) : HttpVersion.HTTP_1_1,
+                result.getCode(), result.getReasonPhrase());
+        for (org.apache.hc.core5.http.Header header : result.getHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        byte[] body = result.getBodyBytes();
+        if (body != null) {
+            ByteArrayEntity entity = new ByteArrayEntity(body);
+            if (result.getContentType() != null) {
+                entity.setContentType(result.getContentType().toString());
+            }
+            response.setEntity(entity);
+        }
+        return response;
+    }
+
+    /**
+     * Exposes an HttpClient 4 {@link org.apache.http.conn.DnsResolver} to the HttpClient 5 connection manager, so
+     * both transports share the same resolved addresses.
+     */
+    private static final class DnsResolverAdapter implements DnsResolver {
+
+        private final org.apache.http.conn.DnsResolver delegate;
+
+        private DnsResolverAdapter(org.apache.http.conn.DnsResolver delegate) {
+
+            this.delegate = delegate;
+        }
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+
+            return delegate.resolve(host);
+        }
+
+        @Override
+        public String resolveCanonicalHostname(String host) throws UnknownHostException {
+
+            return SystemDefaultDnsResolver.INSTANCE.resolveCanonicalHostname(host);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.deadletter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An event delivery that failed after all its retries and was kept in the dead-letter store.
+ * The request body is kept in the store and only read when the entry is replayed.
+ */
+public class DeadLetterEntry {
+
+    private final String id;
+    private final String tenantDomain;
+    private final String endpoint;
+    private final String eventProfileName;
+    private final String eventProfileVersion;
+    private final String eventUri;
+    private final long createdTime;
+    private final String lastError;
+    private final Map<String, String> headers;
+
+    public DeadLetterEntry(String id, String tenantDomain, String endpoint, String eventProfileName,
+                           String eventProfileVersion, String eventUri, long createdTime, String lastError,
+                           Map<String, String> headers) {
+
+        this.id = id;
+        this.tenantDomain = tenantDomain;
+        this.endpoint = endpoint;
+        this.eventProfileName = eventProfileName;
+        this.eventProfileVersion = eventProfileVersion;
+        this.eventUri = eventUri;
+        this.createdTime = createdTime;
+        this.lastError = lastError;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+    }
+
+    /**
+     * Get the ID of the entry. IDs sort in the order the entries were created.
+     *
+     * @return Entry ID.
+     */
+    public String getId() {
+
+        return id;
+    }
+
+    /**
+     * Get the tenant domain of the event.
+     *
+     * @return Tenant domain.
+     */
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+
+    /**
+     * Get the endpoint the event was delivered to.
+     *
+     * @return Endpoint URL, or the hub publish URL of the topic for events published to a WebSubHub.
+     */
+    public String getEndpoint() {
+
+        return endpoint;
+    }
+
+    /**
+     * Get the name of the event profile of the event.
+     *
+     * @return Event profile name, or null if it was not recorded.
+     */
+    public String getEventProfileName() {
+
+        return eventProfileName;
+    }
+
+    /**
+     * Get the version of the event profile of the event.
+     *
+     * @return Event profile version, or null if it was not recorded.
+     */
+    public String getEventProfileVersion() {
+
+        return eventProfileVersion;
+    }
+
+    /**
+     * Get the URI of the event.
+     *
+     * @return Event URI.
+     */
+    public String getEventUri() {
+
+        return eventUri;
+    }
+
+    /**
+     * Get the time the delivery was given up.
+     *
+     * @return Creation time in milliseconds since the epoch.
+     */
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+
+    /**
+     * Get the error of the last delivery attempt.
+     *
+     * @return Status line or exception message of the last attempt.
+     */
+    public String getLastError() {
+
+        return lastError;
+    }
+
+    /**
+     * Get the headers of the request.
+     *
+     * @return Request headers.
+     */
+    public Map<String, String> getHeaders() {
+
+        return headers;
+    }
+}
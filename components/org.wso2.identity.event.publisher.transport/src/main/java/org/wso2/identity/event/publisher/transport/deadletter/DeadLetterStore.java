@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.deadletter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * File backed store of the event deliveries that failed after all their retries.
+ * Every entry is a JSON file in a directory per tenant, holding the request body, headers and the last error.
+ * The entries without their bodies are indexed in memory by tenant and creation time, so listing and selecting
+ * entries for a replay do not read the files.
+ */
+public class DeadLetterStore {
+
+    private static final Log LOG = LogFactory.getLog(DeadLetterStore.class);
+    private static final String FILE_EXTENSION = ".json";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final long MAX_TIME_KEY = 9999999999999L;
+    // Sorts after every ID of the same creation time, which continue with a '-'.
+    private static final String TIME_KEY_UPPER_BOUND_SUFFIX = "~";
+    private final Path directory;
+    private final int maxEntries;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConcurrentMap<String, ConcurrentSkipListMap<String, DeadLetterEntry>> entriesByTenant =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public DeadLetterStore(Path directory, int maxEntries) {
+
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Create the store directory if needed and index the entries already in it.
+     *
+     * @throws IOException If the store directory cannot be read.
+     */
+    public void load() throws IOException {
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> tenantDirectories = Files.newDirectoryStream(directory)) {
+            for (Path tenantDirectory : tenantDirectories) {
+                if (Files.isDirectory(tenantDirectory)) {
+                    loadTenant(tenantDirectory);
+                }
+            }
+        }
+        if (size.get() > 0) {
+            LOG.info("Loaded " + size.get() + " entries of the dead-letter store from: " + directory);
+        }
+    }
+
+    private void loadTenant(Path tenantDirectory) throws IOException {
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tenantDirectory, "*" + FILE_EXTENSION)) {
+            for (Path file : files) {
+                try {
+                    index(toEntry(mapper.readValue(file.toFile(), DeadLetterRecord.class)));
+                } catch (IOException e) {
+                    LOG.warn("Skipping unreadable dead-letter entry: " + file, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a failed delivery to the store.
+     *
+     * @param eventContext Context of the event.
+     * @param request      Request of the last delivery attempt.
+     * @param lastError    Error of the last delivery attempt.
+     * @return The stored entry, or null if the store is full.
+     * @throws IOException If the entry cannot be written.
+     */
+    public DeadLetterEntry add(EventContext eventContext, HttpPost request, String lastError) throws IOException {
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : request.getAllHeaders()) {
+            // Framing headers are set again when the request is resent.
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getName()) &&
+                    !HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(header.getName()) &&
+                    !HttpHeaders.HOST.equalsIgnoreCase(header.getName())) {
+                headers.put(header.getName(), header.getValue());
+            }
+        }
+        HttpEntity entity = request.getEntity();
+        byte[] body = entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+        return add(eventContext.getTenantDomain(), request.getURI().toString(), eventContext.getEventProfileName(),
+                eventContext.getEventProfileVersion(), eventContext.getEventUri(), headers, body, lastError);
+    }
+
+    /**
+     * Add a failed delivery to the store.
+     *
+     * @param tenantDomain Tenant domain of the event.
+     * @param endpoint     Endpoint URL.
+     * @param eventUri     URI of the event.
+     * @param headers      Request headers.
+     * @param body         Request body, as sent.
+     * @param lastError    Error of the last delivery attempt.
+     * @return The stored entry, or null if the store is full.
+     * @throws IOException If the entry cannot be written.
+     */
+    public DeadLetterEntry add(String tenantDomain, String endpoint, String eventUri, Map<String, String> headers,
+                               byte[] body, String lastError) throws IOException {
+
+        return add(tenantDomain, endpoint, null, null, eventUri, headers, body, lastError);
+    }
+
+    /**
+     * Replace an entry with one that records the error of its latest replay. A full store keeps the old entry.
+     *
+     * @param entry     Dead-letter entry.
+     * @param body      Request body of the entry.
+     * @param lastError Error of the last replay attempt.
+     * @return The stored entry, or null if the store is full.
+     * @throws IOException If the entry cannot be written or the old one cannot be deleted.
+     */
+    public DeadLetterEntry replace(DeadLetterEntry entry, byte[] body, String lastError) throws IOException {
+
+        DeadLetterEntry replacement = add(entry.getTenantDomain(), entry.getEndpoint(), entry.getEventProfileName(),
+                entry.getEventProfileVersion(), entry.getEventUri(), entry.getHeaders(), body, lastError);
+        if (replacement != null) {
+            remove(entry);
+        }
+        return replacement;
+    }
+
+    private DeadLetterEntry add(String tenantDomain, String endpoint, String eventProfileName,
+                                String eventProfileVersion, String eventUri, Map<String, String> headers,
+                                byte[] body, String lastError) throws IOException {
+
+        if (size.incrementAndGet() > maxEntries) {
+            size.decrementAndGet();
+            LOG.warn("Dead-letter store " + directory + " is full with " + maxEntries + " entries. Discarding the " +
+                    "event " + eventUri + " of tenant: " + tenantDomain + " to endpoint: " + endpoint);
+            return null;
+        }
+        long createdTime = System.currentTimeMillis();
+        DeadLetterEntry entry = new DeadLetterEntry(timeKey(createdTime) + "-" + UUID.randomUUID(), tenantDomain,
+                endpoint, eventProfileName, eventProfileVersion, eventUri, createdTime, lastError, headers);
+        DeadLetterRecord record = new DeadLetterRecord();
+        record.id = entry.getId();
+        record.tenantDomain = tenantDomain;
+        record.endpoint = endpoint;
+        record.eventProfileName = eventProfileName;
+        record.eventProfileVersion = eventProfileVersion;
+        record.eventUri = eventUri;
+        record.createdTime = createdTime;
+        record.lastError = lastError;
+        record.headers = new LinkedHashMap<>(headers);
+        record.body = body;
+
+        Path file = getFile(entry);
+        Path tempFile = file.resolveSibling(entry.getId() + TEMP_FILE_EXTENSION);
+        try {
+            Files.createDirectories(file.getParent());
+            mapper.writeValue(tempFile.toFile(), record);
+            // A crash while writing leaves a temporary file that is not loaded, instead of a truncated entry.
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            size.decrementAndGet();
+            throw e;
+        }
+        getTenantEntries(tenantDomain).put(entry.getId(), entry);
+        return entry;
+    }
+
+    /**
+     * List entries, oldest first.
+     *
+     * @param tenantDomain Tenant domain, or null for all tenants.
+     * @param endpoint     Endpoint URL, or null for all endpoints.
+     * @param fromTime     Start of the creation time range, inclusive.
+     * @param toTime       End of the creation time range, inclusive.
+     * @param limit        Maximum number of entries to return.
+     * @return Matching entries.
+     */
+    public List<DeadLetterEntry> list(String tenantDomain, String endpoint, long fromTime, long toTime, int limit) {
+
+        List<DeadLetterEntry> entries = new ArrayList<>();
+        if (fromTime > toTime || limit <= 0) {
+            return entries;
+        }
+        Collection<ConcurrentSkipListMap<String, DeadLetterEntry>> tenants;
+        if (tenantDomain != null) {
+            ConcurrentSkipListMap<String, DeadLetterEntry> tenantEntries = entriesByTenant.get(tenantDomain);
+            if (tenantEntries == null) {
+                return entries;
+            }
+            tenants = Collections.singletonList(tenantEntries);
+        } else {
+            tenants = entriesByTenant.values();
+        }
+        for (ConcurrentSkipListMap<String, DeadLetterEntry> tenantEntries : tenants) {
+            NavigableMap<String, DeadLetterEntry> range = tenantEntries.subMap(timeKey(fromTime), true,
+                    timeKey(toTime) + TIME_KEY_UPPER_BOUND_SUFFIX, false);
+            for (DeadLetterEntry entry : range.values()) {
+                if (endpoint == null || endpoint.equals(entry.getEndpoint())) {
+                    entries.add(entry);
+                }
+            }
+        }
+        if (tenantDomain == null) {
+            entries.sort((first, second) -> first.getId().compareTo(second.getId()));
+        }
+        return entries.size() > limit ? new ArrayList<>(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * Read the request body of an entry.
+     *
+     * @param entry Dead-letter entry.
+     * @return Request body, as sent.
+     * @throws IOException If the entry file cannot be read, for example because it was removed.
+     */
+    public byte[] readBody(DeadLetterEntry entry) throws IOException {
+
+        return mapper.readValue(getFile(entry).toFile(), DeadLetterRecord.class).body;
+    }
+
+    /**
+     * Remove an entry from the store.
+     *
+     * @param entry Dead-letter entry.
+     * @return true if the entry was removed, false if it was already removed.
+     * @throws IOException If the entry file cannot be deleted.
+     */
+    public boolean remove(DeadLetterEntry entry) throws IOException {
+
+        ConcurrentSkipListMap<String, DeadLetterEntry> tenantEntries = entriesByTenant.get(entry.getTenantDomain());
+        if (tenantEntries == null || tenantEntries.remove(entry.getId()) == null) {
+            return false;
+        }
+        size.decrementAndGet();
+        Files.deleteIfExists(getFile(entry));
+        return true;
+    }
+
+    /**
+     * Get the number of entries in the store.
+     *
+     * @return Number of entries.
+     */
+    public int size() {
+
+        return size.get();
+    }
+
+    private void index(DeadLetterEntry entry) {
+
+        getTenantEntries(entry.getTenantDomain()).put(entry.getId(), entry);
+        size.incrementAndGet();
+    }
+
+    private ConcurrentSkipListMap<String, DeadLetterEntry> getTenantEntries(String tenantDomain) {
+
+        return entriesByTenant.computeIfAbsent(tenantDomain, tenant -> new ConcurrentSkipListMap<>());
+    }
+
+    private Path getFile(DeadLetterEntry entry) {
+
+        try {
+            return directory.resolve(URLEncoder.encode(entry.getTenantDomain(), StandardCharsets.UTF_8.name()))
+                    .resolve(entry.getId() + FILE_EXTENSION);
+        } catch (UnsupportedEncodingException e) {
+            // UTF-8 is always supported.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static DeadLetterEntry toEntry(DeadLetterRecord record) {
+
+        return new DeadLetterEntry(record.id, record.tenantDomain, record.endpoint, record.eventProfileName,
+                record.eventProfileVersion, record.eventUri, record.createdTime, record.lastError,
+                record.headers != null ? record.headers : new LinkedHashMap<>());
+    }
+
+    private static String timeKey(long time) {
+
+        return String.format("%013d", Math.max(0L, Math.min(time, MAX_TIME_KEY)));
+    }
+
+    /**
+     * JSON form of an entry file.
+     */
+    static class DeadLetterRecord {
+
+        public String id;
+        public String tenantDomain;
+        public String endpoint;
+        public String eventProfileName;
+        public String eventProfileVersion;
+        public String eventUri;
+        public long createdTime;
+        public String lastError;
+        public Map<String, String> headers;
+        public byte[] body;
+    }
+}
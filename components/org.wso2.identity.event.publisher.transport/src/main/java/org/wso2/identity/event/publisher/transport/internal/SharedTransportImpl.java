@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.identity.event.publisher.transport.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.client.ConnectionLifecycleManager;
+import org.wso2.identity.event.publisher.transport.client.ConnectionSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Shared transport backed by one async client, IO reactor and connection pool per SSL context and DNS resolver of
+ * the attached publishers. A client is created on the first request of its publishers. A pool is built with the
+ * merged connection settings of its publishers, and a background evictor of the pool closes its idle and expired
+ * connections. The time to live applies to the pool created after a change. Connections are not validated after
+ * inactivity, as the async connection pool does not support it. A pool no publisher is attached to any more is
+ * closed once it has no request in flight, which is checked when publishers attach or detach and on each eviction.
+ */
+public class SharedTransportImpl implements SharedTransport {
+
+    private static final Log LOG = LogFactory.getLog(SharedTransportImpl.class);
+    private static final int IO_THREAD_COUNT = 5;
+    static final int DEFAULT_MAX_CONNECTIONS = 20;
+    static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 2;
+
+    private final Object lock = new Object();
+    private final Map<String, Consumer> consumers = new ConcurrentHashMap<>();
+    private final List<Pool> pools = new ArrayList<>();
+    private int poolSequence;
+    private volatile boolean closed;
+
+    @Override
+    public void attach(String consumer, int maxConnections, int maxConnectionsPerRoute, ConnectionSettings settings,
+                       DnsResolver dnsResolver, SSLContext sslContext) {
+
+        DnsResolver resolver = dnsResolver != null ? dnsResolver : SystemDefaultDnsResolver.INSTANCE;
+        Pool pool;
+        List<Pool> unusedPools;
+        synchronized (lock) {
+            pool = getPool(resolver, sslContext);
+            if (pool == null) {
+                pool = new Pool(++poolSequence, resolver, sslContext);
+                pools.add(pool);
+            }
+            Consumer previous = consumers.put(consumer,
+                    new Consumer(pool, maxConnections, maxConnectionsPerRoute, settings));
+            applyConsumers(pool);
+            if (previous != null && previous.pool != pool) {
+                applyConsumers(previous.pool);
+            }
+            unusedPools = takeUnusedPools();
+        }
+        closePools(unusedPools);
+        LOG.debug("Publisher " + consumer + " attached to pool " + pool.id + " of the shared transport with " +
+                "maxConnections: " + maxConnections + " and maxConnectionsPerRoute: " + maxConnectionsPerRoute);
+    }
+
+    @Override
+    public void detach(String consumer) {
+
+        List<Pool> unusedPools;
+        synchronized (lock) {
+            Consumer removed = consumers.remove(consumer);
+            if (removed == null) {
+                return;
+            }
+            applyConsumers(removed.pool);
+            unusedPools = takeUnusedPools();
+        }
+        closePools(unusedPools);
+        LOG.debug("Publisher " + consumer + " detached from the shared transport.");
+    }
+
+    @Override
+    public void execute(String consumer, HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+
+        getHttpAsyncClient(consumer).execute(request, callback);
+    }
+
+    @Override
+    public int closeIdleConnections(String consumer, long idleTimeoutMillis) {
+
+        Consumer attached = consumers.get(consumer);
+        return attached != null ? closeIdleConnections(attached.pool, idleTimeoutMillis) : 0;
+    }
+
+    @Override
+    public PoolingNHttpClientConnectionManager getConnectionManager(String consumer) {
+
+        Consumer attached = consumers.get(consumer);
+        return attached != null ? attached.pool.connectionManager : null;
+    }
+
+    /**
+     * Get the maximum number of connections of the pool of a publisher.
+     *
+     * @param consumer Name of the publisher.
+     * @return Largest maximum number of connections of the publishers of the pool.
+     */
+    public int getMaxConnections(String consumer) {
+
+        synchronized (lock) {
+            return getAttachedPool(consumer).maxConnections;
+        }
+    }
+
+    /**
+     * Get the maximum number of connections per route of the pool of a publisher.
+     *
+     * @param consumer Name of the publisher.
+     * @return Largest maximum number of connections per route of the publishers of the pool.
+     */
+    public int getMaxConnectionsPerRoute(String consumer) {
+
+        synchronized (lock) {
+            return getAttachedPool(consumer).maxConnectionsPerRoute;
+        }
+    }
+
+    /**
+     * Get the merged connection settings of the pool of a publisher.
+     *
+     * @param consumer Name of the publisher.
+     * @return Connection settings the pool is built with.
+     */
+    public ConnectionSettings getConnectionSettings(String consumer) {
+
+        synchronized (lock) {
+            return getAttachedPool(consumer).connectionSettings;
+        }
+    }
+
+    /**
+     * Get the lifecycle policy of the pooled connections of a publisher.
+     *
+     * @param consumer Name of the publisher.
+     * @return Connection lifecycle manager, or null if the pool has not been used yet.
+     */
+    public ConnectionLifecycleManager getConnectionLifecycleManager(String consumer) {
+
+        synchronized (lock) {
+            return getAttachedPool(consumer).connectionLifecycleManager;
+        }
+    }
+
+    /**
+     * Get the number of open pools.
+     *
+     * @return Number of pools, including the ones that are not used yet.
+     */
+    public int getPoolCount() {
+
+        synchronized (lock) {
+            return pools.size();
+        }
+    }
+
+    /**
+     * Close the transport. Requests in flight fail and later requests are rejected.
+     */
+    public void close() {
+
+        List<Pool> openPools;
+        synchronized (lock) {
+            closed = true;
+            openPools = new ArrayList<>(pools);
+            pools.clear();
+        }
+        closePools(openPools);
+    }
+
+    private CloseableHttpAsyncClient getHttpAsyncClient(String consumer) {
+
+        Consumer attached = consumers.get(consumer);
+        CloseableHttpAsyncClient client = attached != null ? attached.pool.httpAsyncClient : null;
+        if (client != null && !closed) {
+            return client;
+        }
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Shared transport is closed.");
+            }
+            Pool pool = getAttachedPool(consumer);
+            if (pool.httpAsyncClient != null) {
+                return pool.httpAsyncClient;
+            }
+            long startTime = System.currentTimeMillis();
+            ConnectionLifecycleManager lifecycleManager = new ConnectionLifecycleManager(
+                    "shared-transport-connection-evictor-" + pool.id, pool.connectionSettings, evicted -> { });
+            try {
+                PoolingNHttpClientConnectionManager manager = new PoolingNHttpClientConnectionManager(
+                        new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                                .setIoThreadCount(IO_THREAD_COUNT)
+                                .build()),
+                        null,
+                        RegistryBuilder.<SchemeIOSessionStrategy>create()
+                                .register("http", NoopIOSessionStrategy.INSTANCE)
+                                .register("https", pool.sslContext != null ?
+                                        new SSLIOSessionStrategy(pool.sslContext) :
+                                        SSLIOSessionStrategy.getDefaultStrategy())
+                                .build(),
+                        null, pool.dnsResolver, lifecycleManager.getTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+                manager.setMaxTotal(pool.maxConnections);
+                manager.setDefaultMaxPerRoute(pool.maxConnectionsPerRoute);
+                client = HttpAsyncClients.custom()
+                        .setConnectionManager(manager)
+                        .setKeepAliveStrategy(lifecycleManager)
+                        .build();
+                client.start();
+                pool.connectionManager = manager;
+                pool.httpAsyncClient = client;
+            } catch (IOReactorException e) {
+                throw new IllegalStateException("Error while creating the shared transport IO reactor.", e);
+            }
+            pool.connectionLifecycleManager = lifecycleManager;
+            lifecycleManager.start(idleTimeoutMillis -> evict(pool, idleTimeoutMillis));
+            LOG.debug("Shared transport pool " + pool.id + " started in " +
+                    (System.currentTimeMillis() - startTime) + " ms with maxConnections: " + pool.maxConnections +
+                    ", maxConnectionsPerRoute: " + pool.maxConnectionsPerRoute + " and connection time to live: " +
+                    lifecycleManager.getTimeToLiveMillis() + " ms");
+            return client;
+        }
+    }
+
+    private Pool getPool(DnsResolver dnsResolver, SSLContext sslContext) {
+
+        for (Pool pool : pools) {
+            if (pool.dnsResolver == dnsResolver && pool.sslContext == sslContext) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    private Pool getAttachedPool(String consumer) {
+
+        Consumer attached = consumers.get(consumer);
+        if (attached == null) {
+            throw new IllegalStateException("Publisher " + consumer + " is not attached to the shared transport.");
+        }
+        return attached.pool;
+    }
+
+    private int evict(Pool pool, long idleTimeoutMillis) {
+
+        int evicted = closeIdleConnections(pool, idleTimeoutMillis);
+        List<Pool> unusedPools;
+        synchronized (lock) {
+            unusedPools = takeUnusedPools();
+        }
+        closePools(unusedPools);
+        return evicted;
+    }
+
+    private static int closeIdleConnections(Pool pool, long idleTimeoutMillis) {
+
+        PoolingNHttpClientConnectionManager manager = pool.connectionManager;
+        if (manager == null) {
+            return 0;
+        }
+        int available = manager.getTotalStats().getAvailable();
+        manager.closeExpiredConnections();
+        manager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+        return Math.max(0, available - manager.getTotalStats().getAvailable());
+    }
+
+    private void applyConsumers(Pool pool) {
+
+        int total = 0;
+        int perRoute = 0;
+        List<Consumer> poolConsumers = new ArrayList<>();
+        for (Consumer consumer : consumers.values()) {
+            if (consumer.pool == pool) {
+                poolConsumers.add(consumer);
+                total = Math.max(total, consumer.maxConnections);
+                perRoute = Math.max(perRoute, consumer.maxConnectionsPerRoute);
+            }
+        }
+        if (poolConsumers.isEmpty()) {
+            // Keep the limits and settings of the last publisher for the requests still in flight.
+            return;
+        }
+        pool.maxConnections = Math.max(1, total);
+        pool.maxConnectionsPerRoute = Math.max(1, perRoute);
+        pool.connectionSettings = new MergedSettings(poolConsumers);
+        PoolingNHttpClientConnectionManager manager = pool.connectionManager;
+        if (manager != null) {
+            manager.setMaxTotal(pool.maxConnections);
+            manager.setDefaultMaxPerRoute(pool.maxConnectionsPerRoute);
+        }
+        if (pool.connectionLifecycleManager != null) {
+            pool.connectionLifecycleManager.reconfigure(pool.connectionSettings);
+        }
+    }
+
+    private List<Pool> takeUnusedPools() {
+
+        List<Pool> unusedPools = new ArrayList<>();
+        Iterator<Pool> iterator = pools.iterator();
+        while (iterator.hasNext()) {
+            Pool pool = iterator.next();
+            if (!isAttached(pool) && !pool.hasRequestsInFlight()) {
+                iterator.remove();
+                unusedPools.add(pool);
+            }
+        }
+        return unusedPools;
+    }
+
+    private boolean isAttached(Pool pool) {
+
+        for (Consumer consumer : consumers.values()) {
+            if (consumer.pool == pool) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void closePools(List<Pool> closedPools) {
+
+        for (Pool pool : closedPools) {
+            CloseableHttpAsyncClient client = pool.httpAsyncClient;
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (IOException e) {
+                    LOG.warn("Error while closing the shared transport client of pool " + pool.id + ".", e);
+                }
+            }
+            // Stopped last, as the evictor of the pool may be the thread closing it.
+            if (pool.connectionLifecycleManager != null) {
+                pool.connectionLifecycleManager.stop();
+            }
+            LOG.debug("Shared transport pool " + pool.id + " closed.");
+        }
+    }
+
+    /**
+     * Client and connection pool of the publishers sharing an SSL context and a DNS resolver.
+     */
+    private static final class Pool {
+
+        private final int id;
+        private final DnsResolver dnsResolver;
+        private final SSLContext sslContext;
+        private volatile CloseableHttpAsyncClient httpAsyncClient;
+        private volatile PoolingNHttpClientConnectionManager connectionManager;
+        private volatile ConnectionLifecycleManager connectionLifecycleManager;
+        private MergedSettings connectionSettings = new MergedSettings();
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+        private Pool(int id, DnsResolver dnsResolver, SSLContext sslContext) {
+
+            this.id = id;
+            this.dnsResolver = dnsResolver;
+            this.sslContext = sslContext;
+        }
+
+        private boolean hasRequestsInFlight() {
+
+            PoolingNHttpClientConnectionManager manager = connectionManager;
+            if (manager == null) {
+                return false;
+            }
+            PoolStats stats = manager.getTotalStats();
+            return stats.getLeased() > 0 || stats.getPending() > 0;
+        }
+    }
+
+    /**
+     * Connection limits and settings of an attached publisher.
+     */
+    private static final class Consumer {
+
+        private final Pool pool;
+        private final int maxConnections;
+        private final int maxConnectionsPerRoute;
+        private final ConnectionSettings settings;
+
+        private Consumer(Pool pool, int maxConnections, int maxConnectionsPerRoute, ConnectionSettings settings) {
+
+            this.pool = pool;
+            this.maxConnections = maxConnections;
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            this.settings = settings;
+        }
+    }
+
+    /**
+     * Strictest connection settings of the attached publishers. A setting is 0, meaning not limited, only if no
+     * publisher limits it.
+     */
+    private static final class MergedSettings implements ConnectionSettings {
+
+        private int idleTimeout;
+        private int timeToLive;
+        private int evictionInterval;
+        private int validateAfterInactivity;
+        private int keepAlive;
+
+        private MergedSettings() {
+
+        }
+
+        private MergedSettings(Iterable<Consumer> consumers) {
+
+            for (Consumer consumer : consumers) {
+                ConnectionSettings settings = consumer.settings;
+                if (settings == null) {
+                    continue;
+                }
+                idleTimeout = minPositive(idleTimeout, settings.getConnectionIdleTimeout());
+                timeToLive = minPositive(timeToLive, settings.getConnectionTimeToLive());
+                evictionInterval = minPositive(evictionInterval, settings.getConnectionEvictionInterval());
+                validateAfterInactivity = minPositive(validateAfterInactivity,
+                        settings.getConnectionValidateAfterInactivity());
+                keepAlive = minPositive(keepAlive, settings.getConnectionKeepAlive());
+            }
+        }
+
+        @Override
+        public int getConnectionIdleTimeout() {
+
+            return idleTimeout;
+        }
+
+        @Override
+        public int getConnectionTimeToLive() {
+
+            return timeToLive;
+        }
+
+        @Override
+        public int getConnectionEvictionInterval() {
+
+            return evictionInterval;
+        }
+
+        @Override
+        public int getConnectionValidateAfterInactivity() {
+
+            return validateAfterInactivity;
+        }
+
+        @Override
+        public int getConnectionKeepAlive() {
+
+            return keepAlive;
+        }
+
+        private static int minPositive(int current, int value) {
+
+            if (value <= 0) {
+                return current;
+            }
+            return current <= 0 ? value : Math.min(current, value);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.identity.event.publisher.transport.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+
+/**
+ * Service component registering the transport shared by the event publishers.
+ */
+@Component(
+        name = "org.wso2.identity.event.publisher.transport.internal.SharedTransportServiceComponent",
+        immediate = true)
+public class SharedTransportServiceComponent {
+
+    private static final Log log = LogFactory.getLog(SharedTransportServiceComponent.class);
+    private SharedTransportImpl sharedTransport;
+    private ServiceRegistration<?> serviceRegistration;
+
+    @Activate
+    protected void activate(ComponentContext context) {
+
+        try {
+            sharedTransport = new SharedTransportImpl();
+            serviceRegistration = context.getBundleContext().registerService(SharedTransport.class.getName(),
+                    sharedTransport, null);
+            log.debug("Successfully activated the shared event publisher transport.");
+        } catch (Throwable e) {
+            log.error("Error while activating the shared event publisher transport: " + e.getMessage(), e);
+        }
+    }
+
+    @Deactivate
+    protected void deactivate(ComponentContext context) {
+
+        if (serviceRegistration != null) {
+            try {
+                serviceRegistration.unregister();
+            } catch (IllegalStateException e) {
+                log.debug("Shared event publisher transport is already unregistered.", e);
+            }
+            serviceRegistration = null;
+        }
+        if (sharedTransport != null) {
+            sharedTransport.close();
+            sharedTransport = null;
+        }
+        log.debug("Successfully de-activated the shared event publisher transport.");
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivery metrics recorded for a single endpoint, or for the whole adapter when used as an aggregate.
+ */
+public class EndpointMetrics implements EndpointMetricsMBean {
+
+    private final String endpoint;
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder status2xx = new LongAdder();
+    private final LongAdder status3xx = new LongAdder();
+    private final LongAdder status4xx = new LongAdder();
+    private final LongAdder status5xx = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public EndpointMetrics(String endpoint) {
+
+        this.endpoint = endpoint;
+    }
+
+    public void recordStarted() {
+
+        inFlight.increment();
+    }
+
+    public void recordResponse(int statusCode, long elapsedNanos) {
+
+        inFlight.decrement();
+        latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (statusCode >= 200 && statusCode < 300) {
+            status2xx.increment();
+        } else if (statusCode >= 300 && statusCode < 400) {
+            status3xx.increment();
+        } else if (statusCode >= 400 && statusCode < 500) {
+            status4xx.increment();
+        } else if (statusCode >= 500 && statusCode < 600) {
+            status5xx.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    public void recordError(long elapsedNanos) {
+
+        inFlight.decrement();
+        latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        errors.increment();
+    }
+
+    public void recordRetry() {
+
+        retries.increment();
+    }
+
+    public void recordDropped() {
+
+        dropped.increment();
+    }
+
+    @Override
+    public String getEndpoint() {
+
+        return endpoint;
+    }
+
+    @Override
+    public long getInFlightRequests() {
+
+        return inFlight.sum();
+    }
+
+    @Override
+    public long getCompletedRequests() {
+
+        return latency.getCount();
+    }
+
+    @Override
+    public long getStatus2xxCount() {
+
+        return status2xx.sum();
+    }
+
+    @Override
+    public long getStatus3xxCount() {
+
+        return status3xx.sum();
+    }
+
+    @Override
+    public long getStatus4xxCount() {
+
+        return status4xx.sum();
+    }
+
+    @Override
+    public long getStatus5xxCount() {
+
+        return status5xx.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+
+        return errors.sum();
+    }
+
+    @Override
+    public long getRetryCount() {
+
+        return retries.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+
+        return dropped.sum();
+    }
+
+    @Override
+    public double getLatencyMeanMillis() {
+
+        return latency.getMeanMillis();
+    }
+
+    @Override
+    public double getLatencyP50Millis() {
+
+        return latency.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getLatencyP90Millis() {
+
+        return latency.getPercentileMillis(90);
+    }
+
+    @Override
+    public double getLatencyP99Millis() {
+
+        return latency.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getLatencyP999Millis() {
+
+        return latency.getPercentileMillis(99.9);
+    }
+
+    @Override
+    public double getLatencyMaxMillis() {
+
+        return latency.getMaxMillis();
+    }
+
+    /**
+     * Reset counters and the latency histogram. The in-flight gauge is left untouched as it reflects live state.
+     */
+    @Override
+    public void resetStatistics() {
+
+        status2xx.reset();
+        status3xx.reset();
+        status4xx.reset();
+        status5xx.reset();
+        errors.reset();
+        retries.reset();
+        dropped.reset();
+        latency.reset();
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear buckets.
+ * Values are recorded in microseconds. Each power of two range is split into {@value #SUB_BUCKET_COUNT} linear
+ * sub buckets, which keeps the relative error of reported percentiles below ~6% while using a fixed, small
+ * amount of memory, in the same spirit as an HDR histogram.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    // Largest trackable value is ~134 seconds, higher values are clamped to the last bucket.
+    private static final long MAX_TRACKABLE_MICROS = (1L << 27) - 1;
+    private static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Record a latency.
+     *
+     * @param duration Duration.
+     * @param unit     Time unit of the duration.
+     */
+    public void record(long duration, TimeUnit unit) {
+
+        long micros = Math.max(0L, unit.toMicros(duration));
+        buckets.incrementAndGet(indexOf(Math.min(micros, MAX_TRACKABLE_MICROS)));
+        count.increment();
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return Recorded value count.
+     */
+    public long getCount() {
+
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded values in milliseconds.
+     *
+     * @return Mean latency in milliseconds.
+     */
+    public double getMeanMillis() {
+
+        long recorded = count.sum();
+        return recorded == 0 ? 0 : (double) sum.sum() / recorded / 1000;
+    }
+
+    /**
+     * Returns the maximum recorded value in milliseconds.
+     *
+     * @return Max latency in milliseconds.
+     */
+    public double getMaxMillis() {
+
+        return max.get() / 1000d;
+    }
+
+    /**
+     * Returns the value at the given percentile in milliseconds.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency at the percentile in milliseconds.
+     */
+    public double getPercentileMillis(double percentile) {
+
+        long total = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1L, (long) Math.ceil(total * Math.min(100d, Math.max(0d, percentile)) / 100d));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max.get()) / 1000d;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private static int indexOf(long value) {
+
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long highestValueOf(int index) {
+
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
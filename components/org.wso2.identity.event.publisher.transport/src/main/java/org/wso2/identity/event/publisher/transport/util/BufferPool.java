@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.entity.ContentType;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of byte arrays that request bodies are serialized into.
+ * A buffer is taken from the pool when a request is created and handed back once its delivery settles, so steady
+ * traffic reuses the same arrays instead of allocating a new body for every event. Buffers that grew beyond the
+ * maximum pooled size are left to the garbage collector, so a single large payload does not pin memory.
+ */
+public class BufferPool {
+
+    private final BlockingQueue<byte[]> buffers;
+    private final int initialSize;
+    private final int maxPooledSize;
+
+    /**
+     * Create a buffer pool.
+     *
+     * @param maxBuffers    Maximum number of idle buffers kept in the pool.
+     * @param initialSize   Size of newly allocated buffers, in bytes.
+     * @param maxPooledSize Largest buffer returned to the pool, in bytes.
+     */
+    public BufferPool(int maxBuffers, int initialSize, int maxPooledSize) {
+
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, maxBuffers));
+        this.initialSize = Math.max(1, initialSize);
+        this.maxPooledSize = Math.max(this.initialSize, maxPooledSize);
+    }
+
+    /**
+     * Take a buffer from the pool, allocating a new one if none is idle.
+     *
+     * @return Output stream writing into the buffer.
+     */
+    public PooledOutputStream acquire() {
+
+        byte[] buffer = buffers.poll();
+        return new PooledOutputStream(this, buffer != null ? buffer : new byte[initialSize]);
+    }
+
+    /**
+     * Returns the number of idle buffers in the pool.
+     *
+     * @return Idle buffer count.
+     */
+    public int getIdleBufferCount() {
+
+        return buffers.size();
+    }
+
+    void release(byte[] buffer) {
+
+        if (buffer.length <= maxPooledSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    /**
+     * Output stream that writes into a pooled buffer and hands it over to the request entity without copying it.
+     * The stream is not thread safe, and closing it does not release the buffer.
+     */
+    public static final class PooledOutputStream extends OutputStream {
+
+        private final BufferPool pool;
+        private byte[] buffer;
+        private int count;
+
+        private PooledOutputStream(BufferPool pool, byte[] buffer) {
+
+            this.pool = pool;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        /**
+         * Returns the number of bytes written.
+         *
+         * @return Written byte count.
+         */
+        public int size() {
+
+            return count;
+        }
+
+        /**
+         * Returns the backing buffer. Only the first {@link #size()} bytes are valid.
+         *
+         * @return Backing buffer.
+         */
+        public byte[] getBuffer() {
+
+            return buffer;
+        }
+
+        /**
+         * Hand the written bytes over to a request entity, which returns the buffer to the pool when released.
+         * The stream must not be used afterwards.
+         *
+         * @param contentType Content type of the entity.
+         * @return Request entity backed by the buffer.
+         */
+        public PooledEntity toEntity(ContentType contentType) {
+
+            PooledEntity entity = new PooledEntity(pool, buffer, count, contentType);
+            buffer = null;
+            return entity;
+        }
+
+        /**
+         * Return the buffer to the pool without creating an entity.
+         */
+        public void release() {
+
+            if (buffer != null) {
+                pool.release(buffer);
+                buffer = null;
+            }
+        }
+
+        private void ensureCapacity(int minCapacity) {
+
+            if (minCapacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, minCapacity));
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Budget of the bytes held by queued and in-flight request bodies.
+ * A body takes its size from the budget when it is serialized and returns it when its delivery completes, so the
+ * memory held by a backlog is bounded by the budget instead of by the number of queued tasks. A body is admitted
+ * while the budget has room for it; a body larger than the whole budget is admitted only while nothing else is
+ * held, so it is not rejected forever. A budget of 0 or less admits every body.
+ */
+public class ByteBudget {
+
+    /**
+     * Reservation of bodies that are not accounted for. Releasing it has no effect.
+     */
+    public static final Reservation UNTRACKED = new Reservation(null, 0L);
+
+    private final AtomicLong usedBytes = new AtomicLong();
+    private volatile long maxBytes;
+
+    /**
+     * Create a byte budget.
+     *
+     * @param maxBytes Maximum number of bytes held, 0 or less for no limit.
+     */
+    public ByteBudget(long maxBytes) {
+
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Take bytes from the budget.
+     *
+     * @param bytes Number of bytes to take.
+     * @return Reservation to release once the bytes are no longer held, or null if the budget has no room.
+     */
+    public Reservation reserve(long bytes) {
+
+        long max = maxBytes;
+        if (max <= 0 || bytes <= 0) {
+            return UNTRACKED;
+        }
+        while (true) {
+            long used = usedBytes.get();
+            if (used > 0 && used + bytes > max) {
+                return null;
+            }
+            if (usedBytes.compareAndSet(used, used + bytes)) {
+                return new Reservation(this, bytes);
+            }
+        }
+    }
+
+    /**
+     * Change the maximum number of bytes held. Bytes already held stay reserved.
+     *
+     * @param maxBytes Maximum number of bytes held, 0 or less for no limit.
+     */
+    public void setMaxBytes(long maxBytes) {
+
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Get the maximum number of bytes held.
+     *
+     * @return Maximum number of bytes, 0 or less if not limited.
+     */
+    public long getMaxBytes() {
+
+        return maxBytes;
+    }
+
+    /**
+     * Get the number of bytes held.
+     *
+     * @return Number of bytes held by reservations not yet released.
+     */
+    public long getUsedBytes() {
+
+        return usedBytes.get();
+    }
+
+    /**
+     * Bytes taken from a budget. Releasing a reservation more than once returns its bytes only once.
+     */
+    public static final class Reservation {
+
+        private final ByteBudget budget;
+        private final long bytes;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(ByteBudget budget, long bytes) {
+
+            this.budget = budget;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Return the bytes to the budget.
+         */
+        public void release() {
+
+            if (budget != null && released.compareAndSet(false, true)) {
+                budget.usedBytes.addAndGet(-bytes);
+            }
+        }
+
+        /**
+         * Get the number of bytes taken.
+         *
+         * @return Number of bytes.
+         */
+        public long getBytes() {
+
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.conn.DnsResolver;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DnsResolver} that caches the addresses of endpoint hosts and spreads connections over them.
+ * Resolved addresses are used for the time to live and then refreshed in the background while the cached addresses
+ * keep being served, up to one more time to live after which the host is resolved again on the calling thread.
+ * Failed resolutions are cached for the negative time to live. Each resolution returns the addresses rotated by
+ * one, so new connections are spread round-robin over the addresses of a host and clients that try the addresses in
+ * order fail over to the next one. An address a connection could not be opened to moves to the end of the rotation
+ * until the host is resolved again. At most {@code maxEntries} hosts are cached; the least recently resolved one
+ * is dropped to make room.
+ */
+public class CachingDnsResolver implements DnsResolver {
+
+    private static final Log LOG = LogFactory.getLog(CachingDnsResolver.class);
+
+    private final DnsResolver delegate;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Create a caching resolver.
+     *
+     * @param delegate          Resolver used to look up hosts.
+     * @param ttlMillis         Time in milliseconds resolved addresses are used before they are refreshed.
+     * @param negativeTtlMillis Time in milliseconds a failed resolution is cached.
+     * @param maxEntries        Maximum number of cached hosts.
+     * @param refreshExecutor   Executor running the background refreshes.
+     */
+    public CachingDnsResolver(DnsResolver delegate, long ttlMillis, long negativeTtlMillis, int maxEntries,
+                              Executor refreshExecutor) {
+
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+
+        long now = System.currentTimeMillis();
+        CacheEntry entry = cache.get(host);
+        if (entry == null || now >= entry.expiryTime + (entry.failure == null ? ttlMillis : 0L)) {
+            entry = lookup(host);
+        } else if (now >= entry.expiryTime) {
+            refreshInBackground(host, entry);
+        }
+        if (entry.failure != null) {
+            UnknownHostException failure = new UnknownHostException(entry.failure.getMessage());
+            failure.initCause(entry.failure);
+            throw failure;
+        }
+        return entry.nextAddresses();
+    }
+
+    /**
+     * Report that a connection to the address a host resolved to first could not be opened. The address moves to
+     * the end of the rotation until the host is resolved again.
+     *
+     * @param host Host name.
+     */
+    public void reportConnectFailure(String host) {
+
+        CacheEntry entry = cache.get(host);
+        if (entry != null && entry.addresses.length > 1) {
+            InetAddress address = entry.lastFirstAddress;
+            if (address != null && entry.failedAddresses.add(address)) {
+                LOG.debug("Moving address " + address.getHostAddress() + " of host " + host +
+                        " to the end of the rotation after a connect failure.");
+            }
+        }
+    }
+
+    /**
+     * Get the number of cached hosts.
+     *
+     * @return Number of cached hosts.
+     */
+    public int size() {
+
+        return cache.size();
+    }
+
+    private CacheEntry lookup(String host) {
+
+        CacheEntry entry;
+        try {
+            entry = new CacheEntry(delegate.resolve(host), null, System.currentTimeMillis() + ttlMillis);
+        } catch (UnknownHostException e) {
+            entry = new CacheEntry(new InetAddress[0], e, System.currentTimeMillis() + negativeTtlMillis);
+        }
+        put(host, entry);
+        return entry;
+    }
+
+    private void refreshInBackground(String host, CacheEntry entry) {
+
+        if (entry.failure != null || !entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    InetAddress[] addresses = delegate.resolve(host);
+                    put(host, new CacheEntry(addresses, null, System.currentTimeMillis() + ttlMillis));
+                } catch (UnknownHostException | RuntimeException e) {
+                    // The cached addresses stay in use until the host is resolved on a calling thread.
+                    LOG.debug("Error while refreshing the addresses of host: " + host, e);
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            LOG.debug("DNS refresh rejected for host: " + host, e);
+        }
+    }
+
+    private void put(String host, CacheEntry entry) {
+
+        if (!cache.containsKey(host) && cache.size() >= maxEntries) {
+            String eldest = null;
+            long eldestTime = Long.MAX_VALUE;
+            for (Map.Entry<String, CacheEntry> cached : cache.entrySet()) {
+                if (cached.getValue().expiryTime < eldestTime) {
+                    eldest = cached.getKey();
+                    eldestTime = cached.getValue().expiryTime;
+                }
+            }
+            if (eldest != null) {
+                cache.remove(eldest);
+            }
+        }
+        cache.put(host, entry);
+    }
+
+    private static final class CacheEntry {
+
+        private final InetAddress[] addresses;
+        private final UnknownHostException failure;
+        private final long expiryTime;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final Set<InetAddress> failedAddresses = ConcurrentHashMap.newKeySet();
+        private volatile InetAddress lastFirstAddress;
+
+        private CacheEntry(InetAddress[] addresses, UnknownHostException failure, long expiryTime) {
+
+            this.addresses = addresses;
+            this.failure = failure;
+            this.expiryTime = expiryTime;
+        }
+
+        private InetAddress[] nextAddresses() {
+
+            int count = addresses.length;
+            if (count < 2) {
+                lastFirstAddress = count == 1 ? addresses[0] : null;
+                return addresses.clone();
+            }
+            int start = Math.floorMod(cursor.getAndIncrement(), count);
+            List<InetAddress> ordered = new ArrayList<>(count);
+            List<InetAddress> failed = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                InetAddress address = addresses[(start + i) % count];
+                if (failedAddresses.contains(address)) {
+                    failed.add(address);
+                } else {
+                    ordered.add(address);
+                }
+            }
+            ordered.addAll(failed);
+            InetAddress[] result = ordered.toArray(new InetAddress[0]);
+            lastFirstAddress = result[0];
+            return result;
+        }
+
+        @Override
+        public String toString() {
+
+            return failure != null ? failure.getMessage() : Arrays.toString(addresses);
+        }
+    }
+}
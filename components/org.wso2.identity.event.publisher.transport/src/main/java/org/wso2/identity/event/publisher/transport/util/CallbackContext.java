@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.MDC;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.CORRELATION_ID_MDC;
+import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.TENANT_DOMAIN;
+
+/**
+ * Tenant and logging context of an event delivery, captured on the publishing thread and restored in the
+ * completion callback of the request.
+ * The MDC keys are set for the whole callback, as they are cheap and used by every log line. The Carbon tenant
+ * flow is only started when a consumer of the Carbon context, such as a diagnostic log or a retry, needs it, so
+ * a plain successful delivery does not pay for it.
+ * An instance belongs to a single callback and is not thread safe.
+ */
+public class CallbackContext {
+
+    private final String tenantDomain;
+    private final String correlationId;
+    private boolean tenantFlowStarted;
+
+    /**
+     * Capture the context of an event delivery.
+     *
+     * @param tenantDomain  Tenant domain of the event.
+     * @param correlationId Correlation ID of the request, or null if there is none.
+     */
+    public CallbackContext(String tenantDomain, String correlationId) {
+
+        this.tenantDomain = tenantDomain;
+        this.correlationId = correlationId;
+    }
+
+    /**
+     * Set the captured MDC keys on the current thread.
+     */
+    public void attach() {
+
+        if (StringUtils.isNotEmpty(correlationId)) {
+            MDC.put(CORRELATION_ID_MDC, correlationId);
+        }
+        MDC.put(TENANT_DOMAIN, tenantDomain);
+    }
+
+    /**
+     * Start the Carbon tenant flow of the captured tenant on the current thread, unless it is already started.
+     */
+    public void startTenantFlow() {
+
+        if (tenantFlowStarted) {
+            return;
+        }
+        PrivilegedCarbonContext.startTenantFlow();
+        tenantFlowStarted = true;
+        PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+    }
+
+    /**
+     * Check whether the Carbon tenant flow was started for this context.
+     *
+     * @return true if the tenant flow is started, false otherwise.
+     */
+    public boolean isTenantFlowStarted() {
+
+        return tenantFlowStarted;
+    }
+
+    /**
+     * Remove the MDC keys and end the Carbon tenant flow, if it was started.
+     */
+    public void detach() {
+
+        if (StringUtils.isNotEmpty(correlationId)) {
+            MDC.remove(CORRELATION_ID_MDC);
+        }
+        MDC.remove(TENANT_DOMAIN);
+        if (tenantFlowStarted) {
+            tenantFlowStarted = false;
+            PrivilegedCarbonContext.endTenantFlow();
+        }
+    }
+
+    /**
+     * Get the tenant domain of the event.
+     *
+     * @return Tenant domain.
+     */
+    public String getTenantDomain() {
+
+        return tenantDomain;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maximum age policy of the events of an adapter.
+ * The age of an event is measured from the {@code iat} claim of its security event token. The maximum age of a
+ * webhook endpoint takes precedence over the maximum age of the event profile, which takes precedence over the
+ * default maximum age. A maximum age of 0 or less keeps events of that kind however old they are.
+ */
+public class EventMaxAgePolicy {
+
+    private static final Log LOG = LogFactory.getLog(EventMaxAgePolicy.class);
+    // Issued at times below this value are taken as seconds, larger values as milliseconds since the epoch.
+    private static final long MAX_EPOCH_SECONDS = 100_000_000_000L;
+
+    private final long defaultMaxAgeMillis;
+    private final Map<String, Long> profileMaxAgeMillis;
+    private final Map<String, Long> endpointMaxAgeMillis;
+
+    /**
+     * Create a maximum age policy.
+     *
+     * @param defaultMaxAgeSeconds Maximum age in seconds of events without a more specific maximum age.
+     * @param profileMaxAges       Comma separated {@code profile=seconds} entries, or null.
+     * @param endpointMaxAges      Comma separated {@code endpoint URL=seconds} entries, or null.
+     */
+    public EventMaxAgePolicy(int defaultMaxAgeSeconds, String profileMaxAges, String endpointMaxAges) {
+
+        this.defaultMaxAgeMillis = TimeUnit.SECONDS.toMillis(defaultMaxAgeSeconds);
+        this.profileMaxAgeMillis = parse(profileMaxAges);
+        this.endpointMaxAgeMillis = parse(endpointMaxAges);
+    }
+
+    /**
+     * Check whether the policy limits the age of any event.
+     *
+     * @return true if a maximum age is configured.
+     */
+    public boolean isEnabled() {
+
+        return defaultMaxAgeMillis > 0 || !profileMaxAgeMillis.isEmpty() || !endpointMaxAgeMillis.isEmpty();
+    }
+
+    /**
+     * Check whether an event is older than the maximum age of its profile and endpoint.
+     *
+     * @param eventPayload Security event token of the event.
+     * @param profileName  Event profile name.
+     * @param url          Endpoint URL.
+     * @return true if the event has to be shed instead of delivered.
+     */
+    public boolean isExpired(SecurityEventTokenPayload eventPayload, String profileName, String url) {
+
+        long maxAgeMillis = getMaxAgeMillis(profileName, url);
+        if (maxAgeMillis <= 0 || eventPayload.getIat() <= 0) {
+            return false;
+        }
+        return System.currentTimeMillis() - getIssuedAtMillis(eventPayload.getIat()) > maxAgeMillis;
+    }
+
+    /**
+     * Get the maximum age of the events of a profile delivered to an endpoint.
+     *
+     * @param profileName Event profile name.
+     * @param url         Endpoint URL.
+     * @return Maximum age in milliseconds, 0 or less if the age is not limited.
+     */
+    public long getMaxAgeMillis(String profileName, String url) {
+
+        Long maxAgeMillis = url != null ? endpointMaxAgeMillis.get(url) : null;
+        if (maxAgeMillis == null && profileName != null) {
+            maxAgeMillis = profileMaxAgeMillis.get(profileName);
+        }
+        return maxAgeMillis != null ? maxAgeMillis : defaultMaxAgeMillis;
+    }
+
+    private static long getIssuedAtMillis(long issuedAt) {
+
+        return issuedAt < MAX_EPOCH_SECONDS ? TimeUnit.SECONDS.toMillis(issuedAt) : issuedAt;
+    }
+
+    private static Map<String, Long> parse(String maxAges) {
+
+        if (StringUtils.isBlank(maxAges)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> parsed = new HashMap<>();
+        for (String entry : maxAges.split(",")) {
+            // Endpoint URLs may contain '=' in their query, the maximum age follows the last one.
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                if (StringUtils.isNotBlank(entry)) {
+                    LOG.warn("Ignoring invalid event max age entry: " + entry.trim());
+                }
+                continue;
+            }
+            try {
+                parsed.put(entry.substring(0, separator).trim(),
+                        TimeUnit.SECONDS.toMillis(Long.parseLong(entry.substring(separator + 1).trim())));
+            } catch (NumberFormatException e) {
+                LOG.warn("Ignoring invalid event max age entry: " + entry.trim());
+            }
+        }
+        return parsed;
+    }
+}
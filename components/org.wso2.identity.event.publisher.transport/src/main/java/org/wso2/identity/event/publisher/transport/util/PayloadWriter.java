@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.http.entity.ContentType;
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Serializes event payloads to JSON, or to CBOR or Smile for hubs that accept a binary encoding.
+ * Security event tokens have a fixed shape, so their envelope is written field by field with the streaming generator
+ * instead of going through bean introspection. The event bodies inside the token, and any other payload, are
+ * serialized by Jackson. The output is identical to that of an object mapper that leaves out empty values.
+ */
+public class PayloadWriter {
+
+    private static final String ISS = "iss";
+    private static final String IAT = "iat";
+    private static final String JTI = "jti";
+    private static final String AUD = "aud";
+    private static final String RCI = "rci";
+    private static final String EVENTS = "events";
+
+    public static final String JSON = "json";
+    public static final String CBOR = "cbor";
+    public static final String SMILE = "smile";
+    public static final ContentType APPLICATION_CBOR = ContentType.create("application/cbor");
+    public static final ContentType APPLICATION_SMILE = ContentType.create("application/x-jackson-smile");
+
+    private final String encoding;
+    private final ContentType contentType;
+    private final ObjectMapper mapper;
+
+    /**
+     * Create a JSON payload writer.
+     */
+    public PayloadWriter() {
+
+        this(JSON);
+    }
+
+    /**
+     * Create a payload writer for the given encoding.
+     *
+     * @param encoding Payload encoding, either {@value #JSON}, {@value #CBOR} or {@value #SMILE}. Any other value
+     *                 falls back to JSON.
+     */
+    public PayloadWriter(String encoding) {
+
+        this.encoding = resolveEncoding(encoding);
+        JsonFactory factory;
+        if (CBOR.equals(this.encoding)) {
+            factory = new CBORFactory();
+            contentType = APPLICATION_CBOR;
+        } else if (SMILE.equals(this.encoding)) {
+            factory = new SmileFactory();
+            contentType = APPLICATION_SMILE;
+        } else {
+            factory = new JsonFactory();
+            contentType = ContentType.APPLICATION_JSON;
+        }
+        mapper = new ObjectMapper(factory);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    }
+
+    /**
+     * Returns the payload encoding written by this writer.
+     *
+     * @return {@value #JSON}, {@value #CBOR} or {@value #SMILE}.
+     */
+    public String getEncoding() {
+
+        return encoding;
+    }
+
+    /**
+     * Returns the content type of the written payloads.
+     *
+     * @return Content type.
+     */
+    public ContentType getContentType() {
+
+        return contentType;
+    }
+
+    /**
+     * Check whether this writer produces a binary encoding.
+     *
+     * @return true for CBOR and Smile.
+     */
+    public boolean isBinary() {
+
+        return !JSON.equals(encoding);
+    }
+
+    /**
+     * Write the payload in the encoding of this writer. JSON is UTF-8 encoded.
+     *
+     * @param out     Output stream to write to.
+     * @param payload Event payload.
+     * @throws IOException If the payload could not be serialized.
+     */
+    public void write(OutputStream out, Object payload) throws IOException {
+
+        // Subclasses may carry properties of their own, so only the exact token type takes the fast path.
+        if (payload == null || payload.getClass() != SecurityEventTokenPayload.class) {
+            mapper.writeValue(out, payload);
+            return;
+        }
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            writeSecurityEventToken(generator, (SecurityEventTokenPayload) payload);
+        }
+    }
+
+    private void writeSecurityEventToken(JsonGenerator generator, SecurityEventTokenPayload payload)
+            throws IOException {
+
+        generator.writeStartObject();
+        writeStringField(generator, ISS, payload.getIss());
+        generator.writeNumberField(IAT, payload.getIat());
+        writeStringField(generator, JTI, payload.getJti());
+        writeStringField(generator, AUD, payload.getAud());
+        writeStringField(generator, RCI, payload.getRci());
+        writeEvents(generator, payload.getEvents());
+        generator.writeEndObject();
+    }
+
+    private void writeEvents(JsonGenerator generator, Map<String, EventPayload> events) throws IOException {
+
+        if (events == null) {
+            return;
+        }
+        // Null events are left out, and so is the map itself when nothing remains.
+        boolean started = false;
+        for (Map.Entry<String, EventPayload> event : events.entrySet()) {
+            if (event.getValue() == null) {
+                continue;
+            }
+            if (!started) {
+                generator.writeObjectFieldStart(EVENTS);
+                started = true;
+            }
+            generator.writeFieldName(event.getKey());
+            mapper.writeValue(generator, event.getValue());
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+
+        if (value != null && !value.isEmpty()) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    private static String resolveEncoding(String encoding) {
+
+        if (encoding == null) {
+            return JSON;
+        }
+        String normalized = encoding.trim().toLowerCase(Locale.ENGLISH);
+        return CBOR.equals(normalized) || SMILE.equals(normalized) ? normalized : JSON;
+    }
+}
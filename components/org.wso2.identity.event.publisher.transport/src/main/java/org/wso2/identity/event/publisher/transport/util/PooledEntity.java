@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpRequest;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.entity.HttpAsyncContentProducer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Repeatable request entity backed by a pooled buffer.
+ * The async client writes the buffer straight to the connection, and every retry of the same request re-reads it.
+ * The buffer goes back to the pool once {@link #release()} is called, after which the entity must not be sent again.
+ */
+public class PooledEntity extends AbstractHttpEntity implements HttpAsyncContentProducer {
+
+    private final BufferPool pool;
+    private final byte[] content;
+    private final int length;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private ByteBuffer producerBuffer;
+
+    PooledEntity(BufferPool pool, byte[] content, int length, ContentType contentType) {
+
+        this.pool = pool;
+        this.content = content;
+        this.length = length;
+        if (contentType != null) {
+            setContentType(contentType.toString());
+        }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+
+        return length;
+    }
+
+    @Override
+    public InputStream getContent() {
+
+        return new ByteArrayInputStream(content, 0, length);
+    }
+
+    @Override
+    public void writeTo(OutputStream outStream) throws IOException {
+
+        outStream.write(content, 0, length);
+        outStream.flush();
+    }
+
+    @Override
+    public boolean isStreaming() {
+
+        return false;
+    }
+
+    @Override
+    public void produceContent(ContentEncoder encoder, IOControl ioControl) throws IOException {
+
+        if (producerBuffer == null) {
+            producerBuffer = ByteBuffer.wrap(content, 0, length);
+        }
+        encoder.write(producerBuffer);
+        if (!producerBuffer.hasRemaining()) {
+            encoder.complete();
+        }
+    }
+
+    @Override
+    public void close() {
+
+        // Called once the request has been written, so the next attempt starts from the beginning of the buffer.
+        producerBuffer = null;
+    }
+
+    /**
+     * Return the buffer to the pool. Calling this more than once has no effect.
+     */
+    public void release() {
+
+        if (released.compareAndSet(false, true)) {
+            pool.release(content);
+        }
+    }
+
+    /**
+     * Release the entity of the given request if it is backed by a pooled buffer.
+     *
+     * @param request HTTP request.
+     */
+    public static void release(HttpRequest request) {
+
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity instanceof PooledEntity) {
+                ((PooledEntity) entity).release();
+            }
+        }
+    }
+}
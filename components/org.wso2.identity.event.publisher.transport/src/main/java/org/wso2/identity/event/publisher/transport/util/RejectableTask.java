@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Callback task that runs a cleanup action when its executor rejects it.
+ * The callback executors discard the tasks they cannot queue. A task that owns resources, such as the bytes of its
+ * request body, is wrapped so the rejection handler of the executor can release them instead of leaking them.
+ */
+public final class RejectableTask implements Runnable {
+
+    private final Runnable task;
+    private final Runnable onRejected;
+
+    private RejectableTask(Runnable task, Runnable onRejected) {
+
+        this.task = task;
+        this.onRejected = onRejected;
+    }
+
+    /**
+     * Wrap an executor so the tasks it rejects run the given cleanup action.
+     *
+     * @param executor   Executor to run the tasks.
+     * @param onRejected Cleanup action of a rejected task.
+     * @return Wrapping executor.
+     */
+    public static Executor wrap(Executor executor, Runnable onRejected) {
+
+        return task -> executor.execute(new RejectableTask(task, onRejected));
+    }
+
+    /**
+     * Run the cleanup action of a rejected task. Called by the rejection handlers of the callback executors.
+     *
+     * @param task Rejected task.
+     */
+    public static void rejected(Runnable task) {
+
+        if (task instanceof RejectableTask) {
+            ((RejectableTask) task).onRejected.run();
+        }
+    }
+
+    @Override
+    public void run() {
+
+        task.run();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses serialized event payloads before they are sent.
+ * The payload is serialized into a pooled buffer first and then compressed into a second pooled buffer that backs
+ * the request entity, so both buffers are reused across requests. The buffer of the uncompressed payload can be
+ * returned to the pool as soon as the payload is compressed. Payloads shorter than the configured minimum size are
+ * sent as is, since the compression overhead outweighs the savings for small bodies.
+ */
+public class RequestCompressor {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final String encoding;
+    private final int minSize;
+
+    /**
+     * Create a request compressor.
+     *
+     * @param encoding Content encoding, either {@value #GZIP} or {@value #DEFLATE}. Any other value disables
+     *                 compression.
+     * @param minSize  Minimum length of the serialized payload to compress.
+     */
+    public RequestCompressor(String encoding, int minSize) {
+
+        this.encoding = resolveEncoding(encoding);
+        this.minSize = Math.max(0, minSize);
+    }
+
+    /**
+     * Returns the content encoding applied by this compressor.
+     *
+     * @return Content encoding, or null if compression is disabled.
+     */
+    public String getEncoding() {
+
+        return encoding;
+    }
+
+    /**
+     * Check whether a serialized payload of the given length should be compressed.
+     *
+     * @param length Length of the serialized payload, in bytes.
+     * @return true if compression is enabled and the payload reaches the minimum size.
+     */
+    public boolean shouldCompress(int length) {
+
+        return encoding != null && length >= minSize;
+    }
+
+    /**
+     * Compress an already encoded payload into a buffer of the given pool.
+     *
+     * @param payload     Buffer holding the serialized payload.
+     * @param offset      Offset of the payload in the buffer.
+     * @param length      Length of the payload.
+     * @param bufferPool  Pool of the buffer the compressed payload is written into.
+     * @param contentType Content type of the payload.
+     * @return Request entity holding the compressed payload, which returns its buffer to the pool when released.
+     * @throws IOException If the payload could not be compressed.
+     */
+    public PooledEntity compress(byte[] payload, int offset, int length, BufferPool bufferPool,
+                                 ContentType contentType) throws IOException {
+
+        BufferPool.PooledOutputStream buffer = bufferPool.acquire();
+        try {
+            // Closing the compressing stream writes the trailer and leaves the pooled buffer untouched.
+            try (OutputStream out = compressingStream(buffer)) {
+                out.write(payload, offset, length);
+            }
+            return buffer.toEntity(contentType);
+        } catch (IOException | RuntimeException e) {
+            buffer.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Decompress a request body sent with the given content encoding.
+     *
+     * @param encoding Content encoding of the body, or null if the body is not compressed.
+     * @param body     Request body, as sent.
+     * @return Uncompressed body, or the given body if its content encoding is not {@value #GZIP} or
+     * {@value #DEFLATE}.
+     * @throws IOException If the body cannot be decompressed.
+     */
+    public static byte[] decompress(String encoding, byte[] body) throws IOException {
+
+        String resolved = resolveEncoding(encoding);
+        if (resolved == null) {
+            return body;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length * 4);
+        try (InputStream in = GZIP.equals(resolved) ? new GZIPInputStream(new ByteArrayInputStream(body)) :
+                new InflaterInputStream(new ByteArrayInputStream(body))) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private OutputStream compressingStream(OutputStream out) throws IOException {
+
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out);
+        }
+        return new DeflaterOutputStream(out);
+    }
+
+    private static String resolveEncoding(String encoding) {
+
+        if (encoding == null) {
+            return null;
+        }
+        String normalized = encoding.trim().toLowerCase(Locale.ENGLISH);
+        return GZIP.equals(normalized) || DEFLATE.equals(normalized) ? normalized : null;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Executor starting a new thread, a virtual thread on JDK 21 and later, for every task.
+ * Instead of a bounded queue, a semaphore caps the number of tasks running at once; a task over the cap is handed
+ * to the rejection handler, as is a task whose thread cannot be started. Virtual threads are created through
+ * reflection, so the bundle still runs on older JDKs, where {@link #isSupported()} is false.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final Log LOG = LogFactory.getLog(VirtualThreadExecutor.class);
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            // Fails on JDK 19 and 20 unless preview features are enabled.
+            ofVirtual.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Virtual threads are not supported by the Java runtime.", e);
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+    }
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final BiConsumer<Runnable, VirtualThreadExecutor> rejectionHandler;
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown;
+
+    /**
+     * Create an executor starting a thread of the given factory for every task.
+     *
+     * @param threadFactory    Factory of the threads running the tasks.
+     * @param maxConcurrency   Maximum number of tasks running at once.
+     * @param rejectionHandler Handler of tasks over the cap or submitted after shutdown.
+     */
+    public VirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency,
+                                 BiConsumer<Runnable, VirtualThreadExecutor> rejectionHandler) {
+
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        this.rejectionHandler = rejectionHandler;
+    }
+
+    /**
+     * Check whether the Java runtime supports virtual threads.
+     *
+     * @return true on JDK 21 and later.
+     */
+    public static boolean isSupported() {
+
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create an executor running every task on a new virtual thread.
+     *
+     * @param threadNamePrefix Prefix of the thread names, followed by a sequence number.
+     * @param maxConcurrency   Maximum number of tasks running at once.
+     * @param rejectionHandler Handler of tasks over the cap or submitted after shutdown.
+     * @return Executor running tasks on virtual threads.
+     * @throws UnsupportedOperationException If the Java runtime does not support virtual threads.
+     */
+    public static VirtualThreadExecutor create(String threadNamePrefix, int maxConcurrency,
+                                               BiConsumer<Runnable, VirtualThreadExecutor> rejectionHandler) {
+
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by the Java runtime.");
+        }
+        try {
+            Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 0L);
+            return new VirtualThreadExecutor((ThreadFactory) BUILDER_FACTORY.invoke(builder), maxConcurrency,
+                    rejectionHandler);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Unable to create a virtual thread factory.", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+
+        if (shutdown || !permits.tryAcquire()) {
+            rejectionHandler.accept(command, this);
+            return;
+        }
+        Thread thread = null;
+        try {
+            thread = threadFactory.newThread(() -> {
+                try {
+                    command.run();
+                } finally {
+                    threads.remove(Thread.currentThread());
+                    release();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            // A thread that never started does not run its finally block, so its slot is freed here.
+            if (thread != null) {
+                threads.remove(thread);
+            }
+            release();
+            LOG.warn("Unable to start a thread for the task. The task is rejected.", e);
+            rejectionHandler.accept(command, this);
+        }
+    }
+
+    /**
+     * Get the number of tasks running.
+     *
+     * @return Number of running tasks.
+     */
+    public int getActiveCount() {
+
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Get the number of tasks that can start before the cap is reached.
+     *
+     * @return Number of available permits.
+     */
+    public int getAvailablePermits() {
+
+        return permits.availablePermits();
+    }
+
+    /**
+     * Get the maximum number of tasks running at once.
+     *
+     * @return Concurrency cap.
+     */
+    public int getMaximumConcurrency() {
+
+        return maxConcurrency;
+    }
+
+    @Override
+    public void shutdown() {
+
+        shutdown = true;
+        synchronized (terminationLock) {
+            terminationLock.notifyAll();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+
+        shutdown();
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        // Tasks start right away, so none are waiting to be returned.
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+
+        return shutdown && getActiveCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                terminationLock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    private void release() {
+
+        permits.release();
+        if (shutdown) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+}
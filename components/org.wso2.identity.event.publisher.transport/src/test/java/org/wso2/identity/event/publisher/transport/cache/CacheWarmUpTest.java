@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.cache;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Test class for CacheWarmUp.
+ */
+public class CacheWarmUpTest {
+
+    private static final List<String> HOT_KEY = Arrays.asList("hot.com", "WSO2", "v1", "https://schemas/login");
+    private static final List<String> COLD_KEY = Arrays.asList("cold.com", "WSO2", "v1", "https://schemas/login");
+
+    private Path directory;
+    private Path file;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        directory = Files.createTempDirectory("cache-warm-up");
+        file = directory.resolve("hot-lookup-keys.json");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testMostLookedUpKeysAreWarmedUpAfterRestart() throws Exception {
+
+        CacheWarmUp cacheWarmUp = new CacheWarmUp("cache-warm-up", file, 1);
+        cacheWarmUp.record(COLD_KEY);
+        cacheWarmUp.record(HOT_KEY);
+        cacheWarmUp.record(HOT_KEY);
+        cacheWarmUp.stop();
+        Assert.assertTrue(Files.isRegularFile(file));
+
+        List<List<String>> warmedUpKeys = new CopyOnWriteArrayList<>();
+        CacheWarmUp restarted = new CacheWarmUp("cache-warm-up", file, 1);
+        restarted.start(0L, 1000, warmedUpKeys::add);
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (restarted.getWarmedUpKeyCount() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        restarted.stop();
+
+        Assert.assertEquals(warmedUpKeys, Collections.singletonList(HOT_KEY));
+    }
+
+    @Test
+    public void testFileIsKeptWhenNothingIsLookedUp() throws Exception {
+
+        CacheWarmUp cacheWarmUp = new CacheWarmUp("cache-warm-up", file, 10);
+        cacheWarmUp.record(HOT_KEY);
+        cacheWarmUp.stop();
+        byte[] written = Files.readAllBytes(file);
+
+        new CacheWarmUp("cache-warm-up", file, 10).stop();
+
+        Assert.assertEquals(Files.readAllBytes(file), written);
+    }
+}
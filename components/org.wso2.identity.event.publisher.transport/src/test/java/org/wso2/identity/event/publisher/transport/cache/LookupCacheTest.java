@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.cache;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for LookupCache.
+ */
+public class LookupCacheTest {
+
+    private static final String KEY = "carbon.super";
+
+    private final AtomicLong coalescedLookups = new AtomicLong();
+    private LookupCache<String, Integer> lookupCache;
+
+    @AfterMethod
+    public void tearDown() {
+
+        lookupCache.stop();
+    }
+
+    @Test
+    public void testConcurrentLookupsAreCoalesced() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 0L, 0L, 10, coalescedLookups::incrementAndGet);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        Future<Integer> first = callers.submit(() -> lookupCache.get(KEY, KEY, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return 1;
+        }));
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<Integer> second = callers.submit(() -> lookupCache.get(KEY, KEY, loads::incrementAndGet));
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (coalescedLookups.get() == 0 &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        release.countDown();
+
+        Assert.assertEquals(first.get(5, TimeUnit.SECONDS).intValue(), 1);
+        Assert.assertEquals(second.get(5, TimeUnit.SECONDS).intValue(), 1);
+        callers.shutdown();
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(coalescedLookups.get(), 1);
+        // Without a time to live the result is not cached once the lookup completes.
+        Assert.assertEquals(lookupCache.size(), 0);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 2);
+    }
+
+    @Test
+    public void testStalledLookupIsNotAwaitedPastMaxWait() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 0L, 0L, 10, coalescedLookups::incrementAndGet, 100L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        Future<Integer> stalled = callers.submit(() -> lookupCache.get(KEY, KEY, () -> {
+            loading.countDown();
+            release.await();
+            return 1;
+        }));
+        Assert.assertTrue(loading.await(5, TimeUnit.SECONDS));
+        long coalesced = coalescedLookups.get();
+
+        Assert.assertEquals(lookupCache.get(KEY, KEY, () -> 2).intValue(), 2);
+        Assert.assertEquals(coalescedLookups.get(), coalesced + 1);
+        release.countDown();
+        Assert.assertEquals(stalled.get(5, TimeUnit.SECONDS).intValue(), 1);
+        callers.shutdown();
+    }
+
+    @Test
+    public void testInvalidatedKeysAreLoadedAgain() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 60_000L, 0L, 10, coalescedLookups::incrementAndGet);
+        AtomicInteger loads = new AtomicInteger();
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 1);
+        Assert.assertEquals(lookupCache.get("other", KEY, loads::incrementAndGet).intValue(), 2);
+
+        lookupCache.invalidate(KEY);
+        Assert.assertEquals(lookupCache.size(), 1);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 3);
+        Assert.assertEquals(lookupCache.get("other", KEY, loads::incrementAndGet).intValue(), 2);
+
+        lookupCache.invalidateAll();
+        Assert.assertEquals(lookupCache.size(), 0);
+        Assert.assertEquals(lookupCache.get("other", KEY, loads::incrementAndGet).intValue(), 4);
+    }
+
+    @Test
+    public void testLookupInFlightDuringInvalidationIsNotCached() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 60_000L, 0L, 10, coalescedLookups::incrementAndGet);
+
+        Assert.assertEquals(lookupCache.get(KEY, KEY, () -> {
+            lookupCache.invalidate(KEY);
+            return 1;
+        }).intValue(), 1);
+        Assert.assertEquals(lookupCache.size(), 0);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, () -> 2).intValue(), 2);
+    }
+
+    @Test
+    public void testResultsAreCachedForTimeToLive() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 60_000L, 0L, 10, coalescedLookups::incrementAndGet);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 1);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 1);
+        Assert.assertEquals(lookupCache.size(), 1);
+
+        lookupCache.reconfigure(60_000L, 0L, 10);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 2);
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 60_000L, 0L, 10, coalescedLookups::incrementAndGet);
+
+        try {
+            lookupCache.get(KEY, KEY, () -> {
+                throw new IOException("Lookup failed");
+            });
+            Assert.fail("Lookup failure is not propagated.");
+        } catch (IOException e) {
+            Assert.assertEquals(e.getMessage(), "Lookup failed");
+        }
+        Assert.assertEquals(lookupCache.size(), 0);
+        Assert.assertEquals(lookupCache.get(KEY, KEY, () -> 1).intValue(), 1);
+    }
+
+    @Test
+    public void testCachedResultIsRefreshedAhead() throws Exception {
+
+        lookupCache = new LookupCache<>("lookup-refresh", 60_000L, 60_000L, 10, coalescedLookups::incrementAndGet);
+        AtomicInteger loads = new AtomicInteger();
+
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 1);
+        // The key is within the refresh-ahead window, so the cached result is served while it is reloaded.
+        Assert.assertEquals(lookupCache.get(KEY, KEY, loads::incrementAndGet).intValue(), 1);
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(loads.get(), 2);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.client;
+
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.message.BasicHttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test class for ConnectionLifecycleManager.
+ */
+public class ConnectionLifecycleManagerTest {
+
+    private final AtomicLong evictedConnections = new AtomicLong();
+    private TestSettings settings;
+    private ConnectionLifecycleManager lifecycleManager;
+
+    @BeforeMethod
+    public void setUp() {
+
+        settings = new TestSettings();
+        evictedConnections.set(0L);
+        lifecycleManager = new ConnectionLifecycleManager("connection-evictor", settings,
+                evictedConnections::addAndGet);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        lifecycleManager.stop();
+    }
+
+    @Test
+    public void testKeepAliveHonorsAnnouncedTimeout() {
+
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        Assert.assertEquals(lifecycleManager.getKeepAliveDuration(response, null), 15000L);
+
+        response.setHeader("Keep-Alive", "max=100, timeout=5");
+        Assert.assertEquals(lifecycleManager.getKeepAliveDuration(response, null), 5000L);
+
+        response.setHeader("Keep-Alive", "timeout=invalid");
+        Assert.assertEquals(lifecycleManager.getKeepAliveDuration(response, null), 15000L);
+    }
+
+    @Test
+    public void testConnectionLifetime() {
+
+        Assert.assertEquals(lifecycleManager.getTimeToLiveMillis(), 120000L);
+        Assert.assertEquals(lifecycleManager.getValidateAfterInactivityMillis(), 2000);
+
+        settings.timeToLive = 0;
+        lifecycleManager.reconfigure(settings);
+        Assert.assertEquals(lifecycleManager.getTimeToLiveMillis(), -1L);
+    }
+
+    @Test
+    public void testEvictClosesIdleConnections() {
+
+        Assert.assertEquals(lifecycleManager.evict(), 0);
+
+        AtomicLong idleTimeout = new AtomicLong();
+        lifecycleManager.start(idleTimeoutMillis -> {
+            idleTimeout.set(idleTimeoutMillis);
+            return 3;
+        });
+
+        Assert.assertEquals(lifecycleManager.evict(), 3);
+        Assert.assertEquals(idleTimeout.get(), 60000L);
+        Assert.assertEquals(evictedConnections.get(), 3L);
+    }
+
+    @Test
+    public void testStaleConnectionFailure() {
+
+        Assert.assertTrue(ConnectionLifecycleManager.isStaleConnectionFailure(new NoHttpResponseException("")));
+        Assert.assertTrue(ConnectionLifecycleManager.isStaleConnectionFailure(new ConnectionClosedException("")));
+        Assert.assertTrue(ConnectionLifecycleManager.isStaleConnectionFailure(
+                new SocketException("Connection reset")));
+        Assert.assertFalse(ConnectionLifecycleManager.isStaleConnectionFailure(
+                new ConnectException("Connection refused")));
+    }
+
+    private static final class TestSettings implements ConnectionSettings {
+
+        private int timeToLive = 120;
+
+        @Override
+        public int getConnectionIdleTimeout() {
+
+            return 60;
+        }
+
+        @Override
+        public int getConnectionTimeToLive() {
+
+            return timeToLive;
+        }
+
+        @Override
+        public int getConnectionEvictionInterval() {
+
+            return 0;
+        }
+
+        @Override
+        public int getConnectionValidateAfterInactivity() {
+
+            return 2000;
+        }
+
+        @Override
+        public int getConnectionKeepAlive() {
+
+            return 15;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Test class for HTTP2TransportClient.
+ */
+public class HTTP2TransportClientTest {
+
+    private HttpServer server;
+    private HTTP2TransportClient transportClient;
+    private volatile String receivedBody;
+    private volatile String receivedContentType;
+    private volatile String receivedSignature;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            receivedBody = read(exchange.getRequestBody());
+            receivedContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            receivedSignature = exchange.getRequestHeaders().getFirst("x-wso2-event-signature");
+            byte[] response = "accepted".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(202, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        transportClient = new HTTP2TransportClient(SSLContext.getDefault(), 3000, 3000, 3000, 10, 5);
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        if (transportClient != null) {
+            transportClient.close();
+        }
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testExecuteFallsBackToHttp11ForPlainTextEndpoint() throws Exception {
+
+        HttpPost post = new HttpPost("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+        post.setHeader("Content-Type", "application/json");
+        post.setHeader("x-wso2-event-signature", "sha256=abc");
+        post.setEntity(new StringEntity("{\"event\":\"created\"}"));
+
+        HttpResponse response = execute(post).get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(response.getStatusLine().getStatusCode(), 202);
+        Assert.assertEquals(response.getStatusLine().getProtocolVersion(), HttpVersion.HTTP_1_1);
+        Assert.assertEquals(EntityUtils.toString(response.getEntity()), "accepted");
+        Assert.assertEquals(receivedBody, "{\"event\":\"created\"}");
+        Assert.assertEquals(receivedContentType, "application/json");
+        Assert.assertEquals(receivedSignature, "sha256=abc");
+    }
+
+    @Test
+    public void testExecuteFailsForUnreachableEndpoint() throws Exception {
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        HttpPost post = new HttpPost("http://127.0.0.1:" + port + "/events");
+        post.setEntity(new StringEntity("{}"));
+
+        CompletableFuture<HttpResponse> future = execute(post);
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            Assert.fail("Expected the request to fail.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private CompletableFuture<HttpResponse> execute(HttpPost post) {
+
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        transportClient.execute(post, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse result) {
+
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+
+                future.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    private static String read(InputStream in) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
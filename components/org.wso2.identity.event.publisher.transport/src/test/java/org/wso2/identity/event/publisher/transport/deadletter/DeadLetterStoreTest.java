@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.deadletter;
+
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test class for DeadLetterStore.
+ */
+public class DeadLetterStoreTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events";
+    private Path directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("dead-letter");
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testAddAndReload() throws Exception {
+
+        DeadLetterStore store = new DeadLetterStore(directory, 10);
+        store.load();
+        HttpPost request = new HttpPost(ENDPOINT);
+        request.setHeader("Content-Type", "application/json");
+        request.setHeader("x-wso2-event-signature", "sha256=abc");
+        request.setEntity(new StringEntity("{\"event\":1}"));
+
+        EventContext eventContext = EventContext.builder()
+                .tenantDomain("carbon.super")
+                .eventProfileName("WSO2")
+                .eventProfileVersion("v1")
+                .eventUri("test-uri")
+                .build();
+        DeadLetterEntry entry = store.add(eventContext, request, "503 Service Unavailable");
+        Assert.assertNotNull(entry);
+        Assert.assertEquals(entry.getEndpoint(), ENDPOINT);
+        Assert.assertEquals(entry.getHeaders().get("x-wso2-event-signature"), "sha256=abc");
+
+        DeadLetterStore reloaded = new DeadLetterStore(directory, 10);
+        reloaded.load();
+        List<DeadLetterEntry> entries = reloaded.list("carbon.super", null, 0, Long.MAX_VALUE, 10);
+        Assert.assertEquals(entries.size(), 1);
+        Assert.assertEquals(entries.get(0).getId(), entry.getId());
+        Assert.assertEquals(entries.get(0).getLastError(), "503 Service Unavailable");
+        Assert.assertEquals(entries.get(0).getEventUri(), "test-uri");
+        Assert.assertEquals(entries.get(0).getEventProfileName(), "WSO2");
+        Assert.assertEquals(entries.get(0).getEventProfileVersion(), "v1");
+        Assert.assertEquals(new String(reloaded.readBody(entries.get(0)), StandardCharsets.UTF_8), "{\"event\":1}");
+    }
+
+    @Test
+    public void testListFiltersByTenantEndpointAndTime() throws Exception {
+
+        DeadLetterStore store = new DeadLetterStore(directory, 10);
+        store.load();
+        DeadLetterEntry first = add(store, "tenant-a", ENDPOINT);
+        add(store, "tenant-a", "http://other-endpoint.com");
+        add(store, "tenant-b", ENDPOINT);
+
+        Assert.assertEquals(store.list("tenant-a", null, 0, Long.MAX_VALUE, 10).size(), 2);
+        Assert.assertEquals(store.list("tenant-a", ENDPOINT, 0, Long.MAX_VALUE, 10).size(), 1);
+        Assert.assertEquals(store.list(null, ENDPOINT, 0, Long.MAX_VALUE, 10).size(), 2);
+        Assert.assertEquals(store.list(null, null, 0, Long.MAX_VALUE, 2).size(), 2);
+        Assert.assertEquals(store.list("tenant-a", null, 0, first.getCreatedTime() - 1, 10).size(), 0);
+        Assert.assertEquals(store.list("tenant-c", null, 0, Long.MAX_VALUE, 10).size(), 0);
+        Assert.assertEquals(store.list(null, null, 0, Long.MAX_VALUE, 10).get(0).getId(), first.getId());
+    }
+
+    @Test
+    public void testReplaceKeepsEventDetails() throws Exception {
+
+        DeadLetterStore store = new DeadLetterStore(directory, 10);
+        store.load();
+        HttpPost request = new HttpPost(ENDPOINT);
+        request.setEntity(new StringEntity("{\"event\":1}"));
+        DeadLetterEntry entry = store.add(EventContext.builder().tenantDomain("carbon.super")
+                .eventProfileName("WSO2").eventProfileVersion("v1").eventUri("test-uri").build(), request,
+                "Connection refused");
+
+        DeadLetterEntry replacement = store.replace(entry, store.readBody(entry), "503 Service Unavailable");
+
+        Assert.assertNotNull(replacement);
+        Assert.assertEquals(store.size(), 1);
+        Assert.assertEquals(store.list(null, null, 0, Long.MAX_VALUE, 10).get(0).getId(), replacement.getId());
+        Assert.assertEquals(replacement.getLastError(), "503 Service Unavailable");
+        Assert.assertEquals(replacement.getEventProfileName(), "WSO2");
+        Assert.assertEquals(replacement.getEventProfileVersion(), "v1");
+        Assert.assertEquals(replacement.getEndpoint(), ENDPOINT);
+        Assert.assertEquals(new String(store.readBody(replacement), StandardCharsets.UTF_8), "{\"event\":1}");
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+
+        DeadLetterStore store = new DeadLetterStore(directory, 10);
+        store.load();
+        DeadLetterEntry entry = add(store, "carbon.super", ENDPOINT);
+
+        Assert.assertTrue(store.remove(entry));
+        Assert.assertFalse(store.remove(entry));
+        Assert.assertEquals(store.size(), 0);
+        Assert.assertThrows(IOException.class, () -> store.readBody(entry));
+
+        DeadLetterStore reloaded = new DeadLetterStore(directory, 10);
+        reloaded.load();
+        Assert.assertEquals(reloaded.size(), 0);
+    }
+
+    @Test
+    public void testFullStoreDiscardsEntries() throws Exception {
+
+        DeadLetterStore store = new DeadLetterStore(directory, 1);
+        store.load();
+        Assert.assertNotNull(add(store, "carbon.super", ENDPOINT));
+        Assert.assertNull(add(store, "carbon.super", ENDPOINT));
+        Assert.assertEquals(store.size(), 1);
+    }
+
+    private static DeadLetterEntry add(DeadLetterStore store, String tenantDomain, String endpoint)
+            throws IOException {
+
+        return store.add(tenantDomain, endpoint, "test-uri", Collections.emptyMap(),
+                "{}".getBytes(StandardCharsets.UTF_8), "Connection refused");
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.wso2.identity.event.publisher.transport.internal;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.DnsResolver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.publisher.transport.client.ConnectionSettings;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Test class for SharedTransportImpl.
+ */
+public class SharedTransportImplTest {
+
+    private HttpServer server;
+    private SharedTransportImpl sharedTransport;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/events", exchange -> {
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.start();
+        sharedTransport = new SharedTransportImpl();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        sharedTransport.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testPoolIsSizedToLargestAttachedLimits() throws Exception {
+
+        sharedTransport.attach("http", 20, 2, new TestSettings(60, 0, 30, 15), null, null);
+        sharedTransport.attach("websubhub", 10, 5, new TestSettings(60, 0, 30, 15), null, null);
+        Assert.assertNull(sharedTransport.getConnectionManager("http"));
+
+        Assert.assertEquals(execute("http").getStatusLine().getStatusCode(), 202);
+        Assert.assertSame(sharedTransport.getConnectionManager("websubhub"),
+                sharedTransport.getConnectionManager("http"));
+        Assert.assertEquals(sharedTransport.getConnectionManager("http").getMaxTotal(), 20);
+        Assert.assertEquals(sharedTransport.getConnectionManager("http").getDefaultMaxPerRoute(), 5);
+
+        sharedTransport.attach("http", 40, 2, new TestSettings(60, 0, 30, 15), null, null);
+        Assert.assertEquals(sharedTransport.getConnectionManager("http").getMaxTotal(), 40);
+        sharedTransport.detach("http");
+        Assert.assertEquals(sharedTransport.getMaxConnections("websubhub"), 10);
+        Assert.assertEquals(sharedTransport.getConnectionManager("websubhub").getMaxTotal(), 10);
+        Assert.assertEquals(sharedTransport.getConnectionManager("websubhub").getDefaultMaxPerRoute(), 5);
+    }
+
+    @Test
+    public void testPoolFollowsStrictestAttachedSettings() throws Exception {
+
+        List<String> resolvedHosts = Collections.synchronizedList(new ArrayList<>());
+        DnsResolver dnsResolver = recordingResolver(resolvedHosts);
+        sharedTransport.attach("http", 20, 2, new TestSettings(60, 300, 30, 15), dnsResolver, null);
+        sharedTransport.attach("websubhub", 10, 5, new TestSettings(30, 0, 0, 5), dnsResolver, null);
+
+        ConnectionSettings settings = sharedTransport.getConnectionSettings("http");
+        Assert.assertEquals(settings.getConnectionIdleTimeout(), 30);
+        Assert.assertEquals(settings.getConnectionTimeToLive(), 300);
+        Assert.assertEquals(settings.getConnectionEvictionInterval(), 30);
+        Assert.assertEquals(settings.getConnectionKeepAlive(), 5);
+
+        Assert.assertEquals(execute("websubhub").getStatusLine().getStatusCode(), 202);
+        Assert.assertEquals(sharedTransport.getConnectionLifecycleManager("http").getTimeToLiveMillis(), 300000L);
+        Assert.assertEquals(sharedTransport.getConnectionLifecycleManager("http").getKeepAliveMillis(null), 5000L);
+        Assert.assertEquals(resolvedHosts, Collections.singletonList("127.0.0.1"));
+
+        sharedTransport.detach("websubhub");
+        Assert.assertEquals(sharedTransport.getConnectionLifecycleManager("http").getKeepAliveMillis(null), 15000L);
+    }
+
+    @Test
+    public void testPublishersWithDifferentTrustOrResolverGetOwnPools() throws Exception {
+
+        List<String> httpHosts = Collections.synchronizedList(new ArrayList<>());
+        List<String> webSubHosts = Collections.synchronizedList(new ArrayList<>());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        sharedTransport.attach("http", 20, 2, new TestSettings(60, 0, 30, 15), recordingResolver(httpHosts), null);
+        sharedTransport.attach("websubhub", 10, 5, new TestSettings(60, 0, 30, 15), recordingResolver(webSubHosts),
+                sslContext);
+        Assert.assertEquals(sharedTransport.getPoolCount(), 2);
+        Assert.assertEquals(sharedTransport.getMaxConnections("http"), 20);
+        Assert.assertEquals(sharedTransport.getMaxConnectionsPerRoute("websubhub"), 5);
+
+        Assert.assertEquals(execute("http").getStatusLine().getStatusCode(), 202);
+        Assert.assertEquals(execute("websubhub").getStatusLine().getStatusCode(), 202);
+        Assert.assertNotSame(sharedTransport.getConnectionManager("http"),
+                sharedTransport.getConnectionManager("websubhub"));
+        Assert.assertEquals(httpHosts, Collections.singletonList("127.0.0.1"));
+        Assert.assertEquals(webSubHosts, Collections.singletonList("127.0.0.1"));
+
+        sharedTransport.detach("websubhub");
+        Assert.assertEquals(sharedTransport.getPoolCount(), 1);
+        Assert.assertNull(sharedTransport.getConnectionManager("websubhub"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testDetachedPublisherIsRejected() throws Exception {
+
+        sharedTransport.attach("http", 20, 2, new TestSettings(60, 0, 30, 15), null, null);
+        sharedTransport.detach("http");
+        execute("http");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testClosedTransportRejectsRequests() throws Exception {
+
+        sharedTransport.attach("http", 20, 2, new TestSettings(60, 0, 30, 15), null, null);
+        sharedTransport.close();
+        execute("http");
+    }
+
+    private static DnsResolver recordingResolver(List<String> resolvedHosts) {
+
+        return host -> {
+            resolvedHosts.add(host);
+            return InetAddress.getAllByName(host);
+        };
+    }
+
+    private HttpResponse execute(String consumer) throws Exception {
+
+        CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        sharedTransport.execute(consumer,
+                new HttpGet("http://127.0.0.1:" + server.getAddress().getPort() + "/events"),
+                new FutureCallback<HttpResponse>() {
+                    @Override
+                    public void completed(HttpResponse result) {
+
+                        future.complete(result);
+                    }
+
+                    @Override
+                    public void failed(Exception ex) {
+
+                        future.completeExceptionally(ex);
+                    }
+
+                    @Override
+                    public void cancelled() {
+
+                        future.cancel(true);
+                    }
+                });
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private static final class TestSettings implements ConnectionSettings {
+
+        private final int idleTimeout;
+        private final int timeToLive;
+        private final int evictionInterval;
+        private final int keepAlive;
+
+        private TestSettings(int idleTimeout, int timeToLive, int evictionInterval, int keepAlive) {
+
+            this.idleTimeout = idleTimeout;
+            this.timeToLive = timeToLive;
+            this.evictionInterval = evictionInterval;
+            this.keepAlive = keepAlive;
+        }
+
+        @Override
+        public int getConnectionIdleTimeout() {
+
+            return idleTimeout;
+        }
+
+        @Override
+        public int getConnectionTimeToLive() {
+
+            return timeToLive;
+        }
+
+        @Override
+        public int getConnectionEvictionInterval() {
+
+            return evictionInterval;
+        }
+
+        @Override
+        public int getConnectionValidateAfterInactivity() {
+
+            return 2000;
+        }
+
+        @Override
+        public int getConnectionKeepAlive() {
+
+            return keepAlive;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.metrics;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMeanMillis(), 0d);
+        assertEquals(histogram.getMaxMillis(), 0d);
+        assertEquals(histogram.getPercentileMillis(99), 0d);
+    }
+
+    @Test
+    public void testPercentiles() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(histogram.getCount(), 1000);
+        assertEquals(histogram.getMeanMillis(), 500.5d, 0.001d);
+        assertEquals(histogram.getMaxMillis(), 1000d);
+        assertWithinRelativeError(histogram.getPercentileMillis(50), 500d);
+        assertWithinRelativeError(histogram.getPercentileMillis(90), 900d);
+        assertWithinRelativeError(histogram.getPercentileMillis(99), 990d);
+        assertEquals(histogram.getPercentileMillis(100), 1000d);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5, TimeUnit.MICROSECONDS);
+        histogram.record(20, TimeUnit.MICROSECONDS);
+
+        assertEquals(histogram.getPercentileMillis(50), 0.005d);
+        assertEquals(histogram.getPercentileMillis(100), 0.020d);
+    }
+
+    @Test
+    public void testValuesAboveTrackableRangeAreClamped() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10, TimeUnit.MINUTES);
+
+        assertEquals(histogram.getCount(), 1);
+        assertEquals(histogram.getMaxMillis(), 600000d);
+        assertTrue(histogram.getPercentileMillis(50) > 100000d);
+    }
+
+    @Test
+    public void testReset() {
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10, TimeUnit.MILLISECONDS);
+        histogram.reset();
+
+        assertEquals(histogram.getCount(), 0);
+        assertEquals(histogram.getMaxMillis(), 0d);
+        assertEquals(histogram.getPercentileMillis(50), 0d);
+    }
+
+    private static void assertWithinRelativeError(double actual, double expected) {
+
+        assertTrue(Math.abs(actual - expected) <= expected * 0.07d,
+                "Expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentEncoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Test class for BufferPool and PooledEntity.
+ */
+public class BufferPoolTest {
+
+    private static final byte[] PAYLOAD = "{\"iss\":\"https://localhost:9443\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testEntityIsRepeatable() throws IOException {
+
+        BufferPool pool = new BufferPool(2, 8, 64);
+        BufferPool.PooledOutputStream buffer = pool.acquire();
+        buffer.write(PAYLOAD);
+        Assert.assertEquals(buffer.size(), PAYLOAD.length);
+
+        PooledEntity entity = buffer.toEntity(ContentType.APPLICATION_JSON);
+        Assert.assertTrue(entity.isRepeatable());
+        Assert.assertEquals(entity.getContentLength(), PAYLOAD.length);
+        Assert.assertEquals(EntityUtils.toByteArray(entity), PAYLOAD);
+        Assert.assertEquals(EntityUtils.toByteArray(entity), PAYLOAD);
+    }
+
+    @Test
+    public void testEntityProducesContentForEveryAttempt() throws IOException {
+
+        BufferPool pool = new BufferPool(2, 64, 64);
+        BufferPool.PooledOutputStream buffer = pool.acquire();
+        buffer.write(PAYLOAD);
+        PooledEntity entity = buffer.toEntity(ContentType.APPLICATION_JSON);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            RecordingEncoder encoder = new RecordingEncoder(5);
+            while (!encoder.isCompleted()) {
+                entity.produceContent(encoder, mock(IOControl.class));
+            }
+            entity.close();
+            Assert.assertEquals(encoder.getContent(), PAYLOAD);
+        }
+    }
+
+    @Test
+    public void testReleasedBufferIsReused() throws IOException {
+
+        BufferPool pool = new BufferPool(2, 64, 64);
+        BufferPool.PooledOutputStream buffer = pool.acquire();
+        byte[] array = buffer.getBuffer();
+        buffer.write(PAYLOAD);
+        HttpPost request = new HttpPost("http://mock-endpoint.com/events");
+        request.setEntity(buffer.toEntity(ContentType.APPLICATION_JSON));
+        Assert.assertEquals(pool.getIdleBufferCount(), 0);
+
+        PooledEntity.release(request);
+        PooledEntity.release(request);
+        Assert.assertEquals(pool.getIdleBufferCount(), 1);
+        Assert.assertSame(pool.acquire().getBuffer(), array);
+    }
+
+    @Test
+    public void testOversizedBufferIsNotPooled() throws IOException {
+
+        BufferPool pool = new BufferPool(2, 8, 16);
+        BufferPool.PooledOutputStream buffer = pool.acquire();
+        buffer.write(PAYLOAD);
+        Assert.assertTrue(buffer.getBuffer().length > 16);
+
+        buffer.release();
+        Assert.assertEquals(pool.getIdleBufferCount(), 0);
+    }
+
+    /**
+     * Content encoder that accepts at most a fixed number of bytes per write, like a congested channel.
+     */
+    private static final class RecordingEncoder implements ContentEncoder {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private final int chunkSize;
+        private boolean completed;
+
+        RecordingEncoder(int chunkSize) {
+
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+
+            int length = Math.min(chunkSize, src.remaining());
+            byte[] chunk = new byte[length];
+            src.get(chunk);
+            content.write(chunk, 0, length);
+            return length;
+        }
+
+        @Override
+        public void complete() {
+
+            completed = true;
+        }
+
+        @Override
+        public boolean isCompleted() {
+
+            return completed;
+        }
+
+        byte[] getContent() {
+
+            return content.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ByteBudget.
+ */
+public class ByteBudgetTest {
+
+    @Test
+    public void testReservationsAreBoundedByBudget() {
+
+        ByteBudget budget = new ByteBudget(100);
+
+        ByteBudget.Reservation first = budget.reserve(60);
+        Assert.assertNotNull(first);
+        Assert.assertNull(budget.reserve(50));
+        ByteBudget.Reservation second = budget.reserve(40);
+        Assert.assertNotNull(second);
+        Assert.assertEquals(budget.getUsedBytes(), 100L);
+
+        first.release();
+        first.release();
+        Assert.assertEquals(budget.getUsedBytes(), 40L);
+        second.release();
+        Assert.assertEquals(budget.getUsedBytes(), 0L);
+    }
+
+    @Test
+    public void testOversizedBodyAdmittedWhenBudgetIsEmpty() {
+
+        ByteBudget budget = new ByteBudget(100);
+
+        ByteBudget.Reservation oversized = budget.reserve(500);
+        Assert.assertNotNull(oversized);
+        Assert.assertNull(budget.reserve(1));
+        oversized.release();
+        Assert.assertNotNull(budget.reserve(1));
+    }
+
+    @Test
+    public void testUnlimitedBudget() {
+
+        ByteBudget budget = new ByteBudget(0);
+
+        Assert.assertSame(budget.reserve(Long.MAX_VALUE), ByteBudget.UNTRACKED);
+        Assert.assertEquals(budget.getUsedBytes(), 0L);
+
+        budget.setMaxBytes(10);
+        Assert.assertNotNull(budget.reserve(10));
+        Assert.assertNull(budget.reserve(1));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.conn.DnsResolver;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test class for CachingDnsResolver.
+ */
+public class CachingDnsResolverTest {
+
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private CountingResolver delegate;
+    private InetAddress first;
+    private InetAddress second;
+    private InetAddress third;
+
+    @BeforeMethod
+    public void setUp() throws UnknownHostException {
+
+        first = InetAddress.getByAddress("endpoint.example.com", new byte[]{10, 0, 0, 1});
+        second = InetAddress.getByAddress("endpoint.example.com", new byte[]{10, 0, 0, 2});
+        third = InetAddress.getByAddress("endpoint.example.com", new byte[]{10, 0, 0, 3});
+        delegate = new CountingResolver();
+        delegate.hosts.put("endpoint.example.com", new InetAddress[]{first, second, third});
+    }
+
+    @Test
+    public void testResolutionIsCached() throws UnknownHostException {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 10, DIRECT_EXECUTOR);
+
+        resolver.resolve("endpoint.example.com");
+        resolver.resolve("endpoint.example.com");
+        resolver.resolve("endpoint.example.com");
+
+        Assert.assertEquals(delegate.lookups.get(), 1);
+        Assert.assertEquals(resolver.size(), 1);
+    }
+
+    @Test
+    public void testAddressesAreRotated() throws UnknownHostException {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 10, DIRECT_EXECUTOR);
+
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{first, second, third});
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{second, third, first});
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{third, first, second});
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{first, second, third});
+    }
+
+    @Test
+    public void testFailedAddressMovesToEndOfRotation() throws UnknownHostException {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 10, DIRECT_EXECUTOR);
+
+        Assert.assertEquals(resolver.resolve("endpoint.example.com")[0], first);
+        resolver.reportConnectFailure("endpoint.example.com");
+
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{second, third, first});
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{third, second, first});
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{second, third, first});
+    }
+
+    @Test
+    public void testConnectFailureOfSingleAddressHostIsIgnored() throws UnknownHostException {
+
+        delegate.hosts.put("single.example.com", new InetAddress[]{first});
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 10, DIRECT_EXECUTOR);
+
+        resolver.resolve("single.example.com");
+        resolver.reportConnectFailure("single.example.com");
+        resolver.reportConnectFailure("unknown.example.com");
+
+        Assert.assertEquals(resolver.resolve("single.example.com"), new InetAddress[]{first});
+    }
+
+    @Test
+    public void testFailedResolutionIsCached() {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 10, DIRECT_EXECUTOR);
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                resolver.resolve("missing.example.com");
+                Assert.fail("Expected UnknownHostException.");
+            } catch (UnknownHostException e) {
+                Assert.assertEquals(e.getMessage(), "missing.example.com");
+            }
+        }
+        Assert.assertEquals(delegate.lookups.get(), 1);
+    }
+
+    @Test
+    public void testExpiredFailedResolutionIsRetried() throws UnknownHostException {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 0L, 10, DIRECT_EXECUTOR);
+
+        try {
+            resolver.resolve("late.example.com");
+            Assert.fail("Expected UnknownHostException.");
+        } catch (UnknownHostException e) {
+            // Expected, the host is not registered yet.
+        }
+        delegate.hosts.put("late.example.com", new InetAddress[]{first});
+
+        Assert.assertEquals(resolver.resolve("late.example.com"), new InetAddress[]{first});
+        Assert.assertEquals(delegate.lookups.get(), 2);
+    }
+
+    @Test
+    public void testStaleEntryIsServedWhileRefreshing() throws Exception {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 300L, 10000L, 10, DIRECT_EXECUTOR);
+        resolver.resolve("endpoint.example.com");
+        delegate.hosts.put("endpoint.example.com", new InetAddress[]{third});
+        Thread.sleep(350L);
+
+        // The stale addresses are returned and the direct executor already refreshed the entry.
+        Assert.assertEquals(resolver.resolve("endpoint.example.com").length, 3);
+        Assert.assertEquals(delegate.lookups.get(), 2);
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{third});
+    }
+
+    @Test
+    public void testExpiredEntryIsResolvedSynchronously() throws Exception {
+
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 0L, 10000L, 10, DIRECT_EXECUTOR);
+        resolver.resolve("endpoint.example.com");
+        delegate.hosts.put("endpoint.example.com", new InetAddress[]{third});
+
+        Assert.assertEquals(resolver.resolve("endpoint.example.com"), new InetAddress[]{third});
+        Assert.assertEquals(delegate.lookups.get(), 2);
+    }
+
+    @Test
+    public void testCacheSizeIsBounded() throws UnknownHostException {
+
+        for (int i = 0; i < 5; i++) {
+            delegate.hosts.put("host" + i + ".example.com", new InetAddress[]{first});
+        }
+        CachingDnsResolver resolver = new CachingDnsResolver(delegate, 60000L, 10000L, 3, DIRECT_EXECUTOR);
+
+        for (int i = 0; i < 5; i++) {
+            resolver.resolve("host" + i + ".example.com");
+        }
+
+        Assert.assertEquals(resolver.size(), 3);
+    }
+
+    private static class CountingResolver implements DnsResolver {
+
+        private final Map<String, InetAddress[]> hosts = new HashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+
+            lookups.incrementAndGet();
+            InetAddress[] addresses = hosts.get(host);
+            if (addresses == null) {
+                throw new UnknownHostException(host);
+            }
+            return addresses;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.mockito.MockedStatic;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for CallbackContext.
+ */
+public class CallbackContextTest {
+
+    @Test
+    public void testTenantFlowIsNotStartedByDefault() {
+
+        try (MockedStatic<PrivilegedCarbonContext> carbonContext = mockStatic(PrivilegedCarbonContext.class)) {
+            CallbackContext callbackContext = new CallbackContext("carbon.super", "correlation-id");
+            callbackContext.attach();
+            callbackContext.detach();
+
+            Assert.assertFalse(callbackContext.isTenantFlowStarted());
+            carbonContext.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    public void testTenantFlowIsStartedOnce() {
+
+        try (MockedStatic<PrivilegedCarbonContext> carbonContext = mockStatic(PrivilegedCarbonContext.class)) {
+            PrivilegedCarbonContext threadLocalContext = mock(PrivilegedCarbonContext.class);
+            carbonContext.when(PrivilegedCarbonContext::getThreadLocalCarbonContext).thenReturn(threadLocalContext);
+
+            CallbackContext callbackContext = new CallbackContext("wso2.com", null);
+            callbackContext.attach();
+            callbackContext.startTenantFlow();
+            callbackContext.startTenantFlow();
+            Assert.assertTrue(callbackContext.isTenantFlowStarted());
+            callbackContext.detach();
+
+            Assert.assertFalse(callbackContext.isTenantFlowStarted());
+            carbonContext.verify(PrivilegedCarbonContext::startTenantFlow, times(1));
+            carbonContext.verify(PrivilegedCarbonContext::endTenantFlow, times(1));
+            verify(threadLocalContext).setTenantDomain("wso2.com");
+        }
+    }
+}
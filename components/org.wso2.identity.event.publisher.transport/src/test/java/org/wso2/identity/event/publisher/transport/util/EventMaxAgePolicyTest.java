@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for EventMaxAgePolicy.
+ */
+public class EventMaxAgePolicyTest {
+
+    private static final String ENDPOINT = "http://mock-endpoint.com/events?key=value";
+
+    @Test
+    public void testMaxAgePrecedence() {
+
+        EventMaxAgePolicy policy = new EventMaxAgePolicy(300, "CAEP=60, RISC=0", ENDPOINT + "=10");
+
+        Assert.assertTrue(policy.isEnabled());
+        Assert.assertEquals(policy.getMaxAgeMillis("WSO2", "http://other-endpoint.com"), 300_000L);
+        Assert.assertEquals(policy.getMaxAgeMillis("CAEP", "http://other-endpoint.com"), 60_000L);
+        Assert.assertEquals(policy.getMaxAgeMillis("RISC", "http://other-endpoint.com"), 0L);
+        Assert.assertEquals(policy.getMaxAgeMillis("CAEP", ENDPOINT), 10_000L);
+    }
+
+    @Test
+    public void testExpiredEvents() {
+
+        EventMaxAgePolicy policy = new EventMaxAgePolicy(0, "CAEP=60", null);
+        long now = System.currentTimeMillis();
+
+        Assert.assertFalse(policy.isExpired(payload(now - TimeUnit.MINUTES.toMillis(10)), "WSO2", ENDPOINT));
+        Assert.assertFalse(policy.isExpired(payload(now - TimeUnit.SECONDS.toMillis(30)), "CAEP", ENDPOINT));
+        Assert.assertTrue(policy.isExpired(payload(now - TimeUnit.MINUTES.toMillis(2)), "CAEP", ENDPOINT));
+        // Issued at times in seconds, as defined for security event tokens, are accepted too.
+        Assert.assertTrue(policy.isExpired(payload(TimeUnit.MILLISECONDS.toSeconds(now) - 120), "CAEP", ENDPOINT));
+        Assert.assertFalse(policy.isExpired(payload(0), "CAEP", ENDPOINT));
+    }
+
+    @Test
+    public void testInvalidEntriesAreIgnored() {
+
+        EventMaxAgePolicy policy = new EventMaxAgePolicy(0, "CAEP, RISC=abc,,", " ");
+
+        Assert.assertFalse(policy.isEnabled());
+        Assert.assertEquals(policy.getMaxAgeMillis("CAEP", ENDPOINT), 0L);
+    }
+
+    private static SecurityEventTokenPayload payload(long issuedAt) {
+
+        return SecurityEventTokenPayload.builder()
+                .iss("issuer")
+                .jti("jti-token")
+                .iat(issuedAt)
+                .aud("audience")
+                .build();
+    }
+}
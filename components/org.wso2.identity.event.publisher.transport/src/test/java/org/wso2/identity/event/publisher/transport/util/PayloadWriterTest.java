@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.apache.http.entity.ContentType;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.publisher.api.model.EventPayload;
+import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for PayloadWriter.
+ */
+public class PayloadWriterTest {
+
+    private static final String EVENT_URI = "https://schemas.identity.wso2.org/events/login/event-type/loginSuccess";
+
+    private final PayloadWriter payloadWriter = new PayloadWriter();
+
+    @Test
+    public void testSecurityEventTokenGoldenOutput() throws IOException {
+
+        SecurityEventTokenPayload payload = SecurityEventTokenPayload.builder()
+                .iss("https://localhost:9443/oauth2/token")
+                .iat(1760000000000L)
+                .jti("6f2a1c3e-0b7d-4e59-9a18-2c4d5e6f7a8b")
+                .aud("https://webhook.example.com/events")
+                .rci("a1b2c3d4")
+                .events(Collections.singletonMap(EVENT_URI, new LoginEventPayload("é \"admin\"", "")))
+                .build();
+
+        Assert.assertEquals(write(payload), "{\"iss\":\"https://localhost:9443/oauth2/token\"," +
+                "\"iat\":1760000000000,\"jti\":\"6f2a1c3e-0b7d-4e59-9a18-2c4d5e6f7a8b\"," +
+                "\"aud\":\"https://webhook.example.com/events\",\"rci\":\"a1b2c3d4\"," +
+                "\"events\":{\"" + EVENT_URI + "\":{\"user\":{\"name\":\"é \\\"admin\\\"\"}," +
+                "\"attributes\":{\"claims\":1}}}}");
+    }
+
+    @DataProvider(name = "binaryGoldenOutputs")
+    public Object[][] binaryGoldenOutputs() {
+
+        return new Object[][]{
+                {PayloadWriter.CBOR, "bf6369737366697373756572636961741a68e77800636a7469636a7469"
+                        + "666576656e7473bf63757269bf6475736572bf646e616d6562c3a9ff"
+                        + "6a61747472696275746573bf66636c61696d7301ffffffff"},
+                {PayloadWriter.SMILE, "3a290a01fa826973734569737375657282696174241a1c774080826a74"
+                        + "69426a7469856576656e7473fa82757269fa8375736572fa836e616d65"
+                        + "80c3a9fb8961747472696275746573fa85636c61696d73c2fbfbfbfb"}
+        };
+    }
+
+    @Test(dataProvider = "binaryGoldenOutputs")
+    public void testBinaryGoldenOutput(String encoding, String expectedHex) throws IOException {
+
+        SecurityEventTokenPayload payload = SecurityEventTokenPayload.builder()
+                .iss("issuer")
+                .iat(1760000000L)
+                .jti("jti")
+                .events(Collections.singletonMap("uri", new LoginEventPayload("é", null)))
+                .build();
+
+        Assert.assertEquals(toHex(write(new PayloadWriter(encoding), payload)), expectedHex);
+    }
+
+    @Test
+    public void testEncodingResolution() {
+
+        Assert.assertEquals(new PayloadWriter().getEncoding(), PayloadWriter.JSON);
+        Assert.assertEquals(new PayloadWriter().getContentType(), ContentType.APPLICATION_JSON);
+        Assert.assertFalse(new PayloadWriter().isBinary());
+        Assert.assertEquals(new PayloadWriter(" CBOR ").getEncoding(), PayloadWriter.CBOR);
+        Assert.assertEquals(new PayloadWriter(" CBOR ").getContentType(), PayloadWriter.APPLICATION_CBOR);
+        Assert.assertTrue(new PayloadWriter(" CBOR ").isBinary());
+        Assert.assertEquals(new PayloadWriter("Smile").getEncoding(), PayloadWriter.SMILE);
+        Assert.assertEquals(new PayloadWriter("Smile").getContentType(), PayloadWriter.APPLICATION_SMILE);
+        Assert.assertEquals(new PayloadWriter("xml").getEncoding(), PayloadWriter.JSON);
+        Assert.assertEquals(new PayloadWriter(null).getEncoding(), PayloadWriter.JSON);
+    }
+
+    @DataProvider(name = "payloads")
+    public Object[][] payloads() {
+
+        Map<String, EventPayload> events = new LinkedHashMap<>();
+        events.put(EVENT_URI, new LoginEventPayload("admin", null));
+        events.put(EVENT_URI + "/second", new LoginEventPayload(null, "PRIMARY"));
+        events.put(EVENT_URI + "/third", null);
+        Map<String, EventPayload> eventsWithNull = new HashMap<>();
+        eventsWithNull.put(EVENT_URI, null);
+
+        return new Object[][]{
+                {SecurityEventTokenPayload.builder().iss("issuer").iat(1L).jti("jti").aud("audience").rci("rci")
+                        .events(events).build()},
+                {SecurityEventTokenPayload.builder().iss("").jti("jti").events(Collections.emptyMap()).build()},
+                {SecurityEventTokenPayload.builder().iat(-5L).events(eventsWithNull).build()},
+                {SecurityEventTokenPayload.builder().build()},
+                {new LoginEventPayload("admin", "PRIMARY")},
+                {null}
+        };
+    }
+
+    @DataProvider(name = "encodedPayloads")
+    public Object[][] encodedPayloads() {
+
+        List<Object[]> encodedPayloads = new ArrayList<>();
+        for (Object[] payload : payloads()) {
+            encodedPayloads.add(new Object[]{PayloadWriter.JSON, new JsonFactory(), payload[0]});
+            encodedPayloads.add(new Object[]{PayloadWriter.CBOR, new CBORFactory(), payload[0]});
+            encodedPayloads.add(new Object[]{PayloadWriter.SMILE, new SmileFactory(), payload[0]});
+        }
+        return encodedPayloads.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "encodedPayloads")
+    public void testOutputMatchesObjectMapper(String encoding, JsonFactory factory, Object payload)
+            throws IOException {
+
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+
+        Assert.assertEquals(write(new PayloadWriter(encoding), payload), mapper.writeValueAsBytes(payload));
+    }
+
+    private String write(Object payload) throws IOException {
+
+        return new String(write(payloadWriter, payload), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] write(PayloadWriter writer, Object payload) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(out, payload);
+        return out.toByteArray();
+    }
+
+    private static String toHex(byte[] bytes) {
+
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b & 0xff));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Event payload with nested and optional properties.
+     */
+    public static class LoginEventPayload extends EventPayload {
+
+        private final Map<String, Object> user = new LinkedHashMap<>();
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private final String userStore;
+
+        LoginEventPayload(String userName, String userStore) {
+
+            if (userName != null) {
+                user.put("name", userName);
+            }
+            attributes.put("claims", 1);
+            this.userStore = userStore;
+        }
+
+        public Map<String, Object> getUser() {
+
+            return user;
+        }
+
+        public Map<String, Object> getAttributes() {
+
+            return attributes;
+        }
+
+        public String getUserStore() {
+
+            return userStore;
+        }
+    }
+}
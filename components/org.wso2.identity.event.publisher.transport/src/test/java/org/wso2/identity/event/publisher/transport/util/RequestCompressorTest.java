@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.util.EntityUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Test class for RequestCompressor.
+ */
+public class RequestCompressorTest {
+
+    private static final String PAYLOAD = buildPayload();
+    private static final byte[] PAYLOAD_BYTES = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testGzipCompression() throws IOException {
+
+        RequestCompressor compressor = new RequestCompressor("GZIP", 16);
+        Assert.assertEquals(compressor.getEncoding(), "gzip");
+        Assert.assertTrue(compressor.shouldCompress(PAYLOAD_BYTES.length));
+
+        byte[] compressed = EntityUtils.toByteArray(compressor.compress(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length,
+                new BufferPool(1, 256, 4096), ContentType.APPLICATION_JSON));
+        Assert.assertTrue(compressed.length < PAYLOAD_BYTES.length);
+        Assert.assertEquals(inflate(new GZIPInputStream(new ByteArrayInputStream(compressed))), PAYLOAD);
+    }
+
+    @Test
+    public void testDeflateCompression() throws IOException {
+
+        RequestCompressor compressor = new RequestCompressor("deflate", 16);
+        Assert.assertEquals(compressor.getEncoding(), "deflate");
+
+        PooledEntity entity = compressor.compress(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length,
+                new BufferPool(1, 256, 4096), ContentType.APPLICATION_JSON);
+        Assert.assertTrue(entity.isRepeatable());
+        Assert.assertEquals(entity.getContentType().getValue(), ContentType.APPLICATION_JSON.toString());
+        byte[] compressed = EntityUtils.toByteArray(entity);
+        Assert.assertEquals(entity.getContentLength(), compressed.length);
+        Assert.assertEquals(inflate(new InflaterInputStream(new ByteArrayInputStream(compressed))), PAYLOAD);
+    }
+
+    @Test
+    public void testCompressedBufferIsReturnedToPool() throws IOException {
+
+        BufferPool bufferPool = new BufferPool(2, 256, 4096);
+        RequestCompressor compressor = new RequestCompressor("gzip", 16);
+
+        PooledEntity entity = compressor.compress(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, bufferPool, null);
+        Assert.assertEquals(bufferPool.getIdleBufferCount(), 0);
+        entity.release();
+        Assert.assertEquals(bufferPool.getIdleBufferCount(), 1);
+
+        // The next compression reuses the buffer.
+        compressor.compress(PAYLOAD_BYTES, 0, PAYLOAD_BYTES.length, bufferPool, null);
+        Assert.assertEquals(bufferPool.getIdleBufferCount(), 0);
+    }
+
+    @Test
+    public void testDecompress() throws IOException {
+
+        for (String encoding : new String[] {"gzip", "deflate"}) {
+            byte[] compressed = EntityUtils.toByteArray(new RequestCompressor(encoding, 0).compress(PAYLOAD_BYTES, 0,
+                    PAYLOAD_BYTES.length, new BufferPool(1, 256, 4096), null));
+            Assert.assertEquals(RequestCompressor.decompress(encoding.toUpperCase(Locale.ENGLISH), compressed), PAYLOAD_BYTES);
+        }
+        Assert.assertSame(RequestCompressor.decompress(null, PAYLOAD_BYTES), PAYLOAD_BYTES);
+        Assert.assertSame(RequestCompressor.decompress("identity", PAYLOAD_BYTES), PAYLOAD_BYTES);
+    }
+
+    @Test
+    public void testPayloadBelowMinSizeIsNotCompressed() {
+
+        RequestCompressor compressor = new RequestCompressor("gzip", PAYLOAD_BYTES.length + 1);
+        Assert.assertFalse(compressor.shouldCompress(PAYLOAD_BYTES.length));
+    }
+
+    @Test
+    public void testCompressionDisabled() {
+
+        Assert.assertNull(new RequestCompressor(null, 0).getEncoding());
+        Assert.assertFalse(new RequestCompressor(null, 0).shouldCompress(PAYLOAD_BYTES.length));
+        Assert.assertFalse(new RequestCompressor("br", 0).shouldCompress(PAYLOAD_BYTES.length));
+    }
+
+    private static String inflate(InputStream in) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String buildPayload() {
+
+        StringBuilder builder = new StringBuilder("{\"claims\":[");
+        for (int i = 0; i < 50; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"uri\":\"http://wso2.org/claims/attribute").append(i)
+                    .append("\",\"value\":\"välue-").append(i).append("\"}");
+        }
+        return builder.append("]}").toString();
+    }
+}
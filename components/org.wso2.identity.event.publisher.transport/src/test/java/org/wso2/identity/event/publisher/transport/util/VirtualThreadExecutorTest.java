@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.publisher.transport.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for VirtualThreadExecutor. Platform threads stand in for virtual threads, so the tests run on any
+ * Java runtime.
+ */
+public class VirtualThreadExecutorTest {
+
+    @Test
+    public void testTasksOverConcurrencyLimitAreRejected() throws InterruptedException {
+
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(Executors.defaultThreadFactory(), 2,
+                (r, e) -> rejected.add(r));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(executor.getActiveCount(), 2);
+        Assert.assertEquals(executor.getAvailablePermits(), 0);
+
+        Runnable overLimit = () -> { };
+        executor.execute(overLimit);
+        Assert.assertEquals(rejected.size(), 1);
+        Assert.assertSame(rejected.get(0), overLimit);
+
+        release.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.isTerminated());
+        Assert.assertEquals(executor.getActiveCount(), 0);
+        Assert.assertEquals(executor.getAvailablePermits(), 2);
+    }
+
+    @Test
+    public void testTasksAfterShutdownAreRejected() throws InterruptedException {
+
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(Executors.defaultThreadFactory(), 2,
+                (r, e) -> rejected.add(r));
+        executor.shutdown();
+        executor.execute(() -> { });
+
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertEquals(rejected.size(), 1);
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testTaskWhoseThreadCannotStartIsRejected() throws InterruptedException {
+
+        List<Runnable> rejected = new CopyOnWriteArrayList<>();
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(r -> new Thread(r) {
+            @Override
+            public synchronized void start() {
+
+                throw new OutOfMemoryError("unable to create native thread");
+            }
+        }, 1, (r, e) -> rejected.add(r));
+        Runnable task = () -> { };
+
+        executor.execute(task);
+
+        Assert.assertEquals(rejected.size(), 1);
+        Assert.assertSame(rejected.get(0), task);
+        Assert.assertEquals(executor.getAvailablePermits(), 1);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdownNowInterruptsRunningTasks() throws InterruptedException {
+
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(Executors.defaultThreadFactory(), 1,
+                (r, e) -> { });
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Assert.assertTrue(executor.shutdownNow().isEmpty());
+        Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCreateMatchesRuntimeSupport() throws InterruptedException {
+
+        if (!VirtualThreadExecutor.isSupported()) {
+            Assert.assertThrows(UnsupportedOperationException.class,
+                    () -> VirtualThreadExecutor.create("test-", 1, (r, e) -> { }));
+            return;
+        }
+        VirtualThreadExecutor executor = VirtualThreadExecutor.create("test-", 1, (r, e) -> { });
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        Assert.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -18,6 +18,8 @@
 
 package org.wso2.identity.event.websubhub.publisher.config;
 
+import org.wso2.identity.event.publisher.transport.client.ConnectionSettings;
+import org.wso2.identity.event.publisher.transport.util.EventMaxAgePolicy;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
 import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
@@ -27,7 +29,7 @@ import java.util.Map;
 /**
  * WebSubHub Adapter Configuration.
  */
-public class WebSubAdapterConfiguration {
+public class WebSubAdapterConfiguration implements ConnectionSettings {
 
     private static final String ADAPTER_ENABLED_CONFIG = "enabled";
     private static final String ADAPTER_HUB_URL_CONFIG = "baseUrl";
@@ -37,6 +39,43 @@ public class WebSubAdapterConfiguration {
     private static final String DEFAULT_MAX_CONNECTIONS = "defaultMaxConnections";
     private static final String DEFAULT_MAX_CONNECTIONS_PER_ROUTE = "defaultMaxConnectionsPerRoute";
     private static final String MTLS_ENABLED = "mtlsEnabled";
+    private static final String HTTP2_ENABLED = "http2Enabled";
+    private static final String REQUEST_COMPRESSION = "requestCompression";
+    private static final String REQUEST_COMPRESSION_MIN_SIZE = "requestCompressionMinSize";
+    private static final String CALLBACK_EXECUTOR_POOL_SIZE = "callbackExecutorPoolSize";
+    private static final String CALLBACK_EXECUTOR_QUEUE_CAPACITY = "callbackExecutorQueueCapacity";
+    private static final String CONFIG_RELOAD_INTERVAL = "configReloadInterval";
+    private static final String SHUTDOWN_DRAIN_TIMEOUT = "shutdownDrainTimeout";
+    private static final String VIRTUAL_THREADS_ENABLED = "virtualThreadsEnabled";
+    private static final String VIRTUAL_THREAD_MAX_CONCURRENCY = "virtualThreadMaxConcurrency";
+    private static final String DEAD_LETTER_ENABLED = "deadLetterEnabled";
+    private static final String DEAD_LETTER_DIRECTORY = "deadLetterDirectory";
+    private static final String DEAD_LETTER_MAX_ENTRIES = "deadLetterMaxEntries";
+    private static final String DEAD_LETTER_REPLAY_RATE = "deadLetterReplayRate";
+    private static final String CONNECTION_IDLE_TIMEOUT = "connectionIdleTimeout";
+    private static final String CONNECTION_TIME_TO_LIVE = "connectionTimeToLive";
+    private static final String CONNECTION_EVICTION_INTERVAL = "connectionEvictionInterval";
+    private static final String CONNECTION_VALIDATE_AFTER_INACTIVITY = "connectionValidateAfterInactivity";
+    private static final String CONNECTION_KEEP_ALIVE = "connectionKeepAlive";
+    private static final String DNS_CACHE_ENABLED = "dnsCacheEnabled";
+    private static final String DNS_CACHE_TTL = "dnsCacheTtl";
+    private static final String DNS_NEGATIVE_CACHE_TTL = "dnsNegativeCacheTtl";
+    private static final String DNS_CACHE_MAX_ENTRIES = "dnsCacheMaxEntries";
+    private static final String EVENT_MAX_AGE = "eventMaxAge";
+    private static final String EVENT_MAX_AGE_PROFILES = "eventMaxAgeProfiles";
+    private static final String DEAD_LETTER_EXPIRED_EVENTS = "deadLetterExpiredEvents";
+    private static final String PAYLOAD_MEMORY_BUDGET = "payloadMemoryBudget";
+    private static final String LOOKUP_CACHE_TTL = "lookupCacheTtl";
+    private static final String LOOKUP_CACHE_REFRESH_AHEAD = "lookupCacheRefreshAhead";
+    private static final String LOOKUP_CACHE_MAX_ENTRIES = "lookupCacheMaxEntries";
+    private static final String CACHE_WARM_UP_ENABLED = "cacheWarmUpEnabled";
+    private static final String CACHE_WARM_UP_FILE = "cacheWarmUpFile";
+    private static final String CACHE_WARM_UP_MAX_KEYS = "cacheWarmUpMaxKeys";
+    private static final String CACHE_WARM_UP_DELAY = "cacheWarmUpDelay";
+    private static final String CACHE_WARM_UP_RATE = "cacheWarmUpRate";
+    private static final String SHARED_TRANSPORT_ENABLED = "sharedTransportEnabled";
+    private static final String PUBLISH_ENCODING = "publishEncoding";
+    private static final String PUBLISH_ENCODING_STRICT = "publishEncodingStrict";
     private final boolean adapterEnabled;
     private final int httpConnectionTimeout;
     private final int httpReadTimeout;
@@ -44,6 +83,44 @@ public class WebSubAdapterConfiguration {
     private final int defaultMaxConnections;
     private final int defaultMaxConnectionsPerRoute;
     private final boolean mtlsEnabled;
+    private final boolean http2Enabled;
+    private final String requestCompression;
+    private final int requestCompressionMinSize;
+    private final int callbackExecutorPoolSize;
+    private final int callbackExecutorQueueCapacity;
+    private final int configReloadInterval;
+    private final int shutdownDrainTimeout;
+    private final boolean virtualThreadsEnabled;
+    private final int virtualThreadMaxConcurrency;
+    private final boolean deadLetterEnabled;
+    private final String deadLetterDirectory;
+    private final int deadLetterMaxEntries;
+    private final int deadLetterReplayRate;
+    private final int connectionIdleTimeout;
+    private final int connectionTimeToLive;
+    private final int connectionEvictionInterval;
+    private final int connectionValidateAfterInactivity;
+    private final int connectionKeepAlive;
+    private final boolean dnsCacheEnabled;
+    private final int dnsCacheTtl;
+    private final int dnsNegativeCacheTtl;
+    private final int dnsCacheMaxEntries;
+    private final int eventMaxAge;
+    private final String eventMaxAgeProfiles;
+    private final boolean deadLetterExpiredEvents;
+    private final EventMaxAgePolicy eventMaxAgePolicy;
+    private final int payloadMemoryBudget;
+    private final int lookupCacheTtl;
+    private final int lookupCacheRefreshAhead;
+    private final int lookupCacheMaxEntries;
+    private final boolean cacheWarmUpEnabled;
+    private final String cacheWarmUpFile;
+    private final int cacheWarmUpMaxKeys;
+    private final int cacheWarmUpDelay;
+    private final int cacheWarmUpRate;
+    private final boolean sharedTransportEnabled;
+    private final String publishEncoding;
+    private final boolean publishEncodingStrict;
     private String webSubHubBaseUrl;
 
 
@@ -81,6 +158,92 @@ public class WebSubAdapterConfiguration {
         this.defaultMaxConnectionsPerRoute = parseIntOrDefault(
                 properties.get(DEFAULT_MAX_CONNECTIONS_PER_ROUTE),
                 WebSubHubAdapterConstants.Http.DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE);
+        this.http2Enabled = Boolean.parseBoolean(properties.get(HTTP2_ENABLED));
+        this.requestCompression = properties.get(REQUEST_COMPRESSION);
+        this.requestCompressionMinSize = parseIntOrDefault(
+                properties.get(REQUEST_COMPRESSION_MIN_SIZE),
+                WebSubHubAdapterConstants.Http.DEFAULT_REQUEST_COMPRESSION_MIN_SIZE);
+        this.callbackExecutorPoolSize = parseIntOrDefault(
+                properties.get(CALLBACK_EXECUTOR_POOL_SIZE),
+                WebSubHubAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        this.callbackExecutorQueueCapacity = parseIntOrDefault(
+                properties.get(CALLBACK_EXECUTOR_QUEUE_CAPACITY),
+                WebSubHubAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+        this.configReloadInterval = parseIntOrDefault(
+                properties.get(CONFIG_RELOAD_INTERVAL),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONFIG_RELOAD_INTERVAL);
+        this.shutdownDrainTimeout = parseIntOrDefault(
+                properties.get(SHUTDOWN_DRAIN_TIMEOUT),
+                WebSubHubAdapterConstants.Http.DEFAULT_SHUTDOWN_DRAIN_TIMEOUT);
+        this.virtualThreadsEnabled = Boolean.parseBoolean(properties.get(VIRTUAL_THREADS_ENABLED));
+        this.virtualThreadMaxConcurrency = parseIntOrDefault(
+                properties.get(VIRTUAL_THREAD_MAX_CONCURRENCY),
+                WebSubHubAdapterConstants.Http.DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY);
+        this.deadLetterEnabled = Boolean.parseBoolean(properties.get(DEAD_LETTER_ENABLED));
+        this.deadLetterDirectory = properties.get(DEAD_LETTER_DIRECTORY);
+        this.deadLetterMaxEntries = parseIntOrDefault(
+                properties.get(DEAD_LETTER_MAX_ENTRIES),
+                WebSubHubAdapterConstants.Http.DEFAULT_DEAD_LETTER_MAX_ENTRIES);
+        this.deadLetterReplayRate = parseIntOrDefault(
+                properties.get(DEAD_LETTER_REPLAY_RATE),
+                WebSubHubAdapterConstants.Http.DEFAULT_DEAD_LETTER_REPLAY_RATE);
+        this.connectionIdleTimeout = parseIntOrDefault(
+                properties.get(CONNECTION_IDLE_TIMEOUT),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONNECTION_IDLE_TIMEOUT);
+        this.connectionTimeToLive = parseIntOrDefault(
+                properties.get(CONNECTION_TIME_TO_LIVE),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONNECTION_TIME_TO_LIVE);
+        this.connectionEvictionInterval = parseIntOrDefault(
+                properties.get(CONNECTION_EVICTION_INTERVAL),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONNECTION_EVICTION_INTERVAL);
+        this.connectionValidateAfterInactivity = parseIntOrDefault(
+                properties.get(CONNECTION_VALIDATE_AFTER_INACTIVITY),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONNECTION_VALIDATE_AFTER_INACTIVITY);
+        this.connectionKeepAlive = parseIntOrDefault(
+                properties.get(CONNECTION_KEEP_ALIVE),
+                WebSubHubAdapterConstants.Http.DEFAULT_CONNECTION_KEEP_ALIVE);
+        this.dnsCacheEnabled = Boolean.parseBoolean(properties.get(DNS_CACHE_ENABLED));
+        this.dnsCacheTtl = parseIntOrDefault(
+                properties.get(DNS_CACHE_TTL),
+                WebSubHubAdapterConstants.Http.DEFAULT_DNS_CACHE_TTL);
+        this.dnsNegativeCacheTtl = parseIntOrDefault(
+                properties.get(DNS_NEGATIVE_CACHE_TTL),
+                WebSubHubAdapterConstants.Http.DEFAULT_DNS_NEGATIVE_CACHE_TTL);
+        this.dnsCacheMaxEntries = parseIntOrDefault(
+                properties.get(DNS_CACHE_MAX_ENTRIES),
+                WebSubHubAdapterConstants.Http.DEFAULT_DNS_CACHE_MAX_ENTRIES);
+        this.eventMaxAge = parseIntOrDefault(
+                properties.get(EVENT_MAX_AGE),
+                WebSubHubAdapterConstants.Http.DEFAULT_EVENT_MAX_AGE);
+        this.eventMaxAgeProfiles = properties.get(EVENT_MAX_AGE_PROFILES);
+        this.deadLetterExpiredEvents = Boolean.parseBoolean(properties.get(DEAD_LETTER_EXPIRED_EVENTS));
+        this.eventMaxAgePolicy = new EventMaxAgePolicy(eventMaxAge, eventMaxAgeProfiles, null);
+        this.payloadMemoryBudget = parseIntOrDefault(
+                properties.get(PAYLOAD_MEMORY_BUDGET),
+                WebSubHubAdapterConstants.Http.DEFAULT_PAYLOAD_MEMORY_BUDGET);
+        this.lookupCacheTtl = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_TTL),
+                WebSubHubAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_TTL);
+        this.lookupCacheRefreshAhead = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_REFRESH_AHEAD),
+                WebSubHubAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_REFRESH_AHEAD);
+        this.lookupCacheMaxEntries = parseIntOrDefault(
+                properties.get(LOOKUP_CACHE_MAX_ENTRIES),
+                WebSubHubAdapterConstants.Http.DEFAULT_LOOKUP_CACHE_MAX_ENTRIES);
+        this.cacheWarmUpEnabled = Boolean.parseBoolean(properties.get(CACHE_WARM_UP_ENABLED));
+        this.cacheWarmUpFile = properties.get(CACHE_WARM_UP_FILE);
+        this.cacheWarmUpMaxKeys = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_MAX_KEYS),
+                WebSubHubAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_MAX_KEYS);
+        this.cacheWarmUpDelay = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_DELAY),
+                WebSubHubAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_DELAY);
+        this.cacheWarmUpRate = parseIntOrDefault(
+                properties.get(CACHE_WARM_UP_RATE),
+                WebSubHubAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_RATE);
+        this.sharedTransportEnabled = Boolean.parseBoolean(properties.get(SHARED_TRANSPORT_ENABLED));
+        this.publishEncoding = properties.get(PUBLISH_ENCODING);
+        this.publishEncodingStrict = Boolean.parseBoolean(properties.get(PUBLISH_ENCODING_STRICT));
     }
 
     private int parseIntOrDefault(String value, int defaultValue) {
@@ -171,4 +334,405 @@ public class WebSubAdapterConfiguration {
 
         return mtlsEnabled;
     }
+
+    /**
+     * Returns whether the HTTP/2 transport is enabled for event delivery.
+     *
+     * @return true if HTTP/2 with fallback to HTTP/1.1 should be negotiated, false otherwise.
+     */
+    public boolean isHttp2Enabled() {
+
+        return http2Enabled;
+    }
+
+    /**
+     * Returns the content encoding used to compress event payloads.
+     *
+     * @return gzip or deflate, null or any other value if compression is disabled.
+     */
+    public String getRequestCompression() {
+
+        return requestCompression;
+    }
+
+    /**
+     * Returns the minimum serialized payload length to compress.
+     *
+     * @return minimum payload length to compress.
+     */
+    public int getRequestCompressionMinSize() {
+
+        return requestCompressionMinSize;
+    }
+
+    /**
+     * Returns the number of threads running asynchronous publish callbacks.
+     *
+     * @return callback executor pool size.
+     */
+    public int getCallbackExecutorPoolSize() {
+
+        return callbackExecutorPoolSize;
+    }
+
+    /**
+     * Returns the maximum number of queued asynchronous publish callbacks.
+     *
+     * @return callback executor queue capacity.
+     */
+    public int getCallbackExecutorQueueCapacity() {
+
+        return callbackExecutorQueueCapacity;
+    }
+
+    /**
+     * Returns the interval in seconds at which the adapter properties are checked for changes.
+     *
+     * @return configuration reload interval in seconds, 0 or less if the properties are not watched.
+     */
+    public int getConfigReloadInterval() {
+
+        return configReloadInterval;
+    }
+
+    /**
+     * Returns the time in milliseconds to wait for in-flight deliveries when the adapter is deactivated.
+     *
+     * @return shutdown drain timeout in milliseconds.
+     */
+    public int getShutdownDrainTimeout() {
+
+        return shutdownDrainTimeout;
+    }
+
+    /**
+     * Returns whether asynchronous callbacks and blocking hub calls run on virtual threads when the Java runtime
+     * supports them.
+     *
+     * @return true if virtual threads should be used, false otherwise.
+     */
+    public boolean isVirtualThreadsEnabled() {
+
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * Returns the maximum number of tasks running at once on virtual threads.
+     *
+     * @return virtual thread concurrency cap.
+     */
+    public int getVirtualThreadMaxConcurrency() {
+
+        return virtualThreadMaxConcurrency;
+    }
+
+    /**
+     * Returns whether deliveries that exhausted their retries are kept in the dead-letter store.
+     *
+     * @return true if the dead-letter store is enabled, false otherwise.
+     */
+    public boolean isDeadLetterEnabled() {
+
+        return deadLetterEnabled;
+    }
+
+    /**
+     * Returns the directory of the dead-letter store.
+     *
+     * @return Dead-letter directory, or null to use the default directory under the Carbon home.
+     */
+    public String getDeadLetterDirectory() {
+
+        return deadLetterDirectory;
+    }
+
+    /**
+     * Returns the maximum number of entries kept in the dead-letter store.
+     *
+     * @return Maximum number of dead-letter entries.
+     */
+    public int getDeadLetterMaxEntries() {
+
+        return deadLetterMaxEntries;
+    }
+
+    /**
+     * Returns the default number of dead-letter entries replayed per second.
+     *
+     * @return Dead-letter replay rate per second.
+     */
+    public int getDeadLetterReplayRate() {
+
+        return deadLetterReplayRate;
+    }
+
+    /**
+     * Get the time after which idle pooled connections are closed.
+     *
+     * @return Connection idle timeout in seconds.
+     */
+    @Override
+    public int getConnectionIdleTimeout() {
+
+        return connectionIdleTimeout;
+    }
+
+    /**
+     * Get the maximum lifetime of a pooled connection.
+     *
+     * @return Connection time to live in seconds, 0 or less for no limit.
+     */
+    @Override
+    public int getConnectionTimeToLive() {
+
+        return connectionTimeToLive;
+    }
+
+    /**
+     * Get the interval between runs of the idle and expired connection evictor.
+     *
+     * @return Eviction interval in seconds, 0 or less to disable eviction.
+     */
+    @Override
+    public int getConnectionEvictionInterval() {
+
+        return connectionEvictionInterval;
+    }
+
+    /**
+     * Get the inactivity after which a pooled connection is validated before it is reused.
+     *
+     * @return Inactivity in milliseconds.
+     */
+    @Override
+    public int getConnectionValidateAfterInactivity() {
+
+        return connectionValidateAfterInactivity;
+    }
+
+    /**
+     * Get the time a connection is kept alive when the response does not announce a Keep-Alive timeout.
+     *
+     * @return Keep-alive duration in seconds.
+     */
+    @Override
+    public int getConnectionKeepAlive() {
+
+        return connectionKeepAlive;
+    }
+
+    /**
+     * Check whether resolved endpoint addresses are cached by the adapter.
+     *
+     * @return true if the DNS cache is enabled, false otherwise.
+     */
+    public boolean isDnsCacheEnabled() {
+
+        return dnsCacheEnabled;
+    }
+
+    /**
+     * Get the time a resolved address is used before it is refreshed.
+     *
+     * @return DNS cache time to live in seconds.
+     */
+    public int getDnsCacheTtl() {
+
+        return dnsCacheTtl;
+    }
+
+    /**
+     * Get the time a failed resolution is cached.
+     *
+     * @return DNS negative cache time to live in seconds.
+     */
+    public int getDnsNegativeCacheTtl() {
+
+        return dnsNegativeCacheTtl;
+    }
+
+    /**
+     * Get the maximum number of host names kept in the DNS cache.
+     *
+     * @return Maximum number of cached host names.
+     */
+    public int getDnsCacheMaxEntries() {
+
+        return dnsCacheMaxEntries;
+    }
+
+    /**
+     * Get the maximum age in seconds of events without a more specific maximum age.
+     *
+     * @return Event max age, 0 or less to deliver events however old they are.
+     */
+    public int getEventMaxAge() {
+
+        return eventMaxAge;
+    }
+
+    /**
+     * Get the comma separated profile=seconds entries with the maximum age of the events of a profile.
+     *
+     * @return Event max age of profiles, or null if none are configured.
+     */
+    public String getEventMaxAgeProfiles() {
+
+        return eventMaxAgeProfiles;
+    }
+
+    /**
+     * Check whether events shed for exceeding their maximum age are added to the dead-letter store.
+     *
+     * @return true if expired events are dead-lettered.
+     */
+    public boolean isDeadLetterExpiredEvents() {
+
+        return deadLetterExpiredEvents;
+    }
+
+    /**
+     * Get the maximum age policy of the events.
+     *
+     * @return Event max age policy.
+     */
+    public EventMaxAgePolicy getEventMaxAgePolicy() {
+
+        return eventMaxAgePolicy;
+    }
+
+    /**
+     * Get the maximum size in megabytes of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget in megabytes, 0 or less for no limit.
+     */
+    public int getPayloadMemoryBudget() {
+
+        return payloadMemoryBudget;
+    }
+
+    /**
+     * Get the maximum size in bytes of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget in bytes, 0 or less for no limit.
+     */
+    public long getPayloadMemoryBudgetBytes() {
+
+        return payloadMemoryBudget * 1024L * 1024L;
+    }
+
+    /**
+     * Get the time in seconds the results of topic lookups are cached, 0 to only coalesce concurrent lookups.
+     * Registering or deregistering a topic, or subscribing to or unsubscribing from it, drops the cached lookups on
+     * the node handling the change only. With a time to live above 0, the other nodes of a cluster keep their cached
+     * lookups for up to one time to live, unless the cache is invalidated through JMX on each of them.
+     *
+     * @return Lookup cache time to live in seconds.
+     */
+    public int getLookupCacheTtl() {
+
+        return lookupCacheTtl;
+    }
+
+    /**
+     * Get the time in seconds before expiry from which a cached lookup that is read is refreshed in the background.
+     *
+     * @return Lookup cache refresh-ahead time in seconds.
+     */
+    public int getLookupCacheRefreshAhead() {
+
+        return lookupCacheRefreshAhead;
+    }
+
+    /**
+     * Get the maximum number of cached topic lookups.
+     *
+     * @return Maximum number of cached lookups.
+     */
+    public int getLookupCacheMaxEntries() {
+
+        return lookupCacheMaxEntries;
+    }
+
+    /**
+     * Check whether the lookup caches are warmed up with the most looked up keys after a restart.
+     *
+     * @return True if the cache warm-up is enabled.
+     */
+    public boolean isCacheWarmUpEnabled() {
+
+        return cacheWarmUpEnabled;
+    }
+
+    /**
+     * Get the file the most looked up keys are written to on shutdown and read from on startup.
+     *
+     * @return Cache warm-up file, or null to use the default file.
+     */
+    public String getCacheWarmUpFile() {
+
+        return cacheWarmUpFile;
+    }
+
+    /**
+     * Get the maximum number of keys written for the cache warm-up.
+     *
+     * @return Maximum number of warm-up keys.
+     */
+    public int getCacheWarmUpMaxKeys() {
+
+        return cacheWarmUpMaxKeys;
+    }
+
+    /**
+     * Get the time in seconds after activation before the cache warm-up starts.
+     *
+     * @return Cache warm-up delay in seconds.
+     */
+    public int getCacheWarmUpDelay() {
+
+        return cacheWarmUpDelay;
+    }
+
+    /**
+     * Get the number of keys loaded per second during the cache warm-up.
+     *
+     * @return Cache warm-up rate in keys per second.
+     */
+    public int getCacheWarmUpRate() {
+
+        return cacheWarmUpRate;
+    }
+
+    /**
+     * Check whether HTTP/1.1 events are sent over the transport shared with the other event publisher.
+     * The hub trust store is kept, as a connection pool is shared only with publishers using the same SSL context
+     * and DNS resolver.
+     *
+     * @return True if the shared transport is used when it is available.
+     */
+    public boolean isSharedTransportEnabled() {
+
+        return sharedTransportEnabled;
+    }
+
+    /**
+     * Get the encoding of event publish requests, either json, cbor or smile.
+     *
+     * @return Publish encoding, or null to publish JSON.
+     */
+    public String getPublishEncoding() {
+
+        return publishEncoding;
+    }
+
+    /**
+     * Check whether publish requests keep the configured binary encoding when the hub rejects it.
+     *
+     * @return true if the adapter must not fall back to JSON.
+     */
+    public boolean isPublishEncodingStrict() {
+
+        return publishEncodingStrict;
+    }
 }
@@ -54,9 +54,39 @@ public class WebSubHubAdapterConstants {
         public static final Integer DEFAULT_HTTP_CONNECTION_REQUEST_TIMEOUT = 300;
         public static final Integer DEFAULT_HTTP_MAX_CONNECTIONS = 20;
         public static final Integer DEFAULT_HTTP_MAX_CONNECTIONS_PER_ROUTE = 2;
+        public static final Integer DEFAULT_REQUEST_COMPRESSION_MIN_SIZE = 1024;
+        public static final Integer DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE = 10;
+        public static final Integer DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY = 150;
+        public static final Integer DEFAULT_CONFIG_RELOAD_INTERVAL = 0;
+        public static final Integer DEFAULT_SHUTDOWN_DRAIN_TIMEOUT = 10000;
+        public static final Integer DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY = 1000;
+        public static final Integer DEFAULT_DEAD_LETTER_MAX_ENTRIES = 10000;
+        public static final Integer DEFAULT_DEAD_LETTER_REPLAY_RATE = 50;
         public static final String SUBSCRIBE = "subscribe";
         public static final String UNSUBSCRIBE = "unsubscribe";
         public static final String WEBSUBHUB_KEYSTORE_NAME = "websubhubMtlsClientKeyStore.jks";
+        public static final String DEFAULT_DEAD_LETTER_DIRECTORY = "repository/data/websubhub-adapter/dead-letter";
+        public static final String DEFAULT_CACHE_WARM_UP_FILE =
+                "repository/data/websubhub-adapter/hot-lookup-keys.json";
+        public static final Integer DEFAULT_CONNECTION_IDLE_TIMEOUT = 60;
+        public static final Integer DEFAULT_CONNECTION_TIME_TO_LIVE = 0;
+        public static final Integer DEFAULT_CONNECTION_EVICTION_INTERVAL = 30;
+        public static final Integer DEFAULT_CONNECTION_VALIDATE_AFTER_INACTIVITY = 2000;
+        public static final Integer DEFAULT_CONNECTION_KEEP_ALIVE = 30;
+        public static final Integer DEFAULT_DNS_CACHE_TTL = 60;
+        public static final Integer DEFAULT_DNS_NEGATIVE_CACHE_TTL = 10;
+        public static final Integer DEFAULT_DNS_CACHE_MAX_ENTRIES = 1000;
+        public static final Integer DEFAULT_EVENT_MAX_AGE = 0;
+        public static final Integer DEFAULT_PAYLOAD_MEMORY_BUDGET = 64;
+        public static final Integer DEFAULT_LOOKUP_CACHE_TTL = 0;
+        public static final Integer DEFAULT_LOOKUP_CACHE_REFRESH_AHEAD = 5;
+        public static final Integer DEFAULT_LOOKUP_CACHE_MAX_ENTRIES = 1000;
+        public static final Integer DEFAULT_CACHE_WARM_UP_MAX_KEYS = 500;
+        public static final Integer DEFAULT_CACHE_WARM_UP_DELAY = 30;
+        public static final Integer DEFAULT_CACHE_WARM_UP_RATE = 20;
+        public static final int REQUEST_BUFFER_POOL_SIZE = 64;
+        public static final int REQUEST_BUFFER_INITIAL_SIZE = 4096;
+        public static final int REQUEST_BUFFER_MAX_POOLED_SIZE = 65536;
 
         private Http() {
 
@@ -128,7 +158,9 @@ public class WebSubHubAdapterConstants {
                 "Error while resolving organization ID for tenant: %s."),
         ERROR_CONSTRUCTING_HUB_TOPIC("65015", "Error constructing WebSubHub topic.",
                 "Error constructing WebSubHub topic for channel: %s, event profile version: %s, " +
-                        "tenant domain: %s.");
+                        "tenant domain: %s."),
+        ERROR_DEAD_LETTER_STORE("65016", "Error while accessing the dead-letter store.",
+                "Error while reading or writing the dead-letter store at: %s.");
 
         private static final String WEB_SUB_ADAPTER_ERROR_CODE_PREFIX = "WEBSUB-";
         private final String code;
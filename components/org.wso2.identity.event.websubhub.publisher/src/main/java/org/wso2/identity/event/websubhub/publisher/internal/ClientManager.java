@@ -18,26 +18,34 @@
 
 package org.wso2.identity.event.websubhub.publisher.internal;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
 import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
-import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.impl.nio.client.HttpAsyncClients;
 import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
 import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
 import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
 import org.apache.http.nio.reactor.ConnectingIOReactor;
 import org.apache.http.ssl.SSLContexts;
 import org.wso2.carbon.core.RegistryResources;
@@ -45,24 +53,43 @@ import org.wso2.carbon.identity.base.IdentityRuntimeException;
 import org.wso2.carbon.identity.core.IdentityKeyStoreResolver;
 import org.wso2.carbon.identity.core.util.IdentityKeyStoreResolverException;
 import org.wso2.carbon.identity.core.util.IdentityKeyStoreResolverUtil;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.client.ConnectionLifecycleManager;
+import org.wso2.identity.event.publisher.transport.client.HTTP2TransportClient;
+import org.wso2.identity.event.publisher.transport.util.BufferPool;
+import org.wso2.identity.event.publisher.transport.util.CachingDnsResolver;
+import org.wso2.identity.event.publisher.transport.util.PayloadWriter;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+import org.wso2.identity.event.publisher.transport.util.RequestCompressor;
+import org.wso2.identity.event.publisher.transport.util.VirtualThreadExecutor;
+import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
 import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.UnrecoverableKeyException;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.KeyManagerFactory;
@@ -70,10 +97,17 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManagerFactory;
 
 import static org.apache.http.HttpHeaders.ACCEPT;
+import static org.apache.http.HttpHeaders.CONTENT_ENCODING;
 import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.ErrorMessages.ERROR_PUBLISHING_EVENT_INVALID_PAYLOAD;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.CORRELATION_ID_REQUEST_HEADER;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.REQUEST_BUFFER_INITIAL_SIZE;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.REQUEST_BUFFER_MAX_POOLED_SIZE;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.REQUEST_BUFFER_POOL_SIZE;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.WEBSUBHUB_KEYSTORE_NAME;
 
 /**
@@ -82,77 +116,569 @@ import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdap
 public class ClientManager {
 
     private static final Log LOG = LogFactory.getLog(ClientManager.class);
-    private final CloseableHttpAsyncClient httpAsyncClient;
-    private final CloseableHttpClient httpClient;
-    private CloseableHttpClient mtlsHttpClient = null;
+    private volatile CloseableHttpAsyncClient httpAsyncClient;
+    private volatile PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private final ConnectionLifecycleManager connectionLifecycleManager;
+    private final DnsResolver dnsResolver;
+    private ExecutorService dnsRefreshExecutor;
+    private volatile HTTP2TransportClient http2TransportClient;
+    private volatile RequestCompressor requestCompressor;
+    private volatile PayloadWriter publishPayloadWriter;
+    private volatile boolean publishEncodingStrict;
+    private final BufferPool requestBufferPool =
+            new BufferPool(REQUEST_BUFFER_POOL_SIZE, REQUEST_BUFFER_INITIAL_SIZE, REQUEST_BUFFER_MAX_POOLED_SIZE);
+    private volatile RequestConfig requestConfig;
+    private volatile CloseableHttpClient httpClient;
+    private volatile PoolingHttpClientConnectionManager syncConnectionManager;
+    private volatile CloseableHttpClient mtlsHttpClient;
+    private volatile SSLContext sslContext;
+    private volatile WebSubAdapterConfiguration clientConfiguration;
+    private final Object clientLock = new Object();
+    private volatile SharedTransport attachedTransport;
     private static final int MAX_RETRIES = 2;
+    private static final String SHARED_TRANSPORT_CONSUMER = "websubhub-adapter";
+    private static final long DRAIN_POLL_INTERVAL_MILLIS = 50L;
+    private static final PayloadWriter PAYLOAD_WRITER = new PayloadWriter();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private volatile boolean shuttingDown;
+    private volatile boolean closed;
     /**
      * Global executor used for asynchronous callbacks.
      */
-    private final Executor asyncCallbackExecutor;
+    private volatile ExecutorService asyncCallbackExecutor;
+    /**
+     * Virtual thread executor for blocking hub calls, or null if they run on the calling thread.
+     */
+    private volatile VirtualThreadExecutor hubCallExecutor;
 
+    /**
+     * Create the client manager. The async, blocking and mTLS clients, their connection pools and IO reactor, the
+     * SSL context and the mTLS keystores are created on first use, so that activating the adapter does not pay for
+     * them before an event is published or a hub is called.
+     *
+     * @throws WebSubAdapterException If the manager cannot be created.
+     */
     public ClientManager() throws WebSubAdapterException {
 
-        try {
-            PoolingNHttpClientConnectionManager asyncConnectionManager =
-                    createPoolingConnectionManager(PoolingNHttpClientConnectionManager.class);
-            RequestConfig config = createRequestConfig();
-
-            // Initialize HttpAsyncClient
-            HttpAsyncClientBuilder httpAsyncClientBuilder = HttpAsyncClients.custom()
-                    .setDefaultRequestConfig(config)
-                    .setConnectionManager(asyncConnectionManager)
-                    .setSSLContext(createSSLContext());
-            httpAsyncClient = httpAsyncClientBuilder.build();
-            httpAsyncClient.start();
-            LOG.debug("HttpAsyncClient started with config: connectTimeout=" +
-                    config.getConnectTimeout() + ", connectionRequestTimeout=" +
-                    config.getConnectionRequestTimeout() + ", socketTimeout=" +
-                    config.getSocketTimeout() + ", maxConnections=" +
-                    asyncConnectionManager.getMaxTotal() + ", maxConnectionsPerRoute=" +
-                    asyncConnectionManager.getDefaultMaxPerRoute());
-
-            // Initialize CloseableHttpClient
-            PoolingHttpClientConnectionManager syncConnectionManager =
-                    createPoolingConnectionManager(PoolingHttpClientConnectionManager.class);
-            httpClient = HttpClients.custom()
-                    .setDefaultRequestConfig(config)
-                    .setConnectionManager(syncConnectionManager)
-                    .setSSLContext(createSSLContext())
+        WebSubAdapterConfiguration configuration = WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration();
+        clientConfiguration = configuration;
+        requestCompressor = new RequestCompressor(configuration.getRequestCompression(),
+                configuration.getRequestCompressionMinSize());
+        publishPayloadWriter = new PayloadWriter(configuration.getPublishEncoding());
+        publishEncodingStrict = configuration.isPublishEncodingStrict();
+        connectionLifecycleManager = new ConnectionLifecycleManager("websubhub-adapter-connection-evictor",
+                configuration, evicted -> WebSubHubAdapterMetrics.getInstance().recordConnectionsEvicted(evicted));
+        dnsResolver = createDnsResolver(configuration);
+        requestConfig = createRequestConfig(configuration);
+        http2TransportClient = createHTTP2TransportClient(configuration);
+        asyncCallbackExecutor = createCallbackExecutor(configuration);
+        hubCallExecutor = createHubCallExecutor(configuration);
+        connectionLifecycleManager.start(this::closeIdleConnections);
+    }
+
+    /**
+     * Create and start the async client and its connection pool, unless they already exist.
+     *
+     * @return Running async client.
+     * @throws WebSubAdapterException If the IO reactor of the client cannot be created.
+     */
+    private CloseableHttpAsyncClient initHttpAsyncClient() throws WebSubAdapterException {
+
+        CloseableHttpAsyncClient client = httpAsyncClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (clientLock) {
+            if (httpAsyncClient != null) {
+                return httpAsyncClient;
+            }
+            checkNotClosed();
+            long startTime = System.currentTimeMillis();
+            WebSubAdapterConfiguration configuration = clientConfiguration;
+            try {
+                PoolingNHttpClientConnectionManager connectionManager = createPoolingConnectionManager(
+                        PoolingNHttpClientConnectionManager.class, configuration, getSSLContext());
+                client = HttpAsyncClients.custom()
+                        .setDefaultRequestConfig(requestConfig)
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy(connectionLifecycleManager)
+                        .build();
+                client.start();
+                asyncConnectionManager = connectionManager;
+                httpAsyncClient = client;
+                WebSubHubAdapterMetrics.getInstance().bindConnectionPool(connectionManager);
+            } catch (IOException e) {
+                throw WebSubHubAdapterUtil.handleServerException(
+                        WebSubHubAdapterConstants.ErrorMessages.ERROR_GETTING_ASYNC_CLIENT, e);
+            }
+            LOG.debug("HttpAsyncClient started in " + (System.currentTimeMillis() - startTime) +
+                    " ms with config: connectTimeout=" + requestConfig.getConnectTimeout() +
+                    ", connectionRequestTimeout=" + requestConfig.getConnectionRequestTimeout() +
+                    ", socketTimeout=" + requestConfig.getSocketTimeout() + ", maxConnections=" +
+                    configuration.getDefaultMaxConnections() + ", maxConnectionsPerRoute=" +
+                    configuration.getDefaultMaxConnectionsPerRoute());
+            return client;
+        }
+    }
+
+    /**
+     * Create the blocking client used for hub calls and its connection pool, unless they already exist.
+     *
+     * @return Blocking client.
+     * @throws WebSubAdapterException If the SSL context of the client cannot be created.
+     */
+    private CloseableHttpClient initHttpClient() throws WebSubAdapterException {
+
+        CloseableHttpClient client = httpClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (clientLock) {
+            if (httpClient != null) {
+                return httpClient;
+            }
+            checkNotClosed();
+            long startTime = System.currentTimeMillis();
+            WebSubAdapterConfiguration configuration = clientConfiguration;
+            PoolingHttpClientConnectionManager connectionManager;
+            try {
+                connectionManager = createPoolingConnectionManager(
+                        PoolingHttpClientConnectionManager.class, configuration, getSSLContext());
+            } catch (IOException e) {
+                throw WebSubHubAdapterUtil.handleServerException(
+                        WebSubHubAdapterConstants.ErrorMessages.ERROR_GETTING_ASYNC_CLIENT, e);
+            }
+            client = HttpClients.custom()
+                    .setDefaultRequestConfig(requestConfig)
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy(connectionLifecycleManager)
                     .build();
-            LOG.debug("CloseableHttpClient initialized with config: connectTimeout=" +
-                    config.getConnectTimeout() + ", connectionRequestTimeout=" +
-                    config.getConnectionRequestTimeout() + ", socketTimeout=" +
-                    config.getSocketTimeout() + ", maxConnections=" +
-                    syncConnectionManager.getMaxTotal() + ", maxConnectionsPerRoute=" +
-                    syncConnectionManager.getDefaultMaxPerRoute());
-
-            // Initialize MTLS HttpClient
-            if (WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
-                    .isMtlsEnabled()) {
-                mtlsHttpClient = getMTLSClient();
+            syncConnectionManager = connectionManager;
+            httpClient = client;
+            LOG.debug("CloseableHttpClient initialized in " + (System.currentTimeMillis() - startTime) +
+                    " ms with config: connectTimeout=" + requestConfig.getConnectTimeout() +
+                    ", connectionRequestTimeout=" + requestConfig.getConnectionRequestTimeout() +
+                    ", socketTimeout=" + requestConfig.getSocketTimeout() + ", maxConnections=" +
+                    configuration.getDefaultMaxConnections() + ", maxConnectionsPerRoute=" +
+                    configuration.getDefaultMaxConnectionsPerRoute());
+            return client;
+        }
+    }
+
+    /**
+     * Create the mTLS client, loading its keystore and truststore, unless it already exists.
+     *
+     * @return mTLS client.
+     * @throws WebSubAdapterException If the keystores or the SSL context of the client cannot be loaded.
+     */
+    private CloseableHttpClient initMTLSClient() throws WebSubAdapterException {
+
+        CloseableHttpClient client = mtlsHttpClient;
+        if (client != null) {
+            return client;
+        }
+        synchronized (clientLock) {
+            if (mtlsHttpClient != null) {
+                return mtlsHttpClient;
             }
+            checkNotClosed();
+            long startTime = System.currentTimeMillis();
+            client = getMTLSClient();
+            mtlsHttpClient = client;
+            LOG.debug("mTLS HttpClient initialized in " + (System.currentTimeMillis() - startTime) + " ms.");
+            return client;
+        }
+    }
 
-            int poolSize = 10; // number of worker threads
-            int queueCapacity = 150; // maximum queued callbacks
+    private void checkNotClosed() throws WebSubAdapterException {
 
-            // Custom handler that logs when the queue is full and discards the task.
-            RejectedExecutionHandler handler = (r, executor) -> {
-                LOG.info("Async callback queue is full; discarding task of publishing events.");
-                // the task is silently dropped
-            };
+        if (closed) {
+            throw WebSubHubAdapterUtil.handleServerException(
+                    WebSubHubAdapterConstants.ErrorMessages.ERROR_GETTING_ASYNC_CLIENT,
+                    new IllegalStateException("WebSubHub adapter client manager is shut down."));
+        }
+    }
+
+    /**
+     * Apply a changed adapter configuration to the running clients.
+     * Connection pool limits, the callback executor pool size and request timeouts are changed in place, so
+     * requests in flight are not affected. Changes to the callback queue capacity or to the HTTP/2 transport
+     * replace the executor or transport; the old one stops accepting work and is closed once its in-flight
+     * requests had time to complete.
+     *
+     * @param previous Configuration the clients are currently built with.
+     * @param current  Configuration to apply.
+     * @throws WebSubAdapterException If the new configuration cannot be applied.
+     */
+    public synchronized void reconfigure(WebSubAdapterConfiguration previous, WebSubAdapterConfiguration current)
+            throws WebSubAdapterException {
+
+        synchronized (clientLock) {
+            // Clients created later are built with the current configuration.
+            clientConfiguration = current;
+            SharedTransport transport = attachedTransport;
+            if (transport != null && current.isSharedTransportEnabled()) {
+                transport.attach(SHARED_TRANSPORT_CONSUMER, current.getDefaultMaxConnections(),
+                        current.getDefaultMaxConnectionsPerRoute(), current, dnsResolver, getSSLContext());
+            } else if (transport != null) {
+                transport.detach(SHARED_TRANSPORT_CONSUMER);
+                attachedTransport = null;
+            }
+            if (asyncConnectionManager != null) {
+                asyncConnectionManager.setMaxTotal(current.getDefaultMaxConnections());
+                asyncConnectionManager.setDefaultMaxPerRoute(current.getDefaultMaxConnectionsPerRoute());
+            }
+            if (syncConnectionManager != null) {
+                syncConnectionManager.setMaxTotal(current.getDefaultMaxConnections());
+                syncConnectionManager.setDefaultMaxPerRoute(current.getDefaultMaxConnectionsPerRoute());
+            }
+        }
+        requestConfig = createRequestConfig(current);
+        connectionLifecycleManager.reconfigure(current);
+        requestCompressor = new RequestCompressor(current.getRequestCompression(),
+                current.getRequestCompressionMinSize());
+        publishPayloadWriter = new PayloadWriter(current.getPublishEncoding());
+        publishEncodingStrict = current.isPublishEncodingStrict();
+
+        int poolSize = positiveOrDefault(current.getCallbackExecutorPoolSize(), DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        int queueCapacity = positiveOrDefault(current.getCallbackExecutorQueueCapacity(),
+                DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+        ExecutorService callbackExecutor = asyncCallbackExecutor;
+        if (isCallbackExecutorChanged(callbackExecutor, current)) {
+            asyncCallbackExecutor = createCallbackExecutor(current);
+            // Already queued or running callbacks still complete before the old executor terminates.
+            callbackExecutor.shutdown();
+        } else if (callbackExecutor instanceof ThreadPoolExecutor &&
+                ((ThreadPoolExecutor) callbackExecutor).getCorePoolSize() != poolSize) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+            if (poolSize > threadPoolExecutor.getMaximumPoolSize()) {
+                threadPoolExecutor.setMaximumPoolSize(poolSize);
+                threadPoolExecutor.setCorePoolSize(poolSize);
+            } else {
+                threadPoolExecutor.setCorePoolSize(poolSize);
+                threadPoolExecutor.setMaximumPoolSize(poolSize);
+            }
+        }
+
+        VirtualThreadExecutor previousHubCallExecutor = hubCallExecutor;
+        if (isHubCallExecutorChanged(previousHubCallExecutor, current)) {
+            hubCallExecutor = createHubCallExecutor(current);
+            if (previousHubCallExecutor != null) {
+                previousHubCallExecutor.shutdown();
+            }
+        }
+
+        if (isHTTP2TransportChanged(previous, current)) {
+            HTTP2TransportClient previousTransport = http2TransportClient;
+            http2TransportClient = createHTTP2TransportClient(current);
+            if (previousTransport != null) {
+                previousTransport.closeAfter(getMaxRequestDuration(previous));
+            }
+        }
+        LOG.info("WebSubHub adapter configuration applied: maxConnections=" + current.getDefaultMaxConnections() +
+                ", maxConnectionsPerRoute=" + current.getDefaultMaxConnectionsPerRoute() + ", connectTimeout=" +
+                current.getHTTPConnectionTimeout() + ", connectionRequestTimeout=" +
+                current.getHttpConnectionRequestTimeout() + ", socketTimeout=" + current.getHttpReadTimeout() +
+                ", callbackExecutorPoolSize=" + poolSize + ", callbackExecutorQueueCapacity=" + queueCapacity +
+                ", virtualThreads=" + (asyncCallbackExecutor instanceof VirtualThreadExecutor) +
+                ", http2Enabled=" + (http2TransportClient != null));
+    }
+
+    private ExecutorService createCallbackExecutor(WebSubAdapterConfiguration configuration) {
+
+        if (isVirtualThreadsEnabled(configuration)) {
+            VirtualThreadExecutor callbackExecutor = VirtualThreadExecutor.create("websubhub-adapter-callback-",
+                    getVirtualThreadMaxConcurrency(configuration), (r, executor) -> {
+                        WebSubHubAdapterMetrics.getInstance().recordCallbackRejected();
+                        RejectableTask.rejected(r);
+                        if (executor.isShutdown()) {
+                            LOG.debug("Async callback executor is shut down; discarding task of publishing events.");
+                            return;
+                        }
+                        LOG.info("Async callback concurrency limit reached; discarding task of publishing events.");
+                    });
+            WebSubHubAdapterMetrics.getInstance().bindCallbackExecutor(callbackExecutor);
+            return callbackExecutor;
+        }
+        int poolSize = positiveOrDefault(configuration.getCallbackExecutorPoolSize(),
+                DEFAULT_CALLBACK_EXECUTOR_POOL_SIZE);
+        int queueCapacity = positiveOrDefault(configuration.getCallbackExecutorQueueCapacity(),
+                DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+
+        // Custom handler that logs when the queue is full and discards the task.
+        RejectedExecutionHandler handler = (r, executor) -> {
+            WebSubHubAdapterMetrics.getInstance().recordCallbackRejected();
+            RejectableTask.rejected(r);
+            if (executor.isShutdown()) {
+                LOG.debug("Async callback executor is shut down; discarding task of publishing events.");
+                return;
+            }
+            LOG.info("Async callback queue is full; discarding task of publishing events.");
+            // the task is silently dropped
+        };
+
+        ThreadPoolExecutor callbackExecutor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Executors.defaultThreadFactory(),
+                handler);
+        WebSubHubAdapterMetrics.getInstance().bindCallbackExecutor(callbackExecutor);
+        return callbackExecutor;
+    }
+
+    private static VirtualThreadExecutor createHubCallExecutor(WebSubAdapterConfiguration configuration) {
+
+        if (!isVirtualThreadsEnabled(configuration)) {
+            return null;
+        }
+        // Over the concurrency limit, or while shutting down, the hub call runs on the calling thread. The hub call
+        // tasks restore the tenant flow and MDC of the thread they run on.
+        return VirtualThreadExecutor.create("websubhub-adapter-hub-call-",
+                getVirtualThreadMaxConcurrency(configuration), (r, executor) -> r.run());
+    }
+
+    private static boolean isHubCallExecutorChanged(VirtualThreadExecutor hubCallExecutor,
+                                                    WebSubAdapterConfiguration configuration) {
+
+        if (hubCallExecutor == null) {
+            return isVirtualThreadsEnabled(configuration);
+        }
+        return !isVirtualThreadsEnabled(configuration) ||
+                hubCallExecutor.getMaximumConcurrency() != getVirtualThreadMaxConcurrency(configuration);
+    }
+
+    private static boolean isCallbackExecutorChanged(ExecutorService callbackExecutor,
+                                                     WebSubAdapterConfiguration configuration) {
+
+        if (callbackExecutor instanceof VirtualThreadExecutor) {
+            return !isVirtualThreadsEnabled(configuration) ||
+                    ((VirtualThreadExecutor) callbackExecutor).getMaximumConcurrency() !=
+                            getVirtualThreadMaxConcurrency(configuration);
+        }
+        BlockingQueue<Runnable> queue = ((ThreadPoolExecutor) callbackExecutor).getQueue();
+        return isVirtualThreadsEnabled(configuration) ||
+                queue.remainingCapacity() + queue.size() != positiveOrDefault(
+                        configuration.getCallbackExecutorQueueCapacity(), DEFAULT_CALLBACK_EXECUTOR_QUEUE_CAPACITY);
+    }
+
+    private static boolean isVirtualThreadsEnabled(WebSubAdapterConfiguration configuration) {
+
+        if (!configuration.isVirtualThreadsEnabled()) {
+            return false;
+        }
+        if (!VirtualThreadExecutor.isSupported()) {
+            LOG.warn("Virtual threads are not supported by the Java runtime. Asynchronous callbacks of the WebSubHub " +
+                    "adapter run on platform threads.");
+            return false;
+        }
+        return true;
+    }
+
+    private static int getVirtualThreadMaxConcurrency(WebSubAdapterConfiguration configuration) {
+
+        return positiveOrDefault(configuration.getVirtualThreadMaxConcurrency(),
+                DEFAULT_VIRTUAL_THREAD_MAX_CONCURRENCY);
+    }
+
+    private static boolean isHTTP2TransportChanged(WebSubAdapterConfiguration previous,
+                                                   WebSubAdapterConfiguration current) {
+
+        if (!previous.isHttp2Enabled() && !current.isHttp2Enabled()) {
+            return false;
+        }
+        return previous.isHttp2Enabled() != current.isHttp2Enabled() ||
+                previous.getHTTPConnectionTimeout() != current.getHTTPConnectionTimeout() ||
+                previous.getHttpReadTimeout() != current.getHttpReadTimeout() ||
+                previous.getHttpConnectionRequestTimeout() != current.getHttpConnectionRequestTimeout() ||
+                previous.getDefaultMaxConnections() != current.getDefaultMaxConnections() ||
+                previous.getDefaultMaxConnectionsPerRoute() != current.getDefaultMaxConnectionsPerRoute() ||
+                previous.getConnectionTimeToLive() != current.getConnectionTimeToLive() ||
+                previous.getConnectionValidateAfterInactivity() != current.getConnectionValidateAfterInactivity();
+    }
+
+    private static long getMaxRequestDuration(WebSubAdapterConfiguration configuration) {
+
+        return (long) configuration.getHttpConnectionRequestTimeout() + configuration.getHTTPConnectionTimeout() +
+                configuration.getHttpReadTimeout();
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+
+        return value > 0 ? value : defaultValue;
+    }
+
+    /**
+     * Stop accepting new events, wait for in-flight deliveries and hub requests to complete and close the clients.
+     * Retries of deliveries in flight are still sent while draining. Requests and callbacks still pending when
+     * the drain timeout expires are abandoned and reported.
+     *
+     * @param drainTimeoutMillis Maximum time in milliseconds to wait for in-flight deliveries.
+     * @return true if all deliveries completed within the drain timeout, false otherwise.
+     */
+    public synchronized boolean shutdown(long drainTimeoutMillis) {
+
+        if (closed) {
+            return true;
+        }
+        shuttingDown = true;
+        long deadline = System.currentTimeMillis() + Math.max(0L, drainTimeoutMillis);
+        ExecutorService callbackExecutor = asyncCallbackExecutor;
+        try {
+            // A callback may retry its delivery, so wait for both the requests and their callbacks to settle.
+            while (!isDrained(callbackExecutor) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(DRAIN_POLL_INTERVAL_MILLIS);
+            }
+            callbackExecutor.shutdown();
+            callbackExecutor.awaitTermination(Math.max(0L, deadline - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Runnable> abandoned = callbackExecutor.shutdownNow();
+        // Queued callbacks own their request bodies and payload budget, which their rejection cleanup returns.
+        for (Runnable task : abandoned) {
+            try {
+                RejectableTask.rejected(task);
+            } catch (RuntimeException e) {
+                LOG.error("Error while cleaning up an abandoned callback of the WebSubHub adapter.", e);
+            }
+        }
+        int abandonedCallbacks = abandoned.size();
+        int abandonedRequests = inFlightRequests.get();
+        closed = true;
+        connectionLifecycleManager.stop();
+        if (dnsRefreshExecutor != null) {
+            dnsRefreshExecutor.shutdownNow();
+        }
+        VirtualThreadExecutor hubCalls = hubCallExecutor;
+        if (hubCalls != null) {
+            hubCalls.shutdownNow();
+        }
 
-            this.asyncCallbackExecutor = new ThreadPoolExecutor(
-                    poolSize,
-                    poolSize,
-                    0L,
-                    TimeUnit.MILLISECONDS,
-                    new ArrayBlockingQueue<>(queueCapacity),
-                    Executors.defaultThreadFactory(),
-                    handler);
+        synchronized (clientLock) {
+            closeQuietly(httpAsyncClient, "async client");
+            closeQuietly(httpClient, "client");
+            closeQuietly(mtlsHttpClient, "mTLS client");
+        }
+        SharedTransport transport = attachedTransport;
+        if (transport != null) {
+            transport.detach(SHARED_TRANSPORT_CONSUMER);
+            attachedTransport = null;
+        }
+        HTTP2TransportClient http2Client = http2TransportClient;
+        if (http2Client != null) {
+            http2Client.close();
+        }
+
+        if (abandonedRequests > 0 || abandonedCallbacks > 0) {
+            LOG.warn("WebSubHub adapter shut down before all deliveries completed. Abandoned " + abandonedRequests +
+                    " in-flight requests and " + abandonedCallbacks + " queued callbacks after waiting " +
+                    drainTimeoutMillis + " ms.");
+            return false;
+        }
+        LOG.debug("WebSubHub adapter drained all deliveries and closed its clients.");
+        return true;
+    }
+
+    /**
+     * Check whether the client manager stopped accepting new events.
+     *
+     * @return true once {@link #shutdown(long)} was called.
+     */
+    public boolean isShuttingDown() {
+
+        return shuttingDown;
+    }
+
+    /**
+     * Get the number of requests sent and not yet completed.
+     *
+     * @return Number of in-flight requests.
+     */
+    public int getInFlightRequestCount() {
+
+        return inFlightRequests.get();
+    }
+
+    private boolean isDrained(ExecutorService callbackExecutor) {
+
+        if (inFlightRequests.get() != 0) {
+            return false;
+        }
+        if (callbackExecutor instanceof VirtualThreadExecutor) {
+            return ((VirtualThreadExecutor) callbackExecutor).getActiveCount() == 0;
+        }
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) callbackExecutor;
+        return threadPoolExecutor.getQueue().isEmpty() && threadPoolExecutor.getActiveCount() == 0;
+    }
+
+    /**
+     * Close expired connections and connections idle for longer than the given time, in the pools of the async and
+     * blocking clients and in the HTTP/2 transport. The mTLS client evicts its own connections.
+     *
+     * @param idleTimeoutMillis Idle time in milliseconds after which a connection is closed.
+     * @return Number of connections closed.
+     */
+    public int closeIdleConnections(long idleTimeoutMillis) {
+
+        int evicted = 0;
+        PoolingNHttpClientConnectionManager asyncManager = asyncConnectionManager;
+        if (asyncManager != null) {
+            int asyncAvailable = asyncManager.getTotalStats().getAvailable();
+            asyncManager.closeExpiredConnections();
+            asyncManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+            evicted += Math.max(0, asyncAvailable - asyncManager.getTotalStats().getAvailable());
+        }
+        PoolingHttpClientConnectionManager syncManager = syncConnectionManager;
+        if (syncManager != null) {
+            int syncAvailable = syncManager.getTotalStats().getAvailable();
+            syncManager.closeExpiredConnections();
+            syncManager.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+            evicted += Math.max(0, syncAvailable - syncManager.getTotalStats().getAvailable());
+        }
+        SharedTransport transport = attachedTransport;
+        if (transport != null) {
+            evicted += transport.closeIdleConnections(SHARED_TRANSPORT_CONSUMER, idleTimeoutMillis);
+        }
+        HTTP2TransportClient http2Client = http2TransportClient;
+        if (http2Client != null) {
+            evicted += http2Client.closeIdleConnections(idleTimeoutMillis);
+        }
+        return evicted;
+    }
+
+    /**
+     * Get the resolver of the hub hosts.
+     *
+     * @return DNS resolver used by the connection pools.
+     */
+    public DnsResolver getDnsResolver() {
+
+        return dnsResolver;
+    }
+
+    /**
+     * Get the lifecycle policy of the pooled connections.
+     *
+     * @return Connection lifecycle manager.
+     */
+    public ConnectionLifecycleManager getConnectionLifecycleManager() {
+
+        return connectionLifecycleManager;
+    }
+
+    private static void closeQuietly(Closeable client, String name) {
+
+        if (client == null) {
+            return;
+        }
+        try {
+            client.close();
         } catch (IOException e) {
-            throw WebSubHubAdapterUtil.handleServerException(
-                    WebSubHubAdapterConstants.ErrorMessages.ERROR_GETTING_ASYNC_CLIENT, e);
+            LOG.warn("Error while closing the WebSubHub adapter " + name + ".", e);
         }
     }
 
@@ -166,6 +692,16 @@ public class ClientManager {
         return asyncCallbackExecutor;
     }
 
+    /**
+     * Get the executor for blocking hub calls.
+     *
+     * @return Virtual thread executor for hub calls, or null if hub calls run on the calling thread.
+     */
+    public ExecutorService getHubCallExecutor() {
+
+        return hubCallExecutor;
+    }
+
     /**
      * Get the Max Retries for HTTP requests.
      *
@@ -216,11 +752,19 @@ public class ClientManager {
                     null,
                     allowAllHosts);
 
-            return HttpClients.custom()
+            WebSubAdapterConfiguration configuration = clientConfiguration;
+            HttpClientBuilder mtlsHttpClientBuilder = HttpClients.custom()
                     .setSSLSocketFactory(sslSocketFactory)
+                    .setKeepAliveStrategy(connectionLifecycleManager)
+                    .setDnsResolver(dnsResolver)
+                    .setConnectionTimeToLive(connectionLifecycleManager.getTimeToLiveMillis(), TimeUnit.MILLISECONDS)
                     .disableConnectionState()
-                    .disableCookieManagement()
-                    .build();
+                    .disableCookieManagement();
+            if (configuration.getConnectionEvictionInterval() > 0) {
+                mtlsHttpClientBuilder.evictExpiredConnections()
+                        .evictIdleConnections(configuration.getConnectionIdleTimeout(), TimeUnit.SECONDS);
+            }
+            return mtlsHttpClientBuilder.build();
 
         } catch (NoSuchAlgorithmException | KeyStoreException | KeyManagementException |
                  UnrecoverableKeyException | IdentityKeyStoreResolverException e) {
@@ -230,48 +774,223 @@ public class ClientManager {
         }
     }
 
+    /**
+     * Get the async client, creating and starting it on first use.
+     *
+     * @return Running async client.
+     * @throws IllegalStateException If the client cannot be created.
+     */
     public CloseableHttpAsyncClient getHttpAsyncClient() {
 
-        if (!httpAsyncClient.isRunning()) {
+        CloseableHttpAsyncClient client;
+        try {
+            client = initHttpAsyncClient();
+        } catch (WebSubAdapterException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        if (!client.isRunning()) {
             LOG.debug("HttpAsyncClient is not running, starting client");
-            httpAsyncClient.start();
+            client.start();
+        }
+        return client;
+    }
+
+    /**
+     * Check whether the async client has been created.
+     *
+     * @return True if the client has been created.
+     */
+    public boolean isHttpAsyncClientInitialized() {
+
+        return httpAsyncClient != null;
+    }
+
+    /**
+     * Check whether the blocking client used for hub calls has been created.
+     *
+     * @return True if the client has been created.
+     */
+    public boolean isHttpClientInitialized() {
+
+        return httpClient != null;
+    }
+
+    /**
+     * Get the transport shared with the other event publisher, attaching to it on first use. The adapter shares a
+     * connection pool only with publishers using the same SSL context and DNS resolver, so hub calls keep the
+     * trust store of the adapter.
+     *
+     * @return Shared transport, or null if it is disabled or not available.
+     * @throws IllegalStateException If the SSL context of the adapter cannot be created.
+     */
+    private SharedTransport getSharedTransport() {
+
+        SharedTransport transport = WebSubHubAdapterDataHolder.getInstance().getSharedTransport();
+        WebSubAdapterConfiguration configuration = clientConfiguration;
+        if (transport == null || !configuration.isSharedTransportEnabled()) {
+            return null;
+        }
+        if (transport != attachedTransport) {
+            synchronized (clientLock) {
+                if (transport != attachedTransport) {
+                    SSLContext context;
+                    try {
+                        context = getSSLContext();
+                    } catch (WebSubAdapterException e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                    transport.attach(SHARED_TRANSPORT_CONSUMER, configuration.getDefaultMaxConnections(),
+                            configuration.getDefaultMaxConnectionsPerRoute(), configuration, dnsResolver, context);
+                    attachedTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * Send an HTTP/1.1 request over the shared transport if it is enabled and available, or else over the async
+     * client of this adapter.
+     *
+     * @param request  Request to send.
+     * @param callback Callback notified of the response.
+     */
+    private void sendAsync(HttpUriRequest request, FutureCallback<HttpResponse> callback) {
+
+        SharedTransport transport = getSharedTransport();
+        if (transport == null) {
+            getHttpAsyncClient().execute(request, callback);
+            return;
+        }
+        transport.execute(SHARED_TRANSPORT_CONSUMER, request, callback);
+        PoolingNHttpClientConnectionManager sharedPool = transport.getConnectionManager(SHARED_TRANSPORT_CONSUMER);
+        if (sharedPool != null && asyncConnectionManager == null) {
+            // Pool gauges report the shared pool, unless this adapter created its own.
+            WebSubHubAdapterMetrics.getInstance().bindConnectionPool(sharedPool);
+        }
+    }
+
+    /**
+     * Get the HTTP/2 transport used for event delivery.
+     *
+     * @return HTTP/2 transport, or null if HTTP/2 is not enabled.
+     */
+    public HTTP2TransportClient getHTTP2TransportClient() {
+
+        return http2TransportClient;
+    }
+
+    private HTTP2TransportClient createHTTP2TransportClient(WebSubAdapterConfiguration configuration)
+            throws WebSubAdapterException {
+
+        if (!configuration.isHttp2Enabled()) {
+            return null;
+        }
+        try {
+            return new HTTP2TransportClient(getSSLContext(), configuration.getHTTPConnectionTimeout(),
+                    configuration.getHttpReadTimeout(), configuration.getHttpConnectionRequestTimeout(),
+                    configuration.getDefaultMaxConnections(), configuration.getDefaultMaxConnectionsPerRoute(),
+                    connectionLifecycleManager, dnsResolver);
+        } catch (RuntimeException | LinkageError e) {
+            LOG.warn("Unable to initialize the HTTP/2 transport. Events will be published over HTTP/1.1.", e);
+            return null;
         }
-        return httpAsyncClient;
     }
 
+    /**
+     * Get the blocking client used for hub calls, creating it on first use.
+     *
+     * @return Blocking client.
+     * @throws IllegalStateException If the client cannot be created.
+     */
     public CloseableHttpClient getHttpClient() {
 
-        return httpClient;
+        try {
+            return initHttpClient();
+        } catch (WebSubAdapterException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
     }
 
     /**
-     * Get the effective HTTP client based on the configuration.
+     * Get the effective HTTP client based on the configuration, creating it on first use.
      *
      * @return CloseableHttpClient instance.
+     * @throws IllegalStateException If the client cannot be created.
      */
     public CloseableHttpClient getEffectiveHttpClient() {
 
+        try {
+            return resolveEffectiveHttpClient();
+        } catch (WebSubAdapterException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private CloseableHttpClient resolveEffectiveHttpClient() throws WebSubAdapterException {
+
         if (WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
                 .isMtlsEnabled()) {
-            return mtlsHttpClient;
+            return initMTLSClient();
+        }
+        return initHttpClient();
+    }
+
+    private DnsResolver createDnsResolver(WebSubAdapterConfiguration configuration) {
+
+        DnsResolver resolver = WebSubHubAdapterDataHolder.getInstance().getDnsResolver();
+        if (resolver != null) {
+            return resolver;
+        }
+        if (!configuration.isDnsCacheEnabled()) {
+            return SystemDefaultDnsResolver.INSTANCE;
         }
-        return getHttpClient();
+        dnsRefreshExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "websubhub-adapter-dns-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new CachingDnsResolver(SystemDefaultDnsResolver.INSTANCE,
+                TimeUnit.SECONDS.toMillis(configuration.getDnsCacheTtl()),
+                TimeUnit.SECONDS.toMillis(configuration.getDnsNegativeCacheTtl()),
+                configuration.getDnsCacheMaxEntries(), dnsRefreshExecutor);
     }
 
-    private RequestConfig createRequestConfig() {
+    private void reportConnectFailure(URI uri, Exception ex) {
+
+        // The next connection to the hub fails over to its other addresses.
+        if (dnsResolver instanceof CachingDnsResolver &&
+                (ex instanceof ConnectException || ex instanceof ConnectTimeoutException)) {
+            ((CachingDnsResolver) dnsResolver).reportConnectFailure(uri.getHost());
+        }
+    }
+
+    private RequestConfig createRequestConfig(WebSubAdapterConfiguration configuration) {
 
         return RequestConfig.custom()
-                .setConnectTimeout(WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
-                        .getHTTPConnectionTimeout())
-                .setConnectionRequestTimeout(WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
-                        .getHttpConnectionRequestTimeout())
-                .setSocketTimeout(
-                        WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout())
+                .setConnectTimeout(configuration.getHTTPConnectionTimeout())
+                .setConnectionRequestTimeout(configuration.getHttpConnectionRequestTimeout())
+                .setSocketTimeout(configuration.getHttpReadTimeout())
                 .setRedirectsEnabled(false)
                 .setRelativeRedirectsAllowed(false)
                 .build();
     }
 
+    private SSLContext getSSLContext() throws WebSubAdapterException {
+
+        SSLContext context = sslContext;
+        if (context == null) {
+            synchronized (clientLock) {
+                context = sslContext;
+                if (context == null) {
+                    context = createSSLContext();
+                    sslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
     private SSLContext createSSLContext() throws WebSubAdapterException {
 
         try {
@@ -284,31 +1003,39 @@ public class ClientManager {
         }
     }
 
-    private <T> T createPoolingConnectionManager(Class<T> managerType) throws IOException {
+    private <T> T createPoolingConnectionManager(Class<T> managerType, WebSubAdapterConfiguration configuration,
+                                                 SSLContext context) throws IOException {
 
-        int maxConnections =
-                WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections();
-        int maxConnectionsPerRoute =
-                WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnectionsPerRoute();
+        int maxConnections = configuration.getDefaultMaxConnections();
+        int maxConnectionsPerRoute = configuration.getDefaultMaxConnectionsPerRoute();
 
         if (managerType.equals(PoolingNHttpClientConnectionManager.class)) {
             IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
-                    .setConnectTimeout(WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
-                            .getHTTPConnectionTimeout())
-                    .setSoTimeout(
-                            WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout())
+                    .setConnectTimeout(configuration.getHTTPConnectionTimeout())
+                    .setSoTimeout(configuration.getHttpReadTimeout())
                     .setIoThreadCount(5)
                     .build();
 
             ConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(ioReactorConfig);
-            PoolingNHttpClientConnectionManager manager = new PoolingNHttpClientConnectionManager(ioReactor);
+            PoolingNHttpClientConnectionManager manager = new PoolingNHttpClientConnectionManager(ioReactor, null,
+                    RegistryBuilder.<SchemeIOSessionStrategy>create()
+                            .register("http", NoopIOSessionStrategy.INSTANCE)
+                            .register("https", new SSLIOSessionStrategy(context))
+                            .build(),
+                    null, dnsResolver, connectionLifecycleManager.getTimeToLiveMillis(), TimeUnit.MILLISECONDS);
             manager.setMaxTotal(maxConnections);
             manager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
             LOG.debug("PoolingNHttpClientConnectionManager created with maxConnections: " + maxConnections +
                     " and maxConnectionsPerRoute: " + maxConnectionsPerRoute);
             return managerType.cast(manager);
         } else if (managerType.equals(PoolingHttpClientConnectionManager.class)) {
-            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(
+                    RegistryBuilder.<ConnectionSocketFactory>create()
+                            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                            .register("https", new SSLConnectionSocketFactory(context))
+                            .build(),
+                    null, null, dnsResolver, connectionLifecycleManager.getTimeToLiveMillis(), TimeUnit.MILLISECONDS);
+            manager.setValidateAfterInactivity(connectionLifecycleManager.getValidateAfterInactivityMillis());
             manager.setMaxTotal(maxConnections);
             manager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
             LOG.debug("PoolingHttpClientConnectionManager created with maxConnections: " + maxConnections +
@@ -329,25 +1056,107 @@ public class ClientManager {
      */
     public HttpPost createHttpPost(String url, Object payload) throws WebSubAdapterException {
 
+        return createHttpPost(url, payload, PAYLOAD_WRITER);
+    }
+
+    /**
+     * Create an HTTP POST request that publishes an event to the hub. The body is encoded in the configured publish
+     * encoding, unless the adapter fell back to JSON.
+     *
+     * @param url     Hub publish URL.
+     * @param payload Event payload.
+     * @return A configured HttpPost instance.
+     * @throws WebSubAdapterException If an error occurs while creating the request.
+     */
+    public HttpPost createPublishHttpPost(String url, Object payload) throws WebSubAdapterException {
+
+        return createHttpPost(url, payload, publishPayloadWriter);
+    }
+
+    /**
+     * Switch event publishing back to JSON after the hub rejected a binary encoded request.
+     * Nothing changes if the request was JSON or the configured encoding is strict. A configuration reload restores the
+     * configured encoding.
+     *
+     * @param request Request rejected by the hub.
+     * @return true if the request was binary encoded and should be resent as JSON.
+     */
+    public boolean fallBackToJson(HttpPost request) {
+
+        if (publishEncodingStrict || request.getFirstHeader(CONTENT_TYPE) == null ||
+                ContentType.APPLICATION_JSON.getMimeType().equals(request.getFirstHeader(CONTENT_TYPE).getValue())) {
+            return false;
+        }
+        PayloadWriter payloadWriter = publishPayloadWriter;
+        if (payloadWriter.isBinary()) {
+            publishPayloadWriter = PAYLOAD_WRITER;
+            LOG.warn("WebSubHub rejected " + payloadWriter.getEncoding() + " encoded publish requests. " +
+                    "Falling back to JSON.");
+        }
+        return true;
+    }
+
+    /**
+     * Returns the encoding of event publish requests in effect.
+     *
+     * @return json, cbor or smile.
+     */
+    public String getPublishEncoding() {
+
+        return publishPayloadWriter.getEncoding();
+    }
+
+    private HttpPost createHttpPost(String url, Object payload, PayloadWriter payloadWriter)
+            throws WebSubAdapterException {
+
         HttpPost request = new HttpPost(url);
+        request.setConfig(requestConfig);
         request.setHeader(ACCEPT, ContentType.APPLICATION_JSON.getMimeType());
-        request.setHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON.getMimeType());
+        request.setHeader(CONTENT_TYPE, payloadWriter.getContentType().getMimeType());
         request.setHeader(CORRELATION_ID_REQUEST_HEADER, WebSubHubAdapterUtil.getCorrelationID());
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-
+        // The payload is serialized straight into a pooled buffer that backs the request entity. The buffer is
+        // returned to the pool once the delivery settles.
+        BufferPool.PooledOutputStream buffer = requestBufferPool.acquire();
         try {
-            String jsonString = mapper.writeValueAsString(payload);
-            request.setEntity(new StringEntity(jsonString));
+            payloadWriter.write(buffer, payload);
+            RequestCompressor compressor = requestCompressor;
+            if (compressor.shouldCompress(buffer.size())) {
+                // The compressed payload is written into a second pooled buffer.
+                request.setEntity(compressor.compress(buffer.getBuffer(), 0, buffer.size(), requestBufferPool,
+                        payloadWriter.getContentType()));
+                request.setHeader(CONTENT_ENCODING, compressor.getEncoding());
+                buffer.release();
+            } else {
+                request.setEntity(buffer.toEntity(payloadWriter.getContentType()));
+            }
         } catch (IOException e) {
+            buffer.release();
             throw WebSubHubAdapterUtil.handleClientException(ERROR_PUBLISHING_EVENT_INVALID_PAYLOAD);
         }
 
         return request;
     }
 
+    /**
+     * Create an HTTP POST request that resends a captured request with its headers and body as they were sent.
+     *
+     * @param url     Hub publish URL.
+     * @param headers Request headers.
+     * @param body    Request body.
+     * @return HTTP POST request.
+     */
+    public HttpPost createReplayHttpPost(String url, Map<String, String> headers, byte[] body) {
+
+        HttpPost request = new HttpPost(url);
+        request.setConfig(requestConfig);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            request.setHeader(header.getKey(), header.getValue());
+        }
+        request.setEntity(new ByteArrayEntity(body));
+        return request;
+    }
+
     /**
      * Execute an HTTP POST request asynchronously.
      *
@@ -357,32 +1166,66 @@ public class ClientManager {
     public CompletableFuture<HttpResponse> executeAsync(HttpPost httpPost) {
 
         CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new IdentityRuntimeException(
+                    "WebSubHub publisher is shut down. Request not sent to URL: " + httpPost.getURI()));
+            return future;
+        }
+        WebSubHubAdapterMetrics metrics = WebSubHubAdapterMetrics.getInstance();
+        final long startTime = metrics.recordRequestStarted(httpPost.getURI());
 
-        getHttpAsyncClient().execute(httpPost, new FutureCallback<HttpResponse>() {
+        FutureCallback<HttpResponse> callback = new FutureCallback<HttpResponse>() {
             @Override
             public void completed(HttpResponse result) {
 
+                metrics.recordResponse(httpPost.getURI(), result.getStatusLine().getStatusCode(), startTime);
                 future.complete(result);
+                // Decremented after completion, which already queued the dependent callback.
+                inFlightRequests.decrementAndGet();
             }
 
             @Override
             public void failed(Exception ex) {
 
+                metrics.recordError(httpPost.getURI(), startTime);
+                if (ConnectionLifecycleManager.isStaleConnectionFailure(ex)) {
+                    metrics.recordStaleConnection();
+                }
+                reportConnectFailure(httpPost.getURI(), ex);
                 future.completeExceptionally(
                         new IdentityRuntimeException(
                                 "WebSubHub publisher async http client execution failed for URL: " + httpPost.getURI(),
                                 ex
                         )
                 );
+                inFlightRequests.decrementAndGet();
             }
 
             @Override
             public void cancelled() {
 
+                metrics.recordError(httpPost.getURI(), startTime);
                 future.cancel(true);
+                inFlightRequests.decrementAndGet();
             }
-        });
+        };
 
+        inFlightRequests.incrementAndGet();
+        try {
+            HTTP2TransportClient http2Client = getHTTP2TransportClient();
+            if (http2Client != null) {
+                http2Client.execute(httpPost, callback);
+            } else {
+                sendAsync(httpPost, callback);
+            }
+        } catch (IllegalStateException e) {
+            // The client could not be created or started; reported like a failed request, so the delivery is
+            // retried or dead-lettered.
+            callback.failed(e);
+        } catch (RuntimeException e) {
+            inFlightRequests.decrementAndGet();
+            throw e;
+        }
         return future;
     }
 
@@ -394,7 +1237,13 @@ public class ClientManager {
      */
     public HttpResponse execute(HttpPost httpPost) throws IOException {
 
-        return getHttpClient().execute(httpPost);
+        CloseableHttpClient client;
+        try {
+            client = initHttpClient();
+        } catch (WebSubAdapterException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return executeWithMetrics(client, httpPost);
     }
 
     /**
@@ -407,6 +1256,31 @@ public class ClientManager {
      */
     public HttpResponse executeSubscriberRequest(HttpPost httpPost) throws IOException, WebSubAdapterException {
 
-        return getEffectiveHttpClient().execute(httpPost);
+        return executeWithMetrics(resolveEffectiveHttpClient(), httpPost);
+    }
+
+    private HttpResponse executeWithMetrics(CloseableHttpClient client, HttpPost httpPost) throws IOException {
+
+        WebSubHubAdapterMetrics metrics = WebSubHubAdapterMetrics.getInstance();
+        long startTime = metrics.recordRequestStarted(httpPost.getURI());
+        if (httpPost.getConfig() == null) {
+            // Requests built outside createHttpPost pick up the current timeouts as well.
+            httpPost.setConfig(requestConfig);
+        }
+        inFlightRequests.incrementAndGet();
+        try {
+            HttpResponse response = client.execute(httpPost);
+            metrics.recordResponse(httpPost.getURI(), response.getStatusLine().getStatusCode(), startTime);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            metrics.recordError(httpPost.getURI(), startTime);
+            if (ConnectionLifecycleManager.isStaleConnectionFailure(e)) {
+                metrics.recordStaleConnection();
+            }
+            reportConnectFailure(httpPost.getURI(), e);
+            throw e;
+        } finally {
+            inFlightRequests.decrementAndGet();
+        }
     }
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.websubhub.publisher.internal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.webhook.metadata.api.exception.WebhookMetadataException;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.WEB_SUB_HUB_ADAPTER_NAME;
+
+/**
+ * Applies changes of the WebSubHub adapter properties to the running adapter without restarting the bundle.
+ * The properties are read again from the {@link org.wso2.carbon.identity.webhook.metadata.api.service
+ * .EventAdapterMetadataService} every {@code configReloadInterval} seconds, or on demand through the
+ * {@code reloadConfiguration} JMX operation. Changed properties replace the adapter configuration and are applied
+ * to the {@link ClientManager} in place. Enabling or disabling the adapter still requires a restart.
+ */
+public class WebSubHubAdapterConfigurationReloader implements WebSubHubAdapterConfigurationReloaderMBean {
+
+    private static final Log LOG = LogFactory.getLog(WebSubHubAdapterConfigurationReloader.class);
+    private static final String OBJECT_NAME =
+            "org.wso2.identity.event.publisher:type=WebSubHubAdapter,name=Configuration";
+
+    private final AtomicLong reloadCount = new AtomicLong();
+    private Map<String, String> appliedProperties;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> scheduledReload;
+    private int reloadIntervalSeconds;
+    private volatile long lastReloadTime;
+    private MBeanServer mBeanServer;
+
+    /**
+     * Create a reloader for the adapter running with the given properties.
+     *
+     * @param properties Properties the current adapter configuration was built from.
+     */
+    public WebSubHubAdapterConfigurationReloader(Map<String, String> properties) {
+
+        this.appliedProperties = new HashMap<>(properties);
+    }
+
+    /**
+     * Start watching the adapter properties and register the JMX view.
+     *
+     * @param intervalSeconds Interval in seconds between checks, 0 or less to reload on demand only.
+     */
+    public synchronized void start(int intervalSeconds) {
+
+        schedule(intervalSeconds);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(this, objectName);
+                mBeanServer = server;
+            }
+        } catch (JMException e) {
+            LOG.warn("Error while registering the WebSubHub adapter configuration MBean.", e);
+        }
+    }
+
+    /**
+     * Stop watching the adapter properties and unregister the JMX view.
+     */
+    public synchronized void stop() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            scheduledReload = null;
+        }
+        if (mBeanServer != null) {
+            try {
+                mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                LOG.warn("Error while unregistering the WebSubHub adapter configuration MBean.", e);
+            }
+            mBeanServer = null;
+        }
+    }
+
+    /**
+     * Read the adapter properties and apply them if they changed since the last reload.
+     *
+     * @return true if a changed configuration was applied, false if the properties are unchanged.
+     * @throws WebhookMetadataException If the adapter properties cannot be read.
+     * @throws WebSubAdapterException     If the changed configuration cannot be applied.
+     */
+    public synchronized boolean reload() throws WebhookMetadataException, WebSubAdapterException {
+
+        Map<String, String> properties = new HashMap<>(WebSubHubAdapterDataHolder.getInstance()
+                .getEventAdapterMetadataService().getAdapterByName(WEB_SUB_HUB_ADAPTER_NAME).getProperties());
+        if (properties.equals(appliedProperties)) {
+            return false;
+        }
+
+        WebSubAdapterConfiguration previous = WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration();
+        WebSubAdapterConfiguration current = new WebSubAdapterConfiguration(properties);
+        if (previous.isAdapterEnabled() != current.isAdapterEnabled()) {
+            LOG.warn("Enabling or disabling the WebSubHub adapter requires a server restart. The change is ignored " +
+                    "until then.");
+        }
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null) {
+            clientManager.reconfigure(previous, current);
+        }
+        WebSubHubAdapterDataHolder.getInstance().setAdapterConfiguration(current);
+        ByteBudget payloadBudget = WebSubHubAdapterDataHolder.getInstance().getPayloadBudget();
+        if (payloadBudget != null) {
+            payloadBudget.setMaxBytes(current.getPayloadMemoryBudgetBytes());
+        }
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        if (topicLookupCache != null && (previous.getLookupCacheTtl() != current.getLookupCacheTtl() ||
+                previous.getLookupCacheRefreshAhead() != current.getLookupCacheRefreshAhead() ||
+                previous.getLookupCacheMaxEntries() != current.getLookupCacheMaxEntries())) {
+            topicLookupCache.reconfigure(TimeUnit.SECONDS.toMillis(current.getLookupCacheTtl()),
+                    TimeUnit.SECONDS.toMillis(current.getLookupCacheRefreshAhead()),
+                    current.getLookupCacheMaxEntries());
+        }
+        LookupCache<String, String> organizationIdCache =
+                WebSubHubAdapterDataHolder.getInstance().getOrganizationIdCache();
+        if (organizationIdCache != null && (previous.getLookupCacheTtl() != current.getLookupCacheTtl() ||
+                previous.getLookupCacheRefreshAhead() != current.getLookupCacheRefreshAhead() ||
+                previous.getLookupCacheMaxEntries() != current.getLookupCacheMaxEntries())) {
+            organizationIdCache.reconfigure(TimeUnit.SECONDS.toMillis(current.getLookupCacheTtl()),
+                    TimeUnit.SECONDS.toMillis(current.getLookupCacheRefreshAhead()),
+                    current.getLookupCacheMaxEntries());
+        }
+        appliedProperties = properties;
+        if (current.getConfigReloadInterval() != reloadIntervalSeconds) {
+            schedule(current.getConfigReloadInterval());
+        }
+        reloadCount.incrementAndGet();
+        lastReloadTime = System.currentTimeMillis();
+        return true;
+    }
+
+    @Override
+    public String reloadConfiguration() {
+
+        try {
+            return reload() ? "WebSubHub adapter configuration reloaded." :
+                    "WebSubHub adapter configuration is unchanged.";
+        } catch (WebhookMetadataException | WebSubAdapterException | RuntimeException e) {
+            LOG.error("Error while reloading the WebSubHub adapter configuration.", e);
+            return "Error while reloading the WebSubHub adapter configuration: " + e.getMessage();
+        }
+    }
+
+    @Override
+    public String invalidateLookupCache() {
+
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        if (topicLookupCache != null) {
+            topicLookupCache.invalidateAll();
+        }
+        LookupCache<String, String> organizationIdCache =
+                WebSubHubAdapterDataHolder.getInstance().getOrganizationIdCache();
+        if (organizationIdCache != null) {
+            organizationIdCache.invalidateAll();
+        }
+        return "WebSubHub adapter lookup caches invalidated.";
+    }
+
+    @Override
+    public long getReloadCount() {
+
+        return reloadCount.get();
+    }
+
+    @Override
+    public String getLastReloadTime() {
+
+        long reloadTime = lastReloadTime;
+        return reloadTime == 0 ? null : Instant.ofEpochMilli(reloadTime).toString();
+    }
+
+    @Override
+    public synchronized int getReloadIntervalSeconds() {
+
+        return reloadIntervalSeconds;
+    }
+
+    @Override
+    public String getWebSubHubBaseUrl() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getWebSubHubBaseUrl();
+    }
+
+    @Override
+    public int getMaxConnections() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections();
+    }
+
+    @Override
+    public int getMaxConnectionsPerRoute() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnectionsPerRoute();
+    }
+
+    @Override
+    public int getConnectionTimeout() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getHTTPConnectionTimeout();
+    }
+
+    @Override
+    public int getConnectionRequestTimeout() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpConnectionRequestTimeout();
+    }
+
+    @Override
+    public int getReadTimeout() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getHttpReadTimeout();
+    }
+
+    @Override
+    public int getCallbackExecutorPoolSize() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getCallbackExecutorPoolSize();
+    }
+
+    @Override
+    public int getCallbackExecutorQueueCapacity() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getCallbackExecutorQueueCapacity();
+    }
+
+    @Override
+    public boolean isHttp2Enabled() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().isHttp2Enabled();
+    }
+
+    @Override
+    public String getRequestCompression() {
+
+        return WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getRequestCompression();
+    }
+
+    @Override
+    public String getPublishEncoding() {
+
+        // Reports the encoding in effect, which is JSON once the hub rejected the configured binary encoding.
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        return clientManager != null ? clientManager.getPublishEncoding() :
+                WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getPublishEncoding();
+    }
+
+    private void schedule(int intervalSeconds) {
+
+        if (scheduledReload != null) {
+            scheduledReload.cancel(false);
+            scheduledReload = null;
+        }
+        reloadIntervalSeconds = intervalSeconds;
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "websubhub-adapter-config-reloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        scheduledReload = scheduler.scheduleWithFixedDelay(this::reloadConfiguration, intervalSeconds,
+                intervalSeconds, TimeUnit.SECONDS);
+        LOG.debug("Watching the WebSubHub adapter properties every " + intervalSeconds + " seconds.");
+    }
+}
@@ -18,12 +18,19 @@
 
 package org.wso2.identity.event.websubhub.publisher.internal;
 
+import org.apache.http.conn.DnsResolver;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.topic.management.api.service.TopicManagementService;
 import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
 import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
 
 import java.security.KeyStore;
+import java.util.List;
 
 /**
  * WebSubHub Outbound Event Adapter service component's value holder.
@@ -33,10 +40,17 @@ public class WebSubHubAdapterDataHolder {
     private static final WebSubHubAdapterDataHolder instance = new WebSubHubAdapterDataHolder();
     private ClientManager clientManager;
     private KeyStore trustStore;
-    private WebSubAdapterConfiguration adapterConfiguration;
+    private volatile WebSubAdapterConfiguration adapterConfiguration;
     private OrganizationManager organizationManager;
     private TopicManagementService topicManagementService;
     private EventAdapterMetadataService eventAdapterMetadataService;
+    private DeadLetterStore deadLetterStore;
+    private DnsResolver dnsResolver;
+    private volatile ByteBudget payloadBudget;
+    private volatile LookupCache<List<String>, Boolean> topicLookupCache;
+    private volatile LookupCache<String, String> organizationIdCache;
+    private volatile CacheWarmUp cacheWarmUp;
+    private volatile SharedTransport sharedTransport;
 
     private WebSubHubAdapterDataHolder() {
 
@@ -126,4 +140,145 @@ public class WebSubHubAdapterDataHolder {
 
         this.eventAdapterMetadataService = eventAdapterMetadataService;
     }
+
+    /**
+     * Get the dead-letter store.
+     *
+     * @return Dead-letter store, or null if the dead-letter store is disabled.
+     */
+    public DeadLetterStore getDeadLetterStore() {
+
+        return deadLetterStore;
+    }
+
+    /**
+     * Set the dead-letter store.
+     *
+     * @param deadLetterStore Dead-letter store.
+     */
+    public void setDeadLetterStore(DeadLetterStore deadLetterStore) {
+
+        this.deadLetterStore = deadLetterStore;
+    }
+
+    /**
+     * Get the DNS resolver the client manager resolves hub hosts with.
+     *
+     * @return DNS resolver, or null to use the resolver built from the adapter configuration.
+     */
+    public DnsResolver getDnsResolver() {
+
+        return dnsResolver;
+    }
+
+    /**
+     * Set the DNS resolver the client manager resolves hub hosts with. Takes effect when the client manager
+     * is created.
+     *
+     * @param dnsResolver DNS resolver.
+     */
+    public void setDnsResolver(DnsResolver dnsResolver) {
+
+        this.dnsResolver = dnsResolver;
+    }
+
+    /**
+     * Get the budget of the queued and in-flight request bodies.
+     *
+     * @return Payload memory budget, or null if the adapter is not active.
+     */
+    public ByteBudget getPayloadBudget() {
+
+        return payloadBudget;
+    }
+
+    /**
+     * Set the budget of the queued and in-flight request bodies.
+     *
+     * @param payloadBudget Payload memory budget.
+     */
+    public void setPayloadBudget(ByteBudget payloadBudget) {
+
+        this.payloadBudget = payloadBudget;
+    }
+
+    /**
+     * Get the cache of the topic lookups.
+     *
+     * @return Lookup cache, or null if the adapter is not active.
+     */
+    public LookupCache<List<String>, Boolean> getTopicLookupCache() {
+
+        return topicLookupCache;
+    }
+
+    /**
+     * Set the cache of the topic lookups.
+     *
+     * @param topicLookupCache Lookup cache.
+     */
+    public void setTopicLookupCache(LookupCache<List<String>, Boolean> topicLookupCache) {
+
+        this.topicLookupCache = topicLookupCache;
+    }
+
+    /**
+     * Get the cache of the organization id lookups.
+     *
+     * @return Lookup cache, or null if the adapter is not active.
+     */
+    public LookupCache<String, String> getOrganizationIdCache() {
+
+        return organizationIdCache;
+    }
+
+    /**
+     * Set the cache of the organization id lookups.
+     *
+     * @param organizationIdCache Lookup cache.
+     */
+    public void setOrganizationIdCache(LookupCache<String, String> organizationIdCache) {
+
+        this.organizationIdCache = organizationIdCache;
+    }
+
+    /**
+     * Get the warm-up of the lookup caches.
+     *
+     * @return Cache warm-up, or null if the warm-up is not enabled.
+     */
+    public CacheWarmUp getCacheWarmUp() {
+
+        return cacheWarmUp;
+    }
+
+    /**
+     * Set the warm-up of the lookup caches.
+     *
+     * @param cacheWarmUp Cache warm-up.
+     */
+    public void setCacheWarmUp(CacheWarmUp cacheWarmUp) {
+
+        this.cacheWarmUp = cacheWarmUp;
+    }
+
+    /**
+     * Get the transport shared with the other event publisher.
+     *
+     * @return Shared transport, or null if it is not available.
+     */
+    public SharedTransport getSharedTransport() {
+
+        return sharedTransport;
+    }
+
+    /**
+     * Set the transport shared with the other event publisher.
+     *
+     * @param sharedTransport Shared transport.
+     */
+    public void setSharedTransport(SharedTransport sharedTransport) {
+
+        this.sharedTransport = sharedTransport;
+    }
 }
@@ -18,8 +18,10 @@
 
 package org.wso2.identity.event.websubhub.publisher.internal;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.osgi.framework.ServiceRegistration;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -30,18 +32,39 @@ import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.identity.event.publisher.api.service.EventPublisher;
 import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
+import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.subscription.management.api.service.EventSubscriber;
+import org.wso2.carbon.identity.topic.management.api.exception.TopicManagementException;
 import org.wso2.carbon.identity.topic.management.api.service.TopicManagementService;
 import org.wso2.carbon.identity.topic.management.api.service.TopicManager;
 import org.wso2.carbon.identity.webhook.metadata.api.exception.WebhookMetadataException;
 import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
+import org.wso2.carbon.utils.CarbonUtils;
+import org.wso2.identity.event.publisher.transport.SharedTransport;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
 import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
+import org.wso2.identity.event.websubhub.publisher.service.DeadLetterService;
+import org.wso2.identity.event.websubhub.publisher.service.DeadLetterServiceImpl;
 import org.wso2.identity.event.websubhub.publisher.service.WebSubEventPublisherImpl;
 import org.wso2.identity.event.websubhub.publisher.service.WebSubEventSubscriberImpl;
 import org.wso2.identity.event.websubhub.publisher.service.WebSubTopicManagerImpl;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import static org.wso2.carbon.identity.webhook.metadata.internal.constant.ErrorMessage.ERROR_CODE_ADAPTER_NOT_FOUND;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.WEB_SUB_HUB_ADAPTER_NAME;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_CACHE_WARM_UP_FILE;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_DEAD_LETTER_DIRECTORY;
 
 /**
  * WebSubHub Outbound Event Adapter service component.
@@ -52,31 +75,75 @@ import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdap
 public class WebSubHubAdapterServiceComponent {
 
     private static final Log log = LogFactory.getLog(WebSubHubAdapterServiceComponent.class);
+    private WebSubHubAdapterConfigurationReloader configurationReloader;
+    private final List<ServiceRegistration<?>> serviceRegistrations = new ArrayList<>();
+    private DeadLetterServiceImpl deadLetterService;
 
     @Activate
     protected void activate(ComponentContext context) {
 
+        long startTime = System.currentTimeMillis();
         try {
-            WebSubHubAdapterDataHolder.getInstance().setAdapterConfiguration(new WebSubAdapterConfiguration(
-                    WebSubHubAdapterDataHolder.getInstance().getEventAdapterMetadataService()
-                            .getAdapterByName(WEB_SUB_HUB_ADAPTER_NAME).getProperties()));
+            Map<String, String> properties = WebSubHubAdapterDataHolder.getInstance()
+                    .getEventAdapterMetadataService().getAdapterByName(WEB_SUB_HUB_ADAPTER_NAME).getProperties();
+            WebSubHubAdapterDataHolder.getInstance().setAdapterConfiguration(
+                    new WebSubAdapterConfiguration(properties));
             if (WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().isAdapterEnabled()) {
                 // Register EventPublisher service
                 WebSubEventPublisherImpl eventPublisherService = new WebSubEventPublisherImpl();
-                context.getBundleContext().registerService(EventPublisher.class.getName(),
-                        eventPublisherService, null);
+                serviceRegistrations.add(context.getBundleContext().registerService(EventPublisher.class.getName(),
+                        eventPublisherService, null));
 
                 // Register WebhookSubscriber service
                 WebSubEventSubscriberImpl subscriberService = new WebSubEventSubscriberImpl();
-                context.getBundleContext().registerService(EventSubscriber.class.getName(),
-                        subscriberService, null);
+                serviceRegistrations.add(context.getBundleContext().registerService(EventSubscriber.class.getName(),
+                        subscriberService, null));
 
                 // Register WebhookTopicManager service
                 WebSubTopicManagerImpl topicManagerService = new WebSubTopicManagerImpl();
-                context.getBundleContext().registerService(TopicManager.class.getName(),
-                        topicManagerService, null);
+                serviceRegistrations.add(context.getBundleContext().registerService(TopicManager.class.getName(),
+                        topicManagerService, null));
                 WebSubHubAdapterDataHolder.getInstance().setClientManager(new ClientManager());
-                log.debug("Successfully activated the WebSubHub adapter service.");
+                WebSubHubAdapterMetrics.getInstance().registerMBeans();
+                WebSubAdapterConfiguration configuration =
+                        WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration();
+                ByteBudget payloadBudget = new ByteBudget(configuration.getPayloadMemoryBudgetBytes());
+                WebSubHubAdapterDataHolder.getInstance().setPayloadBudget(payloadBudget);
+                WebSubHubAdapterMetrics.getInstance().bindPayloadBudget(payloadBudget);
+                WebSubHubAdapterDataHolder.getInstance().setTopicLookupCache(new LookupCache<>(
+                        "websubhub-adapter-lookup-refresh",
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheTtl()),
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheRefreshAhead()),
+                        configuration.getLookupCacheMaxEntries(),
+                        () -> WebSubHubAdapterMetrics.getInstance().recordLookupCoalesced()));
+                WebSubHubAdapterDataHolder.getInstance().setOrganizationIdCache(new LookupCache<>(
+                        "websubhub-adapter-organization-lookup-refresh",
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheTtl()),
+                        TimeUnit.SECONDS.toMillis(configuration.getLookupCacheRefreshAhead()),
+                        configuration.getLookupCacheMaxEntries(),
+                        () -> WebSubHubAdapterMetrics.getInstance().recordLookupCoalesced()));
+                if (configuration.isCacheWarmUpEnabled() && configuration.getLookupCacheTtl() > 0) {
+                    CacheWarmUp cacheWarmUp = new CacheWarmUp("websubhub-adapter-cache-warm-up",
+                            getCacheWarmUpFile(configuration),
+                            configuration.getCacheWarmUpMaxKeys());
+                    cacheWarmUp.start(TimeUnit.SECONDS.toMillis(configuration.getCacheWarmUpDelay()),
+                            configuration.getCacheWarmUpRate(), WebSubHubAdapterServiceComponent::warmUpTopicLookup);
+                    WebSubHubAdapterDataHolder.getInstance().setCacheWarmUp(cacheWarmUp);
+                }
+                if (configuration.isDeadLetterEnabled()) {
+                    DeadLetterStore deadLetterStore = new DeadLetterStore(getDeadLetterDirectory(configuration),
+                            configuration.getDeadLetterMaxEntries());
+                    deadLetterStore.load();
+                    WebSubHubAdapterDataHolder.getInstance().setDeadLetterStore(deadLetterStore);
+                    deadLetterService = new DeadLetterServiceImpl();
+                    serviceRegistrations.add(context.getBundleContext().registerService(
+                            DeadLetterService.class.getName(), deadLetterService, null));
+                }
+                configurationReloader = new WebSubHubAdapterConfigurationReloader(properties);
+                configurationReloader.start(
+                        WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getConfigReloadInterval());
+                log.info("Successfully activated the WebSubHub adapter service in " +
+                        (System.currentTimeMillis() - startTime) + " ms.");
             }
         } catch (Throwable e) {
             if (e instanceof WebhookMetadataException &&
@@ -110,9 +177,92 @@ public class WebSubHubAdapterServiceComponent {
     @Deactivate
     protected void deactivate(ComponentContext context) {
 
+        // Stop taking new events before draining the ones already in flight.
+        for (ServiceRegistration<?> serviceRegistration : serviceRegistrations) {
+            try {
+                serviceRegistration.unregister();
+            } catch (IllegalStateException e) {
+                log.debug("WebSubHub adapter service is already unregistered.", e);
+            }
+        }
+        serviceRegistrations.clear();
+        if (configurationReloader != null) {
+            configurationReloader.stop();
+            configurationReloader = null;
+        }
+        if (deadLetterService != null) {
+            deadLetterService.stop();
+            deadLetterService = null;
+        }
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null) {
+            clientManager.shutdown(
+                    WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getShutdownDrainTimeout());
+        }
+        WebSubHubAdapterDataHolder.getInstance().setDeadLetterStore(null);
+        CacheWarmUp cacheWarmUp = WebSubHubAdapterDataHolder.getInstance().getCacheWarmUp();
+        if (cacheWarmUp != null) {
+            cacheWarmUp.stop();
+            WebSubHubAdapterDataHolder.getInstance().setCacheWarmUp(null);
+        }
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        if (topicLookupCache != null) {
+            topicLookupCache.stop();
+            WebSubHubAdapterDataHolder.getInstance().setTopicLookupCache(null);
+        }
+        LookupCache<String, String> organizationIdCache =
+                WebSubHubAdapterDataHolder.getInstance().getOrganizationIdCache();
+        if (organizationIdCache != null) {
+            organizationIdCache.stop();
+            WebSubHubAdapterDataHolder.getInstance().setOrganizationIdCache(null);
+        }
+        WebSubHubAdapterDataHolder.getInstance().setPayloadBudget(null);
+        WebSubHubAdapterMetrics.getInstance().unregisterMBeans();
         log.debug("Successfully de-activated the WebSubHub adapter service.");
     }
 
+    private static Path getDeadLetterDirectory(WebSubAdapterConfiguration configuration) {
+
+        if (StringUtils.isNotBlank(configuration.getDeadLetterDirectory())) {
+            return Paths.get(configuration.getDeadLetterDirectory());
+        }
+        return Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_DEAD_LETTER_DIRECTORY);
+    }
+
+    private static Path getCacheWarmUpFile(WebSubAdapterConfiguration configuration) {
+
+        if (StringUtils.isNotBlank(configuration.getCacheWarmUpFile())) {
+            return Paths.get(configuration.getCacheWarmUpFile());
+        }
+        return Paths.get(CarbonUtils.getCarbonHome(), DEFAULT_CACHE_WARM_UP_FILE);
+    }
+
+    private static void warmUpTopicLookup(List<String> key)
+            throws TopicManagementException, OrganizationManagementException {
+
+        // Topic lookup keys are the tenant domain, event profile name, event profile version and event URI.
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        LookupCache<String, String> organizationIdCache =
+                WebSubHubAdapterDataHolder.getInstance().getOrganizationIdCache();
+        if (topicLookupCache == null || organizationIdCache == null || key.size() != 4) {
+            return;
+        }
+        String tenantDomain = key.get(0);
+        CallbackContext warmUpContext = new CallbackContext(tenantDomain, null);
+        warmUpContext.attach();
+        warmUpContext.startTenantFlow();
+        try {
+            organizationIdCache.get(tenantDomain, tenantDomain, () -> WebSubHubAdapterDataHolder.getInstance()
+                    .getOrganizationManager().resolveOrganizationId(tenantDomain));
+            topicLookupCache.get(key, tenantDomain, () -> WebSubHubAdapterDataHolder.getInstance()
+                    .getTopicManagementService().isTopicExists(key.get(3), key.get(1), key.get(2), tenantDomain));
+        } finally {
+            warmUpContext.detach();
+        }
+    }
+
     @Reference(name = "identity.organization.management.component",
             service = OrganizationManager.class,
             cardinality = ReferenceCardinality.MANDATORY,
@@ -164,4 +314,23 @@ public class WebSubHubAdapterServiceComponent {
         WebSubHubAdapterDataHolder.getInstance().setEventAdapterMetadataService(null);
         log.debug("EventAdapterMetadataService unset in WebSubHubAdapterDataHolder bundle.");
     }
+
+    @Reference(
+            name = "event.publisher.shared.transport",
+            service = SharedTransport.class,
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            unbind = "unsetSharedTransport"
+    )
+    protected void setSharedTransport(SharedTransport sharedTransport) {
+
+        WebSubHubAdapterDataHolder.getInstance().setSharedTransport(sharedTransport);
+        log.debug("Shared transport set in WebSubHubAdapterDataHolder bundle.");
+    }
+
+    protected void unsetSharedTransport(SharedTransport sharedTransport) {
+
+        WebSubHubAdapterDataHolder.getInstance().setSharedTransport(null);
+        log.debug("Shared transport unset in WebSubHubAdapterDataHolder bundle.");
+    }
 }
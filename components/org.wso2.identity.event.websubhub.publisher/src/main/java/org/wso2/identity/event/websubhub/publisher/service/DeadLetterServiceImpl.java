@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.websubhub.publisher.service;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.client.methods.HttpPost;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterEntry;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
+import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
+import org.wso2.identity.event.websubhub.publisher.internal.WebSubHubAdapterDataHolder;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
+import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.ErrorMessages.ERROR_DEAD_LETTER_STORE;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.CORRELATION_ID_REQUEST_HEADER;
+import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.DEFAULT_DEAD_LETTER_REPLAY_RATE;
+
+/**
+ * OSGi service to list, replay and purge the events the WebSubHub adapter failed to publish after all their
+ * retries.
+ * Replayed entries are sent from a scheduler thread at the replay rate and stay in the store until the hub accepts
+ * them, so an entry is never lost by a replay that fails or is cut short by a shutdown.
+ */
+public class DeadLetterServiceImpl implements DeadLetterService {
+
+    private static final Log log = LogFactory.getLog(DeadLetterServiceImpl.class);
+
+    private final Set<String> replayingEntries = ConcurrentHashMap.newKeySet();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /**
+     * Create the dead-letter service with its replay scheduler.
+     */
+    public DeadLetterServiceImpl() {
+
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(r);
+            thread.setName("websubhub-adapter-dead-letter-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public List<DeadLetterEntry> listEntries(String tenantDomain, String endpoint, long fromTime, long toTime,
+                                             int limit) {
+
+        return getDeadLetterStore().list(tenantDomain, endpoint, fromTime, toTime, limit);
+    }
+
+    @Override
+    public int replay(String tenantDomain, String endpoint, long fromTime, long toTime, int maxPerSecond) {
+
+        DeadLetterStore deadLetterStore = getDeadLetterStore();
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager == null || clientManager.isShuttingDown()) {
+            log.info("WebSubHub adapter is shutting down. Dead-letter entries are not replayed.");
+            return 0;
+        }
+        int rate = maxPerSecond > 0 ? maxPerSecond : WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration()
+                .getDeadLetterReplayRate();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / (rate > 0 ? rate : DEFAULT_DEAD_LETTER_REPLAY_RATE);
+        long delayNanos = 0L;
+        int replayed = 0;
+        for (DeadLetterEntry entry : deadLetterStore.list(tenantDomain, endpoint, fromTime, toTime,
+                Integer.MAX_VALUE)) {
+            // An entry still in flight from an earlier replay is not sent twice.
+            if (!replayingEntries.add(entry.getId())) {
+                continue;
+            }
+            EntryReplay entryReplay = new EntryReplay(entry, deadLetterStore, clientManager, intervalNanos);
+            if (!entryReplay.schedule(entryReplay::start, delayNanos)) {
+                log.info("Dead-letter replay is stopped. Scheduled " + replayed + " entries before stopping.");
+                break;
+            }
+            delayNanos += intervalNanos;
+            replayed++;
+        }
+        log.debug("Scheduled the replay of " + replayed + " dead-letter entries of tenant: " + tenantDomain +
+                ", endpoint: " + endpoint);
+        return replayed;
+    }
+
+    @Override
+    public int purge(String tenantDomain, String endpoint, long fromTime, long toTime) throws WebSubAdapterException {
+
+        DeadLetterStore deadLetterStore = getDeadLetterStore();
+        int purged = 0;
+        for (DeadLetterEntry entry : deadLetterStore.list(tenantDomain, endpoint, fromTime, toTime,
+                Integer.MAX_VALUE)) {
+            if (remove(deadLetterStore, entry)) {
+                purged++;
+            }
+        }
+        log.debug("Purged " + purged + " dead-letter entries of tenant: " + tenantDomain + ", endpoint: " +
+                endpoint);
+        return purged;
+    }
+
+    /**
+     * Stop the replay scheduler. Entries whose replay has not started yet stay in the store.
+     */
+    public void stop() {
+
+        scheduler.shutdownNow();
+        replayingEntries.clear();
+    }
+
+    private static boolean remove(DeadLetterStore deadLetterStore, DeadLetterEntry entry)
+            throws WebSubAdapterException {
+
+        try {
+            return deadLetterStore.remove(entry);
+        } catch (IOException e) {
+            throw WebSubHubAdapterUtil.handleServerException(ERROR_DEAD_LETTER_STORE, e, entry.getId());
+        }
+    }
+
+    private static DeadLetterStore getDeadLetterStore() {
+
+        DeadLetterStore deadLetterStore = WebSubHubAdapterDataHolder.getInstance().getDeadLetterStore();
+        if (deadLetterStore == null) {
+            throw new IllegalStateException("WebSubHub adapter dead-letter store is not enabled.");
+        }
+        return deadLetterStore;
+    }
+
+    /**
+     * Replay of one dead-letter entry, with its retries. The entry stays in the store it was listed from until the
+     * hub accepts it.
+     */
+    private final class EntryReplay {
+
+        private final DeadLetterEntry entry;
+        private final DeadLetterStore deadLetterStore;
+        private final ClientManager clientManager;
+        private final long intervalNanos;
+
+        private EntryReplay(DeadLetterEntry entry, DeadLetterStore deadLetterStore, ClientManager clientManager,
+                            long intervalNanos) {
+
+            this.entry = entry;
+            this.deadLetterStore = deadLetterStore;
+            this.clientManager = clientManager;
+            this.intervalNanos = intervalNanos;
+        }
+
+        private void start() {
+
+            byte[] body;
+            try {
+                body = deadLetterStore.readBody(entry);
+            } catch (IOException e) {
+                log.debug("Dead-letter entry " + entry.getId() + " is no longer readable. It was purged " +
+                        "concurrently.", e);
+                finish();
+                return;
+            }
+            send(body, clientManager.getMaxRetries());
+        }
+
+        private void send(byte[] body, int retriesLeft) {
+
+            if (clientManager.isShuttingDown()) {
+                log.debug("WebSubHub adapter is shutting down. Dead-letter entry " + entry.getId() +
+                        " is not replayed.");
+                finish();
+                return;
+            }
+            String url = entry.getEndpoint();
+            HttpPost request = clientManager.createReplayHttpPost(url, entry.getHeaders(), body);
+            final CallbackContext callbackContext = new CallbackContext(entry.getTenantDomain(),
+                    entry.getHeaders().get(CORRELATION_ID_REQUEST_HEADER));
+
+            // The entry is still in the store, so a rejected callback only ends the replay of the entry.
+            clientManager.executeAsync(request).whenCompleteAsync((response, throwable) -> {
+                callbackContext.attach();
+                try {
+                    String error;
+                    if (throwable == null) {
+                        int status = response.getStatusLine().getStatusCode();
+                        if (status >= 200 && status < 300) {
+                            removeReplayed();
+                            log.debug("Dead-letter entry " + entry.getId() + " replayed to endpoint: " + url);
+                            return;
+                        }
+                        error = status + " " + response.getStatusLine().getReasonPhrase();
+                    } else {
+                        error = throwable.getMessage();
+                    }
+                    if (retriesLeft > 0) {
+                        WebSubHubAdapterMetrics.getInstance().recordRetry(url);
+                        schedule(() -> send(body, retriesLeft - 1), intervalNanos);
+                        return;
+                    }
+                    WebSubHubAdapterMetrics.getInstance().recordDropped(url);
+                    keepFailed(body, error);
+                    log.warn("Failed to replay dead-letter entry " + entry.getId() + " to endpoint: " + url +
+                            ". Maximum retries reached. The entry is kept in the dead-letter store.");
+                } finally {
+                    callbackContext.detach();
+                }
+            }, RejectableTask.wrap(clientManager.getAsyncCallbackExecutor(), this::finish));
+        }
+
+        private boolean schedule(Runnable task, long delayNanos) {
+
+            try {
+                scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (RejectedExecutionException e) {
+                finish();
+                return false;
+            }
+        }
+
+        private void removeReplayed() {
+
+            try {
+                deadLetterStore.remove(entry);
+            } catch (IOException e) {
+                log.error("Error while removing replayed dead-letter entry " + entry.getId() + " from the store.",
+                        e);
+            } finally {
+                finish();
+            }
+        }
+
+        private void keepFailed(byte[] body, String error) {
+
+            try {
+                // Replace the entry with one that records the latest error. A full store keeps the old entry.
+                deadLetterStore.replace(entry, body, error);
+            } catch (IOException e) {
+                log.error("Error while updating failed dead-letter entry " + entry.getId() + " in the store.", e);
+            } finally {
+                finish();
+            }
+        }
+
+        private void finish() {
+
+            replayingEntries.remove(entry.getId());
+        }
+    }
+}
@@ -21,27 +21,37 @@ package org.wso2.identity.event.websubhub.publisher.service;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.util.EntityUtils;
-import org.slf4j.MDC;
-import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherException;
 import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
 import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
 import org.wso2.carbon.identity.event.publisher.api.service.EventPublisher;
 import org.wso2.carbon.identity.topic.management.api.exception.TopicManagementException;
+import org.wso2.carbon.identity.topic.management.api.service.TopicManagementService;
 import org.wso2.carbon.utils.DiagnosticLog;
+import org.wso2.identity.event.publisher.transport.cache.CacheWarmUp;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.deadletter.DeadLetterStore;
+import org.wso2.identity.event.publisher.transport.util.ByteBudget;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
+import org.wso2.identity.event.publisher.transport.util.EventMaxAgePolicy;
+import org.wso2.identity.event.publisher.transport.util.PooledEntity;
+import org.wso2.identity.event.publisher.transport.util.RejectableTask;
+import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
 import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
 import org.wso2.identity.event.websubhub.publisher.internal.WebSubHubAdapterDataHolder;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
 import org.wso2.identity.event.websubhub.publisher.util.WebSubHubCorrelationLogUtils;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.CORRELATION_ID_MDC;
-import static org.wso2.carbon.identity.application.authentication.framework.util.FrameworkUtils.TENANT_DOMAIN;
 import static org.wso2.carbon.identity.event.publisher.api.constant.ErrorMessage.ERROR_CODE_CONSTRUCTING_HUB_TOPIC;
 import static org.wso2.carbon.identity.event.publisher.api.constant.ErrorMessage.ERROR_CODE_TOPIC_EXISTS_CHECK;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.CORRELATION_ID_REQUEST_HEADER;
@@ -85,10 +95,31 @@ public class WebSubEventPublisherImpl implements EventPublisher {
     @Override
     public boolean canHandleEvent(EventContext eventContext) throws EventPublisherException {
 
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        if (clientManager != null && clientManager.isShuttingDown()) {
+            log.debug("WebSubHub adapter is shutting down. Event not accepted: " + eventContext.getEventUri());
+            return false;
+        }
+        TopicManagementService topicManagementService =
+                WebSubHubAdapterDataHolder.getInstance().getTopicManagementService();
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
         try {
-            return WebSubHubAdapterDataHolder.getInstance().getTopicManagementService()
-                    .isTopicExists(eventContext.getEventUri(), eventContext.getEventProfileName(),
-                            eventContext.getEventProfileVersion(), eventContext.getTenantDomain());
+            if (topicLookupCache == null) {
+                return topicManagementService.isTopicExists(eventContext.getEventUri(),
+                        eventContext.getEventProfileName(), eventContext.getEventProfileVersion(),
+                        eventContext.getTenantDomain());
+            }
+            List<String> key = Arrays.asList(eventContext.getTenantDomain(), eventContext.getEventProfileName(),
+                    eventContext.getEventProfileVersion(), eventContext.getEventUri());
+            CacheWarmUp cacheWarmUp = WebSubHubAdapterDataHolder.getInstance().getCacheWarmUp();
+            if (cacheWarmUp != null) {
+                cacheWarmUp.record(key);
+            }
+            return topicLookupCache.get(key, eventContext.getTenantDomain(),
+                    () -> topicManagementService.isTopicExists(eventContext.getEventUri(),
+                            eventContext.getEventProfileName(), eventContext.getEventProfileVersion(),
+                            eventContext.getTenantDomain()));
         } catch (TopicManagementException e) {
             throw handleServerException(ERROR_CODE_TOPIC_EXISTS_CHECK, e,
                     WebSubHubAdapterConstants.WEB_SUB_HUB_ADAPTER_NAME);
@@ -110,52 +141,111 @@ public class WebSubEventPublisherImpl implements EventPublisher {
     private void sendWithRetries(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url,
                                  int retriesLeft) {
 
-        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
-        final HttpPost request;
+        HttpPost request = createRequest(eventPayload, eventContext, url);
+        if (request == null) {
+            return;
+        }
+        // The body stays accounted for until the publish completes, including its retries.
+        ByteBudget.Reservation reservation = reservePayloadBytes(request);
+        if (reservation == null) {
+            WebSubHubAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload,
+                    WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Payload memory budget is exhausted. Event data not published to WebSubHub.");
+            log.debug("Payload memory budget is exhausted. Event not published to hub: " + url);
+            deadLetter(request, eventContext, "Payload memory budget exhausted");
+            PooledEntity.release(request);
+            return;
+        }
+        send(eventPayload, eventContext, url, retriesLeft, request, reservation);
+    }
+
+    private void retry(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url,
+                       int retriesLeft, ByteBudget.Reservation reservation) {
+
+        HttpPost request = createRequest(eventPayload, eventContext, url);
+        if (request == null) {
+            reservation.release();
+            return;
+        }
+        send(eventPayload, eventContext, url, retriesLeft, request, reservation);
+    }
+
+    private static HttpPost createRequest(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                          String url) {
+
         try {
-            request = clientManager.createHttpPost(url, eventPayload);
+            return WebSubHubAdapterDataHolder.getInstance().getClientManager().createPublishHttpPost(url, eventPayload);
         } catch (WebSubAdapterException e) {
+            WebSubHubAdapterMetrics.getInstance().recordDropped(url);
             printPublisherDiagnosticLog(eventContext, eventPayload,
                     WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
                     "Failed to construct HTTP request for WebSubHub publish.");
             log.debug("Error constructing HTTP request for WebSubHub publish. No retries will be attempted.", e);
+            return null;
+        }
+    }
+
+    private void send(SecurityEventTokenPayload eventPayload, EventContext eventContext, String url, int retriesLeft,
+                      HttpPost request, ByteBudget.Reservation reservation) {
+
+        // The pooled body of this attempt goes back to the pool once the attempt settles, after any dead letter copy
+        // has been taken.
+        ClientManager clientManager = WebSubHubAdapterDataHolder.getInstance().getClientManager();
+        if (shedIfExpired(eventPayload, eventContext, request)) {
+            PooledEntity.release(request);
+            reservation.release();
             return;
         }
 
         final long requestStartTime = System.currentTimeMillis();
         final String correlationId = request.getFirstHeader(CORRELATION_ID_REQUEST_HEADER).getValue();
+        final CallbackContext callbackContext = new CallbackContext(eventContext.getTenantDomain(), correlationId);
 
         CompletableFuture<HttpResponse> future = clientManager.executeAsync(request);
 
         future.whenCompleteAsync((response, throwable) -> {
+            callbackContext.attach();
             try {
-                PrivilegedCarbonContext.startTenantFlow();
-                PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                        .setTenantDomain(eventContext.getTenantDomain());
-                MDC.put(CORRELATION_ID_MDC, correlationId);
-                MDC.put(TENANT_DOMAIN, eventContext.getTenantDomain());
                 if (throwable == null) {
                     int status = response.getStatusLine().getStatusCode();
                     if (status >= 200 && status < 300) {
-                        handleAsyncResponse(response, eventPayload, request, requestStartTime, eventContext);
+                        PooledEntity.release(request);
+                        reservation.release();
+                        handleAsyncResponse(response, eventPayload, request, requestStartTime, eventContext,
+                                callbackContext);
                     } else {
-                        if (retriesLeft > 0) {
-                            printPublisherDiagnosticLog(eventContext, eventPayload,
+                        handleResponseCorrelationLog(request, requestStartTime,
+                                WebSubHubCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
+                                String.valueOf(status),
+                                response.getStatusLine().getReasonPhrase());
+                        if (status == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE && clientManager.fallBackToJson(request)) {
+                            // The hub does not accept the binary encoding. Resending as JSON is not a retry.
+                            PooledEntity.release(request);
+                            callbackContext.startTenantFlow();
+                            retry(eventPayload, eventContext, url, retriesLeft, reservation);
+                        } else if (retriesLeft > 0) {
+                            WebSubHubAdapterMetrics.getInstance().recordRetry(url);
+                            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
                                     WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                     DiagnosticLog.ResultStatus.FAILED,
                                     "Publish attempt failed with status code: " + status +
                                             ". Retrying… (" + retriesLeft + " attempts left)");
-                            sendWithRetries(eventPayload, eventContext, url, retriesLeft - 1);
+                            callbackContext.startTenantFlow();
+                            PooledEntity.release(request);
+                            retry(eventPayload, eventContext, url, retriesLeft - 1, reservation);
+                        } else {
+                            WebSubHubAdapterMetrics.getInstance().recordDropped(url);
+                            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
+                                    WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
+                                    DiagnosticLog.ResultStatus.FAILED,
+                                    "Failed to publish event data to WebSubHub. Status code: " + status +
+                                            ". Maximum retries reached.");
+                            deadLetter(request, eventContext, status + " " +
+                                    response.getStatusLine().getReasonPhrase());
+                            PooledEntity.release(request);
+                            reservation.release();
                         }
-                        handleResponseCorrelationLog(request, requestStartTime,
-                                WebSubHubCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
-                                String.valueOf(status),
-                                response.getStatusLine().getReasonPhrase());
-                        printPublisherDiagnosticLog(eventContext, eventPayload,
-                                WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
-                                DiagnosticLog.ResultStatus.FAILED,
-                                "Failed to publish event data to WebSubHub. Status code: " + status +
-                                        ". Maximum retries reached.");
                         try {
                             if (response.getEntity() != null) {
                                 String body = EntityUtils.toString(response.getEntity());
@@ -165,7 +255,7 @@ public class WebSubEventPublisherImpl implements EventPublisher {
                                         ". Response entity is null.");
                             }
                         } catch (IOException e) {
-                            printPublisherDiagnosticLog(eventContext, eventPayload,
+                            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
                                     WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                     DiagnosticLog.ResultStatus.FAILED,
                                     "Error while reading WebSubHub event publisher");
@@ -173,34 +263,102 @@ public class WebSubEventPublisherImpl implements EventPublisher {
                         }
                     }
                 } else {
+                    handleResponseCorrelationLog(request, requestStartTime,
+                            WebSubHubCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
+                            throwable.getMessage());
                     if (retriesLeft > 0) {
-                        printPublisherDiagnosticLog(eventContext, eventPayload,
+                        WebSubHubAdapterMetrics.getInstance().recordRetry(url);
+                        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
                                 WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                                 DiagnosticLog.ResultStatus.FAILED,
                                 "Publish attempt failed due to exception. Retrying… (" +
                                         retriesLeft + " attempts left)");
-                        sendWithRetries(eventPayload, eventContext, url, retriesLeft - 1);
+                        callbackContext.startTenantFlow();
+                        PooledEntity.release(request);
+                        retry(eventPayload, eventContext, url, retriesLeft - 1, reservation);
+                    } else {
+                        WebSubHubAdapterMetrics.getInstance().recordDropped(url);
+                        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
+                                WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
+                                DiagnosticLog.ResultStatus.FAILED,
+                                "Failed to publish event data to WebSubHub. Maximum retries reached.");
+                        deadLetter(request, eventContext, throwable.getMessage());
+                        PooledEntity.release(request);
+                        reservation.release();
                     }
-                    handleResponseCorrelationLog(request, requestStartTime,
-                            WebSubHubCorrelationLogUtils.RequestStatus.FAILED.getStatus(),
-                            throwable.getMessage());
-                    printPublisherDiagnosticLog(eventContext, eventPayload,
-                            WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
-                            DiagnosticLog.ResultStatus.FAILED,
-                            "Failed to publish event data to WebSubHub. Maximum retries reached.");
                 }
             } finally {
-                MDC.remove(CORRELATION_ID_MDC);
-                MDC.remove(TENANT_DOMAIN);
-                PrivilegedCarbonContext.endTenantFlow();
+                callbackContext.detach();
+            }
+        }, RejectableTask.wrap(clientManager.getAsyncCallbackExecutor(), () -> {
+            // The outcome of the request is lost with its callback, so the event is kept for a replay.
+            WebSubHubAdapterMetrics.getInstance().recordDropped(url);
+            printPublisherDiagnosticLog(eventContext, eventPayload,
+                    WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                    "Callback of the event publish was rejected. Event data may not be published to WebSubHub.");
+            log.debug("Callback executor rejected the publish callback of hub: " + url);
+            deadLetter(request, eventContext, "Callback rejected");
+            PooledEntity.release(request);
+            reservation.release();
+        }));
+    }
+
+    private static ByteBudget.Reservation reservePayloadBytes(HttpPost request) {
+
+        ByteBudget payloadBudget = WebSubHubAdapterDataHolder.getInstance().getPayloadBudget();
+        if (payloadBudget == null || request.getEntity() == null) {
+            return ByteBudget.UNTRACKED;
+        }
+        ByteBudget.Reservation reservation = payloadBudget.reserve(request.getEntity().getContentLength());
+        if (reservation == null) {
+            WebSubHubAdapterMetrics.getInstance().recordPayloadBudgetRejected();
+        }
+        return reservation;
+    }
+
+    private static boolean shedIfExpired(SecurityEventTokenPayload eventPayload, EventContext eventContext,
+                                         HttpPost request) {
+
+        WebSubAdapterConfiguration configuration =
+                WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration();
+        EventMaxAgePolicy eventMaxAgePolicy = configuration != null ? configuration.getEventMaxAgePolicy() : null;
+        if (eventMaxAgePolicy == null || !eventMaxAgePolicy.isExpired(eventPayload,
+                eventContext.getEventProfileName(), null)) {
+            return false;
+        }
+        WebSubHubAdapterMetrics.getInstance().recordEventExpired();
+        printPublisherDiagnosticLog(eventContext, eventPayload,
+                WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT, DiagnosticLog.ResultStatus.FAILED,
+                "Event exceeded its maximum age. Event data not published to WebSubHub.");
+        log.debug("Event " + eventContext.getEventUri() + " exceeded its maximum age. Event not published to hub: " +
+                request.getURI());
+        if (configuration.isDeadLetterExpiredEvents()) {
+            deadLetter(request, eventContext, "Event expired");
+        }
+        return true;
+    }
+
+    private static void deadLetter(HttpPost request, EventContext eventContext, String lastError) {
+
+        DeadLetterStore deadLetterStore = WebSubHubAdapterDataHolder.getInstance().getDeadLetterStore();
+        if (deadLetterStore == null) {
+            return;
+        }
+        try {
+            if (deadLetterStore.add(eventContext, request, lastError) != null) {
+                log.debug("Event " + eventContext.getEventUri() + " added to the dead-letter store. Hub: " +
+                        request.getURI());
             }
-        }, clientManager.getAsyncCallbackExecutor());
+        } catch (IOException e) {
+            log.error("Error while adding the event to the dead-letter store. Hub: " + request.getURI(), e);
+        }
     }
 
     private static void handleAsyncResponse(HttpResponse response, SecurityEventTokenPayload eventPayload,
                                             HttpPost request,
                                             long requestStartTime,
-                                            EventContext eventContext) {
+                                            EventContext eventContext,
+                                            CallbackContext callbackContext) {
 
         int responseCode = response.getStatusLine().getStatusCode();
         String responsePhrase = response.getStatusLine().getReasonPhrase();
@@ -210,7 +368,7 @@ public class WebSubEventPublisherImpl implements EventPublisher {
                 WebSubHubCorrelationLogUtils.RequestStatus.COMPLETED.getStatus(),
                 String.valueOf(responseCode), responsePhrase);
 
-        printPublisherDiagnosticLog(eventContext, eventPayload,
+        printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
                 WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                 DiagnosticLog.ResultStatus.SUCCESS,
                 "Event data published to WebSubHub. Status code: " + responseCode);
@@ -222,7 +380,7 @@ public class WebSubEventPublisherImpl implements EventPublisher {
                 log.debug("Response entity is null.");
             }
         } catch (IOException e) {
-            printPublisherDiagnosticLog(eventContext, eventPayload,
+            printPublisherDiagnosticLog(callbackContext, eventContext, eventPayload,
                     WebSubHubAdapterConstants.LogConstants.ActionIDs.PUBLISH_EVENT,
                     DiagnosticLog.ResultStatus.FAILED,
                     "Error while reading WebSubHub event publisher response.");
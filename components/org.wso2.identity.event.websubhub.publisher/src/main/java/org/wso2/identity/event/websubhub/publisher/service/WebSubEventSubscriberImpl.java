@@ -27,12 +27,15 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.message.BasicNameValuePair;
+import org.slf4j.MDC;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.subscription.management.api.model.Subscription;
 import org.wso2.carbon.identity.subscription.management.api.model.SubscriptionStatus;
 import org.wso2.carbon.identity.subscription.management.api.model.WebhookSubscriptionRequest;
 import org.wso2.carbon.identity.subscription.management.api.model.WebhookUnsubscriptionRequest;
 import org.wso2.carbon.identity.subscription.management.api.service.EventSubscriber;
 import org.wso2.carbon.utils.DiagnosticLog;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
 import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
@@ -42,7 +45,13 @@ import org.wso2.identity.event.websubhub.publisher.util.WebSubHubCorrelationLogU
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.ErrorMessages.ERROR_SUBSCRIBING_TO_TOPIC;
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.Http.HUB_CALLBACK;
@@ -74,70 +83,147 @@ public class WebSubEventSubscriberImpl implements EventSubscriber {
     @Override
     public List<Subscription> subscribe(WebhookSubscriptionRequest webhookSubscriptionRequest, String tenantDomain) {
 
-        List<Subscription> subscriptions = new ArrayList<>();
-        for (String channelToSubscribe : webhookSubscriptionRequest.getChannelsToSubscribe()) {
-            try {
-                makeSubscriptionAPICall(channelToSubscribe,
-                        constructHubTopic(channelToSubscribe, webhookSubscriptionRequest.getEventProfileName(),
-                                webhookSubscriptionRequest.getEventProfileVersion(),
-                                tenantDomain), getWebSubBaseURL(), WebSubHubAdapterConstants.Http.SUBSCRIBE,
-                        webhookSubscriptionRequest.getEndpoint(), webhookSubscriptionRequest.getSecret());
-                log.debug("WebSubHub subscription successful for channel: " + channelToSubscribe +
-                        " with endpoint: " + webhookSubscriptionRequest.getEndpoint() + " in tenant: " +
-                        tenantDomain);
-
-                Subscription subscription = Subscription.builder()
-                        .channelUri(channelToSubscribe)
-                        .status(SubscriptionStatus.SUBSCRIPTION_ACCEPTED)
-                        .build();
-                subscriptions.add(subscription);
-            } catch (WebSubAdapterException e) {
-                log.debug("Error subscribing to channel" + channelToSubscribe + " with endpoint: " +
-                        webhookSubscriptionRequest.getEndpoint() + " in tenant: " + tenantDomain + ". Error: " +
-                        e.getMessage(), e);
-                Subscription subscription = Subscription.builder()
-                        .channelUri(channelToSubscribe)
-                        .status(SubscriptionStatus.SUBSCRIPTION_ERROR)
-                        .build();
-                subscriptions.add(subscription);
-            }
-        }
-        return subscriptions;
+        return callHubPerChannel(webhookSubscriptionRequest.getChannelsToSubscribe(),
+                channelToSubscribe -> subscribeChannel(channelToSubscribe, webhookSubscriptionRequest, tenantDomain),
+                tenantDomain);
     }
 
     @Override
     public List<Subscription> unsubscribe(WebhookUnsubscriptionRequest webhookUnsubscriptionRequest,
                                           String tenantDomain) {
 
-        List<Subscription> unsubscriptions = new ArrayList<>();
-        for (String channelToUnsubscribe : webhookUnsubscriptionRequest.getChannelToUnsubscribe()) {
-            try {
-                makeSubscriptionAPICall(channelToUnsubscribe,
-                        constructHubTopic(channelToUnsubscribe, webhookUnsubscriptionRequest.getEventProfileName(),
-                                webhookUnsubscriptionRequest.getEventProfileVersion(),
-                                tenantDomain), getWebSubBaseURL(), WebSubHubAdapterConstants.Http.UNSUBSCRIBE,
-                        webhookUnsubscriptionRequest.getEndpoint(), null);
-                log.debug("WebSubHub unsubscription successful for channel: " + channelToUnsubscribe +
-                        " with endpoint: " + webhookUnsubscriptionRequest.getEndpoint() + " in tenant: " +
-                        tenantDomain);
-
-                Subscription unsubscription = Subscription.builder()
-                        .channelUri(channelToUnsubscribe)
-                        .status(SubscriptionStatus.UNSUBSCRIPTION_ACCEPTED)
-                        .build();
-                unsubscriptions.add(unsubscription);
-            } catch (WebSubAdapterException e) {
-                log.debug("Error unsubscribing from channel: " + channelToUnsubscribe +
-                        " with endpoint: " + webhookUnsubscriptionRequest.getEndpoint() + " in tenant: " +
-                        tenantDomain + ". Error: " + e.getMessage(), e);
-                Subscription unsubscription = Subscription.builder()
-                        .channelUri(channelToUnsubscribe)
-                        .status(SubscriptionStatus.UNSUBSCRIPTION_ERROR)
-                        .build();
-                unsubscriptions.add(unsubscription);
+        return callHubPerChannel(webhookUnsubscriptionRequest.getChannelToUnsubscribe(),
+                channelToUnsubscribe -> unsubscribeChannel(channelToUnsubscribe, webhookUnsubscriptionRequest,
+                        tenantDomain), tenantDomain);
+    }
+
+    private Subscription subscribeChannel(String channelToSubscribe,
+                                          WebhookSubscriptionRequest webhookSubscriptionRequest,
+                                          String tenantDomain) {
+
+        try {
+            makeSubscriptionAPICall(channelToSubscribe,
+                    constructHubTopic(channelToSubscribe, webhookSubscriptionRequest.getEventProfileName(),
+                            webhookSubscriptionRequest.getEventProfileVersion(),
+                            tenantDomain), getWebSubBaseURL(), WebSubHubAdapterConstants.Http.SUBSCRIBE,
+                    webhookSubscriptionRequest.getEndpoint(), webhookSubscriptionRequest.getSecret());
+            invalidateTopicLookup(channelToSubscribe, webhookSubscriptionRequest.getEventProfileName(),
+                    webhookSubscriptionRequest.getEventProfileVersion(), tenantDomain);
+            log.debug("WebSubHub subscription successful for channel: " + channelToSubscribe +
+                    " with endpoint: " + webhookSubscriptionRequest.getEndpoint() + " in tenant: " +
+                    tenantDomain);
+
+            return Subscription.builder()
+                    .channelUri(channelToSubscribe)
+                    .status(SubscriptionStatus.SUBSCRIPTION_ACCEPTED)
+                    .build();
+        } catch (WebSubAdapterException e) {
+            log.debug("Error subscribing to channel" + channelToSubscribe + " with endpoint: " +
+                    webhookSubscriptionRequest.getEndpoint() + " in tenant: " + tenantDomain + ". Error: " +
+                    e.getMessage(), e);
+            return Subscription.builder()
+                    .channelUri(channelToSubscribe)
+                    .status(SubscriptionStatus.SUBSCRIPTION_ERROR)
+                    .build();
+        }
+    }
+
+    private Subscription unsubscribeChannel(String channelToUnsubscribe,
+                                            WebhookUnsubscriptionRequest webhookUnsubscriptionRequest,
+                                            String tenantDomain) {
+
+        try {
+            makeSubscriptionAPICall(channelToUnsubscribe,
+                    constructHubTopic(channelToUnsubscribe, webhookUnsubscriptionRequest.getEventProfileName(),
+                            webhookUnsubscriptionRequest.getEventProfileVersion(),
+                            tenantDomain), getWebSubBaseURL(), WebSubHubAdapterConstants.Http.UNSUBSCRIBE,
+                    webhookUnsubscriptionRequest.getEndpoint(), null);
+            invalidateTopicLookup(channelToUnsubscribe, webhookUnsubscriptionRequest.getEventProfileName(),
+                    webhookUnsubscriptionRequest.getEventProfileVersion(), tenantDomain);
+            log.debug("WebSubHub unsubscription successful for channel: " + channelToUnsubscribe +
+                    " with endpoint: " + webhookUnsubscriptionRequest.getEndpoint() + " in tenant: " +
+                    tenantDomain);
+
+            return Subscription.builder()
+                    .channelUri(channelToUnsubscribe)
+                    .status(SubscriptionStatus.UNSUBSCRIPTION_ACCEPTED)
+                    .build();
+        } catch (WebSubAdapterException e) {
+            log.debug("Error unsubscribing from channel: " + channelToUnsubscribe +
+                    " with endpoint: " + webhookUnsubscriptionRequest.getEndpoint() + " in tenant: " +
+                    tenantDomain + ". Error: " + e.getMessage(), e);
+            return Subscription.builder()
+                    .channelUri(channelToUnsubscribe)
+                    .status(SubscriptionStatus.UNSUBSCRIPTION_ERROR)
+                    .build();
+        }
+    }
+
+    /**
+     * Drop the cached topic lookup of a channel, so events of a webhook whose subscription or secret changed are
+     * checked against the hub again.
+     */
+    private void invalidateTopicLookup(String channel, String eventProfileName, String eventProfileVersion,
+                                       String tenantDomain) {
+
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        if (topicLookupCache != null) {
+            topicLookupCache.invalidate(Arrays.asList(tenantDomain, eventProfileName, eventProfileVersion, channel));
+        }
+    }
+
+    /**
+     * Make the hub call of every channel. The calls block until the hub responds, so when the adapter runs them on
+     * virtual threads, the channels are sent concurrently with the tenant and MDC of the calling thread.
+     */
+    private List<Subscription> callHubPerChannel(List<String> channels, Function<String, Subscription> hubCall,
+                                                 String tenantDomain) {
+
+        ExecutorService hubCallExecutor =
+                WebSubHubAdapterDataHolder.getInstance().getClientManager().getHubCallExecutor();
+        List<Subscription> subscriptions = new ArrayList<>();
+        if (hubCallExecutor == null || channels.size() < 2) {
+            for (String channel : channels) {
+                subscriptions.add(hubCall.apply(channel));
             }
+            return subscriptions;
+        }
+
+        Map<String, String> contextMap = MDC.getCopyOfContextMap();
+        List<CompletableFuture<Subscription>> results = new ArrayList<>();
+        for (String channel : channels) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                // A call rejected by the executor runs on the calling thread, whose MDC has to survive the call.
+                Map<String, String> previousContextMap = MDC.getCopyOfContextMap();
+                try {
+                    PrivilegedCarbonContext.startTenantFlow();
+                    PrivilegedCarbonContext.getThreadLocalCarbonContext().setTenantDomain(tenantDomain);
+                    if (contextMap != null) {
+                        MDC.setContextMap(contextMap);
+                    }
+                    return hubCall.apply(channel);
+                } finally {
+                    if (previousContextMap != null) {
+                        MDC.setContextMap(previousContextMap);
+                    } else {
+                        MDC.clear();
+                    }
+                    PrivilegedCarbonContext.endTenantFlow();
+                }
+            }, hubCallExecutor));
         }
-        return unsubscriptions;
+        try {
+            for (CompletableFuture<Subscription> result : results) {
+                subscriptions.add(result.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return subscriptions;
     }
 
     private void makeSubscriptionAPICall(String channelToSubscribe, String topic, String webSubHubBaseUrl,
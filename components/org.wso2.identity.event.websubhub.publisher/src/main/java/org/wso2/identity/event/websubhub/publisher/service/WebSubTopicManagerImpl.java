@@ -31,6 +31,7 @@ import org.apache.http.util.EntityUtils;
 import org.wso2.carbon.identity.topic.management.api.exception.TopicManagementException;
 import org.wso2.carbon.identity.topic.management.api.service.TopicManager;
 import org.wso2.carbon.utils.DiagnosticLog;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterServerException;
@@ -41,6 +42,7 @@ import org.wso2.identity.event.websubhub.publisher.util.WebSubHubCorrelationLogU
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 import static org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants.ErrorMessages.ERROR_BACKEND_ERROR_FROM_WEBSUB_HUB;
@@ -99,6 +101,7 @@ public class WebSubTopicManagerImpl implements TopicManager {
         try {
             makeTopicMgtAPICall(topic, getWebSubBaseURL(),
                     WebSubHubAdapterConstants.Http.REGISTER, tenantDomain);
+            invalidateTopicLookups();
             log.debug("WebSubHub Topic registered successfully for the topic: " + topic + " in tenant: " +
                     tenantDomain);
         } catch (WebSubAdapterException e) {
@@ -112,6 +115,7 @@ public class WebSubTopicManagerImpl implements TopicManager {
         try {
             makeTopicMgtAPICall(topic, getWebSubBaseURL(),
                     WebSubHubAdapterConstants.Http.DEREGISTER, tenantDomain);
+            invalidateTopicLookups();
             log.debug("WebSubHub Topic deregistered successfully for the topic: " + topic + " in tenant: " +
                     tenantDomain);
         } catch (WebSubAdapterException e) {
@@ -119,6 +123,16 @@ public class WebSubTopicManagerImpl implements TopicManager {
         }
     }
 
+    private void invalidateTopicLookups() {
+
+        // The hub topic cannot be mapped back to the event of a cached lookup, so all topic lookups are dropped.
+        LookupCache<List<String>, Boolean> topicLookupCache =
+                WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache();
+        if (topicLookupCache != null) {
+            topicLookupCache.invalidateAll();
+        }
+    }
+
     private void makeTopicMgtAPICall(String topic, String webSubHubBaseUrl, String operation, String tenantDomain)
             throws WebSubAdapterException {
 
@@ -34,9 +34,12 @@ import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherExce
 import org.wso2.carbon.identity.event.publisher.api.exception.EventPublisherServerException;
 import org.wso2.carbon.identity.event.publisher.api.model.EventContext;
 import org.wso2.carbon.identity.event.publisher.api.model.SecurityEventTokenPayload;
+import org.wso2.carbon.identity.organization.management.service.OrganizationManager;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.topic.management.api.exception.TopicManagementException;
 import org.wso2.carbon.utils.DiagnosticLog;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
+import org.wso2.identity.event.publisher.transport.util.CallbackContext;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterClientException;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
@@ -240,6 +243,27 @@ public class WebSubHubAdapterUtil {
         }
     }
 
+    /**
+     * Print diagnostic log for publisher operations from a completion callback. The Carbon tenant flow of the
+     * callback is started only if diagnostic logs are enabled.
+     *
+     * @param callbackContext Context of the callback.
+     * @param eventContext    Event context.
+     * @param eventPayload    Event payload.
+     * @param action          Action performed.
+     * @param status          Result status.
+     * @param message         Result message.
+     */
+    public static void printPublisherDiagnosticLog(CallbackContext callbackContext, EventContext eventContext,
+                                                   SecurityEventTokenPayload eventPayload, String action,
+                                                   DiagnosticLog.ResultStatus status, String message) {
+
+        if (LoggerUtils.isDiagnosticLogsEnabled()) {
+            callbackContext.startTenantFlow();
+            printPublisherDiagnosticLog(eventContext, eventPayload, action, status, message);
+        }
+    }
+
     /**
      * Print diagnostic log for subscriber operations.
      *
@@ -438,14 +462,18 @@ public class WebSubHubAdapterUtil {
      */
     private static String getOrganizationId(String tenantDomain) throws WebSubAdapterServerException {
 
-        String orgId;
+        OrganizationManager organizationManager = WebSubHubAdapterDataHolder.getInstance().getOrganizationManager();
+        LookupCache<String, String> organizationIdCache =
+                WebSubHubAdapterDataHolder.getInstance().getOrganizationIdCache();
         try {
-            orgId = WebSubHubAdapterDataHolder.getInstance().getOrganizationManager()
-                    .resolveOrganizationId(tenantDomain);
+            if (organizationIdCache == null) {
+                return organizationManager.resolveOrganizationId(tenantDomain);
+            }
+            return organizationIdCache.get(tenantDomain, tenantDomain,
+                    () -> organizationManager.resolveOrganizationId(tenantDomain));
         } catch (OrganizationManagementException e) {
             throw handleServerException(
                     WebSubHubAdapterConstants.ErrorMessages.ERROR_RESOLVING_ORG_ID, e, tenantDomain);
         }
-        return orgId;
     }
 }
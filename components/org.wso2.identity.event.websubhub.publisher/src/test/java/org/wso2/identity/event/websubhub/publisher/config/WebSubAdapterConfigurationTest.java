@@ -38,5 +38,114 @@ public class WebSubAdapterConfigurationTest {
 
         Assert.assertFalse(config.isAdapterEnabled());
         Assert.assertEquals(config.getHTTPConnectionTimeout(), 300);
+        Assert.assertFalse(config.isHttp2Enabled());
+        Assert.assertEquals(config.getCallbackExecutorPoolSize(), 10);
+        Assert.assertEquals(config.getCallbackExecutorQueueCapacity(), 150);
+        Assert.assertEquals(config.getConfigReloadInterval(), 0);
+        Assert.assertEquals(config.getShutdownDrainTimeout(), 10000);
+        Assert.assertFalse(config.isVirtualThreadsEnabled());
+        Assert.assertEquals(config.getVirtualThreadMaxConcurrency(), 1000);
+        Assert.assertFalse(config.isDeadLetterEnabled());
+        Assert.assertNull(config.getDeadLetterDirectory());
+        Assert.assertEquals(config.getDeadLetterMaxEntries(), 10000);
+        Assert.assertEquals(config.getDeadLetterReplayRate(), 50);
+        Assert.assertEquals(config.getConnectionIdleTimeout(), 60);
+        Assert.assertEquals(config.getConnectionTimeToLive(), 0);
+        Assert.assertEquals(config.getConnectionEvictionInterval(), 30);
+        Assert.assertEquals(config.getConnectionValidateAfterInactivity(), 2000);
+        Assert.assertEquals(config.getConnectionKeepAlive(), 30);
+        Assert.assertFalse(config.isDnsCacheEnabled());
+        Assert.assertEquals(config.getDnsCacheTtl(), 60);
+        Assert.assertEquals(config.getDnsNegativeCacheTtl(), 10);
+        Assert.assertEquals(config.getDnsCacheMaxEntries(), 1000);
+        Assert.assertEquals(config.getEventMaxAge(), 0);
+        Assert.assertFalse(config.isDeadLetterExpiredEvents());
+        Assert.assertFalse(config.getEventMaxAgePolicy().isEnabled());
+        Assert.assertEquals(config.getPayloadMemoryBudget(), 64);
+        Assert.assertEquals(config.getPayloadMemoryBudgetBytes(), 64L * 1024L * 1024L);
+        Assert.assertEquals(config.getLookupCacheTtl(), 0);
+        Assert.assertEquals(config.getLookupCacheRefreshAhead(), 5);
+        Assert.assertEquals(config.getLookupCacheMaxEntries(), 1000);
+        Assert.assertFalse(config.isCacheWarmUpEnabled());
+        Assert.assertNull(config.getCacheWarmUpFile());
+        Assert.assertEquals(config.getCacheWarmUpMaxKeys(), 500);
+        Assert.assertEquals(config.getCacheWarmUpDelay(), 30);
+        Assert.assertEquals(config.getCacheWarmUpRate(), 20);
+        Assert.assertFalse(config.isSharedTransportEnabled());
+        Assert.assertNull(config.getPublishEncoding());
+        Assert.assertFalse(config.isPublishEncodingStrict());
+    }
+
+    @Test
+    public void testPublishEncoding() throws WebSubAdapterException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("publishEncoding", "cbor");
+        properties.put("publishEncodingStrict", "true");
+        WebSubAdapterConfiguration config = new WebSubAdapterConfiguration(properties);
+
+        Assert.assertEquals(config.getPublishEncoding(), "cbor");
+        Assert.assertTrue(config.isPublishEncodingStrict());
+    }
+
+    @Test
+    public void testRequestCompression() throws WebSubAdapterException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("requestCompression", "deflate");
+        properties.put("requestCompressionMinSize", "512");
+        WebSubAdapterConfiguration config = new WebSubAdapterConfiguration(properties);
+
+        Assert.assertEquals(config.getRequestCompression(), "deflate");
+        Assert.assertEquals(config.getRequestCompressionMinSize(), 512);
+    }
+
+    @Test
+    public void testHttp2Enabled() throws WebSubAdapterException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("http2Enabled", "true");
+        WebSubAdapterConfiguration config = new WebSubAdapterConfiguration(properties);
+
+        Assert.assertTrue(config.isHttp2Enabled());
+    }
+
+    @Test
+    public void testReloadableConfiguration() throws WebSubAdapterException {
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("callbackExecutorPoolSize", "20");
+        properties.put("callbackExecutorQueueCapacity", "500");
+        properties.put("configReloadInterval", "60");
+        properties.put("virtualThreadsEnabled", "true");
+        properties.put("virtualThreadMaxConcurrency", "200");
+        properties.put("deadLetterEnabled", "true");
+        properties.put("deadLetterMaxEntries", "500");
+        properties.put("deadLetterReplayRate", "5");
+        properties.put("connectionTimeToLive", "300");
+        properties.put("connectionKeepAlive", "10");
+        properties.put("dnsCacheEnabled", "true");
+        properties.put("dnsCacheTtl", "30");
+        properties.put("eventMaxAge", "300");
+        properties.put("eventMaxAgeProfiles", "CAEP=30");
+        properties.put("deadLetterExpiredEvents", "true");
+        WebSubAdapterConfiguration config = new WebSubAdapterConfiguration(properties);
+
+        Assert.assertEquals(config.getCallbackExecutorPoolSize(), 20);
+        Assert.assertEquals(config.getCallbackExecutorQueueCapacity(), 500);
+        Assert.assertEquals(config.getConfigReloadInterval(), 60);
+        Assert.assertTrue(config.isVirtualThreadsEnabled());
+        Assert.assertEquals(config.getVirtualThreadMaxConcurrency(), 200);
+        Assert.assertTrue(config.isDeadLetterEnabled());
+        Assert.assertEquals(config.getDeadLetterMaxEntries(), 500);
+        Assert.assertEquals(config.getDeadLetterReplayRate(), 5);
+        Assert.assertEquals(config.getConnectionTimeToLive(), 300);
+        Assert.assertEquals(config.getConnectionKeepAlive(), 10);
+        Assert.assertTrue(config.isDnsCacheEnabled());
+        Assert.assertEquals(config.getDnsCacheTtl(), 30);
+        Assert.assertEquals(config.getEventMaxAge(), 300);
+        Assert.assertEquals(config.getEventMaxAgeProfiles(), "CAEP=30");
+        Assert.assertTrue(config.isDeadLetterExpiredEvents());
+        Assert.assertTrue(config.getEventMaxAgePolicy().isEnabled());
     }
 }
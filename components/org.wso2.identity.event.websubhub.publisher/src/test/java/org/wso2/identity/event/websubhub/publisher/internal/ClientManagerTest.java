@@ -18,7 +18,12 @@
 
 package org.wso2.identity.event.websubhub.publisher.internal;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpPost;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
 import org.mockito.MockedStatic;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
@@ -27,8 +32,14 @@ import org.testng.annotations.Test;
 import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 /**
@@ -37,6 +48,7 @@ import static org.mockito.Mockito.when;
 public class ClientManagerTest {
 
     private ClientManager clientManager;
+    private WebSubAdapterConfiguration mockConfiguration;
     MockedStatic<WebSubHubAdapterDataHolder> mockedStaticDataHolder;
 
     @BeforeClass
@@ -44,7 +56,7 @@ public class ClientManagerTest {
 
         mockedStaticDataHolder = mockStatic(WebSubHubAdapterDataHolder.class);
         WebSubHubAdapterDataHolder mockDataHolder = mock(WebSubHubAdapterDataHolder.class);
-        WebSubAdapterConfiguration mockConfiguration = mock(WebSubAdapterConfiguration.class);
+        mockConfiguration = mock(WebSubAdapterConfiguration.class);
 
         mockedStaticDataHolder.when(WebSubHubAdapterDataHolder::getInstance).thenReturn(mockDataHolder);
 
@@ -81,6 +93,68 @@ public class ClientManagerTest {
         clientManager.createHttpPost("http://mock-url.com", payload);
     }
 
+    @Test
+    public void testPublishEncodingFallsBackToJson() throws Exception {
+
+        when(mockConfiguration.getPublishEncoding()).thenReturn("CBOR");
+        try {
+            ClientManager cborClientManager = new ClientManager();
+            TestPayload payload = new TestPayload("mockFieldValue");
+
+            HttpPost post = cborClientManager.createPublishHttpPost("http://mock-url.com", payload);
+            Assert.assertEquals(post.getFirstHeader(CONTENT_TYPE).getValue(), "application/cbor");
+            HttpPost jsonPost = cborClientManager.createHttpPost("http://mock-url.com", payload);
+            Assert.assertEquals(jsonPost.getFirstHeader(CONTENT_TYPE).getValue(), "application/json");
+            Assert.assertEquals(new ObjectMapper(new CBORFactory()).readTree(EntityUtils.toByteArray(post.getEntity())),
+                    new ObjectMapper().readTree(EntityUtils.toByteArray(jsonPost.getEntity())));
+
+            Assert.assertFalse(cborClientManager.fallBackToJson(jsonPost));
+            Assert.assertEquals(cborClientManager.getPublishEncoding(), "cbor");
+            Assert.assertTrue(cborClientManager.fallBackToJson(post));
+            Assert.assertEquals(cborClientManager.getPublishEncoding(), "json");
+            Assert.assertEquals(cborClientManager.createPublishHttpPost("http://mock-url.com", payload)
+                    .getFirstHeader(CONTENT_TYPE).getValue(), "application/json");
+        } finally {
+            when(mockConfiguration.getPublishEncoding()).thenReturn(null);
+        }
+    }
+
+    @Test
+    public void testStrictPublishEncodingDoesNotFallBack() throws WebSubAdapterException {
+
+        when(mockConfiguration.getPublishEncoding()).thenReturn("smile");
+        when(mockConfiguration.isPublishEncodingStrict()).thenReturn(true);
+        try {
+            ClientManager smileClientManager = new ClientManager();
+            HttpPost post = smileClientManager.createPublishHttpPost("http://mock-url.com",
+                    new TestPayload("mockFieldValue"));
+            Assert.assertEquals(post.getFirstHeader(CONTENT_TYPE).getValue(), "application/x-jackson-smile");
+
+            Assert.assertFalse(smileClientManager.fallBackToJson(post));
+            Assert.assertEquals(smileClientManager.getPublishEncoding(), "smile");
+        } finally {
+            when(mockConfiguration.getPublishEncoding()).thenReturn(null);
+            when(mockConfiguration.isPublishEncodingStrict()).thenReturn(false);
+        }
+    }
+
+    @Test
+    public void testShutdownAbandonsRequestsAfterDrainTimeout() throws WebSubAdapterException {
+
+        CloseableHttpAsyncClient mockAsyncClient = mock(CloseableHttpAsyncClient.class);
+        ClientManager spyManager = spy(new ClientManager());
+        doReturn(mockAsyncClient).when(spyManager).getHttpAsyncClient();
+
+        spyManager.executeAsync(mock(HttpPost.class));
+        Assert.assertEquals(spyManager.getInFlightRequestCount(), 1);
+
+        Assert.assertFalse(spyManager.shutdown(100));
+        Assert.assertTrue(spyManager.isShuttingDown());
+        Assert.assertTrue(((ThreadPoolExecutor) spyManager.getAsyncCallbackExecutor()).isShutdown());
+        CompletableFuture<HttpResponse> rejected = spyManager.executeAsync(mock(HttpPost.class));
+        Assert.assertTrue(rejected.isCompletedExceptionally());
+    }
+
     @AfterClass
     public void tearDown() {
 
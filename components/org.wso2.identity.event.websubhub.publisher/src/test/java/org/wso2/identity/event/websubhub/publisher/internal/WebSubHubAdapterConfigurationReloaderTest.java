@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.websubhub.publisher.internal;
+
+import org.apache.http.client.methods.HttpPost;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.webhook.metadata.api.model.Adapter;
+import org.wso2.carbon.identity.webhook.metadata.api.service.EventAdapterMetadataService;
+import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for WebSubHubAdapterConfigurationReloader.
+ */
+public class WebSubHubAdapterConfigurationReloaderTest {
+
+    private final Map<String, String> properties = new HashMap<>();
+    private ClientManager clientManager;
+    private WebSubHubAdapterConfigurationReloader reloader;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        properties.clear();
+        properties.put("enabled", "true");
+        properties.put("baseUrl", "https://hub.example.com");
+        properties.put("defaultMaxConnections", "20");
+        properties.put("defaultMaxConnectionsPerRoute", "2");
+        properties.put("httpReadTimeout", "300");
+
+        Adapter adapter = mock(Adapter.class);
+        when(adapter.getProperties()).thenAnswer(invocation -> new HashMap<>(properties));
+        EventAdapterMetadataService metadataService = mock(EventAdapterMetadataService.class);
+        when(metadataService.getAdapterByName(anyString())).thenReturn(adapter);
+
+        WebSubHubAdapterDataHolder.getInstance().setEventAdapterMetadataService(metadataService);
+        WebSubHubAdapterDataHolder.getInstance().setAdapterConfiguration(new WebSubAdapterConfiguration(properties));
+        clientManager = new ClientManager();
+        WebSubHubAdapterDataHolder.getInstance().setClientManager(clientManager);
+        reloader = new WebSubHubAdapterConfigurationReloader(properties);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+
+        reloader.stop();
+        clientManager.getHttpAsyncClient().close();
+        clientManager.getHttpClient().close();
+        ((ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor()).shutdownNow();
+        WebSubHubAdapterDataHolder.getInstance().setClientManager(null);
+        WebSubHubAdapterDataHolder.getInstance().setAdapterConfiguration(null);
+        WebSubHubAdapterDataHolder.getInstance().setEventAdapterMetadataService(null);
+    }
+
+    @Test
+    public void testReloadUnchangedProperties() throws Exception {
+
+        WebSubAdapterConfiguration configuration = WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration();
+
+        Assert.assertFalse(reloader.reload());
+        Assert.assertSame(WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration(), configuration);
+        Assert.assertEquals(reloader.getReloadCount(), 0);
+        Assert.assertNull(reloader.getLastReloadTime());
+    }
+
+    @Test
+    public void testReloadAppliesPoolAndTimeoutChanges() throws Exception {
+
+        // The running connection pool is resized in place.
+        clientManager.getHttpAsyncClient();
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        properties.put("baseUrl", "https://hub2.example.com");
+        properties.put("defaultMaxConnections", "200");
+        properties.put("httpReadTimeout", "5000");
+        properties.put("callbackExecutorPoolSize", "25");
+
+        Assert.assertEquals(reloader.reloadConfiguration(), "WebSubHub adapter configuration reloaded.");
+
+        Assert.assertEquals(reloader.getWebSubHubBaseUrl(), "https://hub2.example.com");
+        Assert.assertEquals(reloader.getMaxConnections(), 200);
+        Assert.assertEquals(reloader.getReadTimeout(), 5000);
+        Assert.assertEquals(WebSubHubAdapterMetrics.getInstance().getPoolMaxConnections(), 200);
+        Assert.assertSame(clientManager.getAsyncCallbackExecutor(), executor);
+        Assert.assertEquals(executor.getCorePoolSize(), 25);
+
+        HttpPost post = clientManager.createHttpPost("http://mock-url.com", new HashMap<>());
+        Assert.assertEquals(post.getConfig().getSocketTimeout(), 5000);
+    }
+
+    @Test
+    public void testClientsAreCreatedOnFirstUse() throws Exception {
+
+        Assert.assertFalse(clientManager.isHttpAsyncClientInitialized());
+        Assert.assertFalse(clientManager.isHttpClientInitialized());
+        properties.put("defaultMaxConnections", "150");
+        Assert.assertEquals(reloader.reloadConfiguration(), "WebSubHub adapter configuration reloaded.");
+
+        // A client created after a reload is built with the reloaded configuration.
+        Assert.assertTrue(clientManager.getHttpAsyncClient().isRunning());
+        Assert.assertTrue(clientManager.isHttpAsyncClientInitialized());
+        Assert.assertEquals(WebSubHubAdapterMetrics.getInstance().getPoolMaxConnections(), 150);
+    }
+
+    @Test
+    public void testReloadReplacesExecutorOnQueueCapacityChange() throws Exception {
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        properties.put("callbackExecutorQueueCapacity", "500");
+
+        Assert.assertTrue(reloader.reload());
+
+        ThreadPoolExecutor replaced = (ThreadPoolExecutor) clientManager.getAsyncCallbackExecutor();
+        Assert.assertNotSame(replaced, executor);
+        Assert.assertTrue(executor.isShutdown());
+        Assert.assertEquals(replaced.getQueue().remainingCapacity(), 500);
+    }
+
+    @Test
+    public void testStartSchedulesPeriodicReload() throws Exception {
+
+        reloader.start(1);
+        Assert.assertEquals(reloader.getReloadIntervalSeconds(), 1);
+
+        properties.put("defaultMaxConnections", "30");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (reloader.getReloadCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(reloader.getReloadCount(), 1);
+        Assert.assertEquals(
+                WebSubHubAdapterDataHolder.getInstance().getAdapterConfiguration().getDefaultMaxConnections(), 30);
+    }
+}
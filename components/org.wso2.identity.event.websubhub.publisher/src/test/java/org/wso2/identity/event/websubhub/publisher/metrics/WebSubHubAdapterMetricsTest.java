@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.identity.event.websubhub.publisher.metrics;
+
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.identity.event.publisher.transport.metrics.EndpointMetrics;
+import org.wso2.identity.event.websubhub.publisher.metrics.WebSubHubAdapterMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test class for WebSubHubAdapterMetrics.
+ */
+public class WebSubHubAdapterMetricsTest {
+
+    private static final String ENDPOINT = "https://example.com/webhook";
+
+    private WebSubHubAdapterMetrics metrics;
+
+    @BeforeMethod
+    public void setUp() {
+
+        metrics = WebSubHubAdapterMetrics.getInstance();
+        metrics.resetStatistics();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        metrics.unregisterMBeans();
+        metrics.bindConnectionPool(null);
+        metrics.bindCallbackExecutor(null);
+    }
+
+    @Test
+    public void testRecordOutcomes() {
+
+        URI uri = URI.create(ENDPOINT + "?token=secret");
+        long inFlightBefore = metrics.getInFlightRequests();
+
+        long startTime = metrics.recordRequestStarted(uri);
+        assertEquals(metrics.getInFlightRequests(), inFlightBefore + 1);
+        metrics.recordResponse(uri, 200, startTime);
+        metrics.recordResponse(uri, 302, metrics.recordRequestStarted(uri));
+        metrics.recordResponse(uri, 429, metrics.recordRequestStarted(uri));
+        metrics.recordResponse(uri, 503, metrics.recordRequestStarted(uri));
+        metrics.recordError(uri, metrics.recordRequestStarted(uri));
+        metrics.recordRetry(ENDPOINT);
+        metrics.recordDropped(ENDPOINT);
+        metrics.recordCallbackRejected();
+
+        assertEquals(metrics.getInFlightRequests(), inFlightBefore);
+        assertEquals(metrics.getCompletedRequests(), 5);
+        assertEquals(metrics.getStatus2xxCount(), 1);
+        assertEquals(metrics.getStatus3xxCount(), 1);
+        assertEquals(metrics.getStatus4xxCount(), 1);
+        assertEquals(metrics.getStatus5xxCount(), 1);
+        assertEquals(metrics.getErrorCount(), 1);
+        assertEquals(metrics.getRetryCount(), 1);
+        assertEquals(metrics.getDroppedCount(), 1);
+        assertEquals(metrics.getCallbackRejectedCount(), 1);
+        assertTrue(metrics.getLatencyMaxMillis() >= metrics.getLatencyP50Millis());
+
+        // Query parameters must not be part of the endpoint key.
+        EndpointMetrics endpointMetrics = metrics.getEndpointMetrics(ENDPOINT);
+        assertNotNull(endpointMetrics);
+        assertEquals(endpointMetrics.getEndpoint(), ENDPOINT);
+        assertEquals(endpointMetrics.getCompletedRequests(), 5);
+        assertEquals(endpointMetrics.getRetryCount(), 1);
+        assertEquals(endpointMetrics.getDroppedCount(), 1);
+    }
+
+    @Test
+    public void testResetStatistics() {
+
+        URI uri = URI.create(ENDPOINT);
+        metrics.recordResponse(uri, 200, metrics.recordRequestStarted(uri));
+        metrics.resetStatistics();
+
+        assertEquals(metrics.getCompletedRequests(), 0);
+        assertEquals(metrics.getStatus2xxCount(), 0);
+        assertEquals(metrics.getEndpointMetrics(ENDPOINT).getStatus2xxCount(), 0);
+    }
+
+    @Test
+    public void testUnknownEndpoint() {
+
+        metrics.recordError(null, metrics.recordRequestStarted(null));
+
+        assertEquals(metrics.getEndpointMetrics(null).getEndpoint(), "unknown");
+        assertEquals(metrics.getErrorCount(), 1);
+    }
+
+    @Test
+    public void testGauges() {
+
+        assertEquals(metrics.getPoolLeasedConnections(), 0);
+        assertEquals(metrics.getCallbackQueueDepth(), 0);
+
+        PoolingNHttpClientConnectionManager connectionManager = mock(PoolingNHttpClientConnectionManager.class);
+        when(connectionManager.getTotalStats()).thenReturn(new PoolStats(3, 4, 2, 10));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(5));
+        metrics.bindConnectionPool(connectionManager);
+        metrics.bindCallbackExecutor(executor);
+
+        assertEquals(metrics.getPoolLeasedConnections(), 3);
+        assertEquals(metrics.getPoolPendingRequests(), 4);
+        assertEquals(metrics.getPoolAvailableConnections(), 2);
+        assertEquals(metrics.getPoolMaxConnections(), 10);
+        assertEquals(metrics.getCallbackQueueDepth(), 0);
+        assertEquals(metrics.getCallbackQueueRemainingCapacity(), 5);
+        executor.shutdown();
+    }
+
+    @Test
+    public void testRegisterMBeans() throws Exception {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName adapterName = new ObjectName("org.wso2.identity.event.publisher:type=WebSubHubAdapter");
+        URI uri = URI.create("https://example.org/events");
+        metrics.recordResponse(uri, 200, metrics.recordRequestStarted(uri));
+
+        metrics.registerMBeans();
+        assertTrue(server.isRegistered(adapterName));
+        assertTrue(server.isRegistered(new ObjectName("org.wso2.identity.event.publisher:type=WebSubHubAdapter," +
+                "name=Endpoint,endpoint=" + ObjectName.quote("https://example.org/events"))));
+        assertEquals(server.getAttribute(adapterName, "Status2xxCount"), 1L);
+
+        metrics.unregisterMBeans();
+        assertFalse(server.isRegistered(adapterName));
+    }
+}
@@ -19,6 +19,8 @@
 package org.wso2.identity.event.websubhub.publisher.service;
 
 import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.StatusLine;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
@@ -39,6 +41,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
@@ -141,7 +144,7 @@ public class WebSubEventPublisherImplTest {
             // Mock ClientManager behavior to simulate success
             CompletableFuture<HttpResponse> future = CompletableFuture.completedFuture(mockHttpResponse);
             when(mockClientManager.executeAsync(any())).thenReturn(future);
-            when(mockClientManager.createHttpPost(any(), any())).thenReturn(mockHttpPost);
+            when(mockClientManager.createPublishHttpPost(any(), any())).thenReturn(mockHttpPost);
             when(mockClientManager.getAsyncCallbackExecutor()).thenReturn((Executor) Runnable::run);
 
             // Execute and verify no exception is thrown
@@ -151,4 +154,56 @@ public class WebSubEventPublisherImplTest {
             verify(mockClientManager, times(1)).executeAsync(any());
         }
     }
+
+    @Test
+    public void testPublishResendsAsJsonWhenHubRejectsEncoding() throws EventPublisherException,
+            WebSubAdapterException {
+
+        try (
+                MockedStatic<LoggerUtils> mockedLoggerUtils = mockStatic(LoggerUtils.class);
+                MockedStatic<WebSubHubAdapterUtil> mockedAdapterUtil = mockStatic(WebSubHubAdapterUtil.class)
+        ) {
+            mockedLoggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            mockedAdapterUtil.when(() -> WebSubHubAdapterUtil.constructHubTopic(any(), any(), any(), any()))
+                    .thenReturn("mock-topic");
+            mockedAdapterUtil.when(WebSubHubAdapterUtil::getWebSubBaseURL)
+                    .thenReturn("http://mock-websub-hub.com");
+            clearInvocations(mockClientManager);
+
+            // No retries are left, so only the fallback to JSON resends the event.
+            when(mockClientManager.getMaxRetries()).thenReturn(0);
+            EventContext eventContext = EventContext.builder()
+                    .tenantDomain("test-tenant")
+                    .eventProfileName("WSO2")
+                    .eventUri("test-uri")
+                    .build();
+            SecurityEventTokenPayload payload = SecurityEventTokenPayload.builder()
+                    .iss("issuer")
+                    .jti("jti-token")
+                    .iat(System.currentTimeMillis())
+                    .build();
+
+            org.apache.http.client.methods.HttpPost mockHttpPost = mock(org.apache.http.client.methods.HttpPost.class);
+            org.apache.http.Header mockHeader = mock(org.apache.http.Header.class);
+            when(mockHttpPost.getFirstHeader(CORRELATION_ID_REQUEST_HEADER)).thenReturn(mockHeader);
+            when(mockHeader.getValue()).thenReturn("mock-correlation-id");
+            StatusLine mockStatusLine = mock(StatusLine.class);
+            when(mockStatusLine.getStatusCode()).thenReturn(HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE, HttpStatus.SC_OK);
+            when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+
+            when(mockClientManager.executeAsync(any()))
+                    .thenReturn(CompletableFuture.completedFuture(mockHttpResponse));
+            when(mockClientManager.createPublishHttpPost(any(), any())).thenReturn(mockHttpPost);
+            when(mockClientManager.fallBackToJson(mockHttpPost)).thenReturn(true);
+            when(mockClientManager.getAsyncCallbackExecutor()).thenReturn((Executor) Runnable::run);
+
+            adapterService.publish(payload, eventContext);
+
+            verify(mockClientManager).fallBackToJson(mockHttpPost);
+            verify(mockClientManager, times(2)).createPublishHttpPost(any(), any());
+            verify(mockClientManager, times(2)).executeAsync(any());
+        } finally {
+            clearInvocations(mockClientManager);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.http.client.methods.HttpPost;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
+import org.slf4j.MDC;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -33,16 +34,21 @@ import org.wso2.carbon.identity.subscription.management.api.model.Subscription;
 import org.wso2.carbon.identity.subscription.management.api.model.SubscriptionStatus;
 import org.wso2.carbon.identity.subscription.management.api.model.WebhookSubscriptionRequest;
 import org.wso2.carbon.identity.subscription.management.api.model.WebhookUnsubscriptionRequest;
+import org.wso2.identity.event.publisher.transport.util.VirtualThreadExecutor;
 import org.wso2.identity.event.websubhub.publisher.internal.ClientManager;
 import org.wso2.identity.event.websubhub.publisher.internal.WebSubHubAdapterDataHolder;
 import org.wso2.identity.event.websubhub.publisher.util.WebSubHubAdapterUtil;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -146,4 +152,39 @@ public class WebSubEventSubscriberImplTest {
         Assert.assertEquals(result.get(0).getStatus(), SubscriptionStatus.UNSUBSCRIPTION_ACCEPTED);
         Assert.assertEquals(result.get(1).getStatus(), SubscriptionStatus.UNSUBSCRIPTION_ACCEPTED);
     }
+
+    @Test
+    public void testHubCallOnCallingThreadKeepsMdc() throws Exception {
+
+        // Without free permits, every hub call is rejected and runs on the calling thread.
+        when(mockClientManager.getHubCallExecutor()).thenReturn(
+                new VirtualThreadExecutor(Executors.defaultThreadFactory(), 0, (r, executor) -> r.run()));
+        WebhookSubscriptionRequest request = WebhookSubscriptionRequest.builder()
+                .channelsToSubscribe(Arrays.asList("topic1", "topic2"))
+                .eventProfileVersion("v1")
+                .endpoint("http://test-callback.com")
+                .secret("secret")
+                .build();
+
+        HttpPost mockHttpPost = mock(HttpPost.class);
+        when(mockClientManager.createHttpPost(any(), any())).thenReturn(mockHttpPost);
+        when(mockClientManager.executeSubscriberRequest(any())).thenReturn(mockHttpResponse);
+
+        StatusLine mockStatusLine = mock(StatusLine.class);
+        when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+        when(mockStatusLine.getStatusCode()).thenReturn(202); // SC_ACCEPTED
+        when(mockStatusLine.getReasonPhrase()).thenReturn("Accepted");
+        when(mockHttpResponse.getEntity()).thenReturn(mock(HttpEntity.class));
+
+        Map<String, String> callerContextMap = Collections.singletonMap("Correlation-ID", "caller-correlation-id");
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            mockedMdc.when(MDC::getCopyOfContextMap).thenReturn(callerContextMap);
+
+            List<Subscription> result = subscriberService.subscribe(request, "tenant1");
+
+            Assert.assertEquals(result.size(), 2);
+            mockedMdc.verify(() -> MDC.setContextMap(callerContextMap), times(4));
+            mockedMdc.verify(MDC::clear, never());
+        }
+    }
 }
@@ -30,6 +30,7 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.topic.management.api.exception.TopicManagementException;
+import org.wso2.identity.event.publisher.transport.cache.LookupCache;
 import org.wso2.identity.event.websubhub.publisher.config.WebSubAdapterConfiguration;
 import org.wso2.identity.event.websubhub.publisher.constant.WebSubHubAdapterConstants;
 import org.wso2.identity.event.websubhub.publisher.exception.WebSubAdapterClientException;
@@ -43,6 +44,7 @@ import org.wso2.identity.event.websubhub.publisher.util.WebSubHubCorrelationLogU
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -50,6 +52,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -188,6 +191,21 @@ public class WebSubTopicManagerImplTest {
                 () -> WebSubHubAdapterUtil.buildURL("test-topic", "https://hub.example.com", "deregister"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTopicChangesInvalidateTopicLookups() throws TopicManagementException, IOException {
+
+        LookupCache<List<String>, Boolean> topicLookupCache = mock(LookupCache.class);
+        when(WebSubHubAdapterDataHolder.getInstance().getTopicLookupCache()).thenReturn(topicLookupCache);
+        when(mockStatusLine.getStatusCode()).thenReturn(HttpStatus.SC_OK);
+        when(mockEntity.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(
+                (HUB_MODE + "=" + ACCEPTED).getBytes(StandardCharsets.UTF_8)));
+
+        webSubTopicManager.registerTopic("test-topic", "carbon.super");
+        webSubTopicManager.deregisterTopic("test-topic", "carbon.super");
+        verify(topicLookupCache, times(2)).invalidateAll();
+    }
+
     @Test(expectedExceptions = TopicManagementException.class)
     public void testRegisterTopicFailure() throws TopicManagementException {
 